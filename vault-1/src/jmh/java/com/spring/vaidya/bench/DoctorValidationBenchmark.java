@@ -0,0 +1,89 @@
+package com.spring.vaidya.bench;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.sql.SQLIntegrityConstraintViolationException;
+import java.time.LocalTime;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.spring.vaidya.entity.ErrorResponse;
+import com.spring.vaidya.entity.User;
+import com.spring.vaidya.service.DoctorServiceImpl;
+
+/**
+ * Input validation at the top of {@link DoctorServiceImpl#saveDoctor}: the email, Aadhaar and phone
+ * regexes. {@code rejectInvalidAadhaar} stops at the second check; {@code validInputUpToDuplicateCheck}
+ * passes all three and is then turned away as a duplicate by a stubbed insert, so neither benchmark
+ * hashes a password (the encoder is stubbed too) or touches a database.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DoctorValidationBenchmark {
+
+    private DoctorServiceImpl doctorService;
+    private User validDoctor;
+    private User invalidAadhaarDoctor;
+
+    @Setup
+    public void setUp() {
+        PasswordEncoder passwordEncoder = mock(PasswordEncoder.class);
+        when(passwordEncoder.encode(anyString())).thenReturn("{noop}hash");
+        TransactionTemplate transactionTemplate = mock(TransactionTemplate.class);
+        String duplicate = "Duplicate entry 'doctor.bench@example.com' for key 'user." + User.NORMALIZED_EMAIL_CONSTRAINT + "'";
+        when(transactionTemplate.execute(any())).thenThrow(new DataIntegrityViolationException(duplicate,
+                new SQLIntegrityConstraintViolationException(duplicate, "23000", 1062))); // As MySQL reports it
+
+        doctorService = new DoctorServiceImpl();
+        ReflectionTestUtils.setField(doctorService, "passwordEncoder", passwordEncoder);
+        ReflectionTestUtils.setField(doctorService, "transactionTemplate", transactionTemplate);
+
+        validDoctor = doctor("123456789012");
+        invalidAadhaarDoctor = doctor("1234-5678-9012");
+    }
+
+    @Benchmark
+    public ResponseEntity<ErrorResponse> rejectInvalidAadhaar() {
+        return doctorService.saveDoctor(invalidAadhaarDoctor);
+    }
+
+    @Benchmark
+    public ResponseEntity<ErrorResponse> validInputUpToDuplicateCheck() {
+        return doctorService.saveDoctor(validDoctor);
+    }
+
+    private static User doctor(String aadharNo) {
+        User doctor = new User();
+        doctor.setFullName("Dr. Bench");
+        doctor.setUserEmail("doctor.bench@example.com");
+        doctor.setPhoneNumber("9876543210");
+        doctor.setAadharNo(aadharNo);
+        doctor.setPassword("Secret#123");
+        doctor.setSpecialization("Cardiology");
+        doctor.setOpenTime(LocalTime.of(8, 0));
+        doctor.setCloseTime(LocalTime.of(17, 0));
+        return doctor;
+    }
+}
@@ -0,0 +1,94 @@
+package com.spring.vaidya.bench;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.UserDetailsService;
+
+import com.spring.vaidya.entity.AuthAccount;
+import com.spring.vaidya.entity.UserPrincipal;
+import com.spring.vaidya.jwt.JwtAuthFilter;
+import com.spring.vaidya.jwt.JwtUtils;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+
+/**
+ * One pass of {@link JwtAuthFilter} per request, against mock requests: a token authenticated from
+ * its claims, a route configured for a fresh account lookup (served by an in-memory
+ * {@link UserDetailsService}, so the database round trip is not included) and a request without a token.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtAuthFilterBenchmark {
+
+    private static final FilterChain CHAIN = (request, response) -> { };
+
+    private JwtAuthFilter filter;
+    private String authorization;
+
+    @Setup
+    public void setUp() {
+        JwtUtils jwtUtils = JwtFixtures.jwtUtils(true);
+        AuthAccount account = JwtFixtures.ACCOUNT;
+        UserPrincipal principal = new UserPrincipal(account.getUserEmail(), account.getPassword(), account.isEnabled(),
+                AuthorityUtils.createAuthorityList("USER"), account.getUserId(), account.getRoleId());
+        UserDetailsService userDetailsService = username -> principal;
+        filter = new JwtAuthFilter(jwtUtils, userDetailsService, new String[] { "/user/fresh/**" },
+                new SimpleMeterRegistry());
+        authorization = "Bearer " + jwtUtils.generateJwtToken(account);
+    }
+
+    @Benchmark
+    public MockHttpServletResponse tokenFromClaims() throws ServletException, IOException {
+        return filter(request("/user/protected", authorization));
+    }
+
+    @Benchmark
+    public MockHttpServletResponse tokenWithFreshLookup() throws ServletException, IOException {
+        return filter(request("/user/fresh/profile", authorization));
+    }
+
+    @Benchmark
+    public MockHttpServletResponse noToken() throws ServletException, IOException {
+        return filter(request("/user/welcome", null));
+    }
+
+    private MockHttpServletResponse filter(MockHttpServletRequest request) throws ServletException, IOException {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        try {
+            filter.doFilter(request, response, CHAIN);
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+        return response;
+    }
+
+    private static MockHttpServletRequest request(String path, String authorization) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", path);
+        request.setServletPath(path);
+        if (authorization != null) {
+            request.addHeader("Authorization", authorization);
+        }
+        return request;
+    }
+}
@@ -0,0 +1,67 @@
+package com.spring.vaidya.bench;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.spring.vaidya.jwt.JwtUtils;
+
+/**
+ * Token signing and verification as done on every login and every authenticated request.
+ * {@code validate*Cached} is the steady state, where the token was verified on an earlier request;
+ * {@code validateUncached} checks the HS512 signature and parses the claims every time.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtBenchmark {
+
+    private JwtUtils cachingJwtUtils;
+    private JwtUtils uncachedJwtUtils;
+    private String token;
+    private String uncachedToken;
+
+    @Setup
+    public void setUp() {
+        cachingJwtUtils = JwtFixtures.jwtUtils(true);
+        uncachedJwtUtils = JwtFixtures.jwtUtils(false);
+        // Each instance holds its own random key, so each verifies only the tokens it signed
+        token = cachingJwtUtils.generateJwtToken(JwtFixtures.ACCOUNT);
+        uncachedToken = uncachedJwtUtils.generateJwtToken(JwtFixtures.ACCOUNT);
+        if (!cachingJwtUtils.validateJwtToken(token) || !uncachedJwtUtils.validateJwtToken(uncachedToken)) {
+            throw new IllegalStateException("Benchmark tokens do not verify");
+        }
+    }
+
+    @Benchmark
+    public String generateJwtToken() {
+        return cachingJwtUtils.generateJwtToken(JwtFixtures.ACCOUNT);
+    }
+
+    @Benchmark
+    public boolean validateJwtTokenCached() {
+        return cachingJwtUtils.validateJwtToken(token);
+    }
+
+    @Benchmark
+    public String getUsernameFromJwtTokenCached() {
+        return cachingJwtUtils.getUsernameFromJwtToken(token);
+    }
+
+    @Benchmark
+    public boolean validateJwtTokenUncached() {
+        return uncachedJwtUtils.validateJwtToken(uncachedToken);
+    }
+}
@@ -0,0 +1,64 @@
+package com.spring.vaidya.bench;
+
+import java.security.SecureRandom;
+import java.util.Base64;
+
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.spring.vaidya.entity.AuthAccount;
+import com.spring.vaidya.jwt.JwtCodec;
+import com.spring.vaidya.jwt.JwtUtils;
+import com.spring.vaidya.jwt.RevocationIndex;
+import com.spring.vaidya.jwt.TokenRevocationCheck;
+import com.spring.vaidya.jwt.VerifiedTokenCache;
+
+import io.jsonwebtoken.Claims;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Builds {@link JwtUtils} the way the application context wires it, without starting Spring:
+ * a {@link JwtCodec} holding one random HS512 key, a {@link VerifiedTokenCache} and an empty
+ * {@link RevocationIndex}, with meters
+ * going to a {@link SimpleMeterRegistry}.
+ */
+final class JwtFixtures {
+
+    static final long ACCESS_TOKEN_EXPIRATION_MS = 900_000;
+
+    static final AuthAccount ACCOUNT = new AuthAccount(42L, "doctor@example.com", "{bcrypt}unused", "Dr. Bench", 2, true);
+
+    private JwtFixtures() {
+    }
+
+    /**
+     * @param cacheVerifiedTokens false to check the signature on every call, as for a token seen for the first time.
+     */
+    static JwtUtils jwtUtils(boolean cacheVerifiedTokens) {
+        byte[] secret = new byte[64];
+        new SecureRandom().nextBytes(secret);
+        JwtCodec codec = new JwtCodec(ACCESS_TOKEN_EXPIRATION_MS, 0, 0);
+        codec.installKey("bench", Base64.getEncoder().encodeToString(secret));
+
+        VerifiedTokenCache cache = cacheVerifiedTokens
+                ? new VerifiedTokenCache(10_000, new SimpleMeterRegistry())
+                : new VerifiedTokenCache(1, new SimpleMeterRegistry()) {
+                    @Override
+                    public Claims get(String token) {
+                        return null;
+                    }
+
+                    @Override
+                    public void put(String token, Claims claims) {
+                    }
+                };
+        RevocationIndex revocations = new RevocationIndex(ACCESS_TOKEN_EXPIRATION_MS, 100_000, 0.001);
+
+        JwtUtils jwtUtils = new JwtUtils();
+        ReflectionTestUtils.setField(jwtUtils, "jwtExpirationMs", ACCESS_TOKEN_EXPIRATION_MS);
+        ReflectionTestUtils.setField(jwtUtils, "jwtCodec", codec);
+        ReflectionTestUtils.setField(jwtUtils, "verifiedTokenCache", cache);
+        ReflectionTestUtils.setField(jwtUtils, "tokenRevocationCheck", (TokenRevocationCheck) revocations::isRevoked);
+        jwtUtils.setMeterRegistry(new SimpleMeterRegistry());
+        return jwtUtils;
+    }
+}
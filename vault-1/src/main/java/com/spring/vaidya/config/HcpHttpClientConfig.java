@@ -0,0 +1,67 @@
+package com.spring.vaidya.config;
+
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.DefaultConnectionKeepAliveStrategy;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.web.client.RestTemplate;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.httpcomponents.hc5.PoolingHttpClientConnectionManagerMetricsBinder;
+
+/**
+ * Shared HTTP client for all HashiCorp Cloud Platform traffic (token endpoint and Vault Secrets API).
+ * Connections are pooled and kept alive between calls, and every phase of a request is time-bounded.
+ * Retries are done by {@link com.spring.vaidya.service.HcpClient}, so the client's own retries are disabled.
+ */
+@Configuration
+public class HcpHttpClientConfig {
+
+    @Bean(destroyMethod = "close")
+    public CloseableHttpClient hcpHttpClient(@Value("${hashicorp.http.connect-timeout-ms:2000}") long connectTimeoutMs,
+                                             @Value("${hashicorp.http.read-timeout-ms:5000}") long readTimeoutMs,
+                                             @Value("${hashicorp.http.max-connections:20}") int maxConnections,
+                                             @Value("${hashicorp.http.keep-alive-ms:30000}") long keepAliveMs,
+                                             MeterRegistry meterRegistry) {
+        PoolingHttpClientConnectionManager connectionManager = PoolingHttpClientConnectionManagerBuilder.create()
+                .setMaxConnTotal(maxConnections)
+                .setMaxConnPerRoute(maxConnections) // All traffic goes to a couple of HCP hosts
+                .setDefaultConnectionConfig(ConnectionConfig.custom()
+                        .setConnectTimeout(Timeout.ofMilliseconds(connectTimeoutMs))
+                        .setSocketTimeout(Timeout.ofMilliseconds(readTimeoutMs))
+                        .setValidateAfterInactivity(TimeValue.ofSeconds(10))
+                        .build())
+                .build();
+        new PoolingHttpClientConnectionManagerMetricsBinder(connectionManager, "hcp").bindTo(meterRegistry);
+
+        TimeValue maxKeepAlive = TimeValue.ofMilliseconds(keepAliveMs);
+        return HttpClients.custom()
+                .setConnectionManager(connectionManager)
+                .setDefaultRequestConfig(RequestConfig.custom()
+                        .setConnectionRequestTimeout(Timeout.ofMilliseconds(connectTimeoutMs)) // Waiting for a pooled connection
+                        .setResponseTimeout(Timeout.ofMilliseconds(readTimeoutMs))
+                        .build())
+                // Honour the server's Keep-Alive header, but never hold an idle connection longer than configured
+                .setKeepAliveStrategy((response, context) ->
+                        DefaultConnectionKeepAliveStrategy.INSTANCE.getKeepAliveDuration(response, context).min(maxKeepAlive))
+                .evictIdleConnections(maxKeepAlive)
+                .evictExpiredConnections()
+                .disableAutomaticRetries()
+                .build();
+    }
+
+    @Bean
+    public RestTemplate hcpRestTemplate(@Qualifier("hcpHttpClient") CloseableHttpClient hcpHttpClient) {
+        return new RestTemplate(new HttpComponentsClientHttpRequestFactory(hcpHttpClient));
+    }
+}
@@ -0,0 +1,48 @@
+package com.spring.vaidya.config;
+
+import java.util.Properties;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.mail.MailProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.spring.vaidya.service.PooledJavaMailSender;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Mail sender with pooled, persistent SMTP connections. Configured from the usual
+ * {@code spring.mail.*} properties; with {@code email.smtp.pool.enabled=false} Spring Boot's
+ * connection-per-send sender is used instead.
+ */
+@Configuration
+@EnableConfigurationProperties(MailProperties.class)
+@ConditionalOnProperty(name = "email.smtp.pool.enabled", havingValue = "true", matchIfMissing = true)
+public class MailSenderConfig {
+
+    @Bean(destroyMethod = "close")
+    public PooledJavaMailSender mailSender(MailProperties mailProperties, MeterRegistry meterRegistry,
+                                           @Value("${email.smtp.pool.max-connections:3}") int maxConnections,
+                                           @Value("${email.smtp.pool.max-messages-per-connection:100}") int maxMessagesPerConnection,
+                                           @Value("${email.smtp.pool.max-idle-ms:60000}") long maxIdleMs,
+                                           @Value("${email.smtp.pool.max-wait-ms:10000}") long maxWaitMs) {
+        PooledJavaMailSender sender = new PooledJavaMailSender(maxConnections, maxMessagesPerConnection, maxIdleMs,
+                maxWaitMs, meterRegistry);
+        // Same mapping as Spring Boot's own mail sender
+        sender.setHost(mailProperties.getHost());
+        if (mailProperties.getPort() != null) {
+            sender.setPort(mailProperties.getPort());
+        }
+        sender.setUsername(mailProperties.getUsername());
+        sender.setPassword(mailProperties.getPassword());
+        sender.setProtocol(mailProperties.getProtocol());
+        sender.setDefaultEncoding(mailProperties.getDefaultEncoding().name());
+        Properties javaMailProperties = new Properties();
+        javaMailProperties.putAll(mailProperties.getProperties());
+        sender.setJavaMailProperties(javaMailProperties);
+        return sender;
+    }
+}
@@ -0,0 +1,41 @@
+package com.spring.vaidya.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import com.spring.vaidya.security.BoundedPasswordEncoder;
+import com.spring.vaidya.security.PasswordEncoders;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Password encoder configuration. The algorithm and its cost are chosen per deployment
+ * (see {@link com.spring.vaidya.security.PasswordEncoderCalibrator} for picking the cost),
+ * and all hashing runs on the bounded hashing pool.
+ */
+@Configuration
+public class PasswordEncoderConfig {
+
+    /**
+     * Defines the password encoder to be used for hashing passwords.
+     * BCrypt, Argon2id or PBKDF2 runs on a bounded hashing pool, so login bursts cannot take every request thread.
+     */
+    @Bean
+    public PasswordEncoder passwordEncoder(MeterRegistry meterRegistry,
+                                           @Value("${password.encoding.algorithm:bcrypt}") String algorithm,
+                                           @Value("${password.bcrypt.strength:10}") int bcryptStrength,
+                                           @Value("${password.argon2.memory-kib:19456}") int argon2MemoryKib,
+                                           @Value("${password.argon2.iterations:2}") int argon2Iterations,
+                                           @Value("${password.argon2.parallelism:1}") int argon2Parallelism,
+                                           @Value("${password.pbkdf2.iterations:600000}") int pbkdf2Iterations,
+                                           @Value("${password.hashing.threads:0}") int hashingThreads, // 0 = one per core
+                                           @Value("${password.hashing.queue-capacity:64}") int hashingQueueCapacity,
+                                           @Value("${password.hashing.max-wait-ms:5000}") long hashingMaxWaitMs) {
+        PasswordEncoder delegating = PasswordEncoders.create(algorithm, new PasswordEncoders.Settings(
+                bcryptStrength, argon2MemoryKib, argon2Iterations, argon2Parallelism, pbkdf2Iterations));
+        int threads = hashingThreads > 0 ? hashingThreads : Runtime.getRuntime().availableProcessors();
+        return new BoundedPasswordEncoder(delegating, threads, hashingQueueCapacity, hashingMaxWaitMs, meterRegistry);
+    }
+}
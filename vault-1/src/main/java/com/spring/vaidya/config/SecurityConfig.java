@@ -1,5 +1,6 @@
 package com.spring.vaidya.config;
 
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -10,29 +11,37 @@ import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.core.userdetails.UserDetailsService;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 
 import com.spring.vaidya.jwt.JwtAuthFilter;
+import com.spring.vaidya.security.LoginThrottleFilter;
+import com.spring.vaidya.security.ThrottleProperties;
 
 /**
  * Security configuration class for Spring Security setup.
  */
 @Configuration
 @EnableWebSecurity
+@EnableConfigurationProperties(ThrottleProperties.class)
 public class SecurityConfig {
 
     private final JwtAuthFilter authFilter;
+    private final LoginThrottleFilter loginThrottleFilter;
     private final UserDetailsService userDetailsService;
+    private final PasswordEncoder passwordEncoder;
 
     /**
-     * Constructor-based dependency injection of JWT Authentication Filter and UserDetailsService.
+     * Constructor-based dependency injection of JWT Authentication Filter, login throttle filter,
+     * UserDetailsService and the password encoder defined in {@link PasswordEncoderConfig}.
      */
-    public SecurityConfig(JwtAuthFilter authFilter, UserDetailsService userDetailsService) {
+    public SecurityConfig(JwtAuthFilter authFilter, LoginThrottleFilter loginThrottleFilter,
+                          UserDetailsService userDetailsService, PasswordEncoder passwordEncoder) {
         this.authFilter = authFilter;
+        this.loginThrottleFilter = loginThrottleFilter;
         this.userDetailsService = userDetailsService;
+        this.passwordEncoder = passwordEncoder;
     }
 
     /**
@@ -47,8 +56,9 @@ public class SecurityConfig {
                 // Configure authorization rules
                 .authorizeHttpRequests(authorize -> authorize	
                         // Public endpoints that do not require authentication
-                        .requestMatchers("/auth/*","/vault/**", "/user/new", "/doctor/confirm-account", "doctor/register", 
-                                         "/user/login", "/user/authenticate", "/user/welcome", "login/doctor","/actuator/**","/actuator/info/**","/health/**").permitAll()
+                        .requestMatchers("/auth/*","/vault/**", "/user/new", "/doctor/confirm-account", "doctor/register", "/doctor/resend-verification", 
+                                         "/user/login", "/user/authenticate", "/user/welcome", "login/doctor","/actuator/**","/actuator/info/**","/health/**",
+                                         "/hcp-stub/**").permitAll()
                         
                         // Protected endpoints that require authentication
                         .requestMatchers("/user/protected", "/doctor/all", "/doctor/**").authenticated()
@@ -62,6 +72,9 @@ public class SecurityConfig {
 
                 // Add JWT filter before the default UsernamePasswordAuthenticationFilter
                 .addFilterBefore(authFilter, UsernamePasswordAuthenticationFilter.class)
+
+                // Throttle credential endpoints before any token, database or hashing work
+                .addFilterBefore(loginThrottleFilter, JwtAuthFilter.class)
                 
                 .build();
     }
@@ -77,20 +90,12 @@ public class SecurityConfig {
         // Set custom UserDetailsService implementation
         authProvider.setUserDetailsService(userDetailsService);
         
-        // Set password encoder (BCrypt for hashing passwords)
-        authProvider.setPasswordEncoder(passwordEncoder());
+        // Set password encoder (delegating encoder, algorithm chosen per deployment)
+        authProvider.setPasswordEncoder(passwordEncoder);
         
         return authProvider;
     }
 
-    /**
-     * Defines the password encoder to be used for hashing passwords.
-     */
-    @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
-    }
-
     /**
      * Configures the AuthenticationManager, linking it with UserDetailsService and PasswordEncoder.
      */
@@ -99,7 +104,7 @@ public class SecurityConfig {
         return http
                 .getSharedObject(AuthenticationManagerBuilder.class)
                 .userDetailsService(userDetailsService)
-                .passwordEncoder(passwordEncoder())
+                .passwordEncoder(passwordEncoder)
                 .and()
                 .build();
     }
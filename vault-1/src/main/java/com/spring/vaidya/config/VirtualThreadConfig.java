@@ -0,0 +1,38 @@
+package com.spring.vaidya.config;
+
+import org.springframework.boot.autoconfigure.cache.CacheManagerCustomizer;
+import org.springframework.boot.autoconfigure.cache.CacheProperties;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+import org.springframework.util.StringUtils;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+/**
+ * Adjustments for running on virtual threads ({@code spring.threads.virtual.enabled=true} on Java 21,
+ * see {@code application-virtual-threads.properties}). Spring Boot itself moves Tomcat, {@code @Async}
+ * and {@code @Scheduled} work onto virtual threads; this class removes pinning that Boot cannot see.
+ * <p>
+ * {@code @Cacheable(sync = true)} loads run inside Caffeine's per-key compute, which holds a
+ * {@code ConcurrentHashMap} bin monitor for the duration of the database query. In async cache mode
+ * only the pending future is stored under that monitor; the query itself runs on a virtual thread,
+ * and concurrent callers for the same key still share it.
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnThreading(Threading.VIRTUAL)
+public class VirtualThreadConfig {
+
+    @Bean
+    public CacheManagerCustomizer<CaffeineCacheManager> virtualThreadCacheLoading(CacheProperties cacheProperties) {
+        return cacheManager -> {
+            String spec = cacheProperties.getCaffeine().getSpec();
+            Caffeine<Object, Object> caffeine = StringUtils.hasText(spec) ? Caffeine.from(spec) : Caffeine.newBuilder();
+            cacheManager.setCaffeine(caffeine.executor(new VirtualThreadTaskExecutor("cache-load-")));
+            cacheManager.setAsyncCacheMode(true);
+        };
+    }
+}
@@ -3,12 +3,19 @@ package com.spring.vaidya.controller;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
 import com.spring.vaidya.entity.ErrorResponse;
 import com.spring.vaidya.entity.ForgotPasswordRequest;
+import com.spring.vaidya.entity.RefreshTokenRequest;
 import com.spring.vaidya.entity.ResetPasswordRequest;
+import com.spring.vaidya.entity.TokenResponse;
+import com.spring.vaidya.jwt.JwtUtils;
+import com.spring.vaidya.jwt.JwtVerification;
+import com.spring.vaidya.service.RefreshTokenService;
+import com.spring.vaidya.service.TokenRevocationService;
 import com.spring.vaidya.service.UserService;
 
 import io.swagger.v3.oas.annotations.OpenAPIDefinition;
@@ -31,6 +38,15 @@ public class AuthController {
     @Autowired
     private UserService userService;
 
+    @Autowired
+    private RefreshTokenService refreshTokenService;
+
+    @Autowired
+    private JwtUtils jwtUtils;
+
+    @Autowired
+    private TokenRevocationService tokenRevocationService;
+
     /**
      * Handles the "Forgot Password" functionality.
      * 
@@ -100,4 +116,66 @@ public class AuthController {
         // If successful, return a success message.
         return ResponseEntity.ok("Password reset successful.");
     }
+
+    /**
+     * Exchanges a refresh token for a new access/refresh token pair without re-checking the password.
+     * 
+     * @param request Contains the refresh token from the last login or refresh.
+     * @return ResponseEntity with the new token pair.
+     */
+    @Operation(
+            summary = "Refresh Tokens",
+            description = "Rotates the refresh token and issues a new short-lived access token.",
+            requestBody = @RequestBody(
+                description = "Current refresh token",
+                required = true,
+                content = @Content(schema = @Schema(implementation = RefreshTokenRequest.class))
+            ),
+            responses = {
+                @ApiResponse(responseCode = "200", description = "New token pair issued.", content = @Content(schema = @Schema(implementation = TokenResponse.class))),
+                @ApiResponse(responseCode = "401", description = "Invalid, expired or reused refresh token")
+            }
+        )
+    @PostMapping("/refresh")
+    public ResponseEntity<TokenResponse> refresh(@org.springframework.web.bind.annotation.RequestBody RefreshTokenRequest request) {
+        // Rotate the refresh token; reuse of an old token revokes the whole family.
+        RefreshTokenService.Rotation rotation = refreshTokenService.rotate(request.getRefreshToken());
+
+        // Sign a fresh access token from the account the refresh token belongs to.
+        String accessToken = jwtUtils.generateJwtToken(rotation.getUser());
+        return ResponseEntity.ok(new TokenResponse(accessToken, rotation.getRefreshToken(),
+                jwtUtils.getAccessTokenExpirationSeconds()));
+    }
+
+    /**
+     * Logs the caller out by revoking the presented access token and, if supplied, its refresh token family.
+     * 
+     * @param authHeader The Authorization header carrying the access token.
+     * @param request    Optional body with the refresh token to revoke.
+     * @return ResponseEntity indicating success.
+     */
+    @Operation(
+            summary = "Logout",
+            description = "Revokes the bearer access token and the supplied refresh token.",
+            responses = {
+                @ApiResponse(responseCode = "200", description = "Logged out.")
+            }
+        )
+    @PostMapping("/logout")
+    public ResponseEntity<?> logout(@RequestHeader(value = "Authorization", required = false) String authHeader,
+            @org.springframework.web.bind.annotation.RequestBody(required = false) RefreshTokenRequest request) {
+        // Revoke the access token if it is still valid; invalid tokens are already unusable.
+        if (authHeader != null && authHeader.startsWith("Bearer ")) {
+            JwtVerification verification = jwtUtils.verifyJwtToken(authHeader.substring(7));
+            if (verification.isValid()) {
+                tokenRevocationService.revokeToken(verification.getClaims());
+            }
+        }
+
+        // Revoke the refresh token family so the session cannot be resumed.
+        if (request != null) {
+            refreshTokenService.revoke(request.getRefreshToken());
+        }
+        return ResponseEntity.ok("Logged out successfully.");
+    }
 }
@@ -9,6 +9,7 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import com.spring.vaidya.entity.User;
+import com.spring.vaidya.exception.HashingCapacityExceededException;
 import com.spring.vaidya.exception.ResourceNotFoundException;
 import com.spring.vaidya.repo.DoctorRepository;
 import com.spring.vaidya.service.DoctorServiceImpl;
@@ -51,6 +52,8 @@ public class DoctorController {
             ResponseEntity<?> response = doctorService.saveDoctor(doctor);
             logger.info("Doctor registered successfully: {}", doctor.getUserEmail());
             return response;
+        } catch (HashingCapacityExceededException e) {
+            throw e; // Answered with 503 and Retry-After
         } catch (Exception e) {
             logger.error("Error registering doctor: {}", doctor.getUserEmail(), e);
             throw new RuntimeException("Failed to register doctor", e);
@@ -70,6 +73,17 @@ public class DoctorController {
         return response;
     }
 
+    @Operation(summary = "Resend verification email", description = "Sends the account confirmation link again; repeated requests within a few minutes send only one email.")
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Verification email queued"),
+        @ApiResponse(responseCode = "400", description = "No unverified account with this email")
+    })
+    @PostMapping("/resend-verification")
+    public ResponseEntity<?> resendVerification(@Parameter(description = "Email the doctor registered with", required = true) @RequestParam String email) {
+        logger.info("Received request to resend verification email to: {}", email);
+        return doctorService.resendVerification(email);
+    }
+
     @Operation(summary = "Get all doctors", description = "Fetches a list of all registered doctors.")
     @ApiResponses({
         @ApiResponse(responseCode = "200", description = "List of doctors retrieved successfully"),
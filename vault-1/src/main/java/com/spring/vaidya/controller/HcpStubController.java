@@ -0,0 +1,86 @@
+package com.spring.vaidya.controller;
+
+import java.security.SecureRandom;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.spring.vaidya.service.HashiCorpApiService;
+
+/**
+ * Local stand-in for the two HashiCorp Cloud Platform endpoints the application calls: the OAuth2
+ * client-credentials token endpoint and the secrets {@code :open} endpoint. Active only under the
+ * {@code hcp-stub} profile, which also points {@code hashicorp.tokenUrl} and {@code hashicorp.apiUrl}
+ * at it, so startup, key rotation and the secret cache can be exercised without network access.
+ */
+@RestController
+@Profile("hcp-stub")
+@RequestMapping("/hcp-stub")
+public class HcpStubController {
+
+    private static final Logger logger = LoggerFactory.getLogger(HcpStubController.class);
+
+    private static final long TOKEN_TTL_SECONDS = 3600;
+
+    private final SecureRandom random = new SecureRandom();
+    private final Set<String> issuedTokens = ConcurrentHashMap.newKeySet();
+    private final AtomicReference<HashiCorpApiService.SecretVersion> secret =
+            new AtomicReference<>(new HashiCorpApiService.SecretVersion(1, randomSecret()));
+
+    /**
+     * Issues an access token, as {@code https://auth.idp.hashicorp.com/oauth2/token} does for client credentials.
+     */
+    @PostMapping(value = "/oauth2/token", consumes = MediaType.APPLICATION_FORM_URLENCODED_VALUE)
+    public Map<String, Object> token() {
+        String token = UUID.randomUUID().toString();
+        issuedTokens.add(token);
+        return Map.of("access_token", token, "token_type", "Bearer", "expires_in", TOKEN_TTL_SECONDS);
+    }
+
+    /**
+     * Returns the current secret version in the shape of the HCP Vault Secrets {@code :open} response.
+     */
+    @GetMapping("/secrets:open")
+    public ResponseEntity<Map<String, Object>> openSecrets(
+            @RequestHeader(value = "Authorization", required = false) String authorization) {
+        if (authorization == null || !issuedTokens.contains(authorization.replaceFirst("^Bearer ", ""))) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
+        HashiCorpApiService.SecretVersion current = secret.get();
+        Map<String, Object> staticVersion = Map.of("version", current.getVersion(), "value", current.getValue());
+        return ResponseEntity.ok(Map.of("secrets", List.of(Map.of("name", "jwtSecret", "static_version", staticVersion))));
+    }
+
+    /**
+     * Publishes a new random secret version, which the application picks up on its next poll.
+     */
+    @PostMapping("/rotate")
+    public Map<String, Object> rotate() {
+        HashiCorpApiService.SecretVersion next = secret.updateAndGet(
+                current -> new HashiCorpApiService.SecretVersion(current.getVersion() + 1, randomSecret()));
+        logger.info("HCP stub rotated secret to version {}", next.getVersion());
+        return Map.of("version", next.getVersion());
+    }
+
+    private String randomSecret() {
+        byte[] bytes = new byte[64]; // HS512 key size
+        random.nextBytes(bytes);
+        return Base64.getEncoder().encodeToString(bytes);
+    }
+}
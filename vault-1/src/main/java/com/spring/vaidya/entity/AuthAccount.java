@@ -0,0 +1,59 @@
+package com.spring.vaidya.entity;
+
+import java.io.Serializable;
+
+/**
+ * Read-only view of the columns needed to authenticate a user.
+ * Loaded by a narrow query and safe to share across threads and caches.
+ */
+public final class AuthAccount implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private final Long userId;
+    private final String userEmail;
+    private final String password;
+    private final String fullName;
+    private final Integer roleId;
+    private final boolean enabled;
+
+    public AuthAccount(Long userId, String userEmail, String password, String fullName, Integer roleId,
+                       boolean enabled) {
+        this.userId = userId;
+        this.userEmail = userEmail;
+        this.password = password;
+        this.fullName = fullName;
+        this.roleId = roleId;
+        this.enabled = enabled;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public String getUserEmail() {
+        return userEmail;
+    }
+
+    public String getPassword() {
+        return password;
+    }
+
+    public String getFullName() {
+        return fullName;
+    }
+
+    public Integer getRoleId() {
+        return roleId;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    @Override
+    public String toString() {
+        return "AuthAccount [userId=" + userId + ", userEmail=" + userEmail + ", password=PROTECTED, roleId="
+                + roleId + ", enabled=" + enabled + "]";
+    }
+}
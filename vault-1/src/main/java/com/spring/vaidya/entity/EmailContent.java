@@ -0,0 +1,11 @@
+package com.spring.vaidya.entity;
+
+/**
+ * A rendered email, ready to queue or send: subject, plain-text body and an optional HTML alternative.
+ *
+ * @param subject Subject line.
+ * @param text    Plain-text body.
+ * @param html    HTML body, or null for a text-only message.
+ */
+public record EmailContent(String subject, String text, String html) {
+}
@@ -0,0 +1,153 @@
+package com.spring.vaidya.entity;
+
+import java.time.LocalDateTime;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.persistence.*;
+
+@Entity
+@Table(name = "email_outbox", indexes = {
+        @Index(name = "idx_email_outbox_due", columnList = "status, nextAttemptAt")
+})
+@Schema(description = "Email written in the same transaction as the change that triggers it, sent later by the outbox dispatcher")
+public class EmailOutbox {
+
+    public enum Status {
+        /** Waiting to be sent, or to be retried at nextAttemptAt. */
+        PENDING,
+        /** Accepted by the SMTP server. */
+        SENT,
+        /** Gave up after the configured number of attempts. */
+        FAILED
+    }
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Schema(description = "Monotonic ID; messages are sent in ID order", example = "1")
+    private Long id;
+
+    @Column(nullable = false)
+    @Schema(description = "Recipient address", example = "doctor@example.com")
+    private String recipient;
+
+    @Column(nullable = false)
+    @Schema(description = "Subject line", example = "Complete Registration!")
+    private String subject;
+
+    @Column(nullable = false, length = 4000)
+    @Schema(description = "Plain-text body")
+    private String body;
+
+    @Lob
+    @Schema(description = "HTML alternative to the plain-text body, if any")
+    private String htmlBody;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    @Schema(description = "Delivery state", example = "PENDING")
+    private Status status;
+
+    @Column(nullable = false)
+    @Schema(description = "Send attempts so far, counted when a dispatcher claims the message", example = "0")
+    private int attempts;
+
+    @Column(nullable = false)
+    @Schema(description = "When the message was queued")
+    private LocalDateTime createdAt;
+
+    @Column(nullable = false)
+    @Schema(description = "Earliest time a dispatcher may (re)try the message; pushed forward while a dispatcher holds it")
+    private LocalDateTime nextAttemptAt;
+
+    @Schema(description = "When the SMTP server accepted the message")
+    private LocalDateTime sentAt;
+
+    @Column(length = 500)
+    @Schema(description = "Error from the last failed attempt")
+    private String lastError;
+
+    public EmailOutbox() {
+    }
+
+    public static EmailOutbox pending(String recipient, EmailContent content, LocalDateTime now) {
+        EmailOutbox message = new EmailOutbox();
+        message.recipient = recipient;
+        message.subject = content.subject();
+        message.body = content.text();
+        message.htmlBody = content.html();
+        message.status = Status.PENDING;
+        message.createdAt = now;
+        message.nextAttemptAt = now;
+        return message;
+    }
+
+    /**
+     * Takes the message for one send attempt; if the dispatcher dies, it becomes due again after the lease.
+     */
+    public void claim(LocalDateTime leaseUntil) {
+        attempts++;
+        nextAttemptAt = leaseUntil;
+    }
+
+    public void markSent(LocalDateTime now) {
+        status = Status.SENT;
+        sentAt = now;
+        lastError = null;
+    }
+
+    /**
+     * Records a failed attempt: retried at the given time, or given up on when it is null.
+     */
+    public void markFailed(String error, LocalDateTime retryAt) {
+        lastError = error != null && error.length() > 500 ? error.substring(0, 500) : error;
+        if (retryAt == null) {
+            status = Status.FAILED;
+        } else {
+            nextAttemptAt = retryAt;
+        }
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getRecipient() {
+        return recipient;
+    }
+
+    public String getSubject() {
+        return subject;
+    }
+
+    public String getBody() {
+        return body;
+    }
+
+    public String getHtmlBody() {
+        return htmlBody;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public int getAttempts() {
+        return attempts;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public LocalDateTime getNextAttemptAt() {
+        return nextAttemptAt;
+    }
+
+    public LocalDateTime getSentAt() {
+        return sentAt;
+    }
+
+    public String getLastError() {
+        return lastError;
+    }
+}
@@ -20,6 +20,12 @@ public class LoginResponse {
     
     @Schema(description = "Role ID of the logged-in user", example = "1")
     private Integer roleId;
+
+    @Schema(description = "Single-use refresh token for /auth/refresh", example = "q3X9vJ0b1k2...")
+    private String refreshToken;
+
+    @Schema(description = "Access token lifetime in seconds", example = "900")
+    private long expiresIn;
 //    public LoginResponse(String token, String fullName, Long userId) {
 //        this.token = token;
 //        this.fullName = fullName;
@@ -58,6 +64,22 @@ public class LoginResponse {
 		this.userId = userId;
 	}
 
+	public String getRefreshToken() {
+		return refreshToken;
+	}
+
+	public void setRefreshToken(String refreshToken) {
+		this.refreshToken = refreshToken;
+	}
+
+	public long getExpiresIn() {
+		return expiresIn;
+	}
+
+	public void setExpiresIn(long expiresIn) {
+		this.expiresIn = expiresIn;
+	}
+
 	public LoginResponse() {
 		super();
 		// TODO Auto-generated constructor stub
@@ -71,10 +93,17 @@ public class LoginResponse {
 		this.roleId=roleId;
 	}
 
+	public LoginResponse(String token, String fullName, Long userId, Integer roleId, String refreshToken,
+			long expiresIn) {
+		this(token, fullName, userId, roleId);
+		this.refreshToken = refreshToken;
+		this.expiresIn = expiresIn;
+	}
+
 	@Override
 	public String toString() {
 		return "LoginResponse [token=" + token + ", fullName=" + fullName + ", userId=" + userId + ", roleId=" + roleId
-				+ "]";
+				+ ", expiresIn=" + expiresIn + "]";
 	}
 
 
@@ -0,0 +1,90 @@
+package com.spring.vaidya.entity;
+
+import java.time.LocalDateTime;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.persistence.*;
+
+@Entity
+@Table(name = "refresh_token", indexes = {
+        @Index(name = "idx_refresh_token_expiry", columnList = "expiryDate"),
+        @Index(name = "idx_refresh_token_family", columnList = "familyId")
+})
+@Schema(description = "Entity representing a rotating refresh token (only its SHA-256 digest is stored)")
+public class RefreshToken {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Schema(description = "Unique ID of the refresh token", example = "1")
+    private Long id;
+
+    @Column(nullable = false, unique = true, length = 43)
+    @Schema(description = "URL-safe Base64 SHA-256 digest of the refresh token")
+    private String tokenHash;
+
+    @Column(nullable = false, length = 36)
+    @Schema(description = "Rotation family shared by every token descended from the same login")
+    private String familyId;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "user_id", nullable = false)
+    @Schema(description = "User the token was issued to")
+    private User user;
+
+    @Column(nullable = false)
+    @Schema(description = "Expiration date and time of the token", example = "2024-09-30T15:30:00")
+    private LocalDateTime expiryDate;
+
+    @Schema(description = "Whether the token has already been exchanged for a new one")
+    private boolean used;
+
+    public RefreshToken() {
+    }
+
+    public RefreshToken(String tokenHash, String familyId, User user, LocalDateTime expiryDate) {
+        this.tokenHash = tokenHash;
+        this.familyId = familyId;
+        this.user = user;
+        this.expiryDate = expiryDate;
+    }
+
+    /**
+     * Rebuilds a stored token from a row read without JPA (the reactive repositories).
+     */
+    public RefreshToken(Long id, String tokenHash, String familyId, User user, LocalDateTime expiryDate, boolean used) {
+        this(tokenHash, familyId, user, expiryDate);
+        this.id = id;
+        this.used = used;
+    }
+
+    /**
+     * Checks if the token is expired.
+     */
+    public boolean isExpired() {
+        return expiryDate.isBefore(LocalDateTime.now());
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getTokenHash() {
+        return tokenHash;
+    }
+
+    public String getFamilyId() {
+        return familyId;
+    }
+
+    public User getUser() {
+        return user;
+    }
+
+    public LocalDateTime getExpiryDate() {
+        return expiryDate;
+    }
+
+    public boolean isUsed() {
+        return used;
+    }
+}
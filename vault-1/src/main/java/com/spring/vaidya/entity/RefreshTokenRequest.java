@@ -0,0 +1,32 @@
+package com.spring.vaidya.entity;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "Request model for exchanging a refresh token")
+public class RefreshTokenRequest {
+
+    @Schema(description = "Refresh token returned by the last login or refresh", example = "q3X9vJ0b1k2...", required = true)
+    private String refreshToken;
+
+    public RefreshTokenRequest() {
+        super();
+    }
+
+    public RefreshTokenRequest(String refreshToken) {
+        super();
+        this.refreshToken = refreshToken;
+    }
+
+    public String getRefreshToken() {
+        return refreshToken;
+    }
+
+    public void setRefreshToken(String refreshToken) {
+        this.refreshToken = refreshToken;
+    }
+
+    @Override
+    public String toString() {
+        return "RefreshTokenRequest [refreshToken=PROTECTED]";
+    }
+}
@@ -0,0 +1,82 @@
+package com.spring.vaidya.entity;
+
+import java.time.LocalDateTime;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.persistence.*;
+
+@Entity
+@Table(name = "revoked_token", indexes = {
+        @Index(name = "idx_revoked_token_expiry", columnList = "expiresAt")
+})
+@Schema(description = "Revocation of a single JWT (by jti) or of every JWT issued to a user before a cutoff")
+public class RevokedToken {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Schema(description = "Monotonic ID; nodes poll for rows above the last ID they have seen", example = "1")
+    private Long id;
+
+    @Column(length = 36)
+    @Schema(description = "Revoked token ID (jti claim), or null for a user-wide revocation")
+    private String jti;
+
+    @Schema(description = "User whose tokens are revoked, or null for a single-token revocation", example = "101")
+    private Long userId;
+
+    @Schema(description = "For user-wide revocations: tokens issued before this instant (epoch millis) are revoked")
+    private Long issuedBeforeMillis;
+
+    @Column(nullable = false)
+    @Schema(description = "When the revocation can be forgotten because every affected token has expired")
+    private LocalDateTime expiresAt;
+
+    public RevokedToken() {
+    }
+
+    /**
+     * Rebuilds a stored revocation from a row read without JPA (the reactive repositories).
+     */
+    public RevokedToken(Long id, String jti, Long userId, Long issuedBeforeMillis, LocalDateTime expiresAt) {
+        this.id = id;
+        this.jti = jti;
+        this.userId = userId;
+        this.issuedBeforeMillis = issuedBeforeMillis;
+        this.expiresAt = expiresAt;
+    }
+
+    public static RevokedToken forToken(String jti, LocalDateTime expiresAt) {
+        RevokedToken revokedToken = new RevokedToken();
+        revokedToken.jti = jti;
+        revokedToken.expiresAt = expiresAt;
+        return revokedToken;
+    }
+
+    public static RevokedToken forUser(Long userId, long issuedBeforeMillis, LocalDateTime expiresAt) {
+        RevokedToken revokedToken = new RevokedToken();
+        revokedToken.userId = userId;
+        revokedToken.issuedBeforeMillis = issuedBeforeMillis;
+        revokedToken.expiresAt = expiresAt;
+        return revokedToken;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getJti() {
+        return jti;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public Long getIssuedBeforeMillis() {
+        return issuedBeforeMillis;
+    }
+
+    public LocalDateTime getExpiresAt() {
+        return expiresAt;
+    }
+}
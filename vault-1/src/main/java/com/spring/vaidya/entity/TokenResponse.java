@@ -0,0 +1,62 @@
+package com.spring.vaidya.entity;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "Access/refresh token pair")
+public class TokenResponse {
+
+    @Schema(description = "Short-lived JWT access token", example = "eyJhbGciOiJIUzUxMiJ9...")
+    private String accessToken;
+
+    @Schema(description = "Single-use refresh token", example = "q3X9vJ0b1k2...")
+    private String refreshToken;
+
+    @Schema(description = "Token type to use in the Authorization header", example = "Bearer")
+    private String tokenType = "Bearer";
+
+    @Schema(description = "Access token lifetime in seconds", example = "900")
+    private long expiresIn;
+
+    public TokenResponse() {
+        super();
+    }
+
+    public TokenResponse(String accessToken, String refreshToken, long expiresIn) {
+        super();
+        this.accessToken = accessToken;
+        this.refreshToken = refreshToken;
+        this.expiresIn = expiresIn;
+    }
+
+    public String getAccessToken() {
+        return accessToken;
+    }
+
+    public void setAccessToken(String accessToken) {
+        this.accessToken = accessToken;
+    }
+
+    public String getRefreshToken() {
+        return refreshToken;
+    }
+
+    public void setRefreshToken(String refreshToken) {
+        this.refreshToken = refreshToken;
+    }
+
+    public String getTokenType() {
+        return tokenType;
+    }
+
+    public void setTokenType(String tokenType) {
+        this.tokenType = tokenType;
+    }
+
+    public long getExpiresIn() {
+        return expiresIn;
+    }
+
+    public void setExpiresIn(long expiresIn) {
+        this.expiresIn = expiresIn;
+    }
+}
@@ -1,12 +1,26 @@
 package com.spring.vaidya.entity;
 
+import java.sql.SQLException;
 import java.time.LocalTime;
+import java.util.Locale;
+
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.DuplicateKeyException;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.spring.vaidya.util.EmailNormalizer;
 
 import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.PreUpdate;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
 import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Pattern;
@@ -15,10 +29,14 @@ import lombok.Getter;
 import lombok.Setter;
 
 @Entity
+@Table(uniqueConstraints = @UniqueConstraint(name = User.NORMALIZED_EMAIL_CONSTRAINT, columnNames = "normalized_email"))
 @Getter
 @Setter
 public class User {
 
+    /** Unique constraint on the normalized email; registration relies on it to reject duplicates. */
+    public static final String NORMALIZED_EMAIL_CONSTRAINT = "uk_user_normalized_email";
+
 	@Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     @Schema(description = "Unique ID for the user", example = "1")
@@ -33,6 +51,11 @@ public class User {
     @Schema(description = "User's email address", example = "johndoe@example.com")
     private String userEmail;
 
+    @JsonIgnore
+    @Column(name = "normalized_email")
+    @Schema(hidden = true)
+    private String normalizedEmail; // EmailNormalizer form of userEmail; all email lookups go through this column
+
     @Schema(description = "User's specialization", example = "Cardiology")
     private String specialization;
 
@@ -214,6 +237,42 @@ public class User {
 	public User(String userEmail2, String password2, Object object) {
 		// TODO Auto-generated constructor stub
 	}
+
+	/**
+	 * Keeps the normalized email in step with the email on every insert and update.
+	 */
+	@PrePersist
+	@PreUpdate
+	void normalizeEmail() {
+		this.normalizedEmail = EmailNormalizer.normalize(userEmail);
+	}
+
+	/**
+	 * Tells whether a failed insert or update collided with an existing account's email.
+	 * <p>
+	 * The failure must be a unique-key violation: a {@link DuplicateKeyException}, or a driver error
+	 * with SQLState 23505 (H2, PostgreSQL) or MySQL error code 1062. As a secondary check, when the
+	 * violated constraint is named (by Hibernate, or failing that in the driver's message), it must
+	 * be {@link #NORMALIZED_EMAIL_CONSTRAINT}, so a collision on another unique column in the same
+	 * transaction (e.g. a confirmation token) is not reported as a duplicate email.
+	 */
+	public static boolean isDuplicateEmail(DataIntegrityViolationException e) {
+		boolean uniqueViolation = e instanceof DuplicateKeyException;
+		String constraint = null;
+		for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+			if (cause instanceof SQLException sqlException) {
+				uniqueViolation |= "23505".equals(sqlException.getSQLState()) || sqlException.getErrorCode() == 1062;
+			}
+			if (cause instanceof ConstraintViolationException violation && violation.getConstraintName() != null) {
+				constraint = violation.getConstraintName();
+			}
+		}
+		if (!uniqueViolation) {
+			return false;
+		}
+		String detail = constraint != null ? constraint : e.getMostSpecificCause().getMessage();
+		return detail == null || detail.toLowerCase(Locale.ROOT).contains(NORMALIZED_EMAIL_CONSTRAINT);
+	}
     
   
 }
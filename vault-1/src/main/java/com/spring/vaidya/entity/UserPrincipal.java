@@ -0,0 +1,34 @@
+package com.spring.vaidya.entity;
+
+import java.util.Collection;
+
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.userdetails.User;
+
+/**
+ * Authenticated user as seen by Spring Security. Extends the standard {@link User}
+ * with the account ID and role ID, so tokens can be issued and requests authorized
+ * without reloading the {@link com.spring.vaidya.entity.User} entity.
+ */
+public class UserPrincipal extends User {
+
+    private static final long serialVersionUID = 1L;
+
+    private final Long userId;
+    private final Integer roleId;
+
+    public UserPrincipal(String username, String password, boolean enabled,
+                         Collection<? extends GrantedAuthority> authorities, Long userId, Integer roleId) {
+        super(username, password, enabled, true, true, true, authorities);
+        this.userId = userId;
+        this.roleId = roleId;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public Integer getRoleId() {
+        return roleId;
+    }
+}
@@ -0,0 +1,19 @@
+package com.spring.vaidya.exception;
+
+/**
+ * Thrown when the password-hashing pool is saturated and a login, registration or password reset
+ * cannot be admitted. Mapped to 503 Service Unavailable with a Retry-After header.
+ */
+public class HashingCapacityExceededException extends RuntimeException {
+
+    private final long retryAfterSeconds;
+
+    public HashingCapacityExceededException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
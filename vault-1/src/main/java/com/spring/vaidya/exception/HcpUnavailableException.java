@@ -0,0 +1,15 @@
+package com.spring.vaidya.exception;
+
+/**
+ * Thrown when a HashiCorp Cloud Platform call fails after all retries, or is rejected
+ * outright because the circuit breaker is open.
+ */
+public class HcpUnavailableException extends RuntimeException {
+    public HcpUnavailableException(String message) {
+        super(message);
+    }
+
+    public HcpUnavailableException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
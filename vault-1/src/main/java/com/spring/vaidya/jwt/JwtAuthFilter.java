@@ -1,10 +1,13 @@
 package com.spring.vaidya.jwt;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
+import org.springframework.security.web.util.matcher.AntPathRequestMatcher;
+import org.springframework.security.web.util.matcher.RequestMatcher;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
@@ -12,12 +15,15 @@ import io.jsonwebtoken.ExpiredJwtException;
 import io.jsonwebtoken.MalformedJwtException;
 import io.jsonwebtoken.SignatureException;
 import io.jsonwebtoken.UnsupportedJwtException;
+import io.micrometer.core.instrument.MeterRegistry;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import java.io.IOException;
+import java.util.Arrays;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 /**
@@ -29,16 +35,28 @@ public class JwtAuthFilter extends OncePerRequestFilter {
 
     private final JwtUtils jwtUtils;
     private final UserDetailsService userDetailsService;
+    private final List<RequestMatcher> freshLookupMatchers;
+    private final JwtAuthMetrics metrics;
 
     /**
      * Constructor for JwtAuthFilter.
      *
      * @param jwtUtils           Utility class for JWT operations.
      * @param userDetailsService Service to fetch user details.
+     * @param freshLookupPaths   Ant-style paths that must reload the account from the database
+     *                           instead of trusting the claims embedded in the token.
+     * @param meterRegistry      Registry the per-request token outcomes are counted in.
      */
-    public JwtAuthFilter(JwtUtils jwtUtils, UserDetailsService userDetailsService) {
+    public JwtAuthFilter(JwtUtils jwtUtils, UserDetailsService userDetailsService,
+                         @Value("${jwt.auth.fresh-lookup-paths:}") String[] freshLookupPaths,
+                         MeterRegistry meterRegistry) {
         this.jwtUtils = jwtUtils;
         this.userDetailsService = userDetailsService;
+        this.freshLookupMatchers = Arrays.stream(freshLookupPaths)
+                .filter(path -> !path.isBlank())
+                .map(path -> (RequestMatcher) new AntPathRequestMatcher(path.trim()))
+                .toList();
+        this.metrics = new JwtAuthMetrics(meterRegistry);
     }
 
     /**
@@ -60,14 +78,22 @@ public class JwtAuthFilter extends OncePerRequestFilter {
             // Check if Authorization header contains a Bearer token
             if (authHeader != null && authHeader.startsWith("Bearer ")) {
                 String jwt = authHeader.substring(7); // Extract token after "Bearer "
-                String username = jwtUtils.getUsernameFromJwtToken(jwt);
+
+                // Verify the token once; repeated tokens are served from the verified-token cache
+                JwtVerification verification = jwtUtils.verifyJwtToken(jwt);
+                metrics.record(verification);
+                String username = verification.isValid() ? verification.getClaims().getSubject() : null;
 
                 // If username is found and user is not already authenticated
                 if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-                    UserDetails userDetails = this.userDetailsService.loadUserByUsername(username);
+                    // Trust the signed claims unless the route needs fresh account state or the token predates them
+                    UserDetails userDetails = requiresFreshLookup(request) ? null
+                            : jwtUtils.getPrincipalFromClaims(verification.getClaims());
+                    if (userDetails == null) {
+                        userDetails = this.userDetailsService.loadUserByUsername(username);
+                    }
 
-                    // Validate JWT token
-                    if (jwtUtils.validateJwtToken(jwt)) {
+                    if (userDetails.isEnabled()) {
                         // Create authentication token
                         UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
                                 userDetails, null, userDetails.getAuthorities());
@@ -77,6 +103,8 @@ public class JwtAuthFilter extends OncePerRequestFilter {
                         SecurityContextHolder.getContext().setAuthentication(authToken);
                     }
                 }
+            } else {
+                metrics.recordNoToken();
             }
             // Continue the filter chain
             chain.doFilter(request, response);
@@ -89,6 +117,21 @@ public class JwtAuthFilter extends OncePerRequestFilter {
         }
     }
 
+    /**
+     * Checks whether the request targets a route configured to reload the account from the database.
+     *
+     * @param request The HTTP request
+     * @return true if the token claims alone are not sufficient for this route
+     */
+    private boolean requiresFreshLookup(HttpServletRequest request) {
+        for (RequestMatcher matcher : freshLookupMatchers) {
+            if (matcher.matches(request)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     /**
      * Sends a JSON error response when JWT processing fails.
      *
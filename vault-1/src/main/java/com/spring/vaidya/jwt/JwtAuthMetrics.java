@@ -0,0 +1,64 @@
+package com.spring.vaidya.jwt;
+
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Counts what the JWT authentication filters saw on each request, as {@code jwt.auth.requests}
+ * tagged by outcome: {@code valid}, {@code no_token}, or the {@link JwtFailure} in lower case
+ * ({@code expired}, {@code malformed}, {@code revoked}, ...). The reactive filter also counts
+ * {@code error} when the token or the account lookup cannot be processed. Counters are registered up front, so recording
+ * is a lookup in a fixed map.
+ */
+public class JwtAuthMetrics {
+
+    private final Counter validCounter;
+    private final Counter noTokenCounter;
+    private final Counter errorCounter;
+    private final Map<JwtFailure, Counter> failureCounters = new EnumMap<>(JwtFailure.class);
+
+    /**
+     * @param meterRegistry Registry the outcome counters are published to.
+     */
+    public JwtAuthMetrics(MeterRegistry meterRegistry) {
+        this.validCounter = outcomeCounter(meterRegistry, "valid");
+        this.noTokenCounter = outcomeCounter(meterRegistry, "no_token");
+        this.errorCounter = outcomeCounter(meterRegistry, "error");
+        for (JwtFailure failure : JwtFailure.values()) {
+            failureCounters.put(failure, outcomeCounter(meterRegistry, failure.name().toLowerCase(Locale.ROOT)));
+        }
+    }
+
+    /**
+     * Records a request that carried a bearer token, by its verification result.
+     */
+    public void record(JwtVerification verification) {
+        if (verification.isValid()) {
+            validCounter.increment();
+        } else {
+            failureCounters.get(verification.getFailure()).increment();
+        }
+    }
+
+    /**
+     * Records a request without a bearer token.
+     */
+    public void recordNoToken() {
+        noTokenCounter.increment();
+    }
+
+    /**
+     * Records a request whose token could not be processed (e.g. the account lookup failed).
+     */
+    public void recordError() {
+        errorCounter.increment();
+    }
+
+    private static Counter outcomeCounter(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder("jwt.auth.requests").tag("outcome", outcome).register(meterRegistry);
+    }
+}
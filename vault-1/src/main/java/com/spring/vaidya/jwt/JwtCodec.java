@@ -0,0 +1,228 @@
+package com.spring.vaidya.jwt;
+
+import java.security.Key;
+import java.util.Date;
+import java.util.Map;
+
+import javax.crypto.SecretKey;
+import javax.crypto.spec.SecretKeySpec;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.MalformedJwtException;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.SigningKeyResolverAdapter;
+import io.jsonwebtoken.UnsupportedJwtException;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.SignatureException;
+
+/**
+ * Signs and verifies JWT tokens with pre-built HS512 keys and a single reusable parser.
+ * <p>
+ * Keys live in a {@link JwtKeyRing} keyed by {@code kid}: every token is signed with the ring's
+ * current key and carries its ID in the header, and the parser resolves the verification key from
+ * that header. Installing a new key publishes a new immutable ring through a volatile field, so
+ * request threads never lock and never observe a half-built ring. The previous key stays
+ * verify-only until every token it signed has expired, so a rotation logs nobody out.
+ */
+@Component
+public class JwtCodec {
+
+    private static final Logger logger = LoggerFactory.getLogger(JwtCodec.class);
+
+    private static final SignatureAlgorithm ALGORITHM = SignatureAlgorithm.HS512;
+
+    private final long activationDelayMs;
+    private final long retireAfterMs;
+
+    // Built once; resolves keys from whichever ring is current when a token is parsed
+    private final JwtParser parser;
+
+    // Current key ring; replaced atomically when a key is installed
+    private volatile JwtKeyRing ring;
+
+    /**
+     * @param accessTokenExpirationMs Lifetime of access tokens, which bounds how long a retired key must still verify.
+     * @param activationDelayMs       Delay before a rotated key starts signing, so other nodes can learn it first.
+     *                                Should be at least the secret poll interval.
+     * @param retireGraceMs           Extra verify-only time for tokens signed by slower nodes and for clock skew.
+     */
+    public JwtCodec(@Value("${jwt.access-token.expiration-ms:900000}") long accessTokenExpirationMs,
+                    @Value("${jwt.keys.activation-delay-ms:300000}") long activationDelayMs,
+                    @Value("${jwt.keys.retire-grace-ms:300000}") long retireGraceMs) {
+        this.activationDelayMs = activationDelayMs;
+        this.retireAfterMs = accessTokenExpirationMs + retireGraceMs;
+        this.parser = Jwts.parserBuilder().setSigningKeyResolver(new RingKeyResolver()).build();
+    }
+
+    /**
+     * Installs a signing secret under the given key ID. The first key signs immediately; later keys
+     * start signing after the activation delay, and the key they replace becomes verify-only.
+     * Installing the current latest key again is a no-op.
+     *
+     * @param kid          Key ID stamped into the header of tokens signed with this key.
+     * @param base64Secret The Base64-encoded HMAC secret, as stored in HashiCorp Vault.
+     * @return true if the key was added to the ring.
+     */
+    public synchronized boolean installKey(String kid, String base64Secret) {
+        JwtKeyRing current = ring;
+        if (current != null && current.latestKid().equals(kid)) {
+            return false;
+        }
+        byte[] keyBytes = Decoders.BASE64.decode(base64Secret);
+        SecretKey key = new SecretKeySpec(keyBytes, ALGORITHM.getJcaName());
+        long now = System.currentTimeMillis();
+        if (current == null) {
+            ring = JwtKeyRing.of(kid, key);
+            logger.info("JWT signing key {} installed", kid);
+        } else {
+            ring = current.withLatest(kid, key, now, now + activationDelayMs, retireAfterMs);
+            logger.info("JWT signing key {} installed, signing from {} ms; {} key(s) in ring",
+                    kid, activationDelayMs, ring.size());
+        }
+        return true;
+    }
+
+    /**
+     * Restores the keys of a rotation that completed before this node started, e.g. from the local
+     * secret cache: the previous key stays verify-only as usual, and the latest key starts signing
+     * the activation delay after {@code installedAtMillis}, as it does on peers that installed it
+     * then. Without a previous key, or once a ring exists, this is {@link #installKey}.
+     *
+     * @param previousKid       Key ID of the key the latest one replaced, or null if unknown.
+     * @param previousSecret    Its Base64-encoded HMAC secret, or null.
+     * @param kid               Key ID of the latest key.
+     * @param base64Secret      The latest key's Base64-encoded HMAC secret.
+     * @param installedAtMillis When the latest key was first installed.
+     * @return true if the latest key was added to the ring.
+     */
+    public synchronized boolean restoreKeys(String previousKid, String previousSecret, String kid, String base64Secret,
+                                            long installedAtMillis) {
+        if (ring != null || previousKid == null || previousKid.equals(kid)) {
+            return installKey(kid, base64Secret);
+        }
+        SecretKey previous = new SecretKeySpec(Decoders.BASE64.decode(previousSecret), ALGORITHM.getJcaName());
+        SecretKey key = new SecretKeySpec(Decoders.BASE64.decode(base64Secret), ALGORITHM.getJcaName());
+        long signsFrom = installedAtMillis + activationDelayMs;
+        ring = JwtKeyRing.of(previousKid, previous)
+                .withLatest(kid, key, System.currentTimeMillis(), signsFrom, retireAfterMs);
+        logger.info("JWT signing keys {} and {} restored, {} signing", previousKid, kid,
+                ring.signingKey(System.currentTimeMillis()).kid);
+        return true;
+    }
+
+    /**
+     * @return true once a signing secret has been installed.
+     */
+    public boolean isReady() {
+        return ring != null;
+    }
+
+    /**
+     * @return ID of the most recently installed key, or null if none has been installed.
+     */
+    public String latestKeyId() {
+        JwtKeyRing current = ring;
+        return current != null ? current.latestKid() : null;
+    }
+
+    /**
+     * Builds and signs a token.
+     *
+     * @param subject    The token subject (the user's email).
+     * @param claims     Additional claims to embed.
+     * @param issuedAt   Issue time.
+     * @param expiration Expiration time.
+     * @return The compact, signed token.
+     * @throws IllegalStateException if no signing secret has been installed.
+     */
+    public String sign(String subject, Map<String, Object> claims, Date issuedAt, Date expiration) {
+        JwtKeyRing.RingKey signingKey = requireRing().signingKey(System.currentTimeMillis());
+        return Jwts.builder()
+                .setHeaderParam(JwsHeader.KEY_ID, signingKey.kid)
+                .setClaims(claims)
+                .setSubject(subject)
+                .setIssuedAt(issuedAt)
+                .setExpiration(expiration)
+                .signWith(signingKey.key, ALGORITHM)
+                .compact();
+    }
+
+    /**
+     * Verifies the token signature and expiry and parses its claims in a single pass.
+     *
+     * @param token The compact JWT token.
+     * @return The verified claims, or the reason verification failed.
+     */
+    public JwtVerification verifyAndParse(String token) {
+        if (ring == null) {
+            return JwtVerification.failed(JwtFailure.NO_SIGNING_KEY);
+        }
+        if (token == null || token.isBlank()) {
+            return JwtVerification.failed(JwtFailure.EMPTY);
+        }
+        try {
+            Claims claims = parser.parseClaimsJws(token).getBody();
+            return JwtVerification.valid(claims);
+        } catch (ExpiredJwtException e) {
+            return JwtVerification.failed(JwtFailure.EXPIRED);
+        } catch (UnknownKeyException e) {
+            return JwtVerification.failed(JwtFailure.UNKNOWN_KEY);
+        } catch (SignatureException e) {
+            return JwtVerification.failed(JwtFailure.INVALID_SIGNATURE);
+        } catch (MalformedJwtException e) {
+            return JwtVerification.failed(JwtFailure.MALFORMED);
+        } catch (UnsupportedJwtException e) {
+            return JwtVerification.failed(JwtFailure.UNSUPPORTED);
+        } catch (IllegalArgumentException e) {
+            return JwtVerification.failed(JwtFailure.EMPTY);
+        } catch (JwtException e) {
+            return JwtVerification.failed(JwtFailure.UNSUPPORTED);
+        }
+    }
+
+    private JwtKeyRing requireRing() {
+        JwtKeyRing current = ring;
+        if (current == null) {
+            throw new IllegalStateException("JWT signing secret has not been loaded");
+        }
+        return current;
+    }
+
+    /**
+     * Picks the verification key named by the token's {@code kid} header from the current ring.
+     */
+    private final class RingKeyResolver extends SigningKeyResolverAdapter {
+
+        @Override
+        public Key resolveSigningKey(JwsHeader header, Claims claims) {
+            String kid = header.getKeyId();
+            SecretKey key = ring.verificationKey(kid, System.currentTimeMillis());
+            if (key == null) {
+                throw new UnknownKeyException("Unknown or retired JWT signing key: " + kid);
+            }
+            return key;
+        }
+    }
+
+    /**
+     * Raised when a token names a key that is not (or no longer) in the ring.
+     */
+    private static final class UnknownKeyException extends SignatureException {
+
+        private static final long serialVersionUID = 1L;
+
+        private UnknownKeyException(String message) {
+            super(message);
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package com.spring.vaidya.jwt;
+
+/**
+ * Reasons a JWT token can fail verification in {@link JwtCodec#verifyAndParse(String)}.
+ */
+public enum JwtFailure {
+
+    /** The token is well-formed and correctly signed, but its exp claim has passed. */
+    EXPIRED,
+
+    /** The token is not a structurally valid JWS. */
+    MALFORMED,
+
+    /** The token is valid but has been revoked (logout, password reset or account disable). */
+    REVOKED,
+
+    /** The token names a signing key that is unknown to this node or has been retired. */
+    UNKNOWN_KEY,
+
+    /** The token's signature does not match the signing key. */
+    INVALID_SIGNATURE,
+
+    /** The token uses a format or algorithm this application does not accept. */
+    UNSUPPORTED,
+
+    /** The token string is null or blank. */
+    EMPTY,
+
+    /** No signing key has been loaded yet, so nothing can be verified. */
+    NO_SIGNING_KEY
+}
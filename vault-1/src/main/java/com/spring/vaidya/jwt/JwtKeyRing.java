@@ -0,0 +1,118 @@
+package com.spring.vaidya.jwt;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import javax.crypto.SecretKey;
+
+/**
+ * Immutable snapshot of the JWT signing keys, indexed by key ID ({@code kid}).
+ * <p>
+ * The latest key starts signing at a scheduled switchover instant; until then the previous key keeps
+ * signing, so every node can learn the new key before any token carries it. Keys that no longer sign
+ * remain verify-only until the last token they could have signed has expired. A rotation never mutates
+ * a snapshot: it builds a new one, which {@link JwtCodec} publishes through a volatile field.
+ */
+final class JwtKeyRing {
+
+    private final Map<String, RingKey> keys;
+    private final String latestKid;
+    private final String previousKid;
+    private final long latestSignsFrom;
+    private final String legacyKid;
+
+    private JwtKeyRing(Map<String, RingKey> keys, String latestKid, String previousKid,
+                       long latestSignsFrom, String legacyKid) {
+        this.keys = keys;
+        this.latestKid = latestKid;
+        this.previousKid = previousKid;
+        this.latestSignsFrom = latestSignsFrom;
+        this.legacyKid = legacyKid;
+    }
+
+    /**
+     * Creates a ring holding a single key that signs immediately.
+     *
+     * @param kid Key ID.
+     * @param key HMAC key.
+     * @return The new ring. Tokens without a {@code kid} header are verified against this key.
+     */
+    static JwtKeyRing of(String kid, SecretKey key) {
+        return new JwtKeyRing(Map.of(kid, new RingKey(kid, key, Long.MAX_VALUE)), kid, null, 0, kid);
+    }
+
+    /**
+     * Returns a ring in which {@code kid} becomes the latest key.
+     *
+     * @param kid             Key ID of the new key.
+     * @param key             The new HMAC key.
+     * @param nowMillis       Current time.
+     * @param signsFromMillis Instant from which the new key signs; the current signing key signs until then.
+     * @param retireAfterMs   How long a key stays verify-only after it stops signing.
+     * @return The new ring. Keys whose verify window has already closed are dropped.
+     */
+    JwtKeyRing withLatest(String kid, SecretKey key, long nowMillis, long signsFromMillis, long retireAfterMs) {
+        String signingKid = signingKey(nowMillis).kid;
+        long retireAt = signsFromMillis + retireAfterMs;
+        Map<String, RingKey> next = new HashMap<>();
+        for (RingKey existing : keys.values()) {
+            if (existing.verifyUntil > nowMillis && !existing.kid.equals(kid)) {
+                next.put(existing.kid, existing.verifyUntil(Math.min(existing.verifyUntil, retireAt)));
+            }
+        }
+        next.put(kid, new RingKey(kid, key, Long.MAX_VALUE));
+        String previous = signingKid.equals(kid) ? null : signingKid;
+        return new JwtKeyRing(Collections.unmodifiableMap(next), kid, previous, signsFromMillis, legacyKid);
+    }
+
+    /**
+     * @param nowMillis Current time.
+     * @return The key new tokens are signed with.
+     */
+    RingKey signingKey(long nowMillis) {
+        if (previousKid != null && nowMillis < latestSignsFrom) {
+            return keys.get(previousKid);
+        }
+        return keys.get(latestKid);
+    }
+
+    /**
+     * Looks up the key a token must be verified against.
+     *
+     * @param kid       The token's {@code kid} header, or null for tokens issued before key IDs were stamped.
+     * @param nowMillis Current time.
+     * @return The key, or null if it is unknown or has been retired.
+     */
+    SecretKey verificationKey(String kid, long nowMillis) {
+        RingKey ringKey = keys.get(kid != null ? kid : legacyKid);
+        return ringKey != null && nowMillis < ringKey.verifyUntil ? ringKey.key : null;
+    }
+
+    String latestKid() {
+        return latestKid;
+    }
+
+    int size() {
+        return keys.size();
+    }
+
+    /**
+     * A key and the instant after which it is no longer accepted for verification.
+     */
+    static final class RingKey {
+        final String kid;
+        final SecretKey key;
+        final long verifyUntil;
+
+        private RingKey(String kid, SecretKey key, long verifyUntil) {
+            this.kid = kid;
+            this.key = key;
+            this.verifyUntil = verifyUntil;
+        }
+
+        private RingKey verifyUntil(long instant) {
+            return instant == verifyUntil ? this : new RingKey(kid, key, instant);
+        }
+    }
+}
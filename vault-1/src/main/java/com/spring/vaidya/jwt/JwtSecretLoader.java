@@ -0,0 +1,109 @@
+package com.spring.vaidya.jwt;
+
+import java.time.Instant;
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationStartedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.stereotype.Component;
+
+import com.spring.vaidya.service.HashiCorpApiService;
+import com.spring.vaidya.service.SigningSecretRotatedEvent;
+
+/**
+ * Loads the JWT signing secret into the {@link JwtCodec} without blocking application startup.
+ * <p>
+ * On startup the last known good secret is installed from the {@link SigningSecretCache}, which is a
+ * local file read, together with the secret it replaced: tokens other nodes signed with that key
+ * keep verifying, and if the rotation is recent the previous key keeps signing until the activation
+ * delay has passed. The HashiCorp fetch then runs on the task scheduler and is retried with jittered
+ * exponential backoff until it succeeds. Until a key is installed from either source, the
+ * {@code jwtSigningKey} health indicator keeps the readiness probe down.
+ */
+@Component
+public class JwtSecretLoader {
+
+    private static final Logger logger = LoggerFactory.getLogger(JwtSecretLoader.class);
+
+    private final HashiCorpApiService hashicorpApiService;
+    private final JwtCodec jwtCodec;
+    private final SigningSecretCache secretCache;
+    private final TaskScheduler taskScheduler;
+    private final long initialBackoffMs;
+    private final long maxBackoffMs;
+
+    // Where the newest installed key came from: none, cache or vault
+    private volatile String source = "none";
+
+    public JwtSecretLoader(HashiCorpApiService hashicorpApiService,
+                           JwtCodec jwtCodec,
+                           SigningSecretCache secretCache,
+                           TaskScheduler taskScheduler,
+                           @Value("${jwt.bootstrap.initial-backoff-ms:1000}") long initialBackoffMs,
+                           @Value("${jwt.bootstrap.max-backoff-ms:60000}") long maxBackoffMs) {
+        this.hashicorpApiService = hashicorpApiService;
+        this.jwtCodec = jwtCodec;
+        this.secretCache = secretCache;
+        this.taskScheduler = taskScheduler;
+        this.initialBackoffMs = initialBackoffMs;
+        this.maxBackoffMs = maxBackoffMs;
+    }
+
+    /**
+     * Installs the cached secret, if any, and starts fetching the current one from HashiCorp Vault in the background.
+     */
+    @EventListener(ApplicationStartedEvent.class)
+    public void start() {
+        secretCache.load().ifPresent(cached -> {
+            HashiCorpApiService.SecretVersion latest = cached.latest();
+            HashiCorpApiService.SecretVersion previous = cached.previous();
+            jwtCodec.restoreKeys(previous != null ? previous.getKeyId() : null, previous != null ? previous.getValue() : null,
+                    latest.getKeyId(), latest.getValue(), cached.latestStoredAt());
+            source = "cache";
+            logger.info("JWT secret {} loaded from local cache", latest.getKeyId());
+        });
+        taskScheduler.schedule(() -> fetchFromVault(initialBackoffMs), Instant.now());
+    }
+
+    /**
+     * Adds a rotated JWT secret to the key ring and the local cache. Tokens signed with earlier keys
+     * stay valid until they expire, so cached verifications are kept.
+     *
+     * @param event The new secret version.
+     */
+    @EventListener
+    public void onSigningSecretRotated(SigningSecretRotatedEvent event) {
+        HashiCorpApiService.SecretVersion secret = event.getSecret();
+        if (jwtCodec.installKey(secret.getKeyId(), secret.getValue())) {
+            secretCache.store(secret);
+            source = "vault";
+            logger.info("JWT secret rotated to {}", secret.getKeyId());
+        }
+    }
+
+    /**
+     * @return Where the newest signing key came from: {@code none}, {@code cache} or {@code vault}.
+     */
+    public String getSource() {
+        return source;
+    }
+
+    private void fetchFromVault(long backoffMs) {
+        try {
+            HashiCorpApiService.SecretVersion secret = hashicorpApiService.fetchSecret(); // Obtains an HCP access token on demand
+            jwtCodec.installKey(secret.getKeyId(), secret.getValue());
+            secretCache.store(secret);
+            source = "vault";
+            logger.info("JWT Secret successfully retrieved.");
+        } catch (Exception e) {
+            long delay = backoffMs / 2 + ThreadLocalRandom.current().nextLong(backoffMs / 2 + 1);
+            logger.error("Error fetching JWT secret from Vault, retrying in {} ms: {}", delay, e.getMessage());
+            long nextBackoff = Math.min(backoffMs * 2, maxBackoffMs);
+            taskScheduler.schedule(() -> fetchFromVault(nextBackoff), Instant.now().plusMillis(delay));
+        }
+    }
+}
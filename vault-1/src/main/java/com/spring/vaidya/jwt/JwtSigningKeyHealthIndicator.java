@@ -0,0 +1,32 @@
+package com.spring.vaidya.jwt;
+
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.stereotype.Component;
+
+/**
+ * Reports whether a JWT signing key has been installed. Included in the readiness group, so the
+ * instance receives no traffic until it can sign and verify tokens.
+ */
+@Component
+public class JwtSigningKeyHealthIndicator implements HealthIndicator {
+
+    private final JwtCodec jwtCodec;
+    private final JwtSecretLoader secretLoader;
+
+    public JwtSigningKeyHealthIndicator(JwtCodec jwtCodec, JwtSecretLoader secretLoader) {
+        this.jwtCodec = jwtCodec;
+        this.secretLoader = secretLoader;
+    }
+
+    @Override
+    public Health health() {
+        if (!jwtCodec.isReady()) {
+            return Health.outOfService().withDetail("source", secretLoader.getSource()).build();
+        }
+        return Health.up()
+                .withDetail("keyId", jwtCodec.latestKeyId())
+                .withDetail("source", secretLoader.getSource())
+                .build();
+    }
+}
@@ -1,36 +1,82 @@
 package com.spring.vaidya.jwt;
 
-import io.jsonwebtoken.*;
+import io.jsonwebtoken.Claims;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.boot.CommandLineRunner;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.authority.AuthorityUtils;
 import org.springframework.stereotype.Component;
 import org.springframework.vault.core.VaultTemplate;
-import com.spring.vaidya.service.HashiCorpApiService;
-import com.spring.vaidya.service.TokenService;
+import com.spring.vaidya.entity.AuthAccount;
+import com.spring.vaidya.entity.User;
+import com.spring.vaidya.entity.UserPrincipal;
 
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Utility class for JWT (JSON Web Token) operations, including token generation,
- * validation, and extracting user details. This class retrieves the JWT secret
- * from HashiCorp Vault at application startup.
+ * validation, and extracting user details. Signing keys are loaded into the
+ * {@link JwtCodec} by the {@link JwtSecretLoader}.
+ * <p>
+ * Exported meters: {@code jwt.sign} (tagged by outcome) and {@code jwt.verify} (tagged by
+ * source, {@code cache} or {@code signature}, and by outcome, {@code valid} or {@code rejected}).
  */
 @Component
-public class JwtUtils implements CommandLineRunner {
+public class JwtUtils {
 
-    private String jwtSecret; // Secret key for signing JWT tokens
-    private final int jwtExpirationMs = 86400000; // Token expiration time (1 day)
+    private static final Logger logger = LoggerFactory.getLogger(JwtUtils.class);
 
-    @Autowired
+    public static final String CLAIM_USER_ID = "userId";
+    public static final String CLAIM_ROLE_ID = "roleId";
+    public static final String CLAIM_ENABLED = "enabled";
+
+    @Value("${jwt.access-token.expiration-ms:900000}")
+    private long jwtExpirationMs; // Access token expiration time (15 minutes by default)
+
+    @Autowired(required = false)
     private VaultTemplate vaultTemplate; // Vault template for secure storage access
 
     @Autowired
-    private TokenService tokenService; // Service to handle authentication token refresh
+    private JwtCodec jwtCodec; // Key ring and pre-built parser
+
+    @Autowired
+    private VerifiedTokenCache verifiedTokenCache; // Tokens whose signature has already been checked
 
     @Autowired
-    private HashiCorpApiService hashicorpApiService; // Service to interact with HashiCorp Vault
+    private TokenRevocationCheck tokenRevocationCheck; // Logout / password-reset revocations
+
+    private Timer signSuccessTimer;
+    private Timer signFailureTimer;
+    private Timer verifyCachedTimer;
+    private Timer verifyCachedRejectedTimer;
+    private Timer verifySignatureTimer;
+    private Timer verifySignatureRejectedTimer;
+
+    /**
+     * Registers the signing and verification timers.
+     *
+     * @param meterRegistry Registry the timers are published to.
+     */
+    @Autowired
+    public void setMeterRegistry(MeterRegistry meterRegistry) {
+        this.signSuccessTimer = Timer.builder("jwt.sign").tag("outcome", "success").register(meterRegistry);
+        this.signFailureTimer = Timer.builder("jwt.sign").tag("outcome", "failure").register(meterRegistry);
+        this.verifyCachedTimer = verifyTimer(meterRegistry, "cache", "valid");
+        this.verifyCachedRejectedTimer = verifyTimer(meterRegistry, "cache", "rejected");
+        this.verifySignatureTimer = verifyTimer(meterRegistry, "signature", "valid");
+        this.verifySignatureRejectedTimer = verifyTimer(meterRegistry, "signature", "rejected");
+    }
+
+    private static Timer verifyTimer(MeterRegistry meterRegistry, String source, String outcome) {
+        return Timer.builder("jwt.verify").tag("source", source).tag("outcome", outcome).register(meterRegistry);
+    }
 
     /**
      * Generates a JWT token for a given username.
@@ -39,21 +85,94 @@ public class JwtUtils implements CommandLineRunner {
      * @return A signed JWT token as a string.
      */
     public String generateJwtToken(String username) {
+        return signToken(username, new HashMap<>());
+    }
+
+    /**
+     * Generates a self-contained JWT token for a user entity. The token carries the
+     * user ID, role ID and enabled flag so requests can be authenticated without a database lookup.
+     *
+     * @param user The user for which the token is generated.
+     * @return A signed JWT token as a string.
+     */
+    public String generateJwtToken(User user) {
+        return signToken(user.getUserEmail(), accountClaims(user.getUserId(), user.getRoleId(), user.isEnabled()));
+    }
+
+    /**
+     * Generates a self-contained JWT token for an authenticated principal.
+     *
+     * @param principal The principal for which the token is generated.
+     * @return A signed JWT token as a string.
+     */
+    public String generateJwtToken(UserPrincipal principal) {
+        return signToken(principal.getUsername(),
+                accountClaims(principal.getUserId(), principal.getRoleId(), principal.isEnabled()));
+    }
+
+    /**
+     * Generates a self-contained JWT token for an account loaded by the login pipeline.
+     *
+     * @param account The authenticated account.
+     * @return A signed JWT token as a string.
+     */
+    public String generateJwtToken(AuthAccount account) {
+        return signToken(account.getUserEmail(),
+                accountClaims(account.getUserId(), account.getRoleId(), account.isEnabled()));
+    }
+
+    private String signToken(String username, Map<String, Object> claims) {
+        long start = System.nanoTime();
         try {
-            Map<String, Object> claims = new HashMap<>(); // Can be used to store additional claims if needed
-            return Jwts.builder()
-                    .setClaims(claims)
-                    .setSubject(username) // Set username as the token subject
-                    .setIssuedAt(new Date()) // Set issue time
-                    .setExpiration(new Date(System.currentTimeMillis() + jwtExpirationMs)) // Set expiration time
-                    .signWith(SignatureAlgorithm.HS512, jwtSecret) // Sign with secret key
-                    .compact();
+            claims.put(Claims.ID, UUID.randomUUID().toString()); // Token ID used for revocation
+            long now = System.currentTimeMillis();
+            String token = jwtCodec.sign(username, claims, new Date(now), new Date(now + jwtExpirationMs));
+            signSuccessTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            return token;
         } catch (Exception e) {
-            System.err.println("Error generating JWT token: " + e.getMessage());
+            signFailureTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            logger.error("Error generating JWT token: {}", e.getMessage());
             return null; // Return null if token generation fails
         }
     }
 
+    private Map<String, Object> accountClaims(Long userId, Integer roleId, boolean enabled) {
+        Map<String, Object> claims = new HashMap<>();
+        claims.put(CLAIM_USER_ID, userId);
+        claims.put(CLAIM_ROLE_ID, roleId);
+        claims.put(CLAIM_ENABLED, enabled);
+        return claims;
+    }
+
+    /**
+     * Rebuilds the authenticated principal from verified token claims.
+     *
+     * @param claims Claims of a verified token.
+     * @return The principal, or null if the token was issued without account claims.
+     */
+    public UserPrincipal getPrincipalFromClaims(Claims claims) {
+        Object userId = claims.get(CLAIM_USER_ID);
+        Object enabled = claims.get(CLAIM_ENABLED);
+        if (!(userId instanceof Number) || !(enabled instanceof Boolean)) {
+            return null;
+        }
+        Object roleId = claims.get(CLAIM_ROLE_ID);
+        return new UserPrincipal(
+                claims.getSubject(),
+                "", // Credentials are never carried in the token
+                (Boolean) enabled,
+                AuthorityUtils.createAuthorityList("USER"),
+                ((Number) userId).longValue(),
+                roleId instanceof Number ? ((Number) roleId).intValue() : null);
+    }
+
+    /**
+     * @return Lifetime of newly issued access tokens, in seconds.
+     */
+    public long getAccessTokenExpirationSeconds() {
+        return jwtExpirationMs / 1000;
+    }
+
     /**
      * Validates a given JWT token.
      *
@@ -61,21 +180,7 @@ public class JwtUtils implements CommandLineRunner {
      * @return true if the token is valid, false otherwise.
      */
     public boolean validateJwtToken(String token) {
-        try {
-            Jwts.parser().setSigningKey(jwtSecret).parseClaimsJws(token); // Parse and validate token
-            return true;
-        } catch (ExpiredJwtException e) {
-            System.err.println("JWT token has expired: " + e.getMessage());
-        } catch (UnsupportedJwtException e) {
-            System.err.println("Unsupported JWT token: " + e.getMessage());
-        } catch (MalformedJwtException e) {
-            System.err.println("Malformed JWT token: " + e.getMessage());
-        } catch (SignatureException e) {
-            System.err.println("Invalid JWT signature: " + e.getMessage());
-        } catch (IllegalArgumentException e) {
-            System.err.println("JWT claims string is empty: " + e.getMessage());
-        }
-        return false;
+        return verifyJwtToken(token).isValid();
     }
 
     /**
@@ -85,28 +190,45 @@ public class JwtUtils implements CommandLineRunner {
      * @return The username if extraction is successful, null otherwise.
      */
     public String getUsernameFromJwtToken(String token) {
-        try {
-            return Jwts.parser().setSigningKey(jwtSecret).parseClaimsJws(token).getBody().getSubject();
-        } catch (JwtException e) {
-            System.err.println("Error extracting username from JWT: " + e.getMessage());
-            return null;
-        }
+        JwtVerification verification = verifyJwtToken(token);
+        return verification.isValid() ? verification.getClaims().getSubject() : null;
     }
 
     /**
-     * Fetches the JWT secret key from HashiCorp Vault at application startup.
-     * This method runs automatically when the application starts.
+     * Verifies a JWT token and returns its claims or the reason it was rejected. Tokens that
+     * were already verified are answered from the {@link VerifiedTokenCache} without
+     * re-checking the signature.
      *
-     * @param strings Command-line arguments (not used).
+     * @param token The JWT token.
+     * @return The verification result.
      */
-    @Override
-    public void run(String... strings) {
-        try {
-            tokenService.refreshAccessToken(); // Refresh the access token before fetching the JWT secret
-            jwtSecret = hashicorpApiService.callHashiCorpApi(); // Retrieve secret from HashiCorp Vault
-            System.out.println("JWT Secret successfully retrieved.");
-        } catch (Exception e) {
-            System.err.println("Error fetching JWT secret from Vault: " + e.getMessage());
+    public JwtVerification verifyJwtToken(String token) {
+        long start = System.nanoTime();
+        JwtVerification verification = null;
+        if (token != null) {
+            Claims cached = verifiedTokenCache.get(token);
+            if (cached != null) {
+                verification = JwtVerification.valid(cached);
+            }
+        }
+        boolean fromCache = verification != null;
+        if (verification == null) {
+            verification = jwtCodec.verifyAndParse(token);
+            if (verification.isValid()) {
+                verifiedTokenCache.put(token, verification.getClaims());
+            }
+        }
+        // Revocation is checked on every request, including cached tokens
+        if (verification.isValid() && tokenRevocationCheck.isRevoked(verification.getClaims())) {
+            verification = JwtVerification.failed(JwtFailure.REVOKED);
+        }
+        if (!verification.isValid()) {
+            logger.debug("JWT token rejected: {}", verification.getFailure());
         }
+        Timer timer = fromCache
+                ? (verification.isValid() ? verifyCachedTimer : verifyCachedRejectedTimer)
+                : (verification.isValid() ? verifySignatureTimer : verifySignatureRejectedTimer);
+        timer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        return verification;
     }
 }
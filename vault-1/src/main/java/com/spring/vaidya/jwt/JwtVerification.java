@@ -0,0 +1,55 @@
+package com.spring.vaidya.jwt;
+
+import io.jsonwebtoken.Claims;
+
+/**
+ * Result of verifying a JWT token: either the verified claims or the reason verification failed.
+ */
+public final class JwtVerification {
+
+    private final Claims claims;
+    private final JwtFailure failure;
+
+    private JwtVerification(Claims claims, JwtFailure failure) {
+        this.claims = claims;
+        this.failure = failure;
+    }
+
+    /**
+     * Creates a successful result.
+     *
+     * @param claims The verified claims.
+     * @return A result carrying the claims.
+     */
+    public static JwtVerification valid(Claims claims) {
+        return new JwtVerification(claims, null);
+    }
+
+    /**
+     * Creates a failed result.
+     *
+     * @param failure The reason verification failed.
+     * @return A result carrying the failure.
+     */
+    public static JwtVerification failed(JwtFailure failure) {
+        return new JwtVerification(null, failure);
+    }
+
+    public boolean isValid() {
+        return failure == null;
+    }
+
+    /**
+     * @return The verified claims, or null if verification failed.
+     */
+    public Claims getClaims() {
+        return claims;
+    }
+
+    /**
+     * @return The failure reason, or null if the token is valid.
+     */
+    public JwtFailure getFailure() {
+        return failure;
+    }
+}
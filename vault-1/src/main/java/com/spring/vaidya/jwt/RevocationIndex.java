@@ -0,0 +1,134 @@
+package com.spring.vaidya.jwt;
+
+import java.time.Instant;
+import java.time.ZoneId;
+import java.util.Date;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.spring.vaidya.entity.RevokedToken;
+import com.spring.vaidya.util.BloomFilter;
+
+import io.jsonwebtoken.Claims;
+
+/**
+ * In-memory view of the {@code revoked_token} table, shared by the servlet and reactive revocation
+ * services, which differ only in how they read and write the table.
+ * <p>
+ * Two kinds of revocation are held: a single token (by its {@code jti}) and every token issued to a
+ * user before a cutoff. Lookups first ask a Bloom filter, which answers "definitely not revoked" for
+ * almost every token without allocating; only filter hits are confirmed against the exact maps.
+ */
+public final class RevocationIndex implements TokenRevocationCheck {
+
+    public static final ZoneId ZONE = ZoneId.systemDefault();
+
+    private final long accessTokenExpirationMs;
+    private final long expectedEntries;
+    private final double falsePositiveRate;
+
+    // Exact sets: jti -> token expiry, userId -> tokens issued before this instant are revoked (epoch millis)
+    private final Map<String, Long> revokedTokens = new ConcurrentHashMap<>();
+    private final Map<Long, Long> revokedUsers = new ConcurrentHashMap<>();
+
+    // Bloom filters are append-only, so they are rebuilt from the exact sets when entries are pruned
+    private volatile BloomFilter tokenFilter;
+    private volatile BloomFilter userFilter;
+
+    public RevocationIndex(long accessTokenExpirationMs, long expectedEntries, double falsePositiveRate) {
+        this.accessTokenExpirationMs = accessTokenExpirationMs;
+        this.expectedEntries = expectedEntries;
+        this.falsePositiveRate = falsePositiveRate;
+        this.tokenFilter = BloomFilter.create(expectedEntries, falsePositiveRate);
+        this.userFilter = BloomFilter.create(expectedEntries, falsePositiveRate);
+    }
+
+    /**
+     * Checks whether verified token claims have been revoked. Allocation-free unless a Bloom filter reports a hit.
+     */
+    @Override
+    public boolean isRevoked(Claims claims) {
+        String jti = claims.getId();
+        if (jti != null && tokenFilter.mightContain(jti) && revokedTokens.containsKey(jti)) {
+            return true;
+        }
+        Object userId = claims.get(JwtUtils.CLAIM_USER_ID);
+        if (userId instanceof Number && userFilter.mightContain(((Number) userId).longValue())) {
+            Long issuedBefore = revokedUsers.get(((Number) userId).longValue());
+            Date issuedAt = claims.getIssuedAt();
+            return issuedBefore != null && issuedAt != null && issuedAt.getTime() < issuedBefore;
+        }
+        return false;
+    }
+
+    /**
+     * Builds the row revoking a single token, or returns null for tokens issued before jti stamping,
+     * which can only be revoked per user.
+     *
+     * @param claims Claims of the token to revoke.
+     */
+    public RevokedToken tokenRevocation(Claims claims) {
+        String jti = claims.getId();
+        if (jti == null || claims.getExpiration() == null) {
+            return null;
+        }
+        return RevokedToken.forToken(jti, claims.getExpiration().toInstant().atZone(ZONE).toLocalDateTime());
+    }
+
+    /**
+     * Builds the row revoking every token issued to a user up to now. {@code iat} has one-second
+     * precision, so the cutoff is the start of the next second: every token issued in the current
+     * second is revoked, including any issued after this call within that second.
+     *
+     * @param userId The user whose tokens are revoked.
+     */
+    public RevokedToken userRevocation(Long userId) {
+        long issuedBefore = (System.currentTimeMillis() / 1000 + 1) * 1000;
+        long expiresAtMillis = issuedBefore + accessTokenExpirationMs;
+        return RevokedToken.forUser(userId, issuedBefore,
+                Instant.ofEpochMilli(expiresAtMillis).atZone(ZONE).toLocalDateTime());
+    }
+
+    /**
+     * Adds a revocation row, whether written locally or polled from the shared table.
+     *
+     * @param row The revocation.
+     */
+    public void apply(RevokedToken row) {
+        if (row.getJti() != null) {
+            // Exact set first, so a Bloom filter hit is always backed by an entry
+            revokedTokens.put(row.getJti(), row.getExpiresAt().atZone(ZONE).toInstant().toEpochMilli());
+            tokenFilter.put(row.getJti());
+        } else if (row.getUserId() != null && row.getIssuedBeforeMillis() != null) {
+            revokedUsers.merge(row.getUserId(), row.getIssuedBeforeMillis(), Math::max);
+            userFilter.put(row.getUserId());
+        }
+    }
+
+    /**
+     * Forgets revocations whose tokens have all expired. Call {@link #rebuildFilters()} once the
+     * still-live rows have been re-applied.
+     */
+    public void removeExpired() {
+        long nowMillis = System.currentTimeMillis();
+        revokedTokens.values().removeIf(expiresAt -> expiresAt < nowMillis);
+        revokedUsers.values().removeIf(issuedBefore -> issuedBefore + accessTokenExpirationMs < nowMillis);
+    }
+
+    /**
+     * Rebuilds the Bloom filters from the exact sets, sized for their current contents.
+     */
+    public void rebuildFilters() {
+        long size = Math.max(revokedTokens.size(), revokedUsers.size());
+        BloomFilter newTokenFilter = BloomFilter.create(Math.max(expectedEntries, 2 * size), falsePositiveRate);
+        BloomFilter newUserFilter = BloomFilter.create(Math.max(expectedEntries, 2 * size), falsePositiveRate);
+        revokedTokens.keySet().forEach(newTokenFilter::put);
+        revokedUsers.keySet().forEach(newUserFilter::put);
+        tokenFilter = newTokenFilter;
+        userFilter = newUserFilter;
+
+        // Entries added while rebuilding may have gone into the old filters only
+        revokedTokens.keySet().forEach(newTokenFilter::put);
+        revokedUsers.keySet().forEach(newUserFilter::put);
+    }
+}
@@ -0,0 +1,163 @@
+package com.spring.vaidya.jwt;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.util.Optional;
+import java.util.Properties;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.encrypt.Encryptors;
+import org.springframework.security.crypto.encrypt.TextEncryptor;
+import org.springframework.security.crypto.keygen.KeyGenerators;
+import org.springframework.stereotype.Component;
+
+import com.spring.vaidya.service.HashiCorpApiService;
+
+/**
+ * Keeps the last JWT secret fetched from HashiCorp Vault in an encrypted local file, so a restart
+ * can start signing immediately even while Vault is slow or unreachable.
+ * <p>
+ * The secret it replaced is kept alongside, with the time the latest one was first stored, so a node
+ * restarted soon after a rotation still verifies tokens signed with the previous key and, like its
+ * peers, only starts signing with the latest key once the activation delay has passed.
+ * <p>
+ * The secrets are encrypted with AES-256-GCM under a key derived from {@code jwt.secret-cache.password}
+ * and a random per-write salt; a tampered file or a wrong password fails authentication and is ignored.
+ * The cache is disabled when no password is configured.
+ */
+@Component
+public class SigningSecretCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(SigningSecretCache.class);
+
+    private static final String FORMAT = "2";
+    private static final String FORMAT_WITHOUT_PREVIOUS = "1";
+
+    private final Path file;
+    private final String password;
+
+    public SigningSecretCache(@Value("${jwt.secret-cache.file:${java.io.tmpdir}/vaidya/jwt-secret.cache}") String file,
+                              @Value("${jwt.secret-cache.password:}") String password) {
+        this.file = Paths.get(file);
+        this.password = password;
+    }
+
+    /**
+     * @return true if a password is configured, so the cache can be read and written.
+     */
+    public boolean isEnabled() {
+        return !password.isEmpty();
+    }
+
+    /**
+     * Reads the cached secrets.
+     *
+     * @return The last stored secret and the one it replaced, or empty if the cache is disabled,
+     *         missing or cannot be decrypted.
+     */
+    public Optional<Contents> load() {
+        if (!isEnabled() || !Files.isRegularFile(file)) {
+            return Optional.empty();
+        }
+        try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            Properties properties = new Properties();
+            properties.load(reader);
+            String format = properties.getProperty("format");
+            if (!FORMAT.equals(format) && !FORMAT_WITHOUT_PREVIOUS.equals(format)) {
+                logger.warn("Ignoring JWT secret cache {} with unknown format", file);
+                return Optional.empty();
+            }
+            TextEncryptor encryptor = Encryptors.delux(password, properties.getProperty("salt"));
+            HashiCorpApiService.SecretVersion latest = new HashiCorpApiService.SecretVersion(
+                    Long.parseLong(properties.getProperty("version", "0")), encryptor.decrypt(properties.getProperty("secret")));
+            HashiCorpApiService.SecretVersion previous = null;
+            if (properties.getProperty("previous-secret") != null) {
+                previous = new HashiCorpApiService.SecretVersion(Long.parseLong(properties.getProperty("previous-version", "0")),
+                        encryptor.decrypt(properties.getProperty("previous-secret")));
+            }
+            return Optional.of(new Contents(latest, previous, Long.parseLong(properties.getProperty("stored-at", "0"))));
+        } catch (Exception e) {
+            logger.warn("Ignoring unreadable JWT secret cache {}: {}", file, e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Stores the latest secret. A secret with a new key ID replaces the cached one, which is kept as
+     * the previous secret; storing the same key ID again keeps the previous secret and the time the
+     * latest was first stored. The file is written under a temporary name and moved into place, so a
+     * crash never leaves a partially written cache behind.
+     *
+     * @param secret The secret just fetched from Vault.
+     */
+    public void store(HashiCorpApiService.SecretVersion secret) {
+        if (!isEnabled()) {
+            return;
+        }
+        Contents cached = load().orElse(null);
+        Contents contents = cached != null && cached.latest().getKeyId().equals(secret.getKeyId())
+                ? new Contents(secret, cached.previous(), cached.latestStoredAt())
+                : new Contents(secret, cached != null ? cached.latest() : null, System.currentTimeMillis());
+        try {
+            String salt = KeyGenerators.string().generateKey();
+            TextEncryptor encryptor = Encryptors.delux(password, salt);
+            Properties properties = new Properties();
+            properties.setProperty("format", FORMAT);
+            properties.setProperty("version", Long.toString(secret.getVersion()));
+            properties.setProperty("salt", salt);
+            properties.setProperty("secret", encryptor.encrypt(secret.getValue()));
+            properties.setProperty("stored-at", Long.toString(contents.latestStoredAt()));
+            if (contents.previous() != null) {
+                properties.setProperty("previous-version", Long.toString(contents.previous().getVersion()));
+                properties.setProperty("previous-secret", encryptor.encrypt(contents.previous().getValue()));
+            }
+
+            Files.createDirectories(file.toAbsolutePath().getParent());
+            Path temp = Files.createTempFile(file.toAbsolutePath().getParent(), ".jwt-secret", ".tmp");
+            try {
+                restrictToOwner(temp);
+                try (Writer writer = Files.newBufferedWriter(temp, StandardCharsets.UTF_8)) {
+                    properties.store(writer, null);
+                }
+                try {
+                    Files.move(temp, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+                } catch (AtomicMoveNotSupportedException e) {
+                    Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING);
+                }
+            } finally {
+                Files.deleteIfExists(temp);
+            }
+        } catch (IOException e) {
+            logger.warn("Could not write JWT secret cache {}: {}", file, e.getMessage());
+        }
+    }
+
+    /**
+     * The cached secrets.
+     *
+     * @param latest         The last secret stored.
+     * @param previous       The secret it replaced, or null if none is known.
+     * @param latestStoredAt When the latest secret was first stored, in epoch milliseconds; 0 if unknown.
+     */
+    public record Contents(HashiCorpApiService.SecretVersion latest, HashiCorpApiService.SecretVersion previous,
+                           long latestStoredAt) {
+    }
+
+    private static void restrictToOwner(Path path) throws IOException {
+        try {
+            Files.setPosixFilePermissions(path, PosixFilePermissions.fromString("rw-------"));
+        } catch (UnsupportedOperationException e) {
+            // Non-POSIX file system; rely on the directory's permissions
+        }
+    }
+}
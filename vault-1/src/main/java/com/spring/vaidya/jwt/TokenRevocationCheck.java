@@ -0,0 +1,16 @@
+package com.spring.vaidya.jwt;
+
+import io.jsonwebtoken.Claims;
+
+/**
+ * Answers whether a verified token has been revoked. Called by {@link JwtUtils} on every request,
+ * so implementations must answer from memory.
+ */
+public interface TokenRevocationCheck {
+
+    /**
+     * @param claims Claims of a token whose signature and expiry have already been verified.
+     * @return true if the token or its user's earlier sessions have been revoked.
+     */
+    boolean isRevoked(Claims claims);
+}
@@ -0,0 +1,99 @@
+package com.spring.vaidya.jwt;
+
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.spring.vaidya.util.TokenDigest;
+
+import io.jsonwebtoken.Claims;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+/**
+ * Bounded cache of JWT tokens whose signature has already been verified.
+ * Entries are keyed by a SHA-256 digest of the raw token (the token itself is never stored)
+ * and expire no later than the token's own {@code exp} claim.
+ */
+@Component
+public class VerifiedTokenCache {
+
+    private final Cache<String, Claims> cache;
+
+    /**
+     * Creates the cache and registers its hit/miss/eviction counters with the meter registry.
+     *
+     * @param maxSize       Maximum number of verified tokens kept in memory.
+     * @param meterRegistry Registry used to expose cache statistics.
+     */
+    public VerifiedTokenCache(@Value("${jwt.verified-cache.max-size:10000}") long maxSize,
+                              MeterRegistry meterRegistry) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfter(new TokenExpiry())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "jwt.verified.tokens");
+    }
+
+    /**
+     * Returns the claims of a previously verified token.
+     *
+     * @param token The raw JWT token.
+     * @return The cached claims, or null if the token has not been verified yet (or has expired).
+     */
+    public Claims get(String token) {
+        return cache.getIfPresent(TokenDigest.sha256(token));
+    }
+
+    /**
+     * Stores the claims of a token that has just passed signature verification.
+     * Tokens without an expiration are not cached.
+     *
+     * @param token  The raw JWT token.
+     * @param claims The verified claims.
+     */
+    public void put(String token, Claims claims) {
+        if (claims.getExpiration() != null) {
+            cache.put(TokenDigest.sha256(token), claims);
+        }
+    }
+
+    /**
+     * Drops every cached entry, e.g. after a signing key has been compromised.
+     */
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+
+    /**
+     * Expires each entry at the {@code exp} instant of the token it belongs to.
+     */
+    private static final class TokenExpiry implements Expiry<String, Claims> {
+
+        @Override
+        public long expireAfterCreate(String key, Claims claims, long currentTime) {
+            return nanosUntil(claims.getExpiration());
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, Claims claims, long currentTime, long currentDuration) {
+            return nanosUntil(claims.getExpiration());
+        }
+
+        @Override
+        public long expireAfterRead(String key, Claims claims, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+
+        private static long nanosUntil(Date expiration) {
+            long remainingMs = expiration.getTime() - System.currentTimeMillis();
+            return TimeUnit.MILLISECONDS.toNanos(Math.max(0, remainingMs));
+        }
+    }
+}
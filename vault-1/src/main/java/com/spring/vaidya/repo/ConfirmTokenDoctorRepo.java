@@ -3,6 +3,7 @@ package com.spring.vaidya.repo;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 import com.spring.vaidya.entity.ConfirmTokenDoctor;
+import com.spring.vaidya.entity.User;
 
 /**
  * Repository interface for handling database operations related to
@@ -18,4 +19,12 @@ public interface ConfirmTokenDoctorRepo extends JpaRepository<ConfirmTokenDoctor
      * @return The corresponding ConfirmTokenDoctor entity, if found.
      */
     ConfirmTokenDoctor findByConfirmTokenDoctor(String confirmToken);
+
+    /**
+     * Finds the confirmation token issued to a doctor.
+     *
+     * @param doctor The doctor the token was issued to.
+     * @return The doctor's token, or null if none was issued.
+     */
+    ConfirmTokenDoctor findByDoctor(User doctor);
 }
@@ -11,28 +11,12 @@ import com.spring.vaidya.entity.User;
 public interface DoctorRepository extends JpaRepository<User, Long> {
 
     /**
-     * Finds a doctor by email (case-insensitive).
+     * Finds a doctor by email through the unique index on the normalized email.
      *
-     * @param emailId The email of the doctor.
+     * @param normalizedEmail The email, normalized with {@link com.spring.vaidya.util.EmailNormalizer}.
      * @return The User entity representing the doctor, if found.
      */
-    User findByUserEmailIgnoreCase(String emailId);
-
-    /**
-     * Checks if a doctor exists with the given email.
-     *
-     * @param email The email to check.
-     * @return True if a doctor exists with the given email, false otherwise.
-     */
-    Boolean existsByUserEmail(String email);
-
-    /**
-     * Finds a doctor by email.
-     *
-     * @param email The email of the doctor.
-     * @return The User entity representing the doctor, if found.
-     */
-    User findByUserEmail(String email);
+    User findByNormalizedEmail(String normalizedEmail);
 
     /**
      * Finds a doctor by full name.
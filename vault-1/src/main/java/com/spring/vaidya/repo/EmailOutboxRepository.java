@@ -0,0 +1,62 @@
+package com.spring.vaidya.repo;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.spring.vaidya.entity.EmailOutbox;
+
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+
+/**
+ * Repository interface for the email outbox.
+ */
+@Repository
+public interface EmailOutboxRepository extends JpaRepository<EmailOutbox, Long> {
+
+    /**
+     * Locks the oldest messages that are due, skipping rows another dispatcher has locked
+     * (on databases that support SKIP LOCKED; elsewhere the call waits for the other claim).
+     *
+     * @param status   Always {@link EmailOutbox.Status#PENDING}.
+     * @param now      The current time.
+     * @param pageable Batch size.
+     * @return Due messages, oldest first.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("select e from EmailOutbox e where e.status = :status and e.nextAttemptAt <= :now order by e.id")
+    List<EmailOutbox> findDue(@Param("status") EmailOutbox.Status status, @Param("now") LocalDateTime now,
+                              Pageable pageable);
+
+    /**
+     * Counts messages per delivery state.
+     *
+     * @return Rows of (status, count).
+     */
+    @Query("select e.status, count(e) from EmailOutbox e group by e.status")
+    List<Object[]> countByStatus();
+
+    EmailOutbox findFirstByStatusOrderByIdAsc(EmailOutbox.Status status);
+
+    List<EmailOutbox> findTop20ByStatusOrderByIdDesc(EmailOutbox.Status status);
+
+    /**
+     * Deletes sent messages older than the retention period.
+     *
+     * @param cutoff Messages sent before this instant are removed.
+     * @return Number of deleted rows.
+     */
+    @Modifying
+    @Query("delete from EmailOutbox e where e.status = :status and e.sentAt < :cutoff")
+    int deleteSentBefore(@Param("status") EmailOutbox.Status status, @Param("cutoff") LocalDateTime cutoff);
+}
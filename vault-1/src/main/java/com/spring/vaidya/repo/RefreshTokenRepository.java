@@ -0,0 +1,67 @@
+package com.spring.vaidya.repo;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.spring.vaidya.entity.RefreshToken;
+
+/**
+ * Repository interface for managing rotating refresh tokens.
+ */
+@Repository
+public interface RefreshTokenRepository extends JpaRepository<RefreshToken, Long> {
+
+    /**
+     * Finds a refresh token by the digest of its value.
+     *
+     * @param tokenHash SHA-256 digest of the refresh token.
+     * @return An Optional containing the token if found, otherwise empty.
+     */
+    Optional<RefreshToken> findByTokenHash(String tokenHash);
+
+    /**
+     * Marks a token as used, but only if no other request has used it first.
+     *
+     * @param id The token ID.
+     * @return 1 if this call consumed the token, 0 if it had already been used.
+     */
+    @Modifying
+    @Query("update RefreshToken t set t.used = true where t.id = :id and t.used = false")
+    int markUsed(@Param("id") Long id);
+
+    /**
+     * Deletes every token in a rotation family (used when reuse is detected).
+     *
+     * @param familyId The rotation family.
+     * @return Number of deleted tokens.
+     */
+    @Modifying
+    @Query("delete from RefreshToken t where t.familyId = :familyId")
+    int deleteByFamilyId(@Param("familyId") String familyId);
+
+    /**
+     * Deletes every token issued to a user.
+     *
+     * @param userId The user ID.
+     * @return Number of deleted tokens.
+     */
+    @Modifying
+    @Query("delete from RefreshToken t where t.user.userId = :userId")
+    int deleteByUserId(@Param("userId") Long userId);
+
+    /**
+     * Deletes tokens that expired before the given time (served by the expiry index).
+     *
+     * @param cutoff Tokens expiring before this instant are removed.
+     * @return Number of deleted tokens.
+     */
+    @Modifying
+    @Query("delete from RefreshToken t where t.expiryDate < :cutoff")
+    int deleteExpiredBefore(@Param("cutoff") LocalDateTime cutoff);
+}
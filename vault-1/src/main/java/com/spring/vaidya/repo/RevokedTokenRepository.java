@@ -0,0 +1,45 @@
+package com.spring.vaidya.repo;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.spring.vaidya.entity.RevokedToken;
+
+/**
+ * Repository interface for the shared token revocation table.
+ */
+@Repository
+public interface RevokedTokenRepository extends JpaRepository<RevokedToken, Long> {
+
+    /**
+     * Fetches revocations recorded after the given ID, oldest first.
+     *
+     * @param lastSeenId The highest ID already applied locally.
+     * @return Up to 1000 newer revocations.
+     */
+    List<RevokedToken> findTop1000ByIdGreaterThanOrderByIdAsc(Long lastSeenId);
+
+    /**
+     * Fetches revocations that still affect live tokens.
+     *
+     * @param now The current time.
+     * @return Every revocation expiring after now.
+     */
+    List<RevokedToken> findByExpiresAtAfter(LocalDateTime now);
+
+    /**
+     * Deletes revocations whose affected tokens have all expired.
+     *
+     * @param cutoff Revocations expiring before this instant are removed.
+     * @return Number of deleted rows.
+     */
+    @Modifying
+    @Query("delete from RevokedToken r where r.expiresAt < :cutoff")
+    int deleteExpiredBefore(@Param("cutoff") LocalDateTime cutoff);
+}
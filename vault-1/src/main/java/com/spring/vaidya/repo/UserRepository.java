@@ -1,8 +1,15 @@
 package com.spring.vaidya.repo;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+import com.spring.vaidya.entity.AuthAccount;
 import com.spring.vaidya.entity.User;
+import java.util.List;
 import java.util.Optional;
 
 /**
@@ -13,18 +20,54 @@ import java.util.Optional;
 public interface UserRepository extends JpaRepository<User, Long> {
 
     /**
-     * Finds a user by their email, ignoring case sensitivity.
+     * Finds a user by email through the unique index on the normalized email.
      *
-     * @param email The email of the user.
+     * @param normalizedEmail The email, normalized with {@link com.spring.vaidya.util.EmailNormalizer}.
      * @return An Optional containing the User entity if found, otherwise empty.
      */
-    Optional<User> findByUserEmailIgnoreCase(String email);
+    Optional<User> findByNormalizedEmail(String normalizedEmail);
 
     /**
-     * Checks if a user with the given email exists.
+     * Loads only the columns needed for authentication, looked up by normalized email.
      *
-     * @param userEmail The email to check.
-     * @return true if a user with the given email exists, otherwise false.
+     * @param normalizedEmail The email, normalized with {@link com.spring.vaidya.util.EmailNormalizer}.
+     * @return An Optional containing the account view if found, otherwise empty.
      */
-    boolean existsByUserEmail(String userEmail);
+    @Query("select new com.spring.vaidya.entity.AuthAccount(u.userId, u.userEmail, u.password, u.fullName, u.roleId, u.isEnabled) "
+            + "from User u where u.normalizedEmail = :email")
+    Optional<AuthAccount> findAuthAccountByEmail(@Param("email") String normalizedEmail);
+
+    /**
+     * Replaces a password hash only if it still equals the hash the caller read,
+     * so a background rehash never overwrites a password changed in the meantime.
+     *
+     * @param userId  The id of the user.
+     * @param oldHash The hash the new one was derived from.
+     * @param newHash The replacement hash.
+     * @return The number of rows updated (0 if the password changed concurrently).
+     */
+    @Modifying
+    @Transactional
+    @Query("update User u set u.password = :newHash where u.userId = :userId and u.password = :oldHash")
+    int updatePasswordIfUnchanged(@Param("userId") Long userId, @Param("oldHash") String oldHash,
+                                  @Param("newHash") String newHash);
+
+    /**
+     * Pages through user emails in ID order, for building in-memory membership filters.
+     *
+     * @param afterId Only users with a larger ID are returned.
+     * @param page    Page size (the page number should be 0; paging is by ID).
+     * @return The next batch of ID/email pairs.
+     */
+    @Query("select u.userId as userId, u.userEmail as userEmail from User u where u.userId > :afterId order by u.userId")
+    List<EmailEntry> findEmailsAfter(@Param("afterId") Long afterId, Pageable page);
+
+    /**
+     * Projection of a user's ID and email.
+     */
+    interface EmailEntry {
+        Long getUserId();
+
+        String getUserEmail();
+    }
 }
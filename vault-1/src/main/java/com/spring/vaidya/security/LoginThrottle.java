@@ -0,0 +1,140 @@
+package com.spring.vaidya.security;
+
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.stereotype.Component;
+
+import com.spring.vaidya.util.TokenBucket;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Holds the token buckets behind {@link LoginThrottleFilter}, keyed by endpoint, scope and client
+ * (IP address or normalized email). Lookups go through a {@link ConcurrentHashMap} and the buckets
+ * themselves are lock-free, so concurrent logins on different cores do not contend.
+ * <p>
+ * Idle buckets are evicted on a hashed time wheel: a new bucket's key is placed in the slot that
+ * comes due after the idle TTL, and each tick only examines the keys in one slot. A bucket still in
+ * use is moved to a later slot; one that has been idle for the TTL and has refilled completely is
+ * dropped, which loses nothing because a new bucket starts full. A request racing with the eviction
+ * may take its token from the dropped bucket, granting at most one extra attempt.
+ */
+@Component
+public class LoginThrottle {
+
+    private final ConcurrentHashMap<String, TokenBucket> buckets = new ConcurrentHashMap<>();
+    private final ConcurrentLinkedQueue<String>[] wheel;
+    private final AtomicLong currentTick = new AtomicLong();
+    private final long tickMs;
+    private final long idleTtlMs;
+    private final long originNanos;
+    private final LongSupplier nanoClock;
+    private final TaskScheduler taskScheduler;
+
+    private ScheduledFuture<?> ticker;
+
+    @Autowired
+    public LoginThrottle(ThrottleProperties properties, TaskScheduler taskScheduler, MeterRegistry meterRegistry) {
+        this(properties, taskScheduler, meterRegistry, System::nanoTime);
+    }
+
+    @SuppressWarnings("unchecked")
+    LoginThrottle(ThrottleProperties properties, TaskScheduler taskScheduler, MeterRegistry meterRegistry,
+                  LongSupplier nanoClock) {
+        this.tickMs = Math.max(1, properties.getWheelTick().toMillis());
+        this.idleTtlMs = Math.max(tickMs, properties.getIdleTtl().toMillis());
+        this.wheel = new ConcurrentLinkedQueue[(int) ((idleTtlMs + tickMs - 1) / tickMs) + 1];
+        for (int i = 0; i < wheel.length; i++) {
+            wheel[i] = new ConcurrentLinkedQueue<>();
+        }
+        this.nanoClock = nanoClock;
+        this.originNanos = nanoClock.getAsLong();
+        this.taskScheduler = taskScheduler;
+        Gauge.builder("throttle.buckets", buckets, ConcurrentHashMap::size).register(meterRegistry);
+    }
+
+    @PostConstruct
+    void start() {
+        ticker = taskScheduler.scheduleAtFixedRate(this::advance, Duration.ofMillis(tickMs));
+    }
+
+    @PreDestroy
+    void stop() {
+        if (ticker != null) {
+            ticker.cancel(false);
+        }
+    }
+
+    /**
+     * Takes a token from the bucket for {@code key}, creating a full bucket on first use.
+     *
+     * @param key   Bucket key, unique per endpoint, scope and client.
+     * @param limit The limit that applies to this bucket.
+     * @return 0 if the request may proceed, otherwise the milliseconds until it may be retried.
+     */
+    public long tryAcquire(String key, ThrottleProperties.Limit limit) {
+        long now = nowMs();
+        TokenBucket bucket = buckets.get(key);
+        if (bucket == null) {
+            TokenBucket created = new TokenBucket(limit.getCapacity(), limit.getRefillPeriod().toMillis(), now);
+            bucket = buckets.putIfAbsent(key, created);
+            if (bucket == null) {
+                bucket = created;
+                schedule(key, Math.max(idleTtlMs, created.fullRefillMs()));
+            }
+        }
+        return bucket.tryAcquire(now);
+    }
+
+    /**
+     * @return Number of live buckets.
+     */
+    public int size() {
+        return buckets.size();
+    }
+
+    /**
+     * Processes the slot that has come due: drops idle, refilled buckets and reschedules the rest.
+     */
+    void advance() {
+        long tick = currentTick.incrementAndGet();
+        ConcurrentLinkedQueue<String> slot = wheel[(int) (tick % wheel.length)];
+        long now = nowMs();
+        for (String key = slot.poll(); key != null; key = slot.poll()) {
+            TokenBucket bucket = buckets.get(key);
+            if (bucket == null) {
+                continue;
+            }
+            long idle = bucket.idleMs(now);
+            if (idle >= idleTtlMs && bucket.isFull(now)) {
+                buckets.remove(key, bucket);
+            } else {
+                schedule(key, Math.max(idleTtlMs - idle, bucket.fullRefillMs() - idle));
+            }
+        }
+    }
+
+    /**
+     * Places a key in the slot due after {@code delayMs}. Delays longer than one turn of the wheel
+     * land in the last slot and are rescheduled when it comes due.
+     */
+    private void schedule(String key, long delayMs) {
+        long ticksAhead = Math.min(wheel.length - 1, Math.max(1, (delayMs + tickMs - 1) / tickMs));
+        wheel[(int) ((currentTick.get() + ticksAhead) % wheel.length)].add(key);
+    }
+
+    private long nowMs() {
+        return TimeUnit.NANOSECONDS.toMillis(nanoClock.getAsLong() - originNanos);
+    }
+}
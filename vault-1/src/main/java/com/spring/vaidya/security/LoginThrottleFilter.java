@@ -0,0 +1,246 @@
+package com.spring.vaidya.security;
+
+import java.io.ByteArrayInputStream;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.SequenceInputStream;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.security.web.util.matcher.AntPathRequestMatcher;
+import org.springframework.security.web.util.matcher.RequestMatcher;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.spring.vaidya.entity.ErrorResponse;
+import com.spring.vaidya.util.EmailNormalizer;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Rate-limits the credential endpoints (login, authenticate, forgot-password) per client IP and per
+ * normalized email, before any database lookup, password hash or email send takes place.
+ * Runs ahead of {@link com.spring.vaidya.jwt.JwtAuthFilter}; throttled requests are answered with
+ * 429 and a Retry-After header.
+ * <p>
+ * The client IP is taken from {@link HttpServletRequest#getRemoteAddr()}; behind a proxy, set
+ * {@code server.forward-headers-strategy} so it reflects the real client. To find the account the
+ * JSON body is buffered and replayed to the controller.
+ */
+@Component
+public class LoginThrottleFilter extends OncePerRequestFilter {
+
+    private final ThrottleProperties properties;
+    private final LoginThrottle throttle;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+    private final List<ThrottledEndpoint> endpoints;
+
+    public LoginThrottleFilter(ThrottleProperties properties, LoginThrottle throttle, ObjectMapper objectMapper,
+                               MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.throttle = throttle;
+        this.objectMapper = objectMapper;
+        this.meterRegistry = meterRegistry;
+        this.endpoints = properties.getEndpoints().entrySet().stream()
+                .filter(entry -> entry.getValue().getPath() != null)
+                .map(entry -> new ThrottledEndpoint(entry.getKey(), entry.getValue()))
+                .toList();
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !properties.isEnabled() || find(request) == null;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        ThrottledEndpoint endpoint = find(request);
+        HttpServletRequest forwarded = request;
+
+        ThrottleProperties.Limit perIp = endpoint.config.getPerIp();
+        if (perIp.isEnabled()) {
+            long retryMs = throttle.tryAcquire(endpoint.name + "|ip|" + request.getRemoteAddr(), perIp);
+            if (retryMs > 0) {
+                reject(response, endpoint, "ip", retryMs);
+                return;
+            }
+        }
+
+        ThrottleProperties.Limit perAccount = endpoint.config.getPerAccount();
+        String accountField = endpoint.config.getAccountField();
+        if (perAccount.isEnabled() && accountField != null && !accountField.isBlank()) {
+            BufferedBodyRequest buffered = new BufferedBodyRequest(request, properties.getMaxBodyBytes());
+            forwarded = buffered;
+            String email = EmailNormalizer.normalize(readField(buffered, accountField));
+            if (email != null && !email.isEmpty()) {
+                long retryMs = throttle.tryAcquire(endpoint.name + "|account|" + email, perAccount);
+                if (retryMs > 0) {
+                    reject(response, endpoint, "account", retryMs);
+                    return;
+                }
+            }
+        }
+
+        chain.doFilter(forwarded, response);
+    }
+
+    private ThrottledEndpoint find(HttpServletRequest request) {
+        for (ThrottledEndpoint endpoint : endpoints) {
+            if (endpoint.matcher.matches(request)) {
+                return endpoint;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Extracts a top-level text field from the buffered JSON body. Malformed or oversized bodies
+     * yield null; the controller reports those errors as it normally would.
+     */
+    private String readField(BufferedBodyRequest request, String field) {
+        if (!request.isComplete() || request.getBody().length == 0) {
+            return null;
+        }
+        try {
+            JsonNode value = objectMapper.readTree(request.getBody()).get(field);
+            return value != null && value.isTextual() ? value.asText() : null;
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    private void reject(HttpServletResponse response, ThrottledEndpoint endpoint, String scope, long retryMs)
+            throws IOException {
+        Counter.builder("throttle.rejected").tag("endpoint", endpoint.name).tag("scope", scope)
+                .register(meterRegistry).increment();
+        long retryAfterSeconds = Math.max(1, (retryMs + 999) / 1000);
+        ErrorResponse error = new ErrorResponse(
+                LocalDateTime.now(),
+                HttpStatus.TOO_MANY_REQUESTS.value(),
+                "TOO_MANY_REQUESTS",
+                "Too many attempts, please retry later"
+        );
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(retryAfterSeconds));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), error);
+    }
+
+    private static final class ThrottledEndpoint {
+        private final String name;
+        private final ThrottleProperties.Endpoint config;
+        private final RequestMatcher matcher;
+
+        private ThrottledEndpoint(String name, ThrottleProperties.Endpoint config) {
+            this.name = name;
+            this.config = config;
+            this.matcher = new AntPathRequestMatcher(config.getPath(), config.getMethod());
+        }
+    }
+
+    /**
+     * Reads up to {@code maxBytes} of the body and replays it, followed by any unread remainder.
+     */
+    static final class BufferedBodyRequest extends HttpServletRequestWrapper {
+        private final byte[] body;
+        private final boolean complete;
+        private final ServletInputStream replay;
+
+        BufferedBodyRequest(HttpServletRequest request, int maxBytes) throws IOException {
+            super(request);
+            InputStream in = request.getInputStream();
+            byte[] read = in.readNBytes(maxBytes + 1);
+            this.complete = read.length <= maxBytes;
+            this.body = read;
+            this.replay = new ReplayInputStream(
+                    complete ? new ByteArrayInputStream(read) : new SequenceInputStream(new ByteArrayInputStream(read), in));
+        }
+
+        byte[] getBody() {
+            return body;
+        }
+
+        boolean isComplete() {
+            return complete;
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            return replay;
+        }
+
+        @Override
+        public BufferedReader getReader() {
+            String encoding = getCharacterEncoding();
+            Charset charset = encoding != null ? Charset.forName(encoding) : StandardCharsets.UTF_8;
+            return new BufferedReader(new InputStreamReader(replay, charset));
+        }
+
+        @Override
+        public int getContentLength() {
+            return complete ? body.length : super.getContentLength();
+        }
+
+        @Override
+        public long getContentLengthLong() {
+            return complete ? body.length : super.getContentLengthLong();
+        }
+    }
+
+    private static final class ReplayInputStream extends ServletInputStream {
+        private final InputStream source;
+        private boolean finished;
+
+        private ReplayInputStream(InputStream source) {
+            this.source = source;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = source.read();
+            finished = b < 0;
+            return b;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            int n = source.read(buffer, offset, length);
+            finished = n < 0;
+            return n;
+        }
+
+        @Override
+        public boolean isFinished() {
+            return finished;
+        }
+
+        @Override
+        public boolean isReady() {
+            return true;
+        }
+
+        @Override
+        public void setReadListener(ReadListener listener) {
+            throw new UnsupportedOperationException("Asynchronous reads are not supported");
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package com.spring.vaidya.security;
+
+import java.util.Arrays;
+import java.util.function.IntFunction;
+
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+/**
+ * Picks password-hashing costs that meet a target latency on the current CPU, and prints them as
+ * {@code application.properties} lines. For each algorithm the cost is raised step by step and
+ * the highest setting whose median hash time stays within the target is reported, so the choice
+ * between CPU per login and resistance to offline guessing is made deliberately, per host.
+ * <p>
+ * Run it on the production hardware (or an identical instance), from the packaged jar:
+ * <pre>
+ * java -cp vault-1.jar -Dloader.main=com.spring.vaidya.security.PasswordEncoderCalibrator \
+ *      org.springframework.boot.loader.launch.PropertiesLauncher [targetMs] [argon2MemoryKib]
+ * </pre>
+ * The target defaults to 250 ms and the Argon2 memory to 19456 KiB. Keep in mind that the hashing
+ * pool runs one hash per thread, so throughput per core is roughly {@code 1000 / targetMs} logins a second.
+ */
+public final class PasswordEncoderCalibrator {
+
+    private static final String SAMPLE_PASSWORD = "calibration-Passw0rd!";
+    private static final int WARMUP_RUNS = 2;
+    private static final int MEASURED_RUNS = 5;
+
+    private static final int MIN_BCRYPT_STRENGTH = 10;
+    private static final int MAX_BCRYPT_STRENGTH = 31;
+    private static final int MIN_PBKDF2_ITERATIONS = 100_000;
+
+    private PasswordEncoderCalibrator() {
+    }
+
+    public static void main(String[] args) {
+        long targetMs = args.length > 0 ? Long.parseLong(args[0]) : 250;
+        int argon2MemoryKib = args.length > 1 ? Integer.parseInt(args[1]) : 19456;
+
+        System.out.println("# Calibrated for a target of " + targetMs + " ms on "
+                + Runtime.getRuntime().availableProcessors() + " cores");
+
+        int bcryptStrength = MIN_BCRYPT_STRENGTH;
+        for (int strength = MIN_BCRYPT_STRENGTH + 1; strength <= MAX_BCRYPT_STRENGTH; strength++) {
+            if (medianMillis(PasswordEncoders.bcrypt(strength)) > targetMs) {
+                break;
+            }
+            bcryptStrength = strength;
+        }
+        report("password.bcrypt.strength", bcryptStrength, PasswordEncoders.bcrypt(bcryptStrength));
+
+        int argon2Iterations = highestWithin(targetMs, 1, 1,
+                iterations -> PasswordEncoders.argon2(argon2MemoryKib, iterations, 1));
+        System.out.println("password.argon2.memory-kib=" + argon2MemoryKib);
+        report("password.argon2.iterations", argon2Iterations,
+                PasswordEncoders.argon2(argon2MemoryKib, argon2Iterations, 1));
+
+        int pbkdf2Iterations = highestWithin(targetMs, MIN_PBKDF2_ITERATIONS, 50_000, PasswordEncoders::pbkdf2);
+        report("password.pbkdf2.iterations", pbkdf2Iterations, PasswordEncoders.pbkdf2(pbkdf2Iterations));
+    }
+
+    /**
+     * Doubles the cost until the target is exceeded, then steps linearly from the last good value.
+     * Returns {@code minimum} if even that exceeds the target.
+     */
+    private static int highestWithin(long targetMs, int minimum, int step, IntFunction<PasswordEncoder> encoder) {
+        int good = minimum;
+        int candidate = minimum * 2;
+        while (medianMillis(encoder.apply(candidate)) <= targetMs) {
+            good = candidate;
+            candidate *= 2;
+        }
+        for (int cost = good + step; cost < candidate; cost += step) {
+            if (medianMillis(encoder.apply(cost)) > targetMs) {
+                break;
+            }
+            good = cost;
+        }
+        return good;
+    }
+
+    private static void report(String property, int value, PasswordEncoder encoder) {
+        System.out.println(property + "=" + value + "    # ~" + medianMillis(encoder) + " ms");
+    }
+
+    private static long medianMillis(PasswordEncoder encoder) {
+        for (int i = 0; i < WARMUP_RUNS; i++) {
+            encoder.encode(SAMPLE_PASSWORD);
+        }
+        long[] samples = new long[MEASURED_RUNS];
+        for (int i = 0; i < MEASURED_RUNS; i++) {
+            long start = System.nanoTime();
+            encoder.encode(SAMPLE_PASSWORD);
+            samples[i] = (System.nanoTime() - start) / 1_000_000;
+        }
+        Arrays.sort(samples);
+        return samples[MEASURED_RUNS / 2];
+    }
+}
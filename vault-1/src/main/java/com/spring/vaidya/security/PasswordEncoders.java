@@ -0,0 +1,84 @@
+package com.spring.vaidya.security;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.springframework.security.crypto.argon2.Argon2PasswordEncoder;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.crypto.password.Pbkdf2PasswordEncoder;
+
+/**
+ * Builds the application's delegating password encoder. New hashes are written with an
+ * {@code {id}} prefix naming the algorithm; stored hashes are matched by their prefix, so several
+ * algorithms and cost settings can coexist while accounts are migrated on login.
+ * Hashes written before prefixes were introduced are plain BCrypt and are matched as such.
+ */
+public final class PasswordEncoders {
+
+    public static final String BCRYPT = "bcrypt";
+    public static final String ARGON2 = "argon2";
+    public static final String PBKDF2 = "pbkdf2";
+
+    private static final int SALT_LENGTH = 16;
+    private static final int HASH_LENGTH = 32;
+
+    private PasswordEncoders() {
+    }
+
+    /**
+     * Creates the delegating encoder.
+     *
+     * @param algorithm Algorithm for new hashes: {@code bcrypt}, {@code argon2} or {@code pbkdf2}.
+     * @param settings  Cost settings for each algorithm.
+     * @return An encoder that writes {@code algorithm} hashes and reports older ones via {@code upgradeEncoding}.
+     */
+    public static DelegatingPasswordEncoder create(String algorithm, Settings settings) {
+        BCryptPasswordEncoder bcrypt = bcrypt(settings.bcryptStrength);
+        Map<String, PasswordEncoder> encoders = new HashMap<>();
+        encoders.put(BCRYPT, bcrypt);
+        encoders.put(ARGON2, argon2(settings.argon2MemoryKib, settings.argon2Iterations, settings.argon2Parallelism));
+        encoders.put(PBKDF2, pbkdf2(settings.pbkdf2Iterations));
+        if (!encoders.containsKey(algorithm)) {
+            throw new IllegalArgumentException("Unsupported password algorithm: " + algorithm);
+        }
+        DelegatingPasswordEncoder delegating = new DelegatingPasswordEncoder(algorithm, encoders);
+        delegating.setDefaultPasswordEncoderForMatches(bcrypt); // Legacy hashes carry no {id} prefix
+        return delegating;
+    }
+
+    static BCryptPasswordEncoder bcrypt(int strength) {
+        return new BCryptPasswordEncoder(strength);
+    }
+
+    static Argon2PasswordEncoder argon2(int memoryKib, int iterations, int parallelism) {
+        return new Argon2PasswordEncoder(SALT_LENGTH, HASH_LENGTH, parallelism, memoryKib, iterations);
+    }
+
+    static Pbkdf2PasswordEncoder pbkdf2(int iterations) {
+        return new Pbkdf2PasswordEncoder("", SALT_LENGTH, iterations,
+                Pbkdf2PasswordEncoder.SecretKeyFactoryAlgorithm.PBKDF2WithHmacSHA256);
+    }
+
+    /**
+     * Cost parameters per algorithm. Raising a value makes existing hashes report {@code upgradeEncoding}
+     * (BCrypt and Argon2 encode their cost in the hash; PBKDF2 does not, so it is only upgraded by switching algorithm).
+     */
+    public static final class Settings {
+        private final int bcryptStrength;
+        private final int argon2MemoryKib;
+        private final int argon2Iterations;
+        private final int argon2Parallelism;
+        private final int pbkdf2Iterations;
+
+        public Settings(int bcryptStrength, int argon2MemoryKib, int argon2Iterations, int argon2Parallelism,
+                        int pbkdf2Iterations) {
+            this.bcryptStrength = bcryptStrength;
+            this.argon2MemoryKib = argon2MemoryKib;
+            this.argon2Iterations = argon2Iterations;
+            this.argon2Parallelism = argon2Parallelism;
+            this.pbkdf2Iterations = pbkdf2Iterations;
+        }
+    }
+}
@@ -0,0 +1,164 @@
+package com.spring.vaidya.security;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Limits for {@link LoginThrottleFilter}, bound from {@code throttle.*}. Each entry under
+ * {@code throttle.endpoints} names one throttled endpoint, for example:
+ * <pre>
+ * throttle.endpoints.login.path=/user/login
+ * throttle.endpoints.login.account-field=userEmail
+ * throttle.endpoints.login.per-ip.capacity=20
+ * throttle.endpoints.login.per-ip.refill-period=3s
+ * throttle.endpoints.login.per-account.capacity=5
+ * throttle.endpoints.login.per-account.refill-period=1m
+ * </pre>
+ * A limit with a capacity of 0 is disabled.
+ */
+@ConfigurationProperties(prefix = "throttle")
+public class ThrottleProperties {
+
+    private boolean enabled = true;
+
+    /** Buckets unused for this long (and fully refilled) are dropped. */
+    private Duration idleTtl = Duration.ofMinutes(10);
+
+    /** Interval between time-wheel ticks; idle buckets are found with this granularity. */
+    private Duration wheelTick = Duration.ofSeconds(10);
+
+    /** Request bodies larger than this are not parsed for the account; only the IP limit applies. */
+    private int maxBodyBytes = 16 * 1024;
+
+    private Map<String, Endpoint> endpoints = new LinkedHashMap<>();
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public Duration getIdleTtl() {
+        return idleTtl;
+    }
+
+    public void setIdleTtl(Duration idleTtl) {
+        this.idleTtl = idleTtl;
+    }
+
+    public Duration getWheelTick() {
+        return wheelTick;
+    }
+
+    public void setWheelTick(Duration wheelTick) {
+        this.wheelTick = wheelTick;
+    }
+
+    public int getMaxBodyBytes() {
+        return maxBodyBytes;
+    }
+
+    public void setMaxBodyBytes(int maxBodyBytes) {
+        this.maxBodyBytes = maxBodyBytes;
+    }
+
+    public Map<String, Endpoint> getEndpoints() {
+        return endpoints;
+    }
+
+    public void setEndpoints(Map<String, Endpoint> endpoints) {
+        this.endpoints = endpoints;
+    }
+
+    /**
+     * One throttled endpoint: the request it matches and its per-IP and per-account limits.
+     */
+    public static class Endpoint {
+
+        private String path;
+
+        private String method = "POST";
+
+        /** JSON body field holding the email; leave empty to throttle by IP only. */
+        private String accountField;
+
+        private Limit perIp = new Limit();
+
+        private Limit perAccount = new Limit();
+
+        public String getPath() {
+            return path;
+        }
+
+        public void setPath(String path) {
+            this.path = path;
+        }
+
+        public String getMethod() {
+            return method;
+        }
+
+        public void setMethod(String method) {
+            this.method = method;
+        }
+
+        public String getAccountField() {
+            return accountField;
+        }
+
+        public void setAccountField(String accountField) {
+            this.accountField = accountField;
+        }
+
+        public Limit getPerIp() {
+            return perIp;
+        }
+
+        public void setPerIp(Limit perIp) {
+            this.perIp = perIp;
+        }
+
+        public Limit getPerAccount() {
+            return perAccount;
+        }
+
+        public void setPerAccount(Limit perAccount) {
+            this.perAccount = perAccount;
+        }
+    }
+
+    /**
+     * Token-bucket limit: bursts of up to {@code capacity} requests, then one request per {@code refillPeriod}.
+     */
+    public static class Limit {
+
+        private int capacity;
+
+        private Duration refillPeriod = Duration.ofSeconds(1);
+
+        public int getCapacity() {
+            return capacity;
+        }
+
+        public void setCapacity(int capacity) {
+            this.capacity = capacity;
+        }
+
+        public Duration getRefillPeriod() {
+            return refillPeriod;
+        }
+
+        public void setRefillPeriod(Duration refillPeriod) {
+            this.refillPeriod = refillPeriod;
+        }
+
+        public boolean isEnabled() {
+            return capacity > 0;
+        }
+    }
+}
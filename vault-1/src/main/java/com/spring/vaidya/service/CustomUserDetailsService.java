@@ -1,28 +1,46 @@
 package com.spring.vaidya.service;
 
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.security.core.authority.AuthorityUtils;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
-import com.spring.vaidya.entity.User;
-import com.spring.vaidya.repo.UserRepository;
-import java.util.Optional;
+import com.spring.vaidya.entity.AuthAccount;
+import com.spring.vaidya.entity.UserPrincipal;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 
 /**
  * Custom implementation of UserDetailsService to load user details from the database.
+ * Accounts are served from the {@link UserAccountCache}; a fresh UserDetails is built on
+ * every call because Spring Security erases credentials on the returned instance.
+ * Lookups are timed as {@code user.details.load} (cache and database together); the database
+ * part alone is {@code user.account.db.lookup}.
  */
 @Service
 public class CustomUserDetailsService implements UserDetailsService {
 
-    private final UserRepository userRepository;
+    private static final Logger logger = LoggerFactory.getLogger(CustomUserDetailsService.class);
+
+    private final UserAccountCache userAccountCache;
+    private final Timer foundTimer;
+    private final Timer notFoundTimer;
 
     /**
-     * Constructor-based dependency injection for UserRepository.
+     * Constructor-based dependency injection for UserAccountCache.
      *
-     * @param userRepository The repository used to fetch user details.
+     * @param userAccountCache The cache used to fetch user details.
+     * @param meterRegistry    Registry the lookup timers are published to.
      */
-    public CustomUserDetailsService(UserRepository userRepository) {
-        this.userRepository = userRepository;
+    public CustomUserDetailsService(UserAccountCache userAccountCache, MeterRegistry meterRegistry) {
+        this.userAccountCache = userAccountCache;
+        this.foundTimer = Timer.builder("user.details.load").tag("result", "found").register(meterRegistry);
+        this.notFoundTimer = Timer.builder("user.details.load").tag("result", "not_found").register(meterRegistry);
     }
 
     /**
@@ -34,30 +52,28 @@ public class CustomUserDetailsService implements UserDetailsService {
      */
     @Override
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
+        long start = System.nanoTime();
         try {
-            // Fetch the User entity from the database
-            Optional<User> userOptional = userRepository.findByUserEmailIgnoreCase(username);
+            // Fetch the account from the cache, falling back to the database on a miss
+            AuthAccount account = userAccountCache.findAccount(username);
+            (account != null ? foundTimer : notFoundTimer).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
 
-            if (userOptional.isEmpty()) {
-                System.err.println("User not found with email:- " + username);
+            if (account == null) {
+                logger.warn("User not found with email: {}", username);
                 throw new UsernameNotFoundException("User not found with email: " + username);
             }
 
-            User user = userOptional.get();
-
-            // Create and return a UserDetails object using Spring Security's User class
-            return org.springframework.security.core.userdetails.User.builder()
-                    .username(user.getUserEmail()) // Set email as username
-                    .password(user.getPassword())  // Store hashed password
-                    .authorities("USER") // Set authorities; replace with actual roles if needed
-                    .accountExpired(false) // Account is not expired
-                    .accountLocked(false)  // Account is not locked
-                    .credentialsExpired(false) // Credentials are valid
-                    .disabled(!user.isEnabled()) // Check if user is enabled
-                    .build();
+            // Create and return a UserDetails object that also carries the account and role IDs
+            return new UserPrincipal(
+                    account.getUserEmail(), // Set email as username
+                    account.getPassword(),  // Store hashed password
+                    account.isEnabled(),    // Check if user is enabled
+                    AuthorityUtils.createAuthorityList("USER"), // Set authorities; replace with actual roles if needed
+                    account.getUserId(),
+                    account.getRoleId());
 
         } catch (Exception e) {
-            System.err.println("Error retrieving user details for: " + username + " - " + e.getMessage());
+            logger.error("Error retrieving user details for: {} - {}", username, e.getMessage());
             throw new UsernameNotFoundException("Could not retrieve user details due to an internal error.");
         }
     }
@@ -23,6 +23,14 @@ public interface DoctorService {
      * @return A ResponseEntity indicating success or failure.
      */
     ResponseEntity<?> confirmEmail(String confirmTokenDoctor);
+
+    /**
+     * Sends the verification email again to a doctor who has not confirmed their account yet.
+     *
+     * @param email The email the doctor registered with.
+     * @return A ResponseEntity indicating success or failure.
+     */
+    ResponseEntity<?> resendVerification(String email);
     
     /**
      * Retrieves a doctor by their email.
@@ -1,21 +1,27 @@
 package com.spring.vaidya.service;
 
 import java.time.LocalDateTime;
+import java.util.Locale;
+import java.util.Map;
 import java.util.regex.Pattern;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.i18n.LocaleContextHolder;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.http.ResponseEntity;
-import org.springframework.mail.SimpleMailMessage;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import com.spring.vaidya.entity.ConfirmTokenDoctor;
+import com.spring.vaidya.entity.EmailContent;
 import com.spring.vaidya.entity.ErrorResponse;
 import com.spring.vaidya.entity.User;
 import com.spring.vaidya.repo.ConfirmTokenDoctorRepo;
 import com.spring.vaidya.repo.DoctorRepository;
+import com.spring.vaidya.util.EmailNormalizer;
 
 @Service
 public class DoctorServiceImpl implements DoctorService {
@@ -29,15 +35,36 @@ public class DoctorServiceImpl implements DoctorService {
     private ConfirmTokenDoctorRepo confirmTokenDoctorRepo;
 
     @Autowired
-    private EmailService emailService;
+    private EmailOutboxService emailOutboxService;
+
+    @Autowired
+    private EmailTemplates emailTemplates;
 
     @Autowired
     private PasswordEncoder passwordEncoder;
 
+    @Autowired
+    private UserAccountCache userAccountCache;
+
+    @Autowired
+    private EmailExistenceFilter emailExistenceFilter;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private EmailCoalescer emailCoalescer;
+
     private static final String EMAIL_REGEX = "^[A-Za-z0-9+_.-]+@[A-Za-z0-9.-]+$";
     private static final String AADHAAR_REGEX = "^[0-9]{12}$";
     private static final String PHONE_REGEX = "\\d{10}";
 
+    /**
+     * Registers a doctor and queues the verification email in the same transaction as the account
+     * and its confirmation token; the response does not wait for SMTP. The password is hashed
+     * before the transaction starts, so no connection is held during hashing. Duplicate emails are
+     * caught by the unique constraint on the insert rather than by a query beforehand.
+     */
     @Override
     public ResponseEntity<ErrorResponse> saveDoctor(User doctor) {
         logger.info("Attempting to register doctor with email: {}", doctor.getUserEmail());
@@ -60,42 +87,81 @@ public class DoctorServiceImpl implements DoctorService {
                 new ErrorResponse(LocalDateTime.now(), 400, "INVALID_PHONE", "Phone number must be exactly 10 digits!"));
         }
 
-        if (doctorRepository.existsByUserEmail(doctor.getUserEmail())) {
+        doctor.setPassword(passwordEncoder.encode(doctor.getPassword()));
+
+        Locale locale = LocaleContextHolder.getLocale();
+        String token;
+        try {
+            token = transactionTemplate.execute(status -> {
+                doctorRepository.save(doctor);
+                ConfirmTokenDoctor confirmToken = confirmTokenDoctorRepo.save(new ConfirmTokenDoctor(doctor));
+                queueVerificationEmail(doctor.getUserEmail(), confirmToken.getConfirmationToken(), locale);
+                return confirmToken.getConfirmationToken();
+            });
+        } catch (DataIntegrityViolationException e) {
+            if (!User.isDuplicateEmail(e)) {
+                throw e;
+            }
             logger.warn("Email already exists: {}", doctor.getUserEmail());
             return ResponseEntity.badRequest().body(
                 new ErrorResponse(LocalDateTime.now(), 400, "EMAIL_EXISTS", "Error: Email is already in use!"));
         }
-
-        doctor.setPassword(passwordEncoder.encode(doctor.getPassword()));
-        doctorRepository.save(doctor);
+        emailCoalescer.record(EmailCoalescer.VERIFICATION, doctor.getUserEmail(), token); // An immediate resend is coalesced
+        userAccountCache.evict(doctor.getUserEmail()); // Drop any cached "not found" entry
+        emailExistenceFilter.recordInsert(doctor.getUserEmail());
         logger.info("Doctor registered successfully: {}", doctor.getUserEmail());
-
-        ConfirmTokenDoctor confirmationToken = new ConfirmTokenDoctor(doctor);
-        confirmTokenDoctorRepo.save(confirmationToken);
-        logger.info("Confirmation token generated for doctor: {}", doctor.getUserEmail());
-
-        SimpleMailMessage mailMessage = new SimpleMailMessage();
-        mailMessage.setTo(doctor.getUserEmail());
-        mailMessage.setSubject("Complete Registration!");
-        mailMessage.setText("To confirm your account, please click here : "
-                + "https://vault1-production-7c73.up.railway.app/doctor/confirm-account?token=" 
-                + confirmationToken.getConfirmationToken());
-        emailService.sendEmail(mailMessage);
-        logger.info("Verification email sent to: {}", doctor.getUserEmail());
+        logger.info("Verification email queued for: {}", doctor.getUserEmail());
 
         return ResponseEntity.ok(new ErrorResponse(LocalDateTime.now(), 200, "VERIFICATION_EMAIL_SENT", 
             "Verify email by the link sent to your email address"));
     }
 
+    /**
+     * Queues the verification email again, reusing the doctor's outstanding confirmation token.
+     * Repeated requests within the coalescing window send nothing further.
+     */
+    @Override
+    public ResponseEntity<ErrorResponse> resendVerification(String email) {
+        logger.info("Verification email resend requested for: {}", email);
+        Locale locale = LocaleContextHolder.getLocale();
+        String token = emailCoalescer.issue(EmailCoalescer.VERIFICATION, email, () -> transactionTemplate.execute(status -> {
+            User doctor = doctorRepository.findByNormalizedEmail(EmailNormalizer.normalize(email));
+            if (doctor == null || doctor.isEnabled()) {
+                return null;
+            }
+            ConfirmTokenDoctor confirmToken = confirmTokenDoctorRepo.findByDoctor(doctor);
+            if (confirmToken == null) {
+                confirmToken = confirmTokenDoctorRepo.save(new ConfirmTokenDoctor(doctor));
+            }
+            queueVerificationEmail(doctor.getUserEmail(), confirmToken.getConfirmationToken(), locale);
+            return confirmToken.getConfirmationToken();
+        }));
+
+        if (token == null) {
+            logger.warn("No unverified doctor account for: {}", email);
+            return ResponseEntity.badRequest().body(
+                new ErrorResponse(LocalDateTime.now(), 400, "NOT_PENDING_VERIFICATION", "No unverified account with this email"));
+        }
+        return ResponseEntity.ok(new ErrorResponse(LocalDateTime.now(), 200, "VERIFICATION_EMAIL_SENT",
+            "Verify email by the link sent to your email address"));
+    }
+
+    private void queueVerificationEmail(String email, String token, Locale locale) {
+        EmailContent content = emailTemplates.render(EmailTemplates.ACCOUNT_CONFIRMATION, locale, Map.of("token", token));
+        emailOutboxService.enqueue(email, content);
+    }
+
     @Override
     public ResponseEntity<ErrorResponse> confirmEmail(String confirmationToken) {
         logger.info("Attempting to confirm email with token: {}", confirmationToken);
         ConfirmTokenDoctor token = confirmTokenDoctorRepo.findByConfirmTokenDoctor(confirmationToken);
 
         if (token != null) {
-            User doctor = doctorRepository.findByUserEmailIgnoreCase(token.getDoctorEntity().getUserEmail());
+            User doctor = doctorRepository.findByNormalizedEmail(EmailNormalizer.normalize(token.getDoctorEntity().getUserEmail()));
             doctor.setEnabled(true);
             doctorRepository.save(doctor);
+            userAccountCache.evict(doctor.getUserEmail()); // Enablement must take effect on the next login
+            emailCoalescer.forget(EmailCoalescer.VERIFICATION, doctor.getUserEmail());
             logger.info("Doctor email verified successfully: {}", doctor.getUserEmail());
             return ResponseEntity.ok(new ErrorResponse(LocalDateTime.now(), 200, "EMAIL_VERIFIED", 
                 "Email verified successfully!"));
@@ -109,6 +175,6 @@ public class DoctorServiceImpl implements DoctorService {
     @Override
     public User getDoctorByEmail(String email) {
         logger.info("Fetching doctor details for email: {}", email);
-        return doctorRepository.findByUserEmail(email);
+        return doctorRepository.findByNormalizedEmail(EmailNormalizer.normalize(email));
     }
 }
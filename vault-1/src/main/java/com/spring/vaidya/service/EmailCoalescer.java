@@ -0,0 +1,124 @@
+package com.spring.vaidya.service;
+
+import java.time.Duration;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.spring.vaidya.util.EmailNormalizer;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Coalesces repeated requests for the same token email (password reset, verification resend).
+ * The first request for an account issues a token and queues its email; further requests within
+ * {@code email.coalesce.window-ms} are answered with that outstanding token, without touching the
+ * database or sending again. Keys are the kind of email plus the normalized address.
+ * <p>
+ * Issuing runs under one of a fixed set of striped locks chosen by key hash, so concurrent
+ * requests for the same account are serialized (no duplicate token rows from a racing
+ * find-then-save) while different accounts rarely contend. The lock is held until the issuing
+ * transaction has committed, so a waiting request sees its result. Coalescing is per node.
+ * <p>
+ * Exported meters: {@code email.coalesce}, tagged by kind and outcome ({@code issued},
+ * {@code coalesced}).
+ */
+@Component
+public class EmailCoalescer {
+
+    public static final String PASSWORD_RESET = "password_reset";
+    public static final String VERIFICATION = "verification";
+
+    private final Cache<String, String> recent;
+    private final ReentrantLock[] stripes;
+    private final MeterRegistry meterRegistry;
+
+    /**
+     * @param window        How long an issued token is reused instead of issuing and mailing again.
+     * @param maxSize       Most accounts remembered at once.
+     * @param stripes       Number of locks; rounded up to a power of two.
+     * @param meterRegistry Registry the coalescing counters are published to.
+     */
+    public EmailCoalescer(@Value("${email.coalesce.window-ms:300000}") long window,
+                          @Value("${email.coalesce.max-size:100000}") long maxSize,
+                          @Value("${email.coalesce.stripes:64}") int stripes,
+                          MeterRegistry meterRegistry) {
+        this.recent = Caffeine.newBuilder()
+                .expireAfterWrite(Duration.ofMillis(window))
+                .maximumSize(maxSize)
+                .build();
+        this.stripes = new ReentrantLock[Integer.highestOneBit(Math.max(1, stripes - 1)) << 1];
+        for (int i = 0; i < this.stripes.length; i++) {
+            this.stripes[i] = new ReentrantLock();
+        }
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Returns the token issued for this account within the window, or issues a new one.
+     *
+     * @param kind   Kind of email, e.g. {@link #PASSWORD_RESET}.
+     * @param email  The account's email address, in any case.
+     * @param issuer Writes the token and queues its email, returning the token; or returns null
+     *               if there is nothing to issue (e.g. no such account), which is not remembered.
+     * @return The outstanding or newly issued token, or null if the issuer returned null.
+     */
+    public String issue(String kind, String email, Supplier<String> issuer) {
+        String key = key(kind, email);
+        String token = recent.getIfPresent(key);
+        if (token != null) {
+            counter(kind, "coalesced").increment();
+            return token;
+        }
+
+        ReentrantLock lock = stripes[spread(key.hashCode()) & (stripes.length - 1)];
+        lock.lock();
+        try {
+            token = recent.getIfPresent(key); // Issued while this request waited for the lock
+            if (token != null) {
+                counter(kind, "coalesced").increment();
+                return token;
+            }
+            token = issuer.get();
+            if (token != null) {
+                recent.put(key, token);
+                counter(kind, "issued").increment();
+            }
+            return token;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Remembers a token issued elsewhere, e.g. the verification token sent on registration.
+     */
+    public void record(String kind, String email, String token) {
+        recent.put(key(kind, email), token);
+    }
+
+    /**
+     * Forgets the outstanding token, e.g. once it has been used, so the next request issues a new one.
+     */
+    public void forget(String kind, String email) {
+        recent.invalidate(key(kind, email));
+    }
+
+    private static String key(String kind, String email) {
+        return kind + ':' + EmailNormalizer.normalize(email);
+    }
+
+    // Mixes the high bits in, as HashMap does, so similar keys spread across stripes
+    private static int spread(int hash) {
+        return hash ^ (hash >>> 16);
+    }
+
+    private Counter counter(String kind, String outcome) {
+        return Counter.builder("email.coalesce").tag("kind", kind).tag("outcome", outcome).register(meterRegistry);
+    }
+}
@@ -0,0 +1,196 @@
+package com.spring.vaidya.service;
+
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.spring.vaidya.repo.UserRepository;
+import com.spring.vaidya.util.BloomFilter;
+import com.spring.vaidya.util.EmailNormalizer;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * In-memory membership filter over the normalized emails in the {@code User} table, so
+ * forgot-password can answer "no such email" without a database query. Most of those lookups are
+ * for emails that do not exist; a Bloom filter answers them definitively, and only its positive
+ * answers go to MySQL.
+ * <p>
+ * The filter is loaded from the table on startup and kept current in three ways: local inserts are
+ * added immediately, rows inserted by other nodes are picked up by polling past the highest ID seen,
+ * and the filter is rebuilt periodically, which also drops deleted emails and picks up rows a
+ * concurrent writer committed below the poll cursor. Until the first load completes every email is
+ * reported as possibly present, so callers fall back to the database.
+ * <p>
+ * Exported meters: {@code email.filter.lookups} (tagged {@code absent}, {@code present} or
+ * {@code false_positive}), {@code email.filter.expected.fpp}, {@code email.filter.entries} and
+ * {@code email.filter.rebuild}. The observed false-positive rate is
+ * {@code false_positive / (false_positive + absent)}.
+ */
+@Service
+public class EmailExistenceFilter {
+
+    private static final Logger logger = LoggerFactory.getLogger(EmailExistenceFilter.class);
+
+    private static final int BATCH_SIZE = 5000;
+
+    private final UserRepository userRepository;
+    private final long expectedEntries;
+    private final double falsePositiveRate;
+
+    private volatile BloomFilter filter;
+    private volatile boolean loaded;
+    // Serializes the scheduled load methods. A lock rather than synchronized, because they run JDBC
+    // queries and a virtual thread blocking inside a monitor would pin its carrier thread.
+    private final ReentrantLock loadLock = new ReentrantLock();
+    private long lastSeenId; // Guarded by loadLock
+
+    // Emails inserted locally while a rebuild is running, re-added to the new filter after the swap
+    private final ConcurrentLinkedQueue<String> insertedDuringRebuild = new ConcurrentLinkedQueue<>();
+    private volatile boolean rebuilding;
+
+    private final Counter absentCounter;
+    private final Counter presentCounter;
+    private final Counter falsePositiveCounter;
+    private final Timer rebuildTimer;
+
+    public EmailExistenceFilter(UserRepository userRepository, MeterRegistry meterRegistry,
+                                @Value("${email-filter.expected-entries:100000}") long expectedEntries,
+                                @Value("${email-filter.false-positive-rate:0.01}") double falsePositiveRate) {
+        this.userRepository = userRepository;
+        this.expectedEntries = expectedEntries;
+        this.falsePositiveRate = falsePositiveRate;
+        this.filter = BloomFilter.create(expectedEntries, falsePositiveRate);
+
+        this.absentCounter = lookupCounter(meterRegistry, "absent");
+        this.presentCounter = lookupCounter(meterRegistry, "present");
+        this.falsePositiveCounter = lookupCounter(meterRegistry, "false_positive");
+        this.rebuildTimer = Timer.builder("email.filter.rebuild").register(meterRegistry);
+        Gauge.builder("email.filter.expected.fpp", this, self -> self.filter.expectedFalsePositiveRate())
+                .register(meterRegistry);
+        Gauge.builder("email.filter.entries", this, self -> self.filter.insertions()).register(meterRegistry);
+    }
+
+    /**
+     * Asks whether an email may be registered. A false answer is definite and is counted as a
+     * database query saved; a true answer must be confirmed with a query and reported through
+     * {@link #recordLookup(boolean)}.
+     *
+     * @param email The email to check (any case).
+     * @return false if no user has this email, true if one might.
+     */
+    public boolean mightExist(String email) {
+        String normalized = EmailNormalizer.normalize(email);
+        if (normalized == null || !loaded || filter.mightContain(normalized)) {
+            return true;
+        }
+        absentCounter.increment();
+        return false;
+    }
+
+    /**
+     * Records the database answer for an email the filter reported as possibly present.
+     *
+     * @param existed Whether the database found the email.
+     */
+    public void recordLookup(boolean existed) {
+        (existed ? presentCounter : falsePositiveCounter).increment();
+    }
+
+    /**
+     * Adds a newly inserted email. Must be called after every insert into the {@code User} table.
+     *
+     * @param email The inserted email (any case).
+     */
+    public void recordInsert(String email) {
+        String normalized = EmailNormalizer.normalize(email);
+        if (normalized == null) {
+            return;
+        }
+        if (rebuilding) {
+            insertedDuringRebuild.add(normalized); // The rebuild scan may already have passed this row
+        }
+        BloomFilter current = filter;
+        current.put(normalized);
+        if (filter != current) {
+            filter.put(normalized); // Swapped while adding
+        }
+    }
+
+    /**
+     * Loads the filter on the first run, then adds emails inserted (by any node) since the last poll.
+     */
+    @Scheduled(fixedDelayString = "${email-filter.sync-interval-ms:5000}")
+    public void syncFromDatabase() {
+        loadLock.lock();
+        try {
+            if (!loaded) {
+                rebuild();
+                return;
+            }
+            lastSeenId = addEmailsAfter(filter, lastSeenId);
+        } finally {
+            loadLock.unlock();
+        }
+    }
+
+    /**
+     * Rebuilds the filter from the table, sized for its current row count, and swaps it in.
+     */
+    @Scheduled(fixedDelayString = "${email-filter.rebuild-interval-ms:3600000}",
+            initialDelayString = "${email-filter.rebuild-interval-ms:3600000}")
+    public void rebuild() {
+        loadLock.lock();
+        long start = System.nanoTime();
+        rebuilding = true;
+        try {
+            long size = Math.max(expectedEntries, 2 * userRepository.count());
+            BloomFilter rebuilt = BloomFilter.create(size, falsePositiveRate);
+            long maxId = addEmailsAfter(rebuilt, 0L);
+            filter = rebuilt;
+            for (String email = insertedDuringRebuild.poll(); email != null; email = insertedDuringRebuild.poll()) {
+                rebuilt.put(email);
+            }
+            lastSeenId = maxId;
+            loaded = true;
+            logger.info("Email filter rebuilt with {} entries in {} ms", rebuilt.insertions(),
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        } catch (RuntimeException e) {
+            logger.warn("Email filter rebuild failed, keeping the current filter: {}", e.getMessage());
+        } finally {
+            rebuilding = false;
+            rebuildTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            loadLock.unlock();
+        }
+    }
+
+    private long addEmailsAfter(BloomFilter target, long afterId) {
+        long cursor = afterId;
+        List<UserRepository.EmailEntry> batch;
+        do {
+            batch = userRepository.findEmailsAfter(cursor, PageRequest.of(0, BATCH_SIZE));
+            for (UserRepository.EmailEntry entry : batch) {
+                if (entry.getUserEmail() != null) {
+                    target.put(EmailNormalizer.normalize(entry.getUserEmail()));
+                }
+                cursor = Math.max(cursor, entry.getUserId());
+            }
+        } while (batch.size() == BATCH_SIZE);
+        return cursor;
+    }
+
+    private static Counter lookupCounter(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("email.filter.lookups").tag("result", result).register(meterRegistry);
+    }
+}
@@ -0,0 +1,90 @@
+package com.spring.vaidya.service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.spring.vaidya.entity.EmailContent;
+import com.spring.vaidya.entity.EmailOutbox;
+
+import jakarta.mail.internet.MimeMessage;
+
+/**
+ * Drains the email outbox in the background. Each poll claims due messages in batches of
+ * {@code email.outbox.batch-size} and sends every batch over a single SMTP connection, so a burst
+ * of registrations costs one connect and handshake per batch rather than per message.
+ * Claiming and recording results are short transactions; no transaction is held while sending.
+ * A row whose message cannot be built (e.g. an address the mail API rejects) fails on its own, and
+ * the results of a batch are recorded however sending ends, so no claimed row is left leased.
+ */
+@Component
+public class EmailOutboxDispatcher {
+
+    private static final Logger logger = LoggerFactory.getLogger(EmailOutboxDispatcher.class);
+
+    private final EmailOutboxService outboxService;
+    private final EmailService emailService;
+    private final int batchSize;
+
+    public EmailOutboxDispatcher(EmailOutboxService outboxService, EmailService emailService,
+                                 @Value("${email.outbox.batch-size:50}") int batchSize) {
+        this.outboxService = outboxService;
+        this.emailService = emailService;
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Sends every due message, one batch at a time.
+     */
+    @Scheduled(fixedDelayString = "${email.outbox.poll-interval-ms:1000}")
+    public void dispatch() {
+        List<EmailOutbox> batch;
+        do {
+            batch = outboxService.claimDue(batchSize);
+            if (!batch.isEmpty()) {
+                outboxService.recordResults(batch, send(batch));
+            }
+        } while (batch.size() == batchSize);
+    }
+
+    private Map<Long, String> send(List<EmailOutbox> batch) {
+        Map<Long, String> failures = new HashMap<>();
+        Map<MimeMessage, Long> ids = new IdentityHashMap<>();
+        List<MimeMessage> messages = new ArrayList<>(batch.size());
+        for (EmailOutbox row : batch) {
+            try {
+                MimeMessage message = emailService.createMessage(row.getRecipient(),
+                        new EmailContent(row.getSubject(), row.getBody(), row.getHtmlBody()));
+                messages.add(message);
+                ids.put(message, row.getId());
+            } catch (RuntimeException e) {
+                failures.put(row.getId(), describe(e)); // Counts as an attempt; the rest of the batch is still sent
+            }
+        }
+        if (messages.isEmpty()) {
+            return failures;
+        }
+
+        try {
+            emailService.sendBatch(messages.toArray(new MimeMessage[0]))
+                    .forEach((message, error) -> failures.put(ids.get(message), describe(error)));
+        } catch (RuntimeException e) {
+            logger.error("Sending a batch of {} emails failed: {}", messages.size(), e.getMessage());
+            ids.values().forEach(id -> failures.put(id, describe(e)));
+        }
+        return failures;
+    }
+
+    // A null value would read as "sent" in recordResults
+    private static String describe(Exception error) {
+        return error.getMessage() != null ? error.getMessage() : error.getClass().getName();
+    }
+}
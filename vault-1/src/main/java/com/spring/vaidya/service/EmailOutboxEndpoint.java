@@ -0,0 +1,25 @@
+package com.spring.vaidya.service;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+/**
+ * Status view of the email outbox at {@code /actuator/emailoutbox}: message counts per state,
+ * when the oldest pending message was queued, and the most recent messages that were given up on.
+ */
+@Component
+@Endpoint(id = "emailoutbox")
+public class EmailOutboxEndpoint {
+
+    private final EmailOutboxService outboxService;
+
+    public EmailOutboxEndpoint(EmailOutboxService outboxService) {
+        this.outboxService = outboxService;
+    }
+
+    @ReadOperation
+    public EmailOutboxService.OutboxStatus status() {
+        return outboxService.status();
+    }
+}
@@ -0,0 +1,177 @@
+package com.spring.vaidya.service;
+
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.spring.vaidya.entity.EmailContent;
+import com.spring.vaidya.entity.EmailOutbox;
+import com.spring.vaidya.repo.EmailOutboxRepository;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Transactional outbox for outgoing email. Callers queue a message in the same transaction as the
+ * row it refers to (confirmation or reset token), so the mail is sent if and only if that row
+ * commits, and the request never waits on SMTP. The {@link EmailOutboxDispatcher} claims due
+ * messages in batches, sends them and records the results here. Failed sends are retried with
+ * exponential backoff until {@code email.outbox.max-attempts}, then marked FAILED.
+ * <p>
+ * Exported meters: {@code email.outbox.messages}, tagged by outcome ({@code sent}, {@code retry},
+ * {@code failed}).
+ */
+@Service
+public class EmailOutboxService {
+
+    private static final Logger logger = LoggerFactory.getLogger(EmailOutboxService.class);
+
+    private final EmailOutboxRepository outboxRepository;
+    private final long leaseMs;
+    private final int maxAttempts;
+    private final long initialBackoffMs;
+    private final long maxBackoffMs;
+    private final long sentRetentionMs;
+
+    private final Counter sentCounter;
+    private final Counter retryCounter;
+    private final Counter failedCounter;
+
+    public EmailOutboxService(EmailOutboxRepository outboxRepository, MeterRegistry meterRegistry,
+                              @Value("${email.outbox.lease-ms:300000}") long leaseMs,
+                              @Value("${email.outbox.max-attempts:8}") int maxAttempts,
+                              @Value("${email.outbox.initial-backoff-ms:30000}") long initialBackoffMs,
+                              @Value("${email.outbox.max-backoff-ms:3600000}") long maxBackoffMs,
+                              @Value("${email.outbox.sent-retention-ms:604800000}") long sentRetentionMs) {
+        this.outboxRepository = outboxRepository;
+        this.leaseMs = leaseMs;
+        this.maxAttempts = maxAttempts;
+        this.initialBackoffMs = initialBackoffMs;
+        this.maxBackoffMs = maxBackoffMs;
+        this.sentRetentionMs = sentRetentionMs;
+        this.sentCounter = outcomeCounter(meterRegistry, "sent");
+        this.retryCounter = outcomeCounter(meterRegistry, "retry");
+        this.failedCounter = outcomeCounter(meterRegistry, "failed");
+    }
+
+    /**
+     * Queues a message. Must run inside the caller's transaction.
+     *
+     * @param recipient The recipient's email address.
+     * @param content   The rendered email to send once the transaction commits.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void enqueue(String recipient, EmailContent content) {
+        outboxRepository.save(EmailOutbox.pending(recipient, content, LocalDateTime.now()));
+    }
+
+    /**
+     * Claims up to a batch of due messages for this dispatcher. Claimed messages are not due again
+     * until the lease expires, so a dispatcher that dies mid-send only delays them.
+     *
+     * @param batchSize Most messages to claim.
+     * @return The claimed messages, oldest first.
+     */
+    @Transactional
+    public List<EmailOutbox> claimDue(int batchSize) {
+        LocalDateTime now = LocalDateTime.now();
+        List<EmailOutbox> batch = outboxRepository.findDue(EmailOutbox.Status.PENDING, now, PageRequest.of(0, batchSize));
+        LocalDateTime leaseUntil = now.plusNanos(leaseMs * 1_000_000L);
+        for (EmailOutbox message : batch) {
+            message.claim(leaseUntil);
+        }
+        return batch;
+    }
+
+    /**
+     * Records the outcome of sending a claimed batch.
+     *
+     * @param batch    The messages that were sent.
+     * @param failures Error message per ID for the messages the SMTP server did not accept.
+     */
+    @Transactional
+    public void recordResults(List<EmailOutbox> batch, Map<Long, String> failures) {
+        LocalDateTime now = LocalDateTime.now();
+        Map<Long, EmailOutbox> current = outboxRepository.findAllById(batch.stream().map(EmailOutbox::getId).toList())
+                .stream().collect(Collectors.toMap(EmailOutbox::getId, Function.identity()));
+        for (EmailOutbox message : current.values()) {
+            String error = failures.get(message.getId());
+            if (error == null) {
+                message.markSent(now);
+                sentCounter.increment();
+            } else if (message.getAttempts() >= maxAttempts) {
+                message.markFailed(error, null);
+                failedCounter.increment();
+                logger.error("Giving up on email {} to {} after {} attempts: {}", message.getId(),
+                        message.getRecipient(), message.getAttempts(), error);
+            } else {
+                message.markFailed(error, now.plusNanos(backoffMs(message.getAttempts()) * 1_000_000L));
+                retryCounter.increment();
+            }
+        }
+    }
+
+    /**
+     * Current state of the outbox, for the {@code emailoutbox} actuator endpoint.
+     *
+     * @return Message counts per state, the oldest pending message and the most recent failures.
+     */
+    @Transactional(readOnly = true)
+    public OutboxStatus status() {
+        Map<EmailOutbox.Status, Long> counts = new EnumMap<>(EmailOutbox.Status.class);
+        for (EmailOutbox.Status status : EmailOutbox.Status.values()) {
+            counts.put(status, 0L);
+        }
+        for (Object[] row : outboxRepository.countByStatus()) {
+            counts.put((EmailOutbox.Status) row[0], (Long) row[1]);
+        }
+        EmailOutbox oldestPending = outboxRepository.findFirstByStatusOrderByIdAsc(EmailOutbox.Status.PENDING);
+        List<FailedMessage> recentFailures = outboxRepository.findTop20ByStatusOrderByIdDesc(EmailOutbox.Status.FAILED)
+                .stream()
+                .map(message -> new FailedMessage(message.getId(), message.getSubject(), message.getAttempts(),
+                        message.getCreatedAt(), message.getLastError()))
+                .toList();
+        return new OutboxStatus(counts, oldestPending != null ? oldestPending.getCreatedAt() : null, recentFailures);
+    }
+
+    /**
+     * Deletes sent messages older than the retention period.
+     */
+    @Scheduled(fixedDelayString = "${email.outbox.prune-interval-ms:3600000}")
+    @Transactional
+    public void pruneSent() {
+        int deleted = outboxRepository.deleteSentBefore(EmailOutbox.Status.SENT,
+                LocalDateTime.now().minusNanos(sentRetentionMs * 1_000_000L));
+        if (deleted > 0) {
+            logger.info("Pruned {} sent emails from the outbox", deleted);
+        }
+    }
+
+    // Exponential: initial, 2 x initial, 4 x initial, ... capped at the maximum
+    private long backoffMs(int attempts) {
+        return Math.min(maxBackoffMs, initialBackoffMs << Math.min(attempts - 1, 20));
+    }
+
+    private static Counter outcomeCounter(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder("email.outbox.messages").tag("outcome", outcome).register(meterRegistry);
+    }
+
+    public record OutboxStatus(Map<EmailOutbox.Status, Long> counts, LocalDateTime oldestPendingCreatedAt,
+                               List<FailedMessage> recentFailures) {
+    }
+
+    public record FailedMessage(Long id, String subject, int attempts, LocalDateTime createdAt, String lastError) {
+    }
+}
@@ -3,18 +3,34 @@ package com.spring.vaidya.service;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.mail.MailException;
-import org.springframework.mail.SimpleMailMessage;
+import org.springframework.mail.MailPreparationException;
+import org.springframework.mail.MailSendException;
 import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.mail.javamail.MimeMessageHelper;
 import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
 
+import com.spring.vaidya.entity.EmailContent;
 import com.spring.vaidya.entity.ErrorResponse;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.mail.MessagingException;
+import jakarta.mail.internet.MimeMessage;
+
 import java.time.LocalDateTime;
+import java.util.IdentityHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
 
 /**
  * EmailService class handles sending emails asynchronously.
  * It includes functionality for general emails and password reset emails.
+ * Messages are built from {@link EmailTemplates} as multipart text and HTML emails.
+ * Every send is timed as {@code email.send}, tagged by type and outcome ({@code success}, {@code failure},
+ * or {@code partial} for a batch that was only partly accepted).
  */
 @Service("emailService")
 public class EmailService {
@@ -23,53 +39,135 @@ public class EmailService {
     private static final Logger logger = LoggerFactory.getLogger(EmailService.class);
     
     private final JavaMailSender javaMailSender;
+    private final EmailTemplates emailTemplates;
+    private final MeterRegistry meterRegistry;
 
     /**
      * Constructor for injecting JavaMailSender dependency.
      * @param javaMailSender JavaMailSender instance for email handling.
+     * @param emailTemplates Compiled email templates.
+     * @param meterRegistry Registry the send timers are published to.
      */
-    public EmailService(JavaMailSender javaMailSender) {
+    public EmailService(JavaMailSender javaMailSender, EmailTemplates emailTemplates, MeterRegistry meterRegistry) {
         this.javaMailSender = javaMailSender;
+        this.emailTemplates = emailTemplates;
+        this.meterRegistry = meterRegistry;
     }
 
     /**
      * Sends a generic email asynchronously.
-     * @param email The SimpleMailMessage object containing email details.
-     * @return ErrorResponse indicating success or failure of the email sending process.
+     * @param to The recipient's email address.
+     * @param content The rendered subject and body.
+     * @return Future ErrorResponse indicating success or failure of the email sending process.
      */
     @Async
-    public ErrorResponse sendEmail(SimpleMailMessage email) {
+    public CompletableFuture<ErrorResponse> sendEmail(String to, EmailContent content) {
+        long start = System.nanoTime();
         try {
-            javaMailSender.send(email);
-            return new ErrorResponse(LocalDateTime.now(), 200, "SUCCESS", "Email sent successfully");
+            javaMailSender.send(createMessage(to, content));
+            record("message", "success", start);
+            return CompletableFuture.completedFuture(
+                    new ErrorResponse(LocalDateTime.now(), 200, "SUCCESS", "Email sent successfully"));
         } catch (MailException e) {
+            record("message", "failure", start);
             logger.error("Error sending email: {}", e.getMessage());
-            return new ErrorResponse(LocalDateTime.now(), 500, "MAIL_ERROR", "Failed to send email");
+            return CompletableFuture.completedFuture(
+                    new ErrorResponse(LocalDateTime.now(), 500, "MAIL_ERROR", "Failed to send email"));
         }
     }
 
+    /**
+     * Renders the password reset email containing a unique reset link.
+     * @param token The password reset token for verification.
+     * @param locale The recipient's locale.
+     * @return The rendered email, ready to send or queue.
+     */
+    public EmailContent passwordResetContent(String token, Locale locale) {
+        return emailTemplates.render(EmailTemplates.PASSWORD_RESET, locale, Map.of("token", token));
+    }
+
     /**
      * Sends a password reset email containing a unique reset link.
      * @param email The recipient's email address.
      * @param token The password reset token for verification.
+     * @param locale The recipient's locale.
      * @return ErrorResponse indicating success or failure of the password reset email.
      */
-    public ErrorResponse sendPasswordResetEmail(String email, String token) {
-        // Construct password reset link (Modify the URL based on your frontend setup)
-        String resetLink = "http://yourfrontend.com/reset-password?token=" + token;
-
-        // Prepare the email message
-        SimpleMailMessage message = new SimpleMailMessage();
-        message.setTo(email);
-        message.setSubject("Password Reset Request");
-        message.setText("Click the link to reset your password: " + resetLink);
+    public ErrorResponse sendPasswordResetEmail(String email, String token, Locale locale) {
+        EmailContent content = passwordResetContent(token, locale);
 
+        long start = System.nanoTime();
         try {
-            javaMailSender.send(message);
+            javaMailSender.send(createMessage(email, content));
+            record("password_reset", "success", start);
             return new ErrorResponse(LocalDateTime.now(), 200, "SUCCESS", "Password reset email sent successfully");
         } catch (MailException e) {
+            record("password_reset", "failure", start);
             logger.error("Error sending password reset email: {}", e.getMessage());
             return new ErrorResponse(LocalDateTime.now(), 500, "MAIL_ERROR", "Failed to send password reset email");
         }
     }
+
+    /**
+     * Builds a MIME message: plain text only, or multipart/alternative text and HTML.
+     * @param to The recipient's email address.
+     * @param content The rendered subject and body.
+     * @return The message, ready to send.
+     */
+    public MimeMessage createMessage(String to, EmailContent content) {
+        MimeMessage message = javaMailSender.createMimeMessage();
+        try {
+            MimeMessageHelper helper = new MimeMessageHelper(message, content.html() != null, "UTF-8");
+            helper.setTo(to);
+            helper.setSubject(content.subject());
+            if (content.html() != null) {
+                helper.setText(content.text(), content.html());
+            } else {
+                helper.setText(content.text());
+            }
+        } catch (MessagingException e) {
+            throw new MailPreparationException(e);
+        }
+        return message;
+    }
+
+    /**
+     * Sends several messages over one SMTP connection. Used by the outbox dispatcher.
+     * @param messages The messages to send.
+     * @return The messages that were not sent, with their errors; empty if all were accepted.
+     */
+    public Map<MimeMessage, Exception> sendBatch(MimeMessage... messages) {
+        long start = System.nanoTime();
+        Map<MimeMessage, Exception> failed = new IdentityHashMap<>();
+        try {
+            javaMailSender.send(messages);
+        } catch (MailSendException e) {
+            e.getFailedMessages().forEach((message, error) -> failed.put((MimeMessage) message, error));
+            if (failed.isEmpty()) {
+                addAll(failed, messages, e); // Failure outside any single message
+            }
+        } catch (MailException e) {
+            addAll(failed, messages, e);
+        }
+        record("batch", failed.isEmpty() ? "success" : failed.size() < messages.length ? "partial" : "failure", start);
+        if (!failed.isEmpty()) {
+            logger.error("Failed to send {} of {} emails: {}", failed.size(), messages.length,
+                    failed.values().iterator().next().getMessage());
+        }
+        return failed;
+    }
+
+    private static void addAll(Map<MimeMessage, Exception> failed, MimeMessage[] messages, Exception error) {
+        for (MimeMessage message : messages) {
+            failed.put(message, error);
+        }
+    }
+
+    private void record(String type, String outcome, long start) {
+        Timer.builder("email.send")
+                .tag("type", type)
+                .tag("outcome", outcome)
+                .register(meterRegistry)
+                .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+    }
 }
@@ -0,0 +1,125 @@
+package com.spring.vaidya.service;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.stereotype.Service;
+
+import com.spring.vaidya.entity.EmailContent;
+import com.spring.vaidya.util.MailTemplate;
+
+/**
+ * Email templates, parsed once at startup and rendered without re-parsing.
+ * <p>
+ * Each template is a {@code <name>[_<locale>].txt} file (a {@code Subject:} line, a blank line, then
+ * the plain-text body) with an optional {@code <name>[_<locale>].html} alternative, under
+ * {@code email.templates.location}. Placeholders are written {@code {{name}}}; {@code apiBaseUrl}
+ * and {@code frontendBaseUrl} come from {@code email.links.*} and are filled in when the template is
+ * parsed. For every locale found, the full set of templates is resolved up front (locale, then its
+ * language, then the default files), so a lookup is at most three map reads.
+ */
+@Service
+public class EmailTemplates {
+
+    public static final String ACCOUNT_CONFIRMATION = "account-confirmation";
+    public static final String PASSWORD_RESET = "password-reset";
+
+    private static final Logger logger = LoggerFactory.getLogger(EmailTemplates.class);
+    private static final String SUBJECT_PREFIX = "Subject:";
+
+    private final Map<String, Map<String, CompiledEmail>> byLocale = new HashMap<>(); // "" = default files
+
+    public EmailTemplates(@Value("${email.templates.location:classpath*:mail-templates/}") String location,
+                          @Value("${email.links.api-base-url:https://vault1-production-7c73.up.railway.app}") String apiBaseUrl,
+                          @Value("${email.links.frontend-base-url:http://yourfrontend.com}") String frontendBaseUrl)
+            throws IOException {
+        Map<String, String> constants = Map.of(
+                "apiBaseUrl", stripTrailingSlash(apiBaseUrl),
+                "frontendBaseUrl", stripTrailingSlash(frontendBaseUrl));
+
+        // Parse every file once: locale -> template name -> compiled template
+        PathMatchingResourcePatternResolver resolver = new PathMatchingResourcePatternResolver();
+        Map<String, Map<String, CompiledEmail>> parsed = new HashMap<>();
+        for (Resource text : resolver.getResources(location + "*.txt")) {
+            String baseName = text.getFilename().substring(0, text.getFilename().length() - ".txt".length());
+            int separator = baseName.indexOf('_');
+            String name = separator < 0 ? baseName : baseName.substring(0, separator);
+            String locale = separator < 0 ? "" : baseName.substring(separator + 1);
+
+            Resource html = text.createRelative(baseName + ".html");
+            parsed.computeIfAbsent(locale, key -> new HashMap<>())
+                    .put(name, compile(text, html.exists() ? html : null, constants));
+        }
+
+        // Fill in what each locale does not override from its language, then from the defaults
+        Map<String, CompiledEmail> defaults = parsed.getOrDefault("", Map.of());
+        for (Map.Entry<String, Map<String, CompiledEmail>> entry : parsed.entrySet()) {
+            Map<String, CompiledEmail> templates = new HashMap<>(defaults);
+            String language = entry.getKey().contains("_") ? entry.getKey().substring(0, entry.getKey().indexOf('_')) : null;
+            if (language != null) {
+                templates.putAll(parsed.getOrDefault(language, Map.of()));
+            }
+            templates.putAll(entry.getValue());
+            byLocale.put(entry.getKey(), Map.copyOf(templates));
+        }
+        logger.info("Loaded email templates {} for locales {}", defaults.keySet(), byLocale.keySet());
+    }
+
+    /**
+     * Renders a template for a locale.
+     *
+     * @param name   Template name, e.g. {@link #ACCOUNT_CONFIRMATION}.
+     * @param locale Recipient locale; templates fall back to the language, then to the default files.
+     * @param values Values of the template's placeholders.
+     * @return The rendered subject, text and HTML.
+     * @throws IllegalArgumentException if the template does not exist or a value is missing.
+     */
+    public EmailContent render(String name, Locale locale, Map<String, String> values) {
+        CompiledEmail template = find(name, locale);
+        if (template == null) {
+            throw new IllegalArgumentException("No email template named '" + name + "'");
+        }
+        return new EmailContent(template.subject.render(values), template.text.render(values),
+                template.html != null ? template.html.render(values) : null);
+    }
+
+    private CompiledEmail find(String name, Locale locale) {
+        Map<String, CompiledEmail> templates = byLocale.get(locale.toString());
+        if (templates == null) {
+            templates = byLocale.get(locale.getLanguage());
+        }
+        if (templates == null) {
+            templates = byLocale.getOrDefault("", Map.of());
+        }
+        return templates.get(name);
+    }
+
+    private static CompiledEmail compile(Resource text, Resource html, Map<String, String> constants) throws IOException {
+        String source = text.getContentAsString(StandardCharsets.UTF_8).replace("\r\n", "\n");
+        int endOfSubject = source.indexOf('\n');
+        if (!source.startsWith(SUBJECT_PREFIX) || endOfSubject < 0) {
+            throw new IllegalStateException("Email template " + text.getFilename() + " must start with a Subject: line");
+        }
+        String subject = source.substring(SUBJECT_PREFIX.length(), endOfSubject).trim();
+        String body = source.substring(endOfSubject + 1).stripLeading();
+        return new CompiledEmail(
+                MailTemplate.compile(subject, constants, false),
+                MailTemplate.compile(body, constants, false),
+                html != null ? MailTemplate.compile(html.getContentAsString(StandardCharsets.UTF_8), constants, true) : null);
+    }
+
+    private static String stripTrailingSlash(String url) {
+        return url.endsWith("/") ? url.substring(0, url.length() - 1) : url;
+    }
+
+    private record CompiledEmail(MailTemplate subject, MailTemplate text, MailTemplate html) {
+    }
+}
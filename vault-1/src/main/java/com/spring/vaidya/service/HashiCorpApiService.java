@@ -2,26 +2,45 @@ package com.spring.vaidya.service;
 
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
-import org.springframework.web.client.RestTemplate;
 import org.springframework.http.*;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 
+import com.spring.vaidya.exception.HcpUnavailableException;
+import com.spring.vaidya.util.TokenDigest;
+
 /**
  * Service to interact with HashiCorp Vault API.
- * Retrieves secrets using an access token obtained from the TokenService.
+ * Retrieves secrets using an access token obtained from the TokenService, and polls
+ * in the background for new secret versions so the JWT signing key can rotate without a restart.
  */
 @Service
 public class HashiCorpApiService {
 
+    private static final Logger logger = LoggerFactory.getLogger(HashiCorpApiService.class);
+
 	
 	@Autowired
     private final TokenService tokenService;
 
+    @Autowired
+    private HcpClient hcpClient; // Shared pooled client with retry and circuit breaking
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher; // Announces new secret versions to the JWT key ring
+
     @Value("${hashicorp.apiUrl}") // API URL is injected from application properties
     private String apiUrl;
 
+    private volatile String lastPublishedKeyId; // Key ID of the last version announced by the poller
+
+    private volatile SecretVersion lastFetched; // Served while HCP is unavailable
+
     /**
      * Constructor for HashiCorpApiService.
      * @param tokenService Service that manages access tokens for authentication.
@@ -35,50 +54,120 @@ public class HashiCorpApiService {
      * @return The extracted secret value as a String.
      */
     public String callHashiCorpApi() {
-        // Fetch access token from TokenService
-        String accessToken = tokenService.getAccessToken();
-        System.out.println("Using Access Token: " + accessToken); // Debugging purpose
+        return fetchSecret().getValue();
+    }
 
+    /**
+     * Calls the HashiCorp Vault API to retrieve the current version of the secret.
+     * While HCP is unavailable (retries exhausted or circuit open), the last fetched version is returned instead.
+     * @return The secret value together with its version.
+     * @throws HcpUnavailableException if HCP is unavailable and no secret has been fetched yet.
+     */
+    public SecretVersion fetchSecret() {
         // Define the API endpoint URL
         String url = apiUrl;
 
-        // Create a RestTemplate instance for making API requests
-        RestTemplate restTemplate = new RestTemplate();
+        ResponseEntity<String> response;
+        try {
+            // Fetch access token from TokenService (refreshed on demand if it has expired)
+            String accessToken = tokenService.getAccessToken();
 
-        // Set up HTTP headers, including the Authorization token
-        HttpHeaders headers = new HttpHeaders();
-        headers.set("Authorization", "Bearer " + accessToken);
+            // Set up HTTP headers, including the Authorization token
+            HttpHeaders headers = new HttpHeaders();
+            headers.set("Authorization", "Bearer " + accessToken);
 
-        // Create an HTTP entity with headers
-        HttpEntity<String> entity = new HttpEntity<>(headers);
+            // Create an HTTP entity with headers
+            HttpEntity<String> entity = new HttpEntity<>(headers);
 
-        // Make an API call using RestTemplate and retrieve the response
-        ResponseEntity<String> response = restTemplate.exchange(url, HttpMethod.GET, entity, String.class);
+            // Make an API call over the shared HCP client and retrieve the response
+            response = hcpClient.exchange("secrets", url, HttpMethod.GET, entity, String.class);
+        } catch (HcpUnavailableException e) {
+            SecretVersion fallback = lastFetched;
+            if (fallback == null) {
+                throw e;
+            }
+            logger.warn("HCP unavailable, serving cached secret version {}: {}", fallback.getKeyId(), e.getMessage());
+            return fallback;
+        }
 
         // Check if the response is successful
         if (response.getStatusCode() == HttpStatus.OK) {
-            String secretValue = extractSecretValue(response.getBody()); // Extract the secret value
-            System.out.println("Stored Secret Value: " + secretValue); // Debugging purpose
-            return secretValue;
+            SecretVersion secret = extractSecret(response.getBody()); // Extract the secret value and version
+            logger.debug("Retrieved secret version {}", secret.getKeyId()); // The value itself is never logged
+            lastFetched = secret;
+            return secret;
         } else {
             throw new RuntimeException("Failed to call HashiCorp API. HTTP Status: " + response.getStatusCode());
         }
     }
 
     /**
-     * Extracts the secret value from the JSON response returned by HashiCorp Vault API.
+     * Polls for a new version of the secret and publishes a {@link SigningSecretRotatedEvent} when one appears.
+     * The first poll re-announces the version loaded at startup, which listeners ignore.
+     */
+    @Scheduled(fixedDelayString = "${hashicorp.secret-poll-interval-ms:300000}",
+               initialDelayString = "${hashicorp.secret-poll-interval-ms:300000}")
+    public void pollSecretVersion() {
+        try {
+            SecretVersion secret = fetchSecret();
+            if (!secret.getKeyId().equals(lastPublishedKeyId)) {
+                eventPublisher.publishEvent(new SigningSecretRotatedEvent(secret));
+                lastPublishedKeyId = secret.getKeyId();
+            }
+        } catch (Exception e) {
+            logger.warn("Polling HashiCorp secret version failed: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Extracts the secret value and version from the JSON response returned by HashiCorp Vault API.
      * @param responseBody JSON response body as a String.
-     * @return Extracted secret value as a String.
+     * @return Extracted secret value and version.
      */
-    private String extractSecretValue(String responseBody) {
+    private SecretVersion extractSecret(String responseBody) {
         try {
             ObjectMapper objectMapper = new ObjectMapper();
             JsonNode rootNode = objectMapper.readTree(responseBody);
 
             // Navigate JSON structure to extract the required secret value
-            return rootNode.path("secrets").get(0).path("static_version").path("value").asText();
+            JsonNode staticVersion = rootNode.path("secrets").get(0).path("static_version");
+            return new SecretVersion(staticVersion.path("version").asLong(), staticVersion.path("value").asText());
         } catch (Exception e) {
             throw new RuntimeException("Error parsing JSON response", e);
         }
     }
+
+    /**
+     * A secret value and the version HashiCorp assigned to it.
+     */
+    public static final class SecretVersion {
+        private final long version;
+        private final String value;
+
+        public SecretVersion(long version, String value) {
+            this.version = version;
+            this.value = value;
+        }
+
+        public long getVersion() {
+            return version;
+        }
+
+        public String getValue() {
+            return value;
+        }
+
+        /**
+         * @return Stable key ID for this version, identical on every node. Falls back to a digest
+         *         prefix of the value when the response carries no version number.
+         */
+        public String getKeyId() {
+            return version > 0 ? "v" + version : "s" + TokenDigest.sha256(value).substring(0, 12);
+        }
+
+        @Override
+        public String toString() {
+            return "SecretVersion{" + getKeyId() + "}"; // Never expose the value
+        }
+    }
 }
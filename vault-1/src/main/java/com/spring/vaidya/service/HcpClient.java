@@ -0,0 +1,158 @@
+package com.spring.vaidya.service;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestClientException;
+import org.springframework.web.client.RestTemplate;
+
+import com.spring.vaidya.exception.HcpUnavailableException;
+import com.spring.vaidya.util.CircuitBreaker;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Executes HashiCorp Cloud Platform calls over the shared pooled client, with jittered exponential
+ * retry and a circuit breaker. Network errors, 5xx and 429 responses are retried; other 4xx responses
+ * are returned to the caller immediately. While the circuit is open, calls fail fast with
+ * {@link HcpUnavailableException} so callers can fall back to the last value they fetched.
+ * <p>
+ * Retries sleep on the calling thread; all HCP calls are made from background tasks.
+ * Each attempt is recorded in the {@code hcp.client.requests} timer, tagged by operation and outcome.
+ */
+@Component
+public class HcpClient {
+
+    private static final Logger logger = LoggerFactory.getLogger(HcpClient.class);
+
+    private final RestTemplate restTemplate;
+    private final MeterRegistry meterRegistry;
+    private final int maxAttempts;
+    private final long initialBackoffMs;
+    private final long maxBackoffMs;
+    private final CircuitBreaker circuitBreaker;
+
+    public HcpClient(@Qualifier("hcpRestTemplate") RestTemplate restTemplate,
+                     MeterRegistry meterRegistry,
+                     @Value("${hashicorp.http.max-attempts:3}") int maxAttempts,
+                     @Value("${hashicorp.http.initial-backoff-ms:200}") long initialBackoffMs,
+                     @Value("${hashicorp.http.max-backoff-ms:2000}") long maxBackoffMs,
+                     @Value("${hashicorp.http.circuit.failure-threshold:5}") int failureThreshold,
+                     @Value("${hashicorp.http.circuit.open-ms:30000}") long openMs) {
+        this.restTemplate = restTemplate;
+        this.meterRegistry = meterRegistry;
+        this.maxAttempts = Math.max(1, maxAttempts);
+        this.initialBackoffMs = initialBackoffMs;
+        this.maxBackoffMs = maxBackoffMs;
+        this.circuitBreaker = new CircuitBreaker(failureThreshold, openMs);
+        Gauge.builder("hcp.client.circuit.state", circuitBreaker, breaker -> breaker.getState().ordinal())
+                .description("HCP circuit breaker state: 0 closed, 1 open, 2 half-open")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Performs an HTTP exchange with retries.
+     *
+     * @param operation    Short name of the call, used as a metric tag (e.g. {@code token}, {@code secrets}).
+     * @param url          Request URL.
+     * @param method       HTTP method.
+     * @param entity       Request headers and body.
+     * @param responseType Type of the response body.
+     * @return The response of the first successful attempt.
+     * @throws HttpClientErrorException for 4xx responses other than 429, which are not retried.
+     * @throws RestClientException      for other failures, e.g. an unreadable response body, which are not retried.
+     * @throws HcpUnavailableException  if the circuit is open or every attempt failed.
+     */
+    public <T> ResponseEntity<T> exchange(String operation, String url, HttpMethod method,
+                                          HttpEntity<?> entity, Class<T> responseType) {
+        RuntimeException lastFailure = null;
+        for (int attempt = 1; attempt <= maxAttempts; attempt++) {
+            if (!circuitBreaker.tryAcquire()) {
+                record(operation, "rejected", 0);
+                throw new HcpUnavailableException("HCP circuit is open; " + operation + " call rejected", lastFailure);
+            }
+            long start = System.nanoTime();
+            try {
+                ResponseEntity<T> response = restTemplate.exchange(url, method, entity, responseType);
+                record(operation, "success", System.nanoTime() - start);
+                circuitBreaker.onSuccess();
+                return response;
+            } catch (HttpClientErrorException e) {
+                record(operation, "client_error", System.nanoTime() - start);
+                if (e.getStatusCode() != HttpStatus.TOO_MANY_REQUESTS) {
+                    circuitBreaker.onSuccess(); // HCP answered; the request itself was wrong
+                    throw e;
+                }
+                circuitBreaker.onFailure();
+                lastFailure = e;
+            } catch (HttpServerErrorException e) {
+                record(operation, "server_error", System.nanoTime() - start);
+                circuitBreaker.onFailure();
+                lastFailure = e;
+            } catch (ResourceAccessException e) {
+                record(operation, "io_error", System.nanoTime() - start);
+                circuitBreaker.onFailure();
+                lastFailure = e;
+            } catch (RuntimeException e) {
+                // Anything else (unknown status, unreadable body) is not retried, but the breaker must
+                // still hear about it: a half-open probe that reports nothing would never be released
+                record(operation, "error", System.nanoTime() - start);
+                circuitBreaker.onFailure();
+                throw e;
+            }
+            if (attempt < maxAttempts) {
+                long delay = backoff(attempt);
+                logger.warn("HCP {} attempt {} failed ({}), retrying in {} ms",
+                        operation, attempt, lastFailure.getMessage(), delay);
+                Counter.builder("hcp.client.retries").tag("operation", operation).register(meterRegistry).increment();
+                sleep(delay);
+            }
+        }
+        throw new HcpUnavailableException("HCP " + operation + " call failed after " + maxAttempts + " attempts", lastFailure);
+    }
+
+    /**
+     * @return Current state of the HCP circuit breaker.
+     */
+    public CircuitBreaker.State getCircuitState() {
+        return circuitBreaker.getState();
+    }
+
+    // Full jitter: uniform in [0, min(max, initial * 2^(attempt - 1))]
+    private long backoff(int attempt) {
+        long ceiling = Math.min(maxBackoffMs, initialBackoffMs << Math.min(attempt - 1, 20));
+        return ThreadLocalRandom.current().nextLong(ceiling + 1);
+    }
+
+    private void record(String operation, String outcome, long nanos) {
+        Timer.builder("hcp.client.requests")
+                .tag("operation", operation)
+                .tag("outcome", outcome)
+                .register(meterRegistry)
+                .record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new HcpUnavailableException("Interrupted while waiting to retry HCP call", e);
+        }
+    }
+}
@@ -0,0 +1,138 @@
+package com.spring.vaidya.service;
+
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+
+import com.spring.vaidya.entity.AuthAccount;
+import com.spring.vaidya.entity.LoginResponse;
+import com.spring.vaidya.exception.AuthenticationFailedException;
+import com.spring.vaidya.exception.HashingCapacityExceededException;
+import com.spring.vaidya.jwt.JwtUtils;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Single login pipeline shared by {@code /user/login} and {@code /user/authenticate}.
+ * Each login performs exactly one account lookup (the narrow {@link AuthAccount} query, served
+ * from {@link UserAccountCache}), one password check, one enablement check and one signature.
+ * <p>
+ * Unknown emails are checked against a dummy hash, so they cost the same as a wrong password
+ * and cannot be told apart by status or timing.
+ * <p>
+ * Exported meters: {@code login.stage} (tagged {@code lookup}, {@code verify}, {@code sign},
+ * {@code refresh}) and {@code login.requests} (tagged by outcome).
+ */
+@Service
+public class LoginService {
+
+    private static final Logger logger = LoggerFactory.getLogger(LoginService.class);
+
+    private static final String INVALID_CREDENTIALS = "Invalid username or password";
+
+    private final UserAccountCache userAccountCache;
+    private final PasswordEncoder passwordEncoder;
+    private final PasswordRehashService passwordRehashService;
+    private final JwtUtils jwtUtils;
+    private final RefreshTokenService refreshTokenService;
+    private final MeterRegistry meterRegistry;
+
+    private final Timer lookupTimer;
+    private final Timer verifyTimer;
+    private final Timer signTimer;
+    private final Timer refreshTimer;
+
+    private volatile String dummyHash;
+
+    public LoginService(UserAccountCache userAccountCache, PasswordEncoder passwordEncoder,
+                        PasswordRehashService passwordRehashService, JwtUtils jwtUtils,
+                        RefreshTokenService refreshTokenService, MeterRegistry meterRegistry) {
+        this.userAccountCache = userAccountCache;
+        this.passwordEncoder = passwordEncoder;
+        this.passwordRehashService = passwordRehashService;
+        this.jwtUtils = jwtUtils;
+        this.refreshTokenService = refreshTokenService;
+        this.meterRegistry = meterRegistry;
+        this.lookupTimer = stageTimer("lookup");
+        this.verifyTimer = stageTimer("verify");
+        this.signTimer = stageTimer("sign");
+        this.refreshTimer = stageTimer("refresh");
+    }
+
+    /**
+     * Authenticates a user by email and password and issues an access/refresh token pair.
+     *
+     * @param email       The account email (any case).
+     * @param rawPassword The password supplied by the client.
+     * @return The tokens together with the account's name, ID and role.
+     * @throws AuthenticationFailedException     if the credentials are wrong or the account is not verified.
+     * @throws HashingCapacityExceededException if the password could not be checked because the hashing pool is saturated.
+     */
+    public LoginResponse login(String email, String rawPassword) {
+        long start = System.nanoTime();
+        String outcome = "error";
+        try {
+            long stageStart = start;
+            AuthAccount account = email == null ? null : userAccountCache.findAccount(email);
+            stageStart = record(lookupTimer, stageStart);
+
+            boolean passwordMatches = rawPassword != null && passwordEncoder.matches(rawPassword,
+                    account != null ? account.getPassword() : dummyHash());
+            stageStart = record(verifyTimer, stageStart);
+            if (account == null || !passwordMatches) {
+                outcome = "bad_credentials";
+                logger.warn("Invalid credentials for email: {}", email);
+                throw new AuthenticationFailedException(INVALID_CREDENTIALS);
+            }
+            if (!account.isEnabled()) {
+                outcome = "disabled";
+                logger.warn("Account is not verified: {}", email);
+                throw new AuthenticationFailedException("Account is not verified");
+            }
+            passwordRehashService.rehashIfNeeded(account.getUserId(), account.getUserEmail(), rawPassword,
+                    account.getPassword());
+
+            String jwt = jwtUtils.generateJwtToken(account);
+            stageStart = record(signTimer, stageStart);
+            String refreshToken = refreshTokenService.issue(account.getUserId());
+            record(refreshTimer, stageStart);
+
+            outcome = "success";
+            return new LoginResponse(jwt, account.getFullName(), account.getUserId(), account.getRoleId(),
+                    refreshToken, jwtUtils.getAccessTokenExpirationSeconds());
+        } catch (HashingCapacityExceededException e) {
+            outcome = "busy";
+            throw e;
+        } finally {
+            Timer.builder("login.requests").tag("outcome", outcome).register(meterRegistry)
+                    .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    /**
+     * Hash checked for unknown emails, produced with the configured algorithm and cost so it takes
+     * as long as a real check. Computed on first use rather than at startup.
+     */
+    private String dummyHash() {
+        String hash = dummyHash;
+        if (hash == null) {
+            hash = passwordEncoder.encode("dummy-password-for-unknown-accounts");
+            dummyHash = hash; // Benign race: concurrent first calls each compute an equivalent hash
+        }
+        return hash;
+    }
+
+    private Timer stageTimer(String stage) {
+        return Timer.builder("login.stage").tag("stage", stage).register(meterRegistry);
+    }
+
+    private static long record(Timer timer, long stageStart) {
+        long now = System.nanoTime();
+        timer.record(now - stageStart, TimeUnit.NANOSECONDS);
+        return now;
+    }
+}
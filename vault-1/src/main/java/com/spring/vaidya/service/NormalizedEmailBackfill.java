@@ -0,0 +1,71 @@
+package com.spring.vaidya.service;
+
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import com.spring.vaidya.util.EmailNormalizer;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * One-off migration for the {@code normalized_email} column: fills it in for rows written before
+ * the column existed, in ID order and in batches. Runs at startup, after Hibernate has added the
+ * column and its unique index and before the server takes requests; once every row is filled in,
+ * it costs one indexed query.
+ * <p>
+ * Rows whose email differs from an earlier row only in case or surrounding spaces cannot take the
+ * same normalized email. They are left empty and logged, and cannot log in until merged by hand.
+ */
+@Component
+public class NormalizedEmailBackfill {
+
+    private static final Logger logger = LoggerFactory.getLogger(NormalizedEmailBackfill.class);
+
+    private static final int BATCH_SIZE = 500;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    // The EntityManagerFactory is only a dependency, so that Hibernate updates the schema first
+    public NormalizedEmailBackfill(JdbcTemplate jdbcTemplate, EntityManagerFactory entityManagerFactory) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Fills in every missing normalized email. Runs at startup; running it again is harmless.
+     */
+    @PostConstruct
+    public void backfill() {
+        long afterId = 0;
+        int filled = 0;
+        List<Row> batch;
+        do {
+            batch = jdbcTemplate.query("select user_id, user_email from user "
+                            + "where normalized_email is null and user_email is not null and user_id > ? "
+                            + "order by user_id limit " + BATCH_SIZE,
+                    (rs, i) -> new Row(rs.getLong(1), rs.getString(2)), afterId);
+            for (Row row : batch) {
+                try {
+                    filled += jdbcTemplate.update("update user set normalized_email = ? where user_id = ?",
+                            EmailNormalizer.normalize(row.email()), row.id());
+                } catch (DataIntegrityViolationException e) {
+                    logger.warn("User {} not migrated: another account already uses email {}", row.id(),
+                            EmailNormalizer.normalize(row.email()));
+                }
+                afterId = row.id();
+            }
+        } while (batch.size() == BATCH_SIZE);
+
+        if (filled > 0) {
+            logger.info("Filled in normalized_email for {} users", filled);
+        }
+    }
+
+    private record Row(long id, String email) {
+    }
+}
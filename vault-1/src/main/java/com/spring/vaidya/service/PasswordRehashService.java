@@ -0,0 +1,106 @@
+package com.spring.vaidya.service;
+
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+
+import com.spring.vaidya.exception.HashingCapacityExceededException;
+import com.spring.vaidya.repo.UserRepository;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Upgrades stored password hashes after a successful login, when the hash was written with another
+ * algorithm or weaker cost than currently configured (or predates algorithm prefixes).
+ * The raw password is only available at login, so this is the one point where a hash can be migrated.
+ * <p>
+ * The rehash runs in the background so the login response is not delayed, and is best-effort:
+ * if the hashing pool is saturated, or {@code password.rehash.max-pending} rehashes are already in
+ * flight, it is skipped and retried on a later login. Scheduling never waits, so a task executor
+ * with a concurrency limit cannot hold up the login. The update is
+ * conditional on the stored hash being unchanged, so a concurrent password reset always wins.
+ */
+@Service
+public class PasswordRehashService {
+
+    private static final Logger logger = LoggerFactory.getLogger(PasswordRehashService.class);
+
+    private final PasswordEncoder passwordEncoder;
+    private final UserRepository userRepository;
+    private final UserAccountCache userAccountCache;
+    private final TaskExecutor taskExecutor;
+    private final Semaphore pending;
+
+    private final Counter upgradedCounter;
+    private final Counter skippedCounter;
+
+    public PasswordRehashService(PasswordEncoder passwordEncoder, UserRepository userRepository,
+                                 UserAccountCache userAccountCache,
+                                 @Qualifier("applicationTaskExecutor") TaskExecutor taskExecutor,
+                                 @Value("${password.rehash.max-pending:4}") int maxPending,
+                                 MeterRegistry meterRegistry) {
+        this.passwordEncoder = passwordEncoder;
+        this.userRepository = userRepository;
+        this.userAccountCache = userAccountCache;
+        this.taskExecutor = taskExecutor;
+        this.pending = new Semaphore(maxPending);
+        this.upgradedCounter = Counter.builder("password.rehash").tag("outcome", "upgraded").register(meterRegistry);
+        this.skippedCounter = Counter.builder("password.rehash").tag("outcome", "skipped").register(meterRegistry);
+    }
+
+    /**
+     * Schedules a rehash if the stored hash is outdated. Must only be called after the raw password
+     * has been verified against {@code currentHash}.
+     *
+     * @param userId      The id of the authenticated user.
+     * @param email       The user's email, used to evict the cached account.
+     * @param rawPassword The password that was just verified.
+     * @param currentHash The stored hash it was verified against.
+     */
+    public void rehashIfNeeded(Long userId, String email, String rawPassword, String currentHash) {
+        if (userId == null || currentHash == null || !passwordEncoder.upgradeEncoding(currentHash)) {
+            return;
+        }
+        if (!pending.tryAcquire()) {
+            skippedCounter.increment(); // Retried on a later login
+            logger.debug("Password rehash for user {} not scheduled, too many in flight", userId);
+            return;
+        }
+        try {
+            taskExecutor.execute(() -> rehash(userId, email, rawPassword, currentHash));
+        } catch (RejectedExecutionException e) {
+            pending.release();
+            skippedCounter.increment();
+            logger.debug("Password rehash for user {} not scheduled: {}", userId, e.getMessage());
+        }
+    }
+
+    private void rehash(Long userId, String email, String rawPassword, String currentHash) {
+        try {
+            String newHash = passwordEncoder.encode(rawPassword);
+            if (userRepository.updatePasswordIfUnchanged(userId, currentHash, newHash) == 1) {
+                userAccountCache.evict(email);
+                upgradedCounter.increment();
+                logger.info("Upgraded password hash for user {}", userId);
+            } else {
+                skippedCounter.increment(); // Password changed since the login read it
+            }
+        } catch (HashingCapacityExceededException e) {
+            skippedCounter.increment(); // Retried on a later login
+            logger.debug("Password rehash for user {} skipped, hashing pool is saturated", userId);
+        } catch (RuntimeException e) {
+            skippedCounter.increment();
+            logger.warn("Password rehash failed for user {}: {}", userId, e.getMessage());
+        } finally {
+            pending.release();
+        }
+    }
+}
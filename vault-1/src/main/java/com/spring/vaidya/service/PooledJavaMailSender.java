@@ -0,0 +1,219 @@
+package com.spring.vaidya.service;
+
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.mail.MailAuthenticationException;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.mail.Address;
+import jakarta.mail.AuthenticationFailedException;
+import jakarta.mail.MessagingException;
+import jakarta.mail.Transport;
+import jakarta.mail.internet.MimeMessage;
+
+/**
+ * {@link JavaMailSenderImpl} that keeps up to {@code maxConnections} authenticated SMTP connections
+ * open between sends, instead of connecting, negotiating STARTTLS and authenticating for every call.
+ * A send borrows an idle connection (or opens one if none is idle), sends all of its messages over it
+ * and returns it. Connections are closed instead of reused once they have carried
+ * {@code maxMessagesPerConnection} messages, have been idle longer than {@code maxIdleMs} (servers
+ * drop idle sessions), or fail.
+ * <p>
+ * Exported meters: {@code email.smtp.connect} (connect plus handshake, tagged by outcome),
+ * {@code email.smtp.send} (one message, tagged by outcome), {@code email.smtp.connections.idle}
+ * and {@code email.smtp.connections.closed} (tagged by reason).
+ */
+public class PooledJavaMailSender extends JavaMailSenderImpl implements AutoCloseable {
+
+    private static final Logger logger = LoggerFactory.getLogger(PooledJavaMailSender.class);
+
+    private final int maxMessagesPerConnection;
+    private final long maxIdleMs;
+    private final long maxWaitMs;
+    private final Semaphore permits;
+    private final LinkedBlockingDeque<PooledTransport> idle = new LinkedBlockingDeque<>();
+    private volatile boolean closed;
+
+    private final Timer connectSuccessTimer;
+    private final Timer connectFailureTimer;
+    private final Timer sendSuccessTimer;
+    private final Timer sendFailureTimer;
+    private final MeterRegistry meterRegistry;
+
+    /**
+     * @param maxConnections           Most connections open at once; further sends wait for one to be returned.
+     * @param maxMessagesPerConnection Messages after which a connection is closed and replaced.
+     * @param maxIdleMs                Idle time after which a connection is closed rather than reused.
+     * @param maxWaitMs                Longest a send waits for a connection before failing.
+     * @param meterRegistry            Registry the connection and send metrics are published to.
+     */
+    public PooledJavaMailSender(int maxConnections, int maxMessagesPerConnection, long maxIdleMs, long maxWaitMs,
+                                MeterRegistry meterRegistry) {
+        this.maxMessagesPerConnection = maxMessagesPerConnection;
+        this.maxIdleMs = maxIdleMs;
+        this.maxWaitMs = maxWaitMs;
+        this.permits = new Semaphore(maxConnections, true);
+        this.meterRegistry = meterRegistry;
+
+        this.connectSuccessTimer = Timer.builder("email.smtp.connect").tag("outcome", "success").register(meterRegistry);
+        this.connectFailureTimer = Timer.builder("email.smtp.connect").tag("outcome", "failure").register(meterRegistry);
+        this.sendSuccessTimer = Timer.builder("email.smtp.send").tag("outcome", "success").register(meterRegistry);
+        this.sendFailureTimer = Timer.builder("email.smtp.send").tag("outcome", "failure").register(meterRegistry);
+        Gauge.builder("email.smtp.connections.idle", idle, LinkedBlockingDeque::size).register(meterRegistry);
+    }
+
+    @Override
+    protected void doSend(MimeMessage[] mimeMessages, Object[] originalMessages) throws MailException {
+        Map<Object, Exception> failedMessages = new LinkedHashMap<>();
+        try {
+            if (!permits.tryAcquire(maxWaitMs, TimeUnit.MILLISECONDS)) {
+                throw failRemaining(0, mimeMessages, originalMessages, failedMessages,
+                        new MessagingException("No SMTP connection became available within " + maxWaitMs + " ms"));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw failRemaining(0, mimeMessages, originalMessages, failedMessages, e);
+        }
+
+        PooledTransport connection = null;
+        try {
+            for (int i = 0; i < mimeMessages.length; i++) {
+                Object original = originalMessages != null ? originalMessages[i] : mimeMessages[i];
+                if (connection == null) {
+                    try {
+                        connection = borrow();
+                    } catch (AuthenticationFailedException e) {
+                        if (i == 0) {
+                            throw new MailAuthenticationException(e); // Nothing sent yet; the whole batch failed
+                        }
+                        // Reconnecting mid-batch: report only the unsent messages, not those already delivered
+                        throw failRemaining(i, mimeMessages, originalMessages, failedMessages, e);
+                    } catch (Exception e) {
+                        throw failRemaining(i, mimeMessages, originalMessages, failedMessages, e);
+                    }
+                }
+
+                long start = System.nanoTime();
+                try {
+                    send(connection.transport, mimeMessages[i]);
+                    connection.messages++;
+                    sendSuccessTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                } catch (Exception e) {
+                    sendFailureTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                    failedMessages.put(original, e);
+                    if (!connection.transport.isConnected()) {
+                        close(connection, "error"); // Reconnect for the rest of the batch
+                        connection = null;
+                    }
+                }
+                if (connection != null && connection.messages >= maxMessagesPerConnection) {
+                    close(connection, "max_messages");
+                    connection = null;
+                }
+            }
+        } finally {
+            if (connection != null && closed) {
+                close(connection, "shutdown");
+            } else if (connection != null) {
+                connection.lastUsedNanos = System.nanoTime();
+                idle.addFirst(connection); // Most recently used first, so spare connections age out
+            }
+            permits.release();
+        }
+
+        if (!failedMessages.isEmpty()) {
+            throw new MailSendException(failedMessages);
+        }
+    }
+
+    /**
+     * Closes every idle connection. Connections in use are closed when they are returned.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        PooledTransport connection;
+        while ((connection = idle.pollFirst()) != null) {
+            close(connection, "shutdown");
+        }
+    }
+
+    private PooledTransport borrow() throws MessagingException {
+        PooledTransport connection;
+        while ((connection = idle.pollFirst()) != null) {
+            if (System.nanoTime() - connection.lastUsedNanos > TimeUnit.MILLISECONDS.toNanos(maxIdleMs)) {
+                close(connection, "idle");
+            } else if (!connection.transport.isConnected()) { // NOOP round trip; the server may have hung up
+                close(connection, "error");
+            } else {
+                return connection;
+            }
+        }
+
+        long start = System.nanoTime();
+        try {
+            Transport transport = connectTransport(); // Connect, EHLO, STARTTLS and AUTH
+            connectSuccessTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            return new PooledTransport(transport);
+        } catch (MessagingException | RuntimeException e) {
+            connectFailureTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            throw e;
+        }
+    }
+
+    // Same message preparation as JavaMailSenderImpl
+    private static void send(Transport transport, MimeMessage mimeMessage) throws MessagingException {
+        if (mimeMessage.getSentDate() == null) {
+            mimeMessage.setSentDate(new Date());
+        }
+        String messageId = mimeMessage.getMessageID();
+        mimeMessage.saveChanges();
+        if (messageId != null) {
+            // Preserve explicitly specified message id...
+            mimeMessage.setHeader("Message-ID", messageId);
+        }
+        Address[] addresses = mimeMessage.getAllRecipients();
+        transport.sendMessage(mimeMessage, addresses != null ? addresses : new Address[0]);
+    }
+
+    private void close(PooledTransport connection, String reason) {
+        Counter.builder("email.smtp.connections.closed").tag("reason", reason).register(meterRegistry).increment();
+        try {
+            connection.transport.close();
+        } catch (MessagingException e) {
+            logger.debug("Error closing SMTP connection: {}", e.getMessage());
+        }
+    }
+
+    // Marks the messages from the given index on as failed, e.g. when no connection could be opened
+    private static MailSendException failRemaining(int from, MimeMessage[] mimeMessages, Object[] originalMessages,
+                                                   Map<Object, Exception> failedMessages, Exception cause) {
+        for (int i = from; i < mimeMessages.length; i++) {
+            failedMessages.put(originalMessages != null ? originalMessages[i] : mimeMessages[i], cause);
+        }
+        return new MailSendException("Mail server connection failed", cause, failedMessages);
+    }
+
+    private static final class PooledTransport {
+        private final Transport transport;
+        private int messages;
+        private long lastUsedNanos;
+
+        PooledTransport(Transport transport) {
+            this.transport = transport;
+        }
+    }
+}
@@ -0,0 +1,155 @@
+package com.spring.vaidya.service;
+
+import java.security.SecureRandom;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.UUID;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.spring.vaidya.entity.RefreshToken;
+import com.spring.vaidya.entity.User;
+import com.spring.vaidya.exception.AuthenticationFailedException;
+import com.spring.vaidya.repo.RefreshTokenRepository;
+import com.spring.vaidya.repo.UserRepository;
+import com.spring.vaidya.util.TokenDigest;
+
+/**
+ * Issues and rotates opaque refresh tokens. Each refresh token can be exchanged exactly once;
+ * presenting an already-used token is treated as theft and revokes its whole rotation family.
+ */
+@Service
+public class RefreshTokenService {
+
+    private static final Logger logger = LoggerFactory.getLogger(RefreshTokenService.class);
+
+    private final SecureRandom secureRandom = new SecureRandom();
+
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final UserRepository userRepository;
+    private final long refreshExpirationMs;
+
+    public RefreshTokenService(RefreshTokenRepository refreshTokenRepository, UserRepository userRepository,
+                               @Value("${jwt.refresh-token.expiration-ms:1209600000}") long refreshExpirationMs) {
+        this.refreshTokenRepository = refreshTokenRepository;
+        this.userRepository = userRepository;
+        this.refreshExpirationMs = refreshExpirationMs;
+    }
+
+    /**
+     * Starts a new rotation family for a user who has just logged in with their password.
+     *
+     * @param userId The authenticated user's ID.
+     * @return The raw refresh token to hand to the client.
+     */
+    @Transactional
+    public String issue(Long userId) {
+        return issue(userRepository.getReferenceById(userId), UUID.randomUUID().toString());
+    }
+
+    /**
+     * Exchanges a refresh token for a new one in the same family.
+     *
+     * @param rawToken The refresh token presented by the client.
+     * @return The user the token belongs to and the replacement refresh token.
+     * @throws AuthenticationFailedException if the token is unknown, expired, reused or the account is disabled.
+     */
+    @Transactional(noRollbackFor = AuthenticationFailedException.class)
+    public Rotation rotate(String rawToken) {
+        if (rawToken == null || rawToken.isBlank()) {
+            throw new AuthenticationFailedException("Refresh token is required");
+        }
+        RefreshToken current = refreshTokenRepository.findByTokenHash(TokenDigest.sha256(rawToken))
+                .orElseThrow(() -> new AuthenticationFailedException("Invalid refresh token"));
+
+        // Only one request may consume a token; a second presentation means it was replayed
+        if (current.isUsed() || refreshTokenRepository.markUsed(current.getId()) == 0) {
+            int revoked = refreshTokenRepository.deleteByFamilyId(current.getFamilyId());
+            logger.warn("Refresh token reuse detected; revoked {} tokens in family {}", revoked, current.getFamilyId());
+            throw new AuthenticationFailedException("Refresh token has already been used");
+        }
+
+        if (current.isExpired()) {
+            throw new AuthenticationFailedException("Refresh token has expired");
+        }
+
+        User user = current.getUser();
+        if (!user.isEnabled()) {
+            refreshTokenRepository.deleteByFamilyId(current.getFamilyId());
+            throw new AuthenticationFailedException("Account is disabled");
+        }
+
+        return new Rotation(user, issue(user, current.getFamilyId()));
+    }
+
+    /**
+     * Revokes the rotation family of a refresh token, e.g. on logout. Unknown tokens are ignored.
+     *
+     * @param rawToken The refresh token presented by the client.
+     */
+    @Transactional
+    public void revoke(String rawToken) {
+        if (rawToken == null || rawToken.isBlank()) {
+            return;
+        }
+        refreshTokenRepository.findByTokenHash(TokenDigest.sha256(rawToken))
+                .ifPresent(token -> refreshTokenRepository.deleteByFamilyId(token.getFamilyId()));
+    }
+
+    /**
+     * Revokes every refresh token issued to a user, e.g. after a password reset.
+     *
+     * @param userId The user ID.
+     */
+    @Transactional
+    public void revokeAll(Long userId) {
+        refreshTokenRepository.deleteByUserId(userId);
+    }
+
+    /**
+     * Periodically removes expired tokens, oldest first via the expiry index.
+     */
+    @Scheduled(fixedDelayString = "${jwt.refresh-token.cleanup-interval-ms:3600000}")
+    @Transactional
+    public void deleteExpiredTokens() {
+        int deleted = refreshTokenRepository.deleteExpiredBefore(LocalDateTime.now());
+        if (deleted > 0) {
+            logger.info("Deleted {} expired refresh tokens", deleted);
+        }
+    }
+
+    private String issue(User user, String familyId) {
+        byte[] bytes = new byte[32];
+        secureRandom.nextBytes(bytes);
+        String rawToken = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+        LocalDateTime expiryDate = LocalDateTime.now().plusNanos(refreshExpirationMs * 1_000_000L);
+        refreshTokenRepository.save(new RefreshToken(TokenDigest.sha256(rawToken), familyId, user, expiryDate));
+        return rawToken;
+    }
+
+    /**
+     * Outcome of a successful rotation.
+     */
+    public static final class Rotation {
+        private final User user;
+        private final String refreshToken;
+
+        private Rotation(User user, String refreshToken) {
+            this.user = user;
+            this.refreshToken = refreshToken;
+        }
+
+        public User getUser() {
+            return user;
+        }
+
+        public String getRefreshToken() {
+            return refreshToken;
+        }
+    }
+}
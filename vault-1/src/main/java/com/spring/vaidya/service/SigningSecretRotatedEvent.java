@@ -0,0 +1,17 @@
+package com.spring.vaidya.service;
+
+/**
+ * Published by {@link HashiCorpApiService} when the background poll finds a new version of the JWT secret.
+ */
+public class SigningSecretRotatedEvent {
+
+    private final HashiCorpApiService.SecretVersion secret;
+
+    public SigningSecretRotatedEvent(HashiCorpApiService.SecretVersion secret) {
+        this.secret = secret;
+    }
+
+    public HashiCorpApiService.SecretVersion getSecret() {
+        return secret;
+    }
+}
@@ -0,0 +1,116 @@
+package com.spring.vaidya.service;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.spring.vaidya.entity.RevokedToken;
+import com.spring.vaidya.jwt.RevocationIndex;
+import com.spring.vaidya.jwt.TokenRevocationCheck;
+import com.spring.vaidya.repo.RevokedTokenRepository;
+
+import io.jsonwebtoken.Claims;
+
+/**
+ * Tracks revoked JWTs without adding a database round trip to each request.
+ * <p>
+ * Two kinds of revocation are supported: a single token (by its {@code jti}) and every token
+ * issued to a user before a cutoff (password reset, account disable). Requests are answered from
+ * the in-memory {@link RevocationIndex}. Revocations are written to the shared {@code revoked_token}
+ * table and each node polls it for rows added by other nodes.
+ */
+@Service
+public class TokenRevocationService implements TokenRevocationCheck {
+
+    private static final Logger logger = LoggerFactory.getLogger(TokenRevocationService.class);
+
+    private final RevokedTokenRepository revokedTokenRepository;
+    private final RevocationIndex index;
+
+    private final AtomicLong lastSeenId = new AtomicLong();
+
+    public TokenRevocationService(RevokedTokenRepository revokedTokenRepository,
+                                  @Value("${jwt.access-token.expiration-ms:900000}") long accessTokenExpirationMs,
+                                  @Value("${jwt.revocation.expected-entries:100000}") long expectedEntries,
+                                  @Value("${jwt.revocation.false-positive-rate:0.001}") double falsePositiveRate) {
+        this.revokedTokenRepository = revokedTokenRepository;
+        this.index = new RevocationIndex(accessTokenExpirationMs, expectedEntries, falsePositiveRate);
+    }
+
+    /**
+     * Checks whether verified token claims have been revoked. Allocation-free unless a Bloom filter reports a hit.
+     *
+     * @param claims Claims of a token whose signature and expiry have already been verified.
+     * @return true if the token or its user's earlier sessions have been revoked.
+     */
+    @Override
+    public boolean isRevoked(Claims claims) {
+        return index.isRevoked(claims);
+    }
+
+    /**
+     * Revokes a single token, e.g. on logout.
+     *
+     * @param claims Claims of the token to revoke.
+     */
+    @Transactional
+    public void revokeToken(Claims claims) {
+        RevokedToken row = index.tokenRevocation(claims);
+        if (row != null) {
+            index.apply(revokedTokenRepository.save(row));
+        }
+    }
+
+    /**
+     * Revokes every token issued to a user up to now, e.g. on password reset or account disable.
+     *
+     * @param userId The user whose tokens are revoked.
+     */
+    @Transactional
+    public void revokeAllForUser(Long userId) {
+        index.apply(revokedTokenRepository.save(index.userRevocation(userId)));
+    }
+
+    /**
+     * Applies revocations recorded by any node since the last poll.
+     */
+    @Scheduled(fixedDelayString = "${jwt.revocation.sync-interval-ms:5000}")
+    public void syncFromDatabase() {
+        List<RevokedToken> rows;
+        do {
+            rows = revokedTokenRepository.findTop1000ByIdGreaterThanOrderByIdAsc(lastSeenId.get());
+            for (RevokedToken row : rows) {
+                index.apply(row);
+                lastSeenId.accumulateAndGet(row.getId(), Math::max);
+            }
+        } while (rows.size() == 1000);
+    }
+
+    /**
+     * Forgets revocations whose tokens have all expired and rebuilds the Bloom filters.
+     * The full reload also picks up rows a concurrent writer committed below the poll cursor.
+     */
+    @Scheduled(fixedDelayString = "${jwt.revocation.prune-interval-ms:600000}")
+    @Transactional
+    public void pruneExpired() {
+        LocalDateTime now = LocalDateTime.now();
+        int deleted = revokedTokenRepository.deleteExpiredBefore(now);
+
+        index.removeExpired();
+        for (RevokedToken row : revokedTokenRepository.findByExpiresAtAfter(now)) {
+            index.apply(row);
+        }
+        index.rebuildFilters();
+
+        if (deleted > 0) {
+            logger.info("Pruned {} expired token revocations", deleted);
+        }
+    }
+}
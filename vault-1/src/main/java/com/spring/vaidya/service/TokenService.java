@@ -1,75 +1,220 @@
 package com.spring.vaidya.service;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
-import org.springframework.scheduling.annotation.Scheduled;
-import org.springframework.web.client.RestTemplate;
+import org.springframework.scheduling.TaskScheduler;
 import org.springframework.http.*;
 
+import com.spring.vaidya.exception.HcpUnavailableException;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import java.time.Instant;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.Map;
 
+/**
+ * Obtains and renews the HashiCorp Cloud Platform access token (OAuth2 client credentials).
+ * <p>
+ * Each successful refresh schedules the next one from the {@code expires_in} returned by the IdP,
+ * a safety margin before the token expires. Callers that find no valid token share a single in-flight
+ * refresh instead of each calling the IdP. A failed refresh keeps serving the current token while it
+ * is still valid and is retried after a short delay.
+ */
 @Service
 public class TokenService {
 
-    // TODO: Move sensitive credentials to application properties or environment variables
-    private static final String CLIENT_ID = "rRn0jXxVGd3qLqQfLCJn39xTa0hM2hAY"; // Your client ID
-    private static final String CLIENT_SECRET = "_KMaWsYp6VRHDA33y8rd2DLBmiplvozitXCbk6vYyMNIsDxTglODs8o0xTlVd77O"; // Your client secret
-    private static final String TOKEN_URL = "https://auth.idp.hashicorp.com/oauth2/token";
+    private static final Logger logger = LoggerFactory.getLogger(TokenService.class);
+
+    private final HcpClient hcpClient;
+    private final TaskScheduler taskScheduler;
+    private final String clientId;
+    private final String clientSecret;
+    private final String tokenUrl;
+    private final long refreshMarginMs;
+    private final long retryDelayMs;
+    private final long defaultTtlMs;
+
+    private final Timer refreshSuccessTimer;
+    private final Timer refreshFailureTimer;
+    private final Counter coalescedCounter;
+
+    // Current token, replaced atomically on each refresh
+    private final AtomicReference<AccessToken> accessToken = new AtomicReference<>();
+
+    // Refresh in progress, shared by every caller that needs a token meanwhile
+    private final AtomicReference<CompletableFuture<AccessToken>> inFlight = new AtomicReference<>();
 
-    private final RestTemplate restTemplate = new RestTemplate();
+    private volatile ScheduledFuture<?> nextRefresh;
 
-    // Store the token in memory using AtomicReference to safely handle updates
-    private final AtomicReference<String> accessToken = new AtomicReference<>("");
+    public TokenService(HcpClient hcpClient,
+                        TaskScheduler taskScheduler,
+                        MeterRegistry meterRegistry,
+                        @Value("${hashicorp.clientId}") String clientId,
+                        @Value("${hashicorp.clientSecret}") String clientSecret,
+                        @Value("${hashicorp.tokenUrl:https://auth.idp.hashicorp.com/oauth2/token}") String tokenUrl,
+                        @Value("${hashicorp.token.refresh-margin-ms:300000}") long refreshMarginMs,
+                        @Value("${hashicorp.token.retry-delay-ms:15000}") long retryDelayMs,
+                        @Value("${hashicorp.token.default-ttl-ms:3600000}") long defaultTtlMs) {
+        this.hcpClient = hcpClient;
+        this.taskScheduler = taskScheduler;
+        this.clientId = clientId;
+        this.clientSecret = clientSecret;
+        this.tokenUrl = tokenUrl;
+        this.refreshMarginMs = refreshMarginMs;
+        this.retryDelayMs = retryDelayMs;
+        this.defaultTtlMs = defaultTtlMs;
+
+        this.refreshSuccessTimer = Timer.builder("hcp.token.refresh").tag("outcome", "success").register(meterRegistry);
+        this.refreshFailureTimer = Timer.builder("hcp.token.refresh").tag("outcome", "failure").register(meterRegistry);
+        this.coalescedCounter = Counter.builder("hcp.token.refresh.coalesced")
+                .description("Callers that waited on a refresh already in flight")
+                .register(meterRegistry);
+        Gauge.builder("hcp.token.age", accessToken, ref -> secondsSince(ref.get(), true))
+                .baseUnit("seconds").register(meterRegistry);
+        Gauge.builder("hcp.token.remaining", accessToken, ref -> secondsSince(ref.get(), false))
+                .baseUnit("seconds").register(meterRegistry);
+    }
 
     /**
-     * Fetch and update the access token from HashiCorp Identity Provider.
+     * Fetch and update the access token from HashiCorp Identity Provider, joining a refresh
+     * that is already in progress.
+     *
+     * @throws HcpUnavailableException if the token endpoint could not be reached.
      */
     public void refreshAccessToken() {
-        try {
-            // Set HTTP headers
-            HttpHeaders headers = new HttpHeaders();
-            headers.setContentType(MediaType.APPLICATION_FORM_URLENCODED);
-
-            // Request body for OAuth2 token request
-            String requestBody = "client_id=" + CLIENT_ID +
-                                 "&client_secret=" + CLIENT_SECRET +
-                                 "&grant_type=client_credentials" +
-                                 "&audience=https://api.hashicorp.cloud";
-
-            HttpEntity<String> requestEntity = new HttpEntity<>(requestBody, headers);
-
-            // Send the POST request to obtain a new token
-            ResponseEntity<Map> response = restTemplate.exchange(TOKEN_URL, HttpMethod.POST, requestEntity, Map.class);
-
-            // Validate and store the new token
-            if (response.getBody() != null && response.getBody().containsKey("access_token")) {
-                String token = response.getBody().get("access_token").toString();
-                accessToken.set(token); // Store the token safely
-
-                // Logging for debugging (Consider using a logger instead of System.out)
-                System.out.println("🔄 Token refreshed successfully! Current Token: " + token);
-            } else {
-                System.err.println("❌ Failed to refresh token! Response: " + response.getBody());
-            }
-        } catch (Exception e) {
-            System.err.println("❌ Error refreshing token: " + e.getMessage());
+        await(refresh());
+    }
+
+    /**
+     * Retrieves the current access token, refreshing it first if it is missing or expired.
+     * @return The current access token.
+     * @throws HcpUnavailableException if no valid token is held and the refresh failed.
+     */
+    public String getAccessToken() {
+        AccessToken current = accessToken.get();
+        if (current != null && current.expiresAtMillis > System.currentTimeMillis()) {
+            return current.value;
         }
+        return await(refresh()).value;
     }
 
     /**
-     * Scheduler to automatically refresh the token every 55 minutes.
-     * (Token expiration is typically 1 hour, so we refresh before expiration)
+     * Starts a refresh, or returns the one already in flight. The caller that starts the refresh runs it.
      */
-    @Scheduled(fixedRate = 55 * 60 * 1000) // 55 minutes in milliseconds
-    public void scheduledTokenRefresh() {
-        refreshAccessToken();
+    private CompletableFuture<AccessToken> refresh() {
+        CompletableFuture<AccessToken> mine = new CompletableFuture<>();
+        CompletableFuture<AccessToken> existing = inFlight.compareAndExchange(null, mine);
+        if (existing != null) {
+            coalescedCounter.increment();
+            return existing;
+        }
+        long start = System.nanoTime();
+        try {
+            AccessToken token = requestToken();
+            accessToken.set(token);
+            refreshSuccessTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            scheduleRefresh(token.refreshAtMillis);
+            logger.info("HCP access token refreshed, expires in {} s",
+                    (token.expiresAtMillis - token.issuedAtMillis) / 1000);
+            inFlight.set(null); // Later callers see the new token before they could start another refresh
+            mine.complete(token);
+        } catch (RuntimeException e) {
+            refreshFailureTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            logger.error("Error refreshing HCP access token: {}", e.getMessage());
+            AccessToken current = accessToken.get();
+            long now = System.currentTimeMillis();
+            long retryAt = now + retryDelayMs;
+            if (current != null && current.expiresAtMillis > now) {
+                retryAt = Math.min(retryAt, current.expiresAtMillis); // Try again before the current token lapses
+            }
+            scheduleRefresh(retryAt);
+            inFlight.set(null);
+            mine.completeExceptionally(e);
+        }
+        return mine;
+    }
+
+    private AccessToken requestToken() {
+        // Set HTTP headers
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_FORM_URLENCODED);
+
+        // Request body for OAuth2 token request
+        String requestBody = "client_id=" + clientId +
+                             "&client_secret=" + clientSecret +
+                             "&grant_type=client_credentials" +
+                             "&audience=https://api.hashicorp.cloud";
+
+        HttpEntity<String> requestEntity = new HttpEntity<>(requestBody, headers);
+
+        // Send the POST request to obtain a new token
+        long issuedAt = System.currentTimeMillis();
+        ResponseEntity<Map> response = hcpClient.exchange("token", tokenUrl, HttpMethod.POST, requestEntity, Map.class);
+
+        // Validate and build the new token
+        Map<?, ?> body = response.getBody();
+        if (body == null || !body.containsKey("access_token")) {
+            throw new HcpUnavailableException("HCP token response has no access_token");
+        }
+        long ttlMs = body.get("expires_in") instanceof Number
+                ? ((Number) body.get("expires_in")).longValue() * 1000
+                : defaultTtlMs;
+        // Refresh a margin before expiry, but never in the first half of a short-lived token's life
+        long refreshAt = issuedAt + Math.max(ttlMs - refreshMarginMs, ttlMs / 2);
+        return new AccessToken(body.get("access_token").toString(), issuedAt, issuedAt + ttlMs, refreshAt);
+    }
+
+    private void scheduleRefresh(long atMillis) {
+        ScheduledFuture<?> previous = nextRefresh;
+        if (previous != null) {
+            previous.cancel(false);
+        }
+        nextRefresh = taskScheduler.schedule(this::refresh, Instant.ofEpochMilli(atMillis));
+    }
+
+    private static AccessToken await(CompletableFuture<AccessToken> refresh) {
+        try {
+            return refresh.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+    private static double secondsSince(AccessToken token, boolean age) {
+        if (token == null) {
+            return Double.NaN;
+        }
+        long now = System.currentTimeMillis();
+        return (age ? now - token.issuedAtMillis : token.expiresAtMillis - now) / 1000.0;
     }
 
     /**
-     * Retrieves the most recently fetched access token.
-     * @return The current access token.
+     * An access token and its lifetime, in epoch milliseconds.
      */
-    public String getAccessToken() {
-        return accessToken.get();
+    private static final class AccessToken {
+        private final String value;
+        private final long issuedAtMillis;
+        private final long expiresAtMillis;
+        private final long refreshAtMillis;
+
+        private AccessToken(String value, long issuedAtMillis, long expiresAtMillis, long refreshAtMillis) {
+            this.value = value;
+            this.issuedAtMillis = issuedAtMillis;
+            this.expiresAtMillis = expiresAtMillis;
+            this.refreshAtMillis = refreshAtMillis;
+        }
     }
 }
@@ -0,0 +1,70 @@
+package com.spring.vaidya.service;
+
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.stereotype.Service;
+
+import com.spring.vaidya.entity.AuthAccount;
+import com.spring.vaidya.repo.UserRepository;
+import com.spring.vaidya.util.EmailNormalizer;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * In-process cache of the authentication view of user accounts, keyed by normalized email.
+ * Size and TTL come from {@code spring.cache.caffeine.spec}. Absent accounts are cached as well,
+ * so every write that changes credentials, enablement or existence must call {@link #evict(String)}.
+ * Eviction only reaches this node's cache; other nodes serve their copy until it expires, which is
+ * why the TTL is kept short (30 s by default).
+ * Database reads on a miss are timed as {@code user.account.db.lookup}, tagged {@code found} or {@code absent}.
+ */
+@Service
+public class UserAccountCache {
+
+    public static final String CACHE_NAME = "userAccounts";
+
+    private final UserRepository userRepository;
+    private final Timer foundTimer;
+    private final Timer absentTimer;
+
+    /**
+     * Constructor-based dependency injection for UserRepository.
+     *
+     * @param userRepository The repository used to load accounts on a cache miss.
+     * @param meterRegistry  Registry the database lookup timers are published to.
+     */
+    public UserAccountCache(UserRepository userRepository, MeterRegistry meterRegistry) {
+        this.userRepository = userRepository;
+        this.foundTimer = Timer.builder("user.account.db.lookup").tag("result", "found").register(meterRegistry);
+        this.absentTimer = Timer.builder("user.account.db.lookup").tag("result", "absent").register(meterRegistry);
+    }
+
+    /**
+     * Returns the authentication view of an account, loading it from the database on a miss.
+     * Concurrent misses for the same email share a single query.
+     *
+     * @param email The account email (any case).
+     * @return The account, or null if no user has this email.
+     */
+    @Cacheable(cacheNames = CACHE_NAME, key = "T(com.spring.vaidya.util.EmailNormalizer).normalize(#email)", sync = true)
+    public AuthAccount findAccount(String email) {
+        // Only reached on a cache miss, so this times the database round trip alone
+        long start = System.nanoTime();
+        AuthAccount account = userRepository.findAuthAccountByEmail(EmailNormalizer.normalize(email)).orElse(null);
+        (account != null ? foundTimer : absentTimer).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        return account;
+    }
+
+    /**
+     * Removes an account from the cache so the next lookup reads the database.
+     *
+     * @param email The account email (any case).
+     */
+    @CacheEvict(cacheNames = CACHE_NAME, key = "T(com.spring.vaidya.util.EmailNormalizer).normalize(#email)")
+    public void evict(String email) {
+        // Eviction is performed by the cache interceptor
+    }
+}
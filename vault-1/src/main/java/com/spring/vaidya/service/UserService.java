@@ -7,14 +7,19 @@ import java.util.UUID;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.i18n.LocaleContextHolder;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import com.spring.vaidya.entity.ErrorResponse;
 import com.spring.vaidya.entity.PasswordResetToken;
 import com.spring.vaidya.entity.User;
+import com.spring.vaidya.exception.HashingCapacityExceededException;
 import com.spring.vaidya.repo.PasswordResetTokenRepository;
 import com.spring.vaidya.repo.UserRepository;
+import com.spring.vaidya.util.EmailNormalizer;
 
 /**
  * Service class for user-related operations such as registration,
@@ -34,9 +39,30 @@ public class UserService {
     @Autowired
     private EmailService emailService;
 
+    @Autowired
+    private EmailOutboxService emailOutboxService;
+
     @Autowired
     private PasswordEncoder passwordEncoder;
 
+    @Autowired
+    private UserAccountCache userAccountCache;
+
+    @Autowired
+    private RefreshTokenService refreshTokenService;
+
+    @Autowired
+    private TokenRevocationService tokenRevocationService;
+
+    @Autowired
+    private EmailExistenceFilter emailExistenceFilter;
+
+    @Autowired
+    private EmailCoalescer emailCoalescer;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
     /**
      * Constructor-based dependency injection for required components.
      * 
@@ -56,13 +82,12 @@ public class UserService {
      */
     public Object registerUser(User user) {
         try {
-            // Check if the email is already registered
-            if (userRepository.existsByUserEmail(user.getUserEmail())) {
-                return new ErrorResponse(LocalDateTime.now(), 400, "USER_EXISTS", "Email is already registered");
-            }
-
-            // Validate phone number (should be exactly 10 digits)
+            // Validate phone number (should be exactly 10 digits). A registered email is still reported
+            // first; the lookup runs only on this error path, as valid requests rely on the unique index
             if (user.getPhoneNumber() == null || !user.getPhoneNumber().matches("\\d{10}")) {
+                if (emailAlreadyRegistered(user.getUserEmail())) {
+                    return new ErrorResponse(LocalDateTime.now(), 400, "USER_EXISTS", "Email is already registered");
+                }
                 return new ErrorResponse(LocalDateTime.now(), 400, "INVALID_PHONE", "Phone number must be exactly 10 digits");
             }
 
@@ -70,17 +95,42 @@ public class UserService {
 
             // Encrypt the user's password before storing it
             user.setPassword(passwordEncoder.encode(user.getPassword()));
-            User savedUser = userRepository.save(user);
+            User savedUser;
+            try {
+                // Insert first; the unique index on the normalized email rejects an address already registered
+                savedUser = userRepository.save(user);
+            } catch (DataIntegrityViolationException e) {
+                if (!User.isDuplicateEmail(e)) {
+                    throw e;
+                }
+                return new ErrorResponse(LocalDateTime.now(), 400, "USER_EXISTS", "Email is already registered");
+            }
+            userAccountCache.evict(savedUser.getUserEmail()); // Drop any cached "not found" entry
+            emailExistenceFilter.recordInsert(savedUser.getUserEmail());
             
             logger.info("User registered successfully with ID: {}", savedUser.getUserId());
             
             return savedUser;
+        } catch (HashingCapacityExceededException e) {
+            throw e; // Answered with 503 and Retry-After
         } catch (Exception e) {
             logger.error("Error registering user: {}", e.getMessage());
             return new ErrorResponse(LocalDateTime.now(), 500, "REGISTER_ERROR", "Failed to register user");
         }
     }
 
+    /**
+     * Checks the database for an email the filter cannot rule out.
+     */
+    private boolean emailAlreadyRegistered(String email) {
+        if (email == null || !emailExistenceFilter.mightExist(email)) {
+            return false;
+        }
+        boolean exists = userRepository.findByNormalizedEmail(EmailNormalizer.normalize(email)).isPresent();
+        emailExistenceFilter.recordLookup(exists);
+        return exists;
+    }
+
     /**
      * Initiates the password reset process by generating a reset token and sending an email.
      * 
@@ -117,22 +167,54 @@ public class UserService {
 //        }
 //    }
 
+    /**
+     * Initiates the password reset process by generating a reset token and queueing the reset email
+     * in the same transaction, so the email is sent only if the token is stored. Repeated requests
+     * for the same account within the coalescing window reuse the outstanding token and send nothing.
+     *
+     * @param email The email address of the user requesting a password reset.
+     * @return Success message or error response if user not found.
+     */
     public Object initiateForgotPassword(String email) {
         Logger logger = LoggerFactory.getLogger(getClass());
 
         try {
-            Optional<User> optionalUser = userRepository.findByUserEmailIgnoreCase(email);
+            String token = emailCoalescer.issue(EmailCoalescer.PASSWORD_RESET, email, () -> issueResetToken(email));
 
             // Check if the email exists in the database
-            if (optionalUser.isEmpty()) {
+            if (token == null) {
                 logger.warn("Forgot password request failed: No user found for email {}", email);
                 return new ErrorResponse(LocalDateTime.now(), 404, "USER_NOT_FOUND", "No user found with this email");
             }
 
-            User user = optionalUser.get();
-            String token = UUID.randomUUID().toString();
-            LocalDateTime expiryDate = LocalDateTime.now().plusMinutes(30);
+            return new ErrorResponse(LocalDateTime.now(), 200, "EMAIL_SENT", "Password reset email sent successfully!");
+        } catch (Exception e) {
+            logger.error("Error initiating password reset: {}", e.getMessage());
+            return new ErrorResponse(LocalDateTime.now(), 500, "PASSWORD_RESET_ERROR", "Failed to send password reset email");
+        }
+    }
 
+    /**
+     * Stores a new reset token for the account and queues its email in one transaction.
+     *
+     * @return The token, or null if no account has this email.
+     */
+    private String issueResetToken(String email) {
+        // Unknown emails are answered from the in-memory filter without a query
+        Optional<User> optionalUser = Optional.empty();
+        if (emailExistenceFilter.mightExist(email)) {
+            optionalUser = userRepository.findByNormalizedEmail(EmailNormalizer.normalize(email));
+            emailExistenceFilter.recordLookup(optionalUser.isPresent());
+        }
+        if (optionalUser.isEmpty()) {
+            return null;
+        }
+
+        User user = optionalUser.get();
+        String token = UUID.randomUUID().toString();
+        LocalDateTime expiryDate = LocalDateTime.now().plusMinutes(30);
+
+        transactionTemplate.executeWithoutResult(status -> {
             // Check if a token already exists for the user
             PasswordResetToken existingToken = tokenRepository.findByUser(user);
 
@@ -151,16 +233,13 @@ public class UserService {
             // Save the updated/new token
             tokenRepository.save(existingToken);
 
-            // Send reset email
-            logger.info("Sending password reset email to: {}", email);
-            emailService.sendPasswordResetEmail(email, token);
-
-            return new ErrorResponse(LocalDateTime.now(), 200, "EMAIL_SENT", "Password reset email sent successfully!");
-        } catch (Exception e) {
-            logger.error("Error initiating password reset: {}", e.getMessage());
-            return new ErrorResponse(LocalDateTime.now(), 500, "PASSWORD_RESET_ERROR", "Failed to send password reset email");
-        }
+            // Queue the reset email; the outbox dispatcher sends it after commit
+            logger.info("Queueing password reset email to: {}", email);
+            emailOutboxService.enqueue(email, emailService.passwordResetContent(token, LocaleContextHolder.getLocale()));
+        });
+        return token;
     }
+
     /**
      * Resets the user's password using a valid reset token.
      * 
@@ -190,12 +269,18 @@ public class UserService {
             // Encrypt and update the new password
             user.setPassword(passwordEncoder.encode(newPassword));
             userRepository.save(user);
+            userAccountCache.evict(user.getUserEmail()); // The old password hash must not be served from cache
+            refreshTokenService.revokeAll(user.getUserId()); // Sessions opened with the old password end here
+            tokenRevocationService.revokeAllForUser(user.getUserId()); // Outstanding access tokens stop working too
 
             // Delete the used token after successful reset
             tokenRepository.delete(resetToken);
+            emailCoalescer.forget(EmailCoalescer.PASSWORD_RESET, user.getUserEmail()); // The next request gets a new token
 
             logger.info("Password successfully reset for user: {}", user.getUserEmail());
             return "Password reset successfully!";
+        } catch (HashingCapacityExceededException e) {
+            throw e; // Answered with 503 and Retry-After
         } catch (Exception e) {
             logger.error("Error resetting password: {}", e.getMessage());
             return new ErrorResponse(LocalDateTime.now(), 500, "RESET_PASSWORD_ERROR", "Failed to reset password");
@@ -209,6 +294,6 @@ public class UserService {
      * @return An optional user object if found.
      */
     public Optional<User> findByUsername(String username) {
-        return userRepository.findByUserEmailIgnoreCase(username);
+        return userRepository.findByNormalizedEmail(EmailNormalizer.normalize(username));
     }
 }
@@ -0,0 +1,122 @@
+package com.spring.vaidya.util;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Thread-safe Bloom filter over strings and longs. Lookups never allocate and never lock:
+ * a single 64-bit hash is computed in place and expanded into the probe positions by double hashing.
+ * A negative answer is definite; a positive answer must be confirmed against an exact source.
+ */
+public final class BloomFilter {
+
+    private final AtomicLongArray words;
+    private final int numBits;
+    private final int numHashes;
+    private final AtomicLong insertions = new AtomicLong();
+
+    private BloomFilter(int numBits, int numHashes) {
+        this.words = new AtomicLongArray((numBits + 63) >>> 6);
+        this.numBits = numBits;
+        this.numHashes = numHashes;
+    }
+
+    /**
+     * Creates a filter sized for the given number of entries and false-positive probability.
+     *
+     * @param expectedInsertions Number of entries the filter should hold at the target rate.
+     * @param falsePositiveRate  Target false-positive probability, e.g. 0.001.
+     * @return An empty filter.
+     */
+    public static BloomFilter create(long expectedInsertions, double falsePositiveRate) {
+        long n = Math.max(1, expectedInsertions);
+        long bits = (long) Math.ceil(-n * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+        int numBits = (int) Math.min(Integer.MAX_VALUE - 63, Math.max(64, bits));
+        int numHashes = Math.max(1, (int) Math.round((double) numBits / n * Math.log(2)));
+        return new BloomFilter(numBits, numHashes);
+    }
+
+    public void put(CharSequence value) {
+        setBits(hash(value));
+    }
+
+    public boolean mightContain(CharSequence value) {
+        return testBits(hash(value));
+    }
+
+    public void put(long value) {
+        setBits(mix64(value));
+    }
+
+    public boolean mightContain(long value) {
+        return testBits(mix64(value));
+    }
+
+    /**
+     * @return Number of put calls since the filter was created (duplicates included).
+     */
+    public long insertions() {
+        return insertions.get();
+    }
+
+    /**
+     * Estimates the current false-positive probability from the fraction of bits set.
+     *
+     * @return The estimated probability that an absent value is reported as present.
+     */
+    public double expectedFalsePositiveRate() {
+        long setBits = 0;
+        for (int i = 0; i < words.length(); i++) {
+            setBits += Long.bitCount(words.get(i));
+        }
+        return Math.pow((double) setBits / numBits, numHashes);
+    }
+
+    private void setBits(long hash) {
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        for (int i = 1; i <= numHashes; i++) {
+            int combined = h1 + i * h2;
+            int bit = (combined < 0 ? ~combined : combined) % numBits;
+            int index = bit >>> 6;
+            long mask = 1L << bit;
+            long word;
+            do {
+                word = words.get(index);
+                if ((word & mask) != 0) {
+                    break;
+                }
+            } while (!words.compareAndSet(index, word, word | mask));
+        }
+        insertions.incrementAndGet();
+    }
+
+    private boolean testBits(long hash) {
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        for (int i = 1; i <= numHashes; i++) {
+            int combined = h1 + i * h2;
+            int bit = (combined < 0 ? ~combined : combined) % numBits;
+            if ((words.get(bit >>> 6) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // 64-bit FNV-1a over the UTF-16 code units, finished with a MurmurHash3 mix for better bit spread
+    private static long hash(CharSequence value) {
+        long h = 0xcbf29ce484222325L;
+        for (int i = 0; i < value.length(); i++) {
+            h ^= value.charAt(i);
+            h *= 0x100000001b3L;
+        }
+        return mix64(h);
+    }
+
+    private static long mix64(long z) {
+        z = (z ^ (z >>> 33)) * 0xff51afd7ed558ccdL;
+        z = (z ^ (z >>> 33)) * 0xc4ceb9fe1a85ec53L;
+        return z ^ (z >>> 33);
+    }
+}
@@ -0,0 +1,23 @@
+package com.spring.vaidya.util;
+
+import java.util.Locale;
+
+/**
+ * Normalizes email addresses so that lookups, cache keys and rate-limit keys
+ * treat "John@Example.com " and "john@example.com" as the same account.
+ */
+public final class EmailNormalizer {
+
+    private EmailNormalizer() {
+    }
+
+    /**
+     * Trims and lower-cases an email address.
+     *
+     * @param email The email as entered by the user.
+     * @return The normalized email, or null if the input is null.
+     */
+    public static String normalize(String email) {
+        return email == null ? null : email.trim().toLowerCase(Locale.ROOT);
+    }
+}
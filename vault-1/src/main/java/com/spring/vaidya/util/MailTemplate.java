@@ -0,0 +1,115 @@
+package com.spring.vaidya.util;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Template with {@code {{name}}} placeholders, parsed once into alternating literal and variable
+ * segments. Values known at parse time (base URLs and the like) are folded into the literals, so
+ * rendering is a single pass over a few segments into one pre-sized buffer.
+ * <p>
+ * Instances are immutable and safe to share between threads.
+ */
+public final class MailTemplate {
+
+    private static final int EXPECTED_VALUE_LENGTH = 48;
+
+    private final String[] literals; // literals[i] precedes names[i]; the last literal ends the template
+    private final String[] names;
+    private final boolean html;
+    private final int literalLength;
+
+    private MailTemplate(String[] literals, String[] names, boolean html) {
+        this.literals = literals;
+        this.names = names;
+        this.html = html;
+        int length = 0;
+        for (String literal : literals) {
+            length += literal.length();
+        }
+        this.literalLength = length;
+    }
+
+    /**
+     * Parses a template.
+     *
+     * @param source    Template text.
+     * @param constants Values substituted now rather than at render time.
+     * @param html      Whether substituted values are HTML-escaped.
+     * @return The compiled template.
+     * @throws IllegalArgumentException if a placeholder is not closed or is empty.
+     */
+    public static MailTemplate compile(String source, Map<String, String> constants, boolean html) {
+        List<String> literals = new ArrayList<>();
+        List<String> names = new ArrayList<>();
+        StringBuilder literal = new StringBuilder();
+        int position = 0;
+        while (true) {
+            int open = source.indexOf("{{", position);
+            if (open < 0) {
+                literal.append(source, position, source.length());
+                break;
+            }
+            int close = source.indexOf("}}", open + 2);
+            if (close < 0) {
+                throw new IllegalArgumentException("Unclosed placeholder at offset " + open);
+            }
+            String name = source.substring(open + 2, close).trim();
+            if (name.isEmpty()) {
+                throw new IllegalArgumentException("Empty placeholder at offset " + open);
+            }
+            literal.append(source, position, open);
+            String constant = constants.get(name);
+            if (constant != null) {
+                append(literal, constant, html);
+            } else {
+                literals.add(literal.toString());
+                names.add(name);
+                literal.setLength(0);
+            }
+            position = close + 2;
+        }
+        literals.add(literal.toString());
+        return new MailTemplate(literals.toArray(new String[0]), names.toArray(new String[0]), html);
+    }
+
+    /**
+     * Renders the template.
+     *
+     * @param values Value of every placeholder not substituted at parse time.
+     * @return The rendered text.
+     * @throws IllegalArgumentException if a value is missing.
+     */
+    public String render(Map<String, String> values) {
+        StringBuilder out = new StringBuilder(literalLength + EXPECTED_VALUE_LENGTH * names.length);
+        for (int i = 0; i < names.length; i++) {
+            out.append(literals[i]);
+            String value = values.get(names[i]);
+            if (value == null) {
+                throw new IllegalArgumentException("No value for template variable '" + names[i] + "'");
+            }
+            append(out, value, html);
+        }
+        return out.append(literals[names.length]).toString();
+    }
+
+    // Escapes while appending, so no intermediate string is built
+    private static void append(StringBuilder out, String value, boolean html) {
+        if (!html) {
+            out.append(value);
+            return;
+        }
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '&' -> out.append("&amp;");
+                case '<' -> out.append("&lt;");
+                case '>' -> out.append("&gt;");
+                case '"' -> out.append("&quot;");
+                case '\'' -> out.append("&#39;");
+                default -> out.append(c);
+            }
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package com.spring.vaidya.util;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lock-free token bucket. The token count and the time of the last refill are packed into a single
+ * {@code long}, so taking a token is one read and one compare-and-set, with no lock and no allocation.
+ * Tokens are kept in thousandths, so slow refill rates (one token every few minutes) accrue smoothly.
+ * <p>
+ * Time is supplied by the caller in milliseconds from a monotonic origin (e.g. process start), which keeps
+ * the bucket free of clock dependencies and lets one clock reading be shared by several buckets.
+ * The state is only written when a token is taken; the fraction of a thousandth dropped at that point
+ * is the only rounding loss.
+ */
+public final class TokenBucket {
+
+    private static final int TOKEN_BITS = 22;
+    private static final long TOKEN_MASK = (1L << TOKEN_BITS) - 1;
+    private static final long ONE = 1000; // Tokens are stored in thousandths
+
+    /** Largest supported capacity, bounded by the bits reserved for the token count. */
+    public static final int MAX_CAPACITY = (int) (TOKEN_MASK / ONE);
+
+    private final long capacity;
+    private final long refillPeriodMs;
+    private final AtomicLong state;
+
+    /**
+     * @param capacity       Maximum burst; the bucket starts full.
+     * @param refillPeriodMs Time to regain one token.
+     * @param nowMs          Current time.
+     */
+    public TokenBucket(int capacity, long refillPeriodMs, long nowMs) {
+        if (capacity < 1 || capacity > MAX_CAPACITY) {
+            throw new IllegalArgumentException("Capacity must be between 1 and " + MAX_CAPACITY);
+        }
+        if (refillPeriodMs < 1) {
+            throw new IllegalArgumentException("Refill period must be at least 1 ms");
+        }
+        this.capacity = capacity * ONE;
+        this.refillPeriodMs = refillPeriodMs;
+        this.state = new AtomicLong(pack(nowMs, this.capacity));
+    }
+
+    /**
+     * Takes one token if available.
+     *
+     * @param nowMs Current time.
+     * @return 0 if a token was taken, otherwise the milliseconds until one will be available.
+     */
+    public long tryAcquire(long nowMs) {
+        while (true) {
+            long current = state.get();
+            long tokens = tokensAt(current, nowMs);
+            if (tokens < ONE) {
+                return Math.max(1, ((ONE - tokens) * refillPeriodMs + ONE - 1) / ONE);
+            }
+            if (state.compareAndSet(current, pack(Math.max(current >>> TOKEN_BITS, nowMs), tokens - ONE))) {
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * @param nowMs Current time.
+     * @return true if the bucket has refilled completely, i.e. dropping it loses no state.
+     */
+    public boolean isFull(long nowMs) {
+        return tokensAt(state.get(), nowMs) >= capacity;
+    }
+
+    /**
+     * @param nowMs Current time.
+     * @return Milliseconds since a token was last taken (or the bucket was created).
+     */
+    public long idleMs(long nowMs) {
+        return Math.max(0, nowMs - (state.get() >>> TOKEN_BITS));
+    }
+
+    /**
+     * @return Milliseconds an empty bucket needs to refill completely.
+     */
+    public long fullRefillMs() {
+        return capacity / ONE * refillPeriodMs;
+    }
+
+    private long tokensAt(long packed, long nowMs) {
+        long elapsed = Math.max(0, nowMs - (packed >>> TOKEN_BITS));
+        long refilled = (packed & TOKEN_MASK) + elapsed * ONE / refillPeriodMs;
+        return Math.min(capacity, refilled);
+    }
+
+    private static long pack(long timeMs, long tokens) {
+        return (timeMs << TOKEN_BITS) | tokens;
+    }
+}
@@ -0,0 +1,31 @@
+package com.spring.vaidya.util;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+
+/**
+ * Hashes bearer tokens so they can be used as lookup keys without keeping the raw token around.
+ */
+public final class TokenDigest {
+
+    private TokenDigest() {
+    }
+
+    /**
+     * Computes the URL-safe Base64 SHA-256 digest of a token (43 characters).
+     *
+     * @param token The raw token.
+     * @return The digest.
+     */
+    public static String sha256(String token) {
+        try {
+            MessageDigest sha256 = MessageDigest.getInstance("SHA-256");
+            byte[] hash = sha256.digest(token.getBytes(StandardCharsets.US_ASCII));
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package com.spring.vaidya.reactive;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.r2dbc.core.DatabaseClient.GenericExecuteSpec;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.spring.vaidya.contract.AuthApiContract;
+
+/**
+ * Runs the API contract against the reactive application on an in-memory H2 database reached through R2DBC.
+ */
+@SpringBootTest(classes = ReactiveVault1Application.class, webEnvironment = SpringBootTest.WebEnvironment.DEFINED_PORT,
+        properties = {
+        "server.port=18092",
+        "spring.main.web-application-type=reactive",
+        "spring.r2dbc.url=r2dbc:h2:mem:///reactive-contract;MODE=MySQL;NON_KEYWORDS=USER;DB_CLOSE_DELAY=-1",
+        "spring.r2dbc.username=sa",
+        "spring.r2dbc.password=",
+        "spring.sql.init.mode=always",
+        "spring.sql.init.schema-locations=classpath:contract-schema.sql"
+})
+@ActiveProfiles("reactive")
+class ReactiveAuthApiTest extends AuthApiContract {
+
+    @Autowired
+    private DatabaseClient databaseClient;
+
+    @Override
+    protected String queryForString(String sql, Object... args) {
+        return bind(sql, args).map(row -> row.get(0, String.class)).first().block();
+    }
+
+    @Override
+    protected void update(String sql, Object... args) {
+        bind(sql, args).fetch().rowsUpdated().block();
+    }
+
+    private GenericExecuteSpec bind(String sql, Object... args) {
+        // The contract is written with JDBC placeholders; R2DBC binds by index against $n markers
+        StringBuilder indexed = new StringBuilder();
+        int index = 0;
+        for (char c : sql.toCharArray()) {
+            if (c == '?') {
+                indexed.append('$').append(++index);
+            } else {
+                indexed.append(c);
+            }
+        }
+        GenericExecuteSpec spec = databaseClient.sql(indexed.toString());
+        for (int i = 0; i < args.length; i++) {
+            spec = spec.bind(i, args[i]);
+        }
+        return spec;
+    }
+}
@@ -0,0 +1,58 @@
+-- Tables the JPA entities map to, for the reactive contract test (the reactive build has no schema generation)
+create table if not exists user (
+    user_id bigint auto_increment primary key,
+    full_name varchar(255),
+    user_email varchar(255),
+    normalized_email varchar(255),
+    specialization varchar(255),
+    qualification varchar(255),
+    experience int not null,
+    address varchar(255),
+    gender varchar(255),
+    phone_number varchar(255),
+    password varchar(255),
+    diseases varchar(255),
+    clinic_name varchar(255),
+    open_time time,
+    close_time time,
+    is_enabled boolean not null,
+    role_id int,
+    aadhar_no varchar(255),
+    constraint uk_user_normalized_email unique (normalized_email)
+);
+
+create table if not exists password_reset_token (
+    id bigint auto_increment primary key,
+    token varchar(255) not null unique,
+    user_id bigint not null references user (user_id),
+    expiry_date timestamp
+);
+
+create table if not exists confirm_token_doctor (
+    token_id bigint primary key,
+    confirm_token_doctor varchar(255) not null unique,
+    created_date timestamp,
+    doctor_id bigint not null references user (user_id)
+);
+
+create table if not exists confirm_token_doctor_seq (
+    next_val bigint
+);
+insert into confirm_token_doctor_seq (next_val) select 1 where not exists (select 1 from confirm_token_doctor_seq);
+
+create table if not exists refresh_token (
+    id bigint auto_increment primary key,
+    token_hash varchar(43) not null unique,
+    family_id varchar(36) not null,
+    user_id bigint not null references user (user_id),
+    expiry_date timestamp not null,
+    used boolean not null
+);
+
+create table if not exists revoked_token (
+    id bigint auto_increment primary key,
+    jti varchar(36),
+    user_id bigint,
+    issued_before_millis bigint,
+    expires_at timestamp not null
+);
@@ -0,0 +1,50 @@
+package com.spring.vaidya.reactive;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceAutoConfiguration;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernateJpaAutoConfiguration;
+import org.springframework.boot.autoconfigure.security.reactive.ReactiveUserDetailsServiceAutoConfiguration;
+import org.springframework.context.annotation.ComponentScan;
+import org.springframework.context.annotation.FilterType;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+import com.spring.vaidya.config.HcpHttpClientConfig;
+import com.spring.vaidya.controller.HcpStubController;
+import com.spring.vaidya.exception.GlobalExceptionHandler;
+import com.spring.vaidya.jwt.JwtCodec;
+import com.spring.vaidya.jwt.JwtSecretLoader;
+import com.spring.vaidya.jwt.JwtSigningKeyHealthIndicator;
+import com.spring.vaidya.jwt.JwtUtils;
+import com.spring.vaidya.jwt.SigningSecretCache;
+import com.spring.vaidya.jwt.VerifiedTokenCache;
+import com.spring.vaidya.service.EmailService;
+import com.spring.vaidya.service.EmailTemplates;
+import com.spring.vaidya.service.HashiCorpApiService;
+import com.spring.vaidya.service.HcpClient;
+import com.spring.vaidya.service.TokenService;
+
+/**
+ * Entry point of the reactive build (Maven profile {@code reactive}): WebFlux on Netty with R2DBC
+ * instead of Tomcat, JPA and JDBC. Only the classes scanned below are shared with the servlet build; they
+ * do not depend on the servlet API or on JPA repositories.
+ */
+@SpringBootApplication(exclude = { DataSourceAutoConfiguration.class, HibernateJpaAutoConfiguration.class,
+        ReactiveUserDetailsServiceAutoConfiguration.class })
+@EnableScheduling
+@ComponentScan("com.spring.vaidya.reactive")
+@ComponentScan(basePackages = "com.spring.vaidya", useDefaultFilters = false, includeFilters = @ComponentScan.Filter(
+        type = FilterType.ASSIGNABLE_TYPE, classes = { JwtCodec.class, JwtUtils.class, VerifiedTokenCache.class,
+                JwtSecretLoader.class, SigningSecretCache.class, JwtSigningKeyHealthIndicator.class,
+                HashiCorpApiService.class, TokenService.class, HcpClient.class, HcpHttpClientConfig.class,
+                EmailService.class, EmailTemplates.class, GlobalExceptionHandler.class, HcpStubController.class }))
+public class ReactiveVault1Application {
+
+	public static void main(String[] args) {
+		SpringApplication application = new SpringApplication(ReactiveVault1Application.class);
+		application.setWebApplicationType(WebApplicationType.REACTIVE);
+		application.setAdditionalProfiles("reactive");
+		application.run(args);
+	}
+}
@@ -0,0 +1,37 @@
+package com.spring.vaidya.reactive.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.spring.vaidya.reactive.security.PasswordHashingScheduler;
+import com.spring.vaidya.security.PasswordEncoders;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Password hashing for the reactive application. Uses the same algorithm and cost settings as
+ * {@link com.spring.vaidya.config.PasswordEncoderConfig}, but hashes on a bounded scheduler instead
+ * of blocking the caller.
+ */
+@Configuration
+public class ReactivePasswordHashingConfig {
+
+    @Bean
+    public PasswordHashingScheduler passwordHashingScheduler(MeterRegistry meterRegistry,
+                                                             @Value("${password.encoding.algorithm:bcrypt}") String algorithm,
+                                                             @Value("${password.bcrypt.strength:10}") int bcryptStrength,
+                                                             @Value("${password.argon2.memory-kib:19456}") int argon2MemoryKib,
+                                                             @Value("${password.argon2.iterations:2}") int argon2Iterations,
+                                                             @Value("${password.argon2.parallelism:1}") int argon2Parallelism,
+                                                             @Value("${password.pbkdf2.iterations:600000}") int pbkdf2Iterations,
+                                                             @Value("${password.hashing.threads:0}") int hashingThreads, // 0 = one per core
+                                                             @Value("${password.hashing.queue-capacity:64}") int hashingQueueCapacity,
+                                                             @Value("${password.hashing.max-wait-ms:5000}") long hashingMaxWaitMs) {
+        int threads = hashingThreads > 0 ? hashingThreads : Runtime.getRuntime().availableProcessors();
+        return new PasswordHashingScheduler(
+                PasswordEncoders.create(algorithm, new PasswordEncoders.Settings(
+                        bcryptStrength, argon2MemoryKib, argon2Iterations, argon2Parallelism, pbkdf2Iterations)),
+                threads, hashingQueueCapacity, hashingMaxWaitMs, meterRegistry);
+    }
+}
@@ -0,0 +1,63 @@
+package com.spring.vaidya.reactive.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.config.annotation.web.reactive.EnableWebFluxSecurity;
+import org.springframework.security.config.web.server.SecurityWebFiltersOrder;
+import org.springframework.security.config.web.server.ServerHttpSecurity;
+import org.springframework.security.web.server.SecurityWebFilterChain;
+import org.springframework.security.web.server.authentication.HttpStatusServerEntryPoint;
+import org.springframework.security.web.server.context.NoOpServerSecurityContextRepository;
+
+import com.spring.vaidya.jwt.JwtUtils;
+import com.spring.vaidya.reactive.jwt.JwtAuthWebFilter;
+import com.spring.vaidya.reactive.repo.ReactiveUserRepository;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Security configuration of the reactive build. Same public and protected routes as
+ * {@link com.spring.vaidya.config.SecurityConfig}; credentials are checked by the login service,
+ * so no authentication manager is configured.
+ */
+@Configuration
+@EnableWebFluxSecurity
+public class ReactiveSecurityConfig {
+
+    @Bean
+    public SecurityWebFilterChain securityWebFilterChain(ServerHttpSecurity http, JwtUtils jwtUtils,
+                                                         ReactiveUserRepository userRepository,
+                                                         @Value("${jwt.auth.fresh-lookup-paths:}") String[] freshLookupPaths,
+                                                         MeterRegistry meterRegistry) {
+        return http
+                // Disable CSRF protection (useful for stateless APIs)
+                .csrf(ServerHttpSecurity.CsrfSpec::disable)
+                .httpBasic(ServerHttpSecurity.HttpBasicSpec::disable)
+                .formLogin(ServerHttpSecurity.FormLoginSpec::disable)
+
+                // Stateless: the security context is rebuilt from the bearer token on every request
+                .securityContextRepository(NoOpServerSecurityContextRepository.getInstance())
+
+                // Configure authorization rules
+                .authorizeExchange(authorize -> authorize
+                        // Public endpoints that do not require authentication
+                        .pathMatchers("/auth/*", "/vault/**", "/user/new", "/doctor/confirm-account", "/doctor/register",
+                                      "/user/login", "/user/authenticate", "/user/welcome", "/login/doctor", "/actuator/**",
+                                      "/actuator/info/**", "/health/**", "/hcp-stub/**").permitAll()
+
+                        // Protected endpoints that require authentication
+                        .pathMatchers("/user/protected", "/doctor/all", "/doctor/**").authenticated()
+                )
+
+                // Answer unauthenticated requests with 403, as the servlet build does
+                .exceptionHandling(exceptions -> exceptions
+                        .authenticationEntryPoint(new HttpStatusServerEntryPoint(HttpStatus.FORBIDDEN)))
+
+                .addFilterAt(new JwtAuthWebFilter(jwtUtils, userRepository, freshLookupPaths, meterRegistry),
+                        SecurityWebFiltersOrder.AUTHENTICATION)
+
+                .build();
+    }
+}
@@ -0,0 +1,94 @@
+package com.spring.vaidya.reactive.controller;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ModelAttribute;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.spring.vaidya.entity.ErrorResponse;
+import com.spring.vaidya.entity.ForgotPasswordRequest;
+import com.spring.vaidya.entity.RefreshTokenRequest;
+import com.spring.vaidya.entity.ResetPasswordRequest;
+import com.spring.vaidya.entity.TokenResponse;
+import com.spring.vaidya.jwt.JwtUtils;
+import com.spring.vaidya.jwt.JwtVerification;
+import com.spring.vaidya.reactive.service.ReactiveRefreshTokenService;
+import com.spring.vaidya.reactive.service.ReactiveTokenRevocationService;
+import com.spring.vaidya.reactive.service.ReactiveUserService;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import reactor.core.publisher.Mono;
+
+/**
+ * Reactive counterpart of {@link com.spring.vaidya.controller.AuthController}. The forgot- and
+ * reset-password requests are bound from query parameters, as in the servlet build.
+ */
+@RestController
+@RequestMapping("/auth")
+@Tag(name = "Authentication", description = "APIs for authentication-related operations such as password recovery")
+public class ReactiveAuthController {
+
+    private final ReactiveUserService userService;
+    private final ReactiveRefreshTokenService refreshTokenService;
+    private final JwtUtils jwtUtils;
+    private final ReactiveTokenRevocationService tokenRevocationService;
+
+    public ReactiveAuthController(ReactiveUserService userService, ReactiveRefreshTokenService refreshTokenService,
+                                  JwtUtils jwtUtils, ReactiveTokenRevocationService tokenRevocationService) {
+        this.userService = userService;
+        this.refreshTokenService = refreshTokenService;
+        this.jwtUtils = jwtUtils;
+        this.tokenRevocationService = tokenRevocationService;
+    }
+
+    @Operation(summary = "Forgot Password", description = "Initiates a password reset process by sending a reset link to the user's email.")
+    @PostMapping("/forgot-password")
+    public Mono<ResponseEntity<ErrorResponse>> forgotPassword(@ModelAttribute ForgotPasswordRequest request) {
+        return userService.initiateForgotPassword(request.getEmail())
+                .map(response -> ResponseEntity.status(response.getStatus()).body(response));
+    }
+
+    @Operation(summary = "Reset Password", description = "Resets the user's password using the provided reset token.")
+    @PostMapping("/reset-password")
+    public Mono<ResponseEntity<?>> resetPassword(@ModelAttribute ResetPasswordRequest request) {
+        return userService.resetPassword(request.getToken(), request.getNewPassword())
+                .map(response -> {
+                    // If the response is an error, return an appropriate HTTP status code.
+                    if (response instanceof ErrorResponse errorResponse) {
+                        return ResponseEntity.status(errorResponse.getStatus()).body(errorResponse);
+                    }
+                    return ResponseEntity.ok("Password reset successful.");
+                });
+    }
+
+    @Operation(summary = "Refresh Tokens", description = "Rotates the refresh token and issues a new short-lived access token.")
+    @PostMapping("/refresh")
+    public Mono<ResponseEntity<TokenResponse>> refresh(@RequestBody RefreshTokenRequest request) {
+        // Rotate the refresh token; reuse of an old token revokes the whole family.
+        return refreshTokenService.rotate(request.getRefreshToken())
+                .map(rotation -> ResponseEntity.ok(new TokenResponse(jwtUtils.generateJwtToken(rotation.getUser()),
+                        rotation.getRefreshToken(), jwtUtils.getAccessTokenExpirationSeconds())));
+    }
+
+    @Operation(summary = "Logout", description = "Revokes the bearer access token and the supplied refresh token.")
+    @PostMapping("/logout")
+    public Mono<ResponseEntity<String>> logout(@RequestHeader(value = "Authorization", required = false) String authHeader,
+            @RequestBody(required = false) RefreshTokenRequest request) {
+        // Revoke the access token if it is still valid; invalid tokens are already unusable.
+        Mono<Void> revokeAccess = Mono.empty();
+        if (authHeader != null && authHeader.startsWith("Bearer ")) {
+            JwtVerification verification = jwtUtils.verifyJwtToken(authHeader.substring(7));
+            if (verification.isValid()) {
+                revokeAccess = tokenRevocationService.revokeToken(verification.getClaims());
+            }
+        }
+
+        // Revoke the refresh token family so the session cannot be resumed.
+        Mono<Void> revokeRefresh = request != null ? refreshTokenService.revoke(request.getRefreshToken()) : Mono.empty();
+        return revokeAccess.then(revokeRefresh).thenReturn(ResponseEntity.ok("Logged out successfully."));
+    }
+}
@@ -0,0 +1,98 @@
+package com.spring.vaidya.reactive.controller;
+
+import java.util.List;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import com.spring.vaidya.entity.ErrorResponse;
+import com.spring.vaidya.entity.User;
+import com.spring.vaidya.exception.HashingCapacityExceededException;
+import com.spring.vaidya.exception.ResourceNotFoundException;
+import com.spring.vaidya.reactive.repo.ReactiveUserRepository;
+import com.spring.vaidya.reactive.service.ReactiveDoctorService;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import reactor.core.publisher.Mono;
+
+/**
+ * Reactive counterpart of {@link com.spring.vaidya.controller.DoctorController}.
+ */
+@Tag(name = "Doctor Controller", description = "Operations related to doctor management")
+@RestController
+@RequestMapping("/doctor")
+@CrossOrigin(origins = "http://localhost:5173/")
+public class ReactiveDoctorController {
+
+    private static final Logger logger = LogManager.getLogger(ReactiveDoctorController.class);
+
+    private final ReactiveDoctorService doctorService;
+    private final ReactiveUserRepository userRepository;
+
+    public ReactiveDoctorController(ReactiveDoctorService doctorService, ReactiveUserRepository userRepository) {
+        this.doctorService = doctorService;
+        this.userRepository = userRepository;
+    }
+
+    @Operation(summary = "Register a new doctor", description = "Creates a new doctor account.")
+    @PostMapping("/register")
+    public Mono<ResponseEntity<ErrorResponse>> registerDoctor(@RequestBody User doctor) {
+        logger.info("Received request to register doctor with email: {}", doctor.getUserEmail());
+        return doctorService.saveDoctor(doctor)
+                .doOnNext(response -> logger.info("Doctor registered successfully: {}", doctor.getUserEmail()))
+                .onErrorMap(e -> !(e instanceof HashingCapacityExceededException), e -> {
+                    logger.error("Error registering doctor: {}", doctor.getUserEmail(), e);
+                    return new RuntimeException("Failed to register doctor", e);
+                });
+    }
+
+    @Operation(summary = "Confirm doctor account", description = "Confirms doctor email using a token.")
+    @GetMapping("/confirm-account")
+    public Mono<ResponseEntity<ErrorResponse>> confirmDoctorAccount(@RequestParam("token") String confirmationToken) {
+        logger.info("Received request to confirm doctor account with token: {}", confirmationToken);
+        return doctorService.confirmEmail(confirmationToken);
+    }
+
+    @Operation(summary = "Get all doctors", description = "Fetches a list of all registered doctors.")
+    @GetMapping("/all")
+    public Mono<ResponseEntity<List<User>>> getAllDoctors() {
+        logger.info("Fetching all registered doctors");
+        return userRepository.findAll().collectList()
+                .map(doctors -> {
+                    if (doctors.isEmpty()) {
+                        logger.warn("No doctors found in the database");
+                        throw new ResourceNotFoundException("No doctors found");
+                    }
+                    logger.info("Successfully retrieved {} doctors", doctors.size());
+                    return ResponseEntity.ok(doctors);
+                });
+    }
+
+    @Operation(summary = "Get doctor by ID", description = "Fetches a doctor's details by their unique ID.")
+    @GetMapping("/{doctorId}")
+    public Mono<ResponseEntity<User>> getDoctorById(@Parameter(description = "ID of the doctor to retrieve", required = true) @PathVariable Long doctorId) {
+        logger.info("Fetching doctor details for ID: {}", doctorId);
+        return userRepository.findById(doctorId)
+                .switchIfEmpty(Mono.error(() -> {
+                    logger.warn("Doctor not found with ID: {}", doctorId);
+                    return new ResourceNotFoundException("Doctor not found with ID: " + doctorId);
+                }))
+                .map(ResponseEntity::ok);
+    }
+
+    @Operation(summary = "Get doctor by email", description = "Fetches a doctor's details by their email.")
+    @GetMapping("/email")
+    public Mono<ResponseEntity<User>> getDoctorByEmail(@Parameter(description = "Email of the doctor to retrieve", required = true) @RequestParam String email) {
+        logger.info("Fetching doctor details for email: {}", email);
+        return doctorService.getDoctorByEmail(email)
+                .switchIfEmpty(Mono.error(() -> {
+                    logger.warn("Doctor not found with email: {}", email);
+                    return new ResourceNotFoundException("Doctor not found with email: " + email);
+                }))
+                .map(ResponseEntity::ok);
+    }
+}
@@ -0,0 +1,90 @@
+package com.spring.vaidya.reactive.controller;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import com.spring.vaidya.entity.AuthRequest;
+import com.spring.vaidya.entity.LoginRequest;
+import com.spring.vaidya.entity.LoginResponse;
+import com.spring.vaidya.entity.User;
+import com.spring.vaidya.exception.HashingCapacityExceededException;
+import com.spring.vaidya.reactive.service.ReactiveLoginService;
+import com.spring.vaidya.reactive.service.ReactiveUserService;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import reactor.core.publisher.Mono;
+
+/**
+ * Reactive counterpart of {@link com.spring.vaidya.controller.UserController}.
+ */
+@RestController
+@RequestMapping("/user")
+@CrossOrigin(origins = "http://localhost:5173")
+@Tag(name = "User Controller", description = "Endpoints for user authentication and management")
+public class ReactiveUserController {
+
+    private static final Logger logger = LogManager.getLogger(ReactiveUserController.class);
+
+    private final ReactiveUserService userService;
+    private final ReactiveLoginService loginService;
+
+    public ReactiveUserController(ReactiveUserService userService, ReactiveLoginService loginService) {
+        this.userService = userService;
+        this.loginService = loginService;
+    }
+
+    @Operation(summary = "Register a new user", description = "Creates a new user account with the given details")
+    @PostMapping("/new")
+    public Mono<ResponseEntity<String>> registerUser(@RequestBody User user) {
+        logger.info("Registering new user with email: {}", user.getUserEmail());
+        return userService.registerUser(user)
+                .map(result -> {
+                    logger.info("User registered successfully: {}", user.getUserEmail());
+                    return ResponseEntity.status(HttpStatus.CREATED).body("User registered successfully!");
+                })
+                .onErrorMap(e -> !(e instanceof HashingCapacityExceededException), e -> {
+                    logger.error("User registration failed for email: {}. Error: {}", user.getUserEmail(), e.getMessage(), e);
+                    return new RuntimeException("User registration failed", e);
+                });
+    }
+
+    @Operation(summary = "Authenticate user", description = "Validates user credentials and returns an access/refresh token pair")
+    @PostMapping("/authenticate")
+    public Mono<ResponseEntity<LoginResponse>> authenticateUser(@RequestBody AuthRequest authRequest) {
+        logger.info("Authenticating user: {}", authRequest.getUsername());
+        return loginService.login(authRequest.getUsername(), authRequest.getPassword())
+                .map(response -> {
+                    logger.info("User authenticated successfully: {}", authRequest.getUsername());
+                    return ResponseEntity.ok(response);
+                });
+    }
+
+    @Operation(summary = "Welcome message", description = "Returns a welcome message for API testing")
+    @GetMapping("/welcome")
+    public Mono<ResponseEntity<String>> welcome() {
+        logger.info("Welcome endpoint accessed.");
+        return Mono.just(ResponseEntity.ok("Welcome to the JWT-secured API!"));
+    }
+
+    @Operation(summary = "Protected route", description = "Returns a message if the user is authenticated with a valid JWT")
+    @GetMapping("/protected")
+    public Mono<ResponseEntity<String>> protectedRoute() {
+        logger.info("Protected route accessed.");
+        return Mono.just(ResponseEntity.ok("This is a protected route, only accessible with a valid JWT."));
+    }
+
+    @Operation(summary = "Doctor login", description = "Authenticates a doctor and returns a JWT token if successful")
+    @PostMapping("/login")
+    public Mono<ResponseEntity<LoginResponse>> loginDoctor(@RequestBody LoginRequest loginRequest) {
+        logger.info("Doctor login attempt for email: {}", loginRequest.getUserEmail());
+        return loginService.login(loginRequest.getUserEmail(), loginRequest.getPassword())
+                .map(response -> {
+                    logger.info("Doctor login successful: {}", loginRequest.getUserEmail());
+                    return ResponseEntity.ok(response);
+                });
+    }
+}
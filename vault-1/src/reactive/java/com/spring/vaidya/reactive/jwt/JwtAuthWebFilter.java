@@ -0,0 +1,163 @@
+package com.spring.vaidya.reactive.jwt;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.core.context.ReactiveSecurityContextHolder;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.spring.vaidya.entity.UserPrincipal;
+import com.spring.vaidya.jwt.JwtAuthMetrics;
+import com.spring.vaidya.jwt.JwtUtils;
+import com.spring.vaidya.jwt.JwtVerification;
+import com.spring.vaidya.reactive.repo.ReactiveUserRepository;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import reactor.core.publisher.Mono;
+import reactor.util.context.Context;
+
+/**
+ * Reactive counterpart of {@link com.spring.vaidya.jwt.JwtAuthFilter}. Validates the bearer token and
+ * authenticates the exchange from its signed claims, reloading the account only for the configured
+ * fresh-lookup paths or tokens issued without account claims.
+ * <p>
+ * Not a bean: {@link com.spring.vaidya.reactive.config.ReactiveSecurityConfig} adds it to the security
+ * chain, so it is not also registered as a global {@link WebFilter}.
+ */
+public class JwtAuthWebFilter implements WebFilter {
+
+    private static final Logger logger = LoggerFactory.getLogger(JwtAuthWebFilter.class);
+
+    private final JwtUtils jwtUtils;
+    private final ReactiveUserRepository userRepository;
+    private final List<PathPattern> freshLookupPatterns;
+    private final JwtAuthMetrics metrics;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    /**
+     * @param jwtUtils         Utility class for JWT operations.
+     * @param userRepository   Account lookup for routes that need fresh account state.
+     * @param freshLookupPaths Paths that must reload the account from the database
+     *                         instead of trusting the claims embedded in the token.
+     * @param meterRegistry    Registry the per-request token outcomes are counted in.
+     */
+    public JwtAuthWebFilter(JwtUtils jwtUtils, ReactiveUserRepository userRepository, String[] freshLookupPaths,
+                            MeterRegistry meterRegistry) {
+        this.jwtUtils = jwtUtils;
+        this.userRepository = userRepository;
+        this.freshLookupPatterns = Arrays.stream(freshLookupPaths)
+                .filter(path -> !path.isBlank())
+                .map(path -> PathPatternParser.defaultInstance.parse(path.trim()))
+                .toList();
+        this.metrics = new JwtAuthMetrics(meterRegistry);
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        String authHeader = exchange.getRequest().getHeaders().getFirst(HttpHeaders.AUTHORIZATION);
+        if (authHeader == null || !authHeader.startsWith("Bearer ")) {
+            metrics.recordNoToken();
+            return chain.filter(exchange);
+        }
+
+        Mono<Context> authentication;
+        try {
+            // Verify the token once; repeated tokens are served from the verified-token cache
+            JwtVerification verification = jwtUtils.verifyJwtToken(authHeader.substring(7));
+            metrics.record(verification);
+            if (!verification.isValid() || verification.getClaims().getSubject() == null) {
+                return chain.filter(exchange);
+            }
+            String username = verification.getClaims().getSubject();
+
+            // Trust the signed claims unless the route needs fresh account state or the token predates them
+            UserPrincipal fromClaims = requiresFreshLookup(exchange) ? null
+                    : jwtUtils.getPrincipalFromClaims(verification.getClaims());
+            Mono<UserPrincipal> principal = fromClaims != null ? Mono.just(fromClaims)
+                    : userRepository.findAccount(username).map(account -> new UserPrincipal(
+                            account.getUserEmail(),
+                            account.getPassword(),
+                            account.isEnabled(),
+                            AuthorityUtils.createAuthorityList("USER"),
+                            account.getUserId(),
+                            account.getRoleId()));
+            authentication = principal
+                    .filter(UserPrincipal::isEnabled)
+                    .map(userDetails -> ReactiveSecurityContextHolder.withAuthentication(
+                            new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities())));
+        } catch (Exception e) {
+            metrics.recordError();
+            return sendErrorResponse(exchange.getResponse(), "Could not process JWT token", HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+
+        return authentication
+                .onErrorResume(e -> {
+                    logger.error("Could not load account for JWT subject: {}", e.getMessage());
+                    metrics.recordError();
+                    return Mono.error(new JwtProcessingException(e));
+                })
+                .defaultIfEmpty(Context.empty())
+                .flatMap(context -> chain.filter(exchange).contextWrite(context))
+                .onErrorResume(JwtProcessingException.class, e ->
+                        sendErrorResponse(exchange.getResponse(), "Could not process JWT token", HttpStatus.INTERNAL_SERVER_ERROR));
+    }
+
+    private boolean requiresFreshLookup(ServerWebExchange exchange) {
+        for (PathPattern pattern : freshLookupPatterns) {
+            if (pattern.matches(exchange.getRequest().getPath().pathWithinApplication())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Writes the same JSON error body as the servlet filter when JWT processing fails.
+     */
+    private Mono<Void> sendErrorResponse(ServerHttpResponse response, String message, HttpStatus status) {
+        Map<String, Object> errorResponse = new HashMap<>();
+        errorResponse.put("error", message);
+        errorResponse.put("status", status.value());
+        errorResponse.put("timestamp", System.currentTimeMillis());
+
+        byte[] body;
+        try {
+            body = objectMapper.writeValueAsBytes(errorResponse);
+        } catch (JsonProcessingException e) {
+            body = message.getBytes(StandardCharsets.UTF_8);
+        }
+        response.setStatusCode(status);
+        response.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+        DataBuffer buffer = response.bufferFactory().wrap(body);
+        return response.writeWith(Mono.just(buffer));
+    }
+
+    /**
+     * Marks failures of the account lookup, so they are not confused with errors from downstream handlers.
+     */
+    private static final class JwtProcessingException extends RuntimeException {
+        private static final long serialVersionUID = 1L;
+
+        JwtProcessingException(Throwable cause) {
+            super(cause);
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package com.spring.vaidya.reactive.repo;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Date;
+
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.reactive.TransactionalOperator;
+
+import com.spring.vaidya.entity.ConfirmTokenDoctor;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * Non-blocking access to the {@code confirm_token_doctor} table.
+ * <p>
+ * Token IDs come from the {@code confirm_token_doctor_seq} table that Hibernate uses for this entity.
+ * Hibernate's pooled optimizer reads a value {@code v}, advances the table by {@link #ID_BLOCK} and
+ * hands out the IDs up to {@code v}; taking {@code v} the same way keeps both applications from
+ * issuing the same ID.
+ */
+@Repository
+public class ReactiveConfirmTokenDoctorRepository {
+
+    private static final int ID_BLOCK = 50; // Hibernate's default allocationSize
+
+    private final DatabaseClient databaseClient;
+    private final TransactionalOperator transactionalOperator;
+
+    public ReactiveConfirmTokenDoctorRepository(DatabaseClient databaseClient,
+                                                TransactionalOperator transactionalOperator) {
+        this.databaseClient = databaseClient;
+        this.transactionalOperator = transactionalOperator;
+    }
+
+    /**
+     * Inserts a new confirmation token.
+     *
+     * @param token The token; its ID is assigned here.
+     * @return The same token.
+     */
+    public Mono<ConfirmTokenDoctor> save(ConfirmTokenDoctor token) {
+        return nextId().flatMap(tokenId -> databaseClient.sql("insert into confirm_token_doctor "
+                                + "(token_id, confirm_token_doctor, created_date, doctor_id) "
+                                + "values (:tokenId, :token, :createdDate, :doctorId)")
+                        .bind("tokenId", tokenId)
+                        .bind("token", token.getConfirmationToken())
+                        .bind("createdDate", LocalDateTime.ofInstant(token.getCreatedDate().toInstant(),
+                                ZoneId.systemDefault()))
+                        .bind("doctorId", token.getDoctorEntity().getUserId())
+                        .fetch().rowsUpdated()
+                        .then(Mono.fromSupplier(() -> {
+                            token.setTokenId(tokenId);
+                            return token;
+                        })));
+    }
+
+    /**
+     * Finds a confirmation token, together with its doctor, by the token value.
+     *
+     * @param confirmToken The confirmation token string.
+     * @return The token, or empty if not found.
+     */
+    public Mono<ConfirmTokenDoctor> findByConfirmTokenDoctor(String confirmToken) {
+        return databaseClient.sql("select t.token_id, t.confirm_token_doctor, t.created_date, "
+                        + ReactiveUserRepository.USER_COLUMNS
+                        + " from confirm_token_doctor t join user u on u.user_id = t.doctor_id "
+                        + "where t.confirm_token_doctor = :token")
+                .bind("token", confirmToken)
+                .map(row -> {
+                    ConfirmTokenDoctor token = new ConfirmTokenDoctor();
+                    token.setTokenId(row.get("token_id", Long.class));
+                    token.setConfirmationToken(row.get("confirm_token_doctor", String.class));
+                    LocalDateTime createdDate = row.get("created_date", LocalDateTime.class);
+                    if (createdDate != null) {
+                        token.setCreatedDate(Date.from(createdDate.atZone(ZoneId.systemDefault()).toInstant()));
+                    }
+                    token.setDoctorEntity(ReactiveUserRepository.mapUser(row));
+                    return token;
+                })
+                .first();
+    }
+
+    private Mono<Long> nextId() {
+        return databaseClient.sql("select next_val from confirm_token_doctor_seq for update")
+                .map(row -> row.get(0, Long.class))
+                .one()
+                .flatMap(value -> databaseClient.sql("update confirm_token_doctor_seq set next_val = :next")
+                        .bind("next", value + ID_BLOCK)
+                        .fetch().rowsUpdated()
+                        .thenReturn(value))
+                .as(transactionalOperator::transactional);
+    }
+}
@@ -0,0 +1,75 @@
+package com.spring.vaidya.reactive.repo;
+
+import java.time.LocalDateTime;
+
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+
+import com.spring.vaidya.entity.PasswordResetToken;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * Non-blocking access to the {@code password_reset_token} table (one token per user).
+ */
+@Repository
+public class ReactivePasswordResetTokenRepository {
+
+    private final DatabaseClient databaseClient;
+
+    public ReactivePasswordResetTokenRepository(DatabaseClient databaseClient) {
+        this.databaseClient = databaseClient;
+    }
+
+    /**
+     * Finds a password reset token, together with its user, by its token value.
+     *
+     * @param token The password reset token.
+     * @return The token, or empty if not found.
+     */
+    public Mono<PasswordResetToken> findByToken(String token) {
+        return databaseClient.sql("select t.id as reset_id, t.token, t.expiry_date, "
+                        + ReactiveUserRepository.USER_COLUMNS
+                        + " from password_reset_token t join user u on u.user_id = t.user_id where t.token = :token")
+                .bind("token", token)
+                .map(row -> new PasswordResetToken(row.get("reset_id", Long.class), row.get("token", String.class),
+                        ReactiveUserRepository.mapUser(row), row.get("expiry_date", LocalDateTime.class)))
+                .first();
+    }
+
+    /**
+     * Stores a user's reset token, replacing the token the user already has.
+     *
+     * @param userId     The user requesting the reset.
+     * @param token      The new token.
+     * @param expiryDate When the token stops being accepted.
+     */
+    public Mono<Void> saveForUser(Long userId, String token, LocalDateTime expiryDate) {
+        return databaseClient.sql("update password_reset_token set token = :token, expiry_date = :expiryDate "
+                        + "where user_id = :userId")
+                .bind("token", token)
+                .bind("expiryDate", expiryDate)
+                .bind("userId", userId)
+                .fetch().rowsUpdated()
+                .flatMap(updated -> updated > 0 ? Mono.empty()
+                        : databaseClient.sql("insert into password_reset_token (token, user_id, expiry_date) "
+                                        + "values (:token, :userId, :expiryDate)")
+                                .bind("token", token)
+                                .bind("userId", userId)
+                                .bind("expiryDate", expiryDate)
+                                .fetch().rowsUpdated())
+                .then();
+    }
+
+    /**
+     * Deletes a used token.
+     *
+     * @param id The token ID.
+     */
+    public Mono<Void> deleteById(Long id) {
+        return databaseClient.sql("delete from password_reset_token where id = :id")
+                .bind("id", id)
+                .fetch().rowsUpdated()
+                .then();
+    }
+}
@@ -0,0 +1,102 @@
+package com.spring.vaidya.reactive.repo;
+
+import java.time.LocalDateTime;
+
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+
+import com.spring.vaidya.entity.RefreshToken;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * Non-blocking access to the rotating refresh tokens in {@code refresh_token}.
+ */
+@Repository
+public class ReactiveRefreshTokenRepository {
+
+    private final DatabaseClient databaseClient;
+
+    public ReactiveRefreshTokenRepository(DatabaseClient databaseClient) {
+        this.databaseClient = databaseClient;
+    }
+
+    /**
+     * Stores a newly issued token.
+     */
+    public Mono<Void> insert(String tokenHash, String familyId, Long userId, LocalDateTime expiryDate) {
+        return databaseClient.sql("insert into refresh_token (token_hash, family_id, user_id, expiry_date, used) "
+                        + "values (:tokenHash, :familyId, :userId, :expiryDate, :used)")
+                .bind("tokenHash", tokenHash)
+                .bind("familyId", familyId)
+                .bind("userId", userId)
+                .bind("expiryDate", expiryDate)
+                .bind("used", false)
+                .fetch().rowsUpdated()
+                .then();
+    }
+
+    /**
+     * Finds a refresh token, together with its user, by the digest of its value.
+     *
+     * @param tokenHash SHA-256 digest of the refresh token.
+     * @return The token, or empty if not found.
+     */
+    public Mono<RefreshToken> findByTokenHash(String tokenHash) {
+        return databaseClient.sql("select r.id as refresh_id, r.token_hash, r.family_id, r.expiry_date, r.used, "
+                        + ReactiveUserRepository.USER_COLUMNS
+                        + " from refresh_token r join user u on u.user_id = r.user_id where r.token_hash = :tokenHash")
+                .bind("tokenHash", tokenHash)
+                .map(row -> new RefreshToken(row.get("refresh_id", Long.class), row.get("token_hash", String.class),
+                        row.get("family_id", String.class), ReactiveUserRepository.mapUser(row),
+                        row.get("expiry_date", LocalDateTime.class), Boolean.TRUE.equals(row.get("used", Boolean.class))))
+                .first();
+    }
+
+    /**
+     * Marks a token as used, but only if no other request has used it first.
+     *
+     * @param id The token ID.
+     * @return 1 if this call consumed the token, 0 if it had already been used.
+     */
+    public Mono<Long> markUsed(Long id) {
+        return databaseClient.sql("update refresh_token set used = :used where id = :id and used = :unused")
+                .bind("used", true)
+                .bind("id", id)
+                .bind("unused", false)
+                .fetch().rowsUpdated();
+    }
+
+    /**
+     * Deletes every token in a rotation family (used when reuse is detected).
+     *
+     * @return Number of deleted tokens.
+     */
+    public Mono<Long> deleteByFamilyId(String familyId) {
+        return databaseClient.sql("delete from refresh_token where family_id = :familyId")
+                .bind("familyId", familyId)
+                .fetch().rowsUpdated();
+    }
+
+    /**
+     * Deletes every token issued to a user.
+     *
+     * @return Number of deleted tokens.
+     */
+    public Mono<Long> deleteByUserId(Long userId) {
+        return databaseClient.sql("delete from refresh_token where user_id = :userId")
+                .bind("userId", userId)
+                .fetch().rowsUpdated();
+    }
+
+    /**
+     * Deletes tokens that expired before the given time (served by the expiry index).
+     *
+     * @return Number of deleted tokens.
+     */
+    public Mono<Long> deleteExpiredBefore(LocalDateTime cutoff) {
+        return databaseClient.sql("delete from refresh_token where expiry_date < :cutoff")
+                .bind("cutoff", cutoff)
+                .fetch().rowsUpdated();
+    }
+}
@@ -0,0 +1,92 @@
+package com.spring.vaidya.reactive.repo;
+
+import java.time.LocalDateTime;
+
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.r2dbc.core.DatabaseClient.GenericExecuteSpec;
+import org.springframework.stereotype.Repository;
+
+import com.spring.vaidya.entity.RevokedToken;
+
+import io.r2dbc.spi.Readable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Non-blocking access to the shared token revocation table.
+ */
+@Repository
+public class ReactiveRevokedTokenRepository {
+
+    private static final String COLUMNS = "id, jti, user_id, issued_before_millis, expires_at";
+
+    private final DatabaseClient databaseClient;
+
+    public ReactiveRevokedTokenRepository(DatabaseClient databaseClient) {
+        this.databaseClient = databaseClient;
+    }
+
+    /**
+     * Inserts a revocation.
+     *
+     * @param row The revocation, without an ID.
+     * @return The stored revocation with its ID.
+     */
+    public Mono<RevokedToken> save(RevokedToken row) {
+        GenericExecuteSpec spec = databaseClient.sql("insert into revoked_token "
+                + "(jti, user_id, issued_before_millis, expires_at) values (:jti, :userId, :issuedBeforeMillis, :expiresAt)");
+        spec = ReactiveUserRepository.bind(spec, "jti", row.getJti(), String.class);
+        spec = ReactiveUserRepository.bind(spec, "userId", row.getUserId(), Long.class);
+        spec = ReactiveUserRepository.bind(spec, "issuedBeforeMillis", row.getIssuedBeforeMillis(), Long.class);
+        return spec
+                .bind("expiresAt", row.getExpiresAt())
+                .filter(statement -> statement.returnGeneratedValues("id"))
+                .map(generated -> generated.get(0, Long.class))
+                .one()
+                .map(id -> new RevokedToken(id, row.getJti(), row.getUserId(), row.getIssuedBeforeMillis(),
+                        row.getExpiresAt()));
+    }
+
+    /**
+     * Fetches revocations recorded after the given ID, oldest first.
+     *
+     * @param lastSeenId The highest ID already applied locally.
+     * @return Up to 1000 newer revocations.
+     */
+    public Flux<RevokedToken> findTop1000ByIdGreaterThanOrderByIdAsc(Long lastSeenId) {
+        return databaseClient.sql("select " + COLUMNS + " from revoked_token where id > :lastSeenId order by id limit 1000")
+                .bind("lastSeenId", lastSeenId)
+                .map(ReactiveRevokedTokenRepository::map)
+                .all();
+    }
+
+    /**
+     * Fetches revocations that still affect live tokens.
+     *
+     * @param now The current time.
+     * @return Every revocation expiring after now.
+     */
+    public Flux<RevokedToken> findByExpiresAtAfter(LocalDateTime now) {
+        return databaseClient.sql("select " + COLUMNS + " from revoked_token where expires_at > :now")
+                .bind("now", now)
+                .map(ReactiveRevokedTokenRepository::map)
+                .all();
+    }
+
+    /**
+     * Deletes revocations whose affected tokens have all expired.
+     *
+     * @param cutoff Revocations expiring before this instant are removed.
+     * @return Number of deleted rows.
+     */
+    public Mono<Long> deleteExpiredBefore(LocalDateTime cutoff) {
+        return databaseClient.sql("delete from revoked_token where expires_at < :cutoff")
+                .bind("cutoff", cutoff)
+                .fetch().rowsUpdated();
+    }
+
+    private static RevokedToken map(Readable row) {
+        return new RevokedToken(row.get("id", Long.class), row.get("jti", String.class), row.get("user_id", Long.class),
+                row.get("issued_before_millis", Long.class), row.get("expires_at", LocalDateTime.class));
+    }
+}
@@ -0,0 +1,197 @@
+package com.spring.vaidya.reactive.repo;
+
+import java.time.LocalTime;
+
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.r2dbc.core.DatabaseClient.GenericExecuteSpec;
+import org.springframework.stereotype.Repository;
+
+import com.spring.vaidya.entity.AuthAccount;
+import com.spring.vaidya.entity.User;
+import com.spring.vaidya.util.EmailNormalizer;
+
+import io.r2dbc.spi.Readable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Non-blocking access to the {@code user} table. Rows are mapped onto the JPA {@link User} entity,
+ * so both applications share one schema and serialize the same JSON.
+ */
+@Repository
+public class ReactiveUserRepository {
+
+    /**
+     * User columns, selectable alongside the columns of a joined table ({@code user u}).
+     */
+    static final String USER_COLUMNS = "u.user_id, u.full_name, u.user_email, u.specialization, u.qualification, "
+            + "u.experience, u.address, u.gender, u.phone_number, u.password, u.diseases, u.clinic_name, "
+            + "u.open_time, u.close_time, u.is_enabled, u.role_id, u.aadhar_no";
+
+    private final DatabaseClient databaseClient;
+
+    public ReactiveUserRepository(DatabaseClient databaseClient) {
+        this.databaseClient = databaseClient;
+    }
+
+    /**
+     * Finds a user by ID.
+     *
+     * @param userId The user ID.
+     * @return The user, or empty if not found.
+     */
+    public Mono<User> findById(Long userId) {
+        return databaseClient.sql("select " + USER_COLUMNS + " from user u where u.user_id = :userId")
+                .bind("userId", userId)
+                .map(ReactiveUserRepository::mapUser)
+                .first();
+    }
+
+    /**
+     * Finds a user by email through the unique index on the normalized email.
+     *
+     * @param email The email of the user, in any case.
+     * @return The user, or empty if not found.
+     */
+    public Mono<User> findByEmail(String email) {
+        return databaseClient.sql("select " + USER_COLUMNS + " from user u where u.normalized_email = :email")
+                .bind("email", EmailNormalizer.normalize(email))
+                .map(ReactiveUserRepository::mapUser)
+                .first();
+    }
+
+    /**
+     * Loads only the columns needed for authentication, looked up by normalized email.
+     *
+     * @param email The email of the user.
+     * @return The account view, or empty if not found.
+     */
+    public Mono<AuthAccount> findAccount(String email) {
+        return databaseClient.sql("select u.user_id, u.user_email, u.password, u.full_name, u.role_id, u.is_enabled "
+                        + "from user u where u.normalized_email = :email")
+                .bind("email", EmailNormalizer.normalize(email))
+                .map(row -> new AuthAccount(row.get("user_id", Long.class), row.get("user_email", String.class),
+                        row.get("password", String.class), row.get("full_name", String.class),
+                        row.get("role_id", Integer.class), Boolean.TRUE.equals(row.get("is_enabled", Boolean.class))))
+                .first();
+    }
+
+    /**
+     * @return Every user, in ID order.
+     */
+    public Flux<User> findAll() {
+        return databaseClient.sql("select " + USER_COLUMNS + " from user u order by u.user_id")
+                .map(ReactiveUserRepository::mapUser)
+                .all();
+    }
+
+    /**
+     * Inserts a new user. An email already registered in any case fails the insert with a
+     * {@link org.springframework.dao.DataIntegrityViolationException} from the unique index.
+     *
+     * @param user The user; its ID is set from the generated key.
+     * @return The same user.
+     */
+    public Mono<User> insert(User user) {
+        GenericExecuteSpec spec = databaseClient.sql("insert into user (full_name, user_email, normalized_email, "
+                + "specialization, qualification, experience, address, gender, phone_number, password, diseases, "
+                + "clinic_name, open_time, close_time, is_enabled, role_id, aadhar_no) values (:fullName, :userEmail, "
+                + ":normalizedEmail, :specialization, :qualification, :experience, :address, :gender, :phoneNumber, :password, "
+                + ":diseases, :clinicName, :openTime, :closeTime, :enabled, :roleId, :aadharNo)");
+        spec = bind(spec, "fullName", user.getFullName(), String.class);
+        spec = bind(spec, "userEmail", user.getUserEmail(), String.class);
+        spec = bind(spec, "normalizedEmail", EmailNormalizer.normalize(user.getUserEmail()), String.class);
+        spec = bind(spec, "specialization", user.getSpecialization(), String.class);
+        spec = bind(spec, "qualification", user.getQualification(), String.class);
+        spec = spec.bind("experience", user.getExperience());
+        spec = bind(spec, "address", user.getAddress(), String.class);
+        spec = bind(spec, "gender", user.getGender(), String.class);
+        spec = bind(spec, "phoneNumber", user.getPhoneNumber(), String.class);
+        spec = bind(spec, "password", user.getPassword(), String.class);
+        spec = bind(spec, "diseases", user.getDiseases(), String.class);
+        spec = bind(spec, "clinicName", user.getClinicName(), String.class);
+        spec = bind(spec, "openTime", user.getOpenTime(), LocalTime.class);
+        spec = bind(spec, "closeTime", user.getCloseTime(), LocalTime.class);
+        spec = spec.bind("enabled", user.isEnabled());
+        spec = bind(spec, "roleId", user.getRoleId(), Integer.class);
+        spec = bind(spec, "aadharNo", user.getAadharNo(), String.class);
+        return spec.filter(statement -> statement.returnGeneratedValues("user_id"))
+                .map(row -> row.get(0, Long.class))
+                .one()
+                .map(userId -> {
+                    user.setUserId(userId);
+                    return user;
+                });
+    }
+
+    /**
+     * Replaces a user's password hash.
+     *
+     * @return The number of rows updated.
+     */
+    public Mono<Long> updatePassword(Long userId, String newHash) {
+        return databaseClient.sql("update user set password = :newHash where user_id = :userId")
+                .bind("newHash", newHash)
+                .bind("userId", userId)
+                .fetch().rowsUpdated();
+    }
+
+    /**
+     * Replaces a password hash only if it still equals the hash the caller read,
+     * so a background rehash never overwrites a password changed in the meantime.
+     *
+     * @return The number of rows updated (0 if the password changed concurrently).
+     */
+    public Mono<Long> updatePasswordIfUnchanged(Long userId, String oldHash, String newHash) {
+        return databaseClient.sql("update user set password = :newHash where user_id = :userId and password = :oldHash")
+                .bind("newHash", newHash)
+                .bind("userId", userId)
+                .bind("oldHash", oldHash)
+                .fetch().rowsUpdated();
+    }
+
+    /**
+     * Marks a user's email as verified.
+     *
+     * @return The number of rows updated.
+     */
+    public Mono<Long> enable(Long userId) {
+        return databaseClient.sql("update user set is_enabled = :enabled where user_id = :userId")
+                .bind("enabled", true)
+                .bind("userId", userId)
+                .fetch().rowsUpdated();
+    }
+
+    /**
+     * Maps the {@link #USER_COLUMNS} of a row.
+     */
+    static User mapUser(Readable row) {
+        Integer experience = row.get("experience", Integer.class);
+        Integer roleId = row.get("role_id", Integer.class);
+        return new User(
+                row.get("user_id", Long.class),
+                row.get("full_name", String.class),
+                row.get("user_email", String.class),
+                row.get("specialization", String.class),
+                row.get("qualification", String.class),
+                experience != null ? experience : 0,
+                row.get("address", String.class),
+                row.get("gender", String.class),
+                row.get("phone_number", String.class),
+                row.get("password", String.class),
+                row.get("diseases", String.class),
+                row.get("clinic_name", String.class),
+                row.get("open_time", LocalTime.class),
+                row.get("close_time", LocalTime.class),
+                Boolean.TRUE.equals(row.get("is_enabled", Boolean.class)),
+                roleId,
+                row.get("aadhar_no", String.class));
+    }
+
+    /**
+     * Binds a value that may be null; R2DBC needs the column type to bind a null.
+     */
+    static GenericExecuteSpec bind(GenericExecuteSpec spec, String name, Object value, Class<?> type) {
+        return value != null ? spec.bind(name, value) : spec.bindNull(name, type);
+    }
+}
@@ -0,0 +1,120 @@
+package com.spring.vaidya.reactive.security;
+
+import java.time.Duration;
+import java.util.concurrent.Callable;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import com.spring.vaidya.exception.HashingCapacityExceededException;
+import com.spring.vaidya.security.BoundedPasswordEncoder;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * Reactive counterpart of {@link BoundedPasswordEncoder}: hashing runs on a bounded-elastic scheduler
+ * with at most {@code threads} workers, so event-loop threads never hash and a burst of logins cannot
+ * take every core. When the scheduler's queue is full, or a hash does not finish within
+ * {@code maxWaitMs}, the returned {@link Mono} fails with {@link HashingCapacityExceededException},
+ * which is reported to the client as 503 with a Retry-After estimate.
+ * <p>
+ * Exported meters: the same as {@link BoundedPasswordEncoder} ({@code password.hashing.active} counts
+ * queued and running hashes together).
+ */
+public class PasswordHashingScheduler implements DisposableBean {
+
+    private final PasswordEncoder delegate;
+    private final Scheduler scheduler;
+    private final int threads;
+    private final Duration maxWait;
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    private final Timer waitTimer;
+    private final Timer encodeTimer;
+    private final Timer matchesTimer;
+    private final Counter rejectedCounter;
+
+    /**
+     * @param delegate      The encoder doing the actual hashing.
+     * @param threads       Worker cap; hashing is CPU-bound, so this should not exceed the core count.
+     * @param queueCapacity Hashes allowed to wait for a worker before new ones are rejected.
+     * @param maxWaitMs     Longest a caller waits in total (queue plus hashing) before giving up.
+     * @param meterRegistry Registry the scheduler metrics are published to.
+     */
+    public PasswordHashingScheduler(PasswordEncoder delegate, int threads, int queueCapacity, long maxWaitMs,
+                                    MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.threads = threads;
+        this.maxWait = Duration.ofMillis(maxWaitMs);
+        // Bounded-elastic caps queued tasks per worker, so the total capacity is split between them
+        this.scheduler = Schedulers.newBoundedElastic(threads, Math.max(1, queueCapacity / threads),
+                "password-hashing", 60, true);
+
+        Gauge.builder("password.hashing.active", inFlight, AtomicInteger::get).register(meterRegistry);
+        this.waitTimer = Timer.builder("password.hashing.wait").register(meterRegistry);
+        this.encodeTimer = Timer.builder("password.hashing.duration").tag("operation", "encode").register(meterRegistry);
+        this.matchesTimer = Timer.builder("password.hashing.duration").tag("operation", "matches").register(meterRegistry);
+        this.rejectedCounter = Counter.builder("password.hashing.rejected").register(meterRegistry);
+    }
+
+    public Mono<String> encode(CharSequence rawPassword) {
+        return submit(() -> delegate.encode(rawPassword), encodeTimer);
+    }
+
+    public Mono<Boolean> matches(CharSequence rawPassword, String encodedPassword) {
+        return submit(() -> delegate.matches(rawPassword, encodedPassword), matchesTimer);
+    }
+
+    public boolean upgradeEncoding(String encodedPassword) {
+        return delegate.upgradeEncoding(encodedPassword); // Parses the hash prefix only; no need to queue
+    }
+
+    @Override
+    public void destroy() {
+        scheduler.dispose();
+    }
+
+    private <T> Mono<T> submit(Callable<T> hashing, Timer hashTimer) {
+        return Mono.defer(() -> {
+            long enqueuedAt = System.nanoTime();
+            inFlight.incrementAndGet();
+            return Mono.fromCallable(() -> {
+                        long startedAt = System.nanoTime();
+                        waitTimer.record(startedAt - enqueuedAt, TimeUnit.NANOSECONDS);
+                        try {
+                            return hashing.call();
+                        } finally {
+                            hashTimer.record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+                        }
+                    })
+                    .subscribeOn(scheduler)
+                    .timeout(maxWait)
+                    .onErrorMap(e -> e instanceof RejectedExecutionException || e instanceof TimeoutException,
+                            e -> {
+                                rejectedCounter.increment();
+                                return overloaded();
+                            })
+                    .doFinally(signal -> inFlight.decrementAndGet());
+        });
+    }
+
+    /**
+     * Estimates when the backlog will have drained: queued plus running hashes, spread over the
+     * workers, at the mean observed hashing time.
+     */
+    private HashingCapacityExceededException overloaded() {
+        double meanMs = Math.max(encodeTimer.mean(TimeUnit.MILLISECONDS), matchesTimer.mean(TimeUnit.MILLISECONDS));
+        long seconds = (long) Math.ceil(inFlight.get() * meanMs / threads / 1000.0);
+        return new HashingCapacityExceededException("Password hashing capacity exceeded", Math.max(1, seconds));
+    }
+}
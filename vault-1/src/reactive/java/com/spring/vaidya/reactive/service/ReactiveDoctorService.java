@@ -0,0 +1,141 @@
+package com.spring.vaidya.reactive.service;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.i18n.LocaleContextHolder;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+
+import com.spring.vaidya.entity.ConfirmTokenDoctor;
+import com.spring.vaidya.entity.EmailContent;
+import com.spring.vaidya.entity.ErrorResponse;
+import com.spring.vaidya.entity.User;
+import com.spring.vaidya.reactive.repo.ReactiveConfirmTokenDoctorRepository;
+import com.spring.vaidya.reactive.repo.ReactiveUserRepository;
+import com.spring.vaidya.reactive.security.PasswordHashingScheduler;
+import com.spring.vaidya.service.EmailService;
+import com.spring.vaidya.service.EmailTemplates;
+
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * Reactive counterpart of {@link com.spring.vaidya.service.DoctorServiceImpl}: doctor registration,
+ * email confirmation and lookup.
+ */
+@Service
+public class ReactiveDoctorService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReactiveDoctorService.class);
+
+    private static final String EMAIL_REGEX = "^[A-Za-z0-9+_.-]+@[A-Za-z0-9.-]+$";
+    private static final String AADHAAR_REGEX = "^[0-9]{12}$";
+    private static final String PHONE_REGEX = "\\d{10}";
+
+    private final ReactiveUserRepository userRepository;
+    private final ReactiveConfirmTokenDoctorRepository confirmTokenDoctorRepository;
+    private final EmailService emailService;
+    private final EmailTemplates emailTemplates;
+    private final PasswordHashingScheduler passwordHashing;
+
+    public ReactiveDoctorService(ReactiveUserRepository userRepository,
+                                 ReactiveConfirmTokenDoctorRepository confirmTokenDoctorRepository,
+                                 EmailService emailService, EmailTemplates emailTemplates,
+                                 PasswordHashingScheduler passwordHashing) {
+        this.userRepository = userRepository;
+        this.confirmTokenDoctorRepository = confirmTokenDoctorRepository;
+        this.emailService = emailService;
+        this.emailTemplates = emailTemplates;
+        this.passwordHashing = passwordHashing;
+    }
+
+    public Mono<ResponseEntity<ErrorResponse>> saveDoctor(User doctor) {
+        logger.info("Attempting to register doctor with email: {}", doctor.getUserEmail());
+
+        if (!Pattern.matches(EMAIL_REGEX, doctor.getUserEmail())) {
+            logger.warn("Invalid email format: {}", doctor.getUserEmail());
+            return Mono.just(ResponseEntity.badRequest().body(
+                new ErrorResponse(LocalDateTime.now(), 400, "INVALID_EMAIL", "Invalid email format!")));
+        }
+
+        if (!Pattern.matches(AADHAAR_REGEX, doctor.getAadharNo())) {
+            logger.warn("Invalid Aadhaar number: {}", doctor.getAadharNo());
+            return Mono.just(ResponseEntity.badRequest().body(
+                new ErrorResponse(LocalDateTime.now(), 400, "INVALID_AADHAAR", "Aadhaar number must be exactly 12 digits!")));
+        }
+
+        if (!doctor.getPhoneNumber().matches(PHONE_REGEX)) {
+            logger.warn("Invalid phone number: {}", doctor.getPhoneNumber());
+            return Mono.just(ResponseEntity.badRequest().body(
+                new ErrorResponse(LocalDateTime.now(), 400, "INVALID_PHONE", "Phone number must be exactly 10 digits!")));
+        }
+
+        return passwordHashing.encode(doctor.getPassword())
+                .flatMap(hash -> {
+                    doctor.setPassword(hash);
+                    return userRepository.insert(doctor); // The unique index rejects an email already registered
+                })
+                .flatMap(saved -> {
+                    logger.info("Doctor registered successfully: {}", saved.getUserEmail());
+                    return confirmTokenDoctorRepository.save(new ConfirmTokenDoctor(saved));
+                })
+                .map(confirmationToken -> {
+                    logger.info("Confirmation token generated for doctor: {}", doctor.getUserEmail());
+                    sendVerificationEmail(doctor.getUserEmail(), confirmationToken.getConfirmationToken());
+                    return ResponseEntity.ok(new ErrorResponse(LocalDateTime.now(), 200, "VERIFICATION_EMAIL_SENT",
+                        "Verify email by the link sent to your email address"));
+                })
+                .onErrorResume(e -> e instanceof DataIntegrityViolationException duplicate && User.isDuplicateEmail(duplicate), e -> {
+                    logger.warn("Email already exists: {}", doctor.getUserEmail());
+                    return Mono.just(ResponseEntity.badRequest().body(
+                        new ErrorResponse(LocalDateTime.now(), 400, "EMAIL_EXISTS", "Error: Email is already in use!")));
+                });
+    }
+
+    /**
+     * Sends the confirmation link without making the response wait for the SMTP server. The reactive
+     * build has no email outbox (the servlet service queues the mail in one) and no {@code @Async},
+     * so the blocking send runs on the bounded-elastic scheduler, and its outcome is logged from the
+     * {@link ErrorResponse} that {@link EmailService#sendEmail} returns.
+     */
+    private void sendVerificationEmail(String email, String token) {
+        EmailContent content = emailTemplates.render(EmailTemplates.ACCOUNT_CONFIRMATION,
+                LocaleContextHolder.getLocale(), Map.of("token", token));
+        Mono.fromFuture(() -> emailService.sendEmail(email, content))
+                .subscribeOn(Schedulers.boundedElastic())
+                .subscribe(result -> {
+                    if (result.getStatus() == 200) {
+                        logger.info("Verification email sent to: {}", email);
+                    } else {
+                        logger.error("Verification email to {} not sent: {}", email, result.getMessage());
+                    }
+                }, e -> logger.error("Error sending verification email: {}", e.getMessage()));
+    }
+
+    public Mono<ResponseEntity<ErrorResponse>> confirmEmail(String confirmationToken) {
+        logger.info("Attempting to confirm email with token: {}", confirmationToken);
+        return confirmTokenDoctorRepository.findByConfirmTokenDoctor(confirmationToken)
+                .flatMap(token -> userRepository.enable(token.getDoctorEntity().getUserId())
+                        .thenReturn(token.getDoctorEntity()))
+                .map(doctor -> {
+                    logger.info("Doctor email verified successfully: {}", doctor.getUserEmail());
+                    return ResponseEntity.ok(new ErrorResponse(LocalDateTime.now(), 200, "EMAIL_VERIFIED",
+                        "Email verified successfully!"));
+                })
+                .switchIfEmpty(Mono.fromSupplier(() -> {
+                    logger.warn("Invalid confirmation token: {}", confirmationToken);
+                    return ResponseEntity.badRequest().body(
+                        new ErrorResponse(LocalDateTime.now(), 400, "INVALID_TOKEN", "Error: Couldn't verify email"));
+                }));
+    }
+
+    public Mono<User> getDoctorByEmail(String email) {
+        logger.info("Fetching doctor details for email: {}", email);
+        return userRepository.findByEmail(email);
+    }
+}
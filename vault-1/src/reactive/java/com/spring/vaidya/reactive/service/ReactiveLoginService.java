@@ -0,0 +1,174 @@
+package com.spring.vaidya.reactive.service;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+import com.spring.vaidya.entity.AuthAccount;
+import com.spring.vaidya.entity.LoginResponse;
+import com.spring.vaidya.exception.AuthenticationFailedException;
+import com.spring.vaidya.exception.HashingCapacityExceededException;
+import com.spring.vaidya.jwt.JwtUtils;
+import com.spring.vaidya.reactive.repo.ReactiveUserRepository;
+import com.spring.vaidya.reactive.security.PasswordHashingScheduler;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import reactor.core.publisher.Mono;
+
+/**
+ * Reactive counterpart of {@link com.spring.vaidya.service.LoginService}, shared by {@code /user/login}
+ * and {@code /user/authenticate}: one account lookup, one password check on the hashing scheduler,
+ * one enablement check and one signature. Unknown emails are checked against a dummy hash, so they
+ * cost the same as a wrong password.
+ * <p>
+ * Exported meters: {@code login.stage} (tagged {@code lookup}, {@code verify}, {@code sign},
+ * {@code refresh}), {@code login.requests} (tagged by outcome) and {@code password.rehash}.
+ */
+@Service
+public class ReactiveLoginService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReactiveLoginService.class);
+
+    private static final String INVALID_CREDENTIALS = "Invalid username or password";
+
+    private final ReactiveUserRepository userRepository;
+    private final PasswordHashingScheduler passwordHashing;
+    private final JwtUtils jwtUtils;
+    private final ReactiveRefreshTokenService refreshTokenService;
+    private final MeterRegistry meterRegistry;
+
+    private final Timer lookupTimer;
+    private final Timer verifyTimer;
+    private final Timer signTimer;
+    private final Timer refreshTimer;
+    private final Counter upgradedCounter;
+    private final Counter skippedCounter;
+
+    private volatile String dummyHash;
+
+    public ReactiveLoginService(ReactiveUserRepository userRepository, PasswordHashingScheduler passwordHashing,
+                                JwtUtils jwtUtils, ReactiveRefreshTokenService refreshTokenService,
+                                MeterRegistry meterRegistry) {
+        this.userRepository = userRepository;
+        this.passwordHashing = passwordHashing;
+        this.jwtUtils = jwtUtils;
+        this.refreshTokenService = refreshTokenService;
+        this.meterRegistry = meterRegistry;
+        this.lookupTimer = stageTimer("lookup");
+        this.verifyTimer = stageTimer("verify");
+        this.signTimer = stageTimer("sign");
+        this.refreshTimer = stageTimer("refresh");
+        this.upgradedCounter = Counter.builder("password.rehash").tag("outcome", "upgraded").register(meterRegistry);
+        this.skippedCounter = Counter.builder("password.rehash").tag("outcome", "skipped").register(meterRegistry);
+    }
+
+    /**
+     * Authenticates a user by email and password and issues an access/refresh token pair. Errors with
+     * {@link AuthenticationFailedException} if the credentials are wrong or the account is not verified,
+     * and with {@link HashingCapacityExceededException} if the hashing scheduler is saturated.
+     *
+     * @param email       The account email (any case).
+     * @param rawPassword The password supplied by the client.
+     * @return The tokens together with the account's name, ID and role.
+     */
+    public Mono<LoginResponse> login(String email, String rawPassword) {
+        return Mono.defer(() -> {
+            long start = System.nanoTime();
+            AtomicReference<String> outcome = new AtomicReference<>("error");
+
+            Mono<Optional<AuthAccount>> lookup = email == null ? Mono.just(Optional.empty())
+                    : userRepository.findAccount(email).map(Optional::of).defaultIfEmpty(Optional.empty());
+            return timed(lookupTimer, lookup)
+                    .flatMap(account -> timed(verifyTimer, verify(account.orElse(null), rawPassword))
+                            .flatMap(passwordMatches -> {
+                                if (account.isEmpty() || !passwordMatches) {
+                                    outcome.set("bad_credentials");
+                                    logger.warn("Invalid credentials for email: {}", email);
+                                    return Mono.error(new AuthenticationFailedException(INVALID_CREDENTIALS));
+                                }
+                                if (!account.get().isEnabled()) {
+                                    outcome.set("disabled");
+                                    logger.warn("Account is not verified: {}", email);
+                                    return Mono.error(new AuthenticationFailedException("Account is not verified"));
+                                }
+                                return issueTokens(account.get(), rawPassword);
+                            }))
+                    .doOnNext(response -> outcome.set("success"))
+                    .doOnError(HashingCapacityExceededException.class, e -> outcome.set("busy"))
+                    .doFinally(signal -> Timer.builder("login.requests").tag("outcome", outcome.get())
+                            .register(meterRegistry).record(System.nanoTime() - start, TimeUnit.NANOSECONDS));
+        });
+    }
+
+    private Mono<Boolean> verify(AuthAccount account, String rawPassword) {
+        if (rawPassword == null) {
+            return Mono.just(false);
+        }
+        return (account != null ? Mono.just(account.getPassword()) : dummyHash())
+                .flatMap(hash -> passwordHashing.matches(rawPassword, hash));
+    }
+
+    private Mono<LoginResponse> issueTokens(AuthAccount account, String rawPassword) {
+        rehashIfNeeded(account, rawPassword);
+        long signStart = System.nanoTime();
+        String jwt = jwtUtils.generateJwtToken(account); // HMAC signing is cheap enough for the event loop
+        signTimer.record(System.nanoTime() - signStart, TimeUnit.NANOSECONDS);
+        return timed(refreshTimer, refreshTokenService.issue(account.getUserId()))
+                .map(refreshToken -> new LoginResponse(jwt, account.getFullName(), account.getUserId(),
+                        account.getRoleId(), refreshToken, jwtUtils.getAccessTokenExpirationSeconds()));
+    }
+
+    /**
+     * Upgrades an outdated hash in the background, after the password has been verified against it.
+     * Skipped while the hashing scheduler is saturated; the next login retries.
+     */
+    private void rehashIfNeeded(AuthAccount account, String rawPassword) {
+        if (account.getPassword() == null || !passwordHashing.upgradeEncoding(account.getPassword())) {
+            return;
+        }
+        passwordHashing.encode(rawPassword)
+                .flatMap(newHash -> userRepository.updatePasswordIfUnchanged(account.getUserId(), account.getPassword(),
+                        newHash))
+                .subscribe(updated -> {
+                    if (updated == 1) {
+                        upgradedCounter.increment();
+                        logger.info("Upgraded password hash for user {}", account.getUserId());
+                    } else {
+                        skippedCounter.increment(); // Password changed since the login read it
+                    }
+                }, e -> {
+                    skippedCounter.increment();
+                    logger.debug("Password rehash for user {} skipped: {}", account.getUserId(), e.getMessage());
+                });
+    }
+
+    /**
+     * Hash checked for unknown emails, produced with the configured algorithm and cost so it takes
+     * as long as a real check. Computed on first use rather than at startup.
+     */
+    private Mono<String> dummyHash() {
+        String hash = dummyHash;
+        if (hash != null) {
+            return Mono.just(hash);
+        }
+        // Benign race: concurrent first calls each compute an equivalent hash
+        return passwordHashing.encode("dummy-password-for-unknown-accounts").doOnNext(encoded -> dummyHash = encoded);
+    }
+
+    private Timer stageTimer(String stage) {
+        return Timer.builder("login.stage").tag("stage", stage).register(meterRegistry);
+    }
+
+    private static <T> Mono<T> timed(Timer timer, Mono<T> stage) {
+        return Mono.defer(() -> {
+            long stageStart = System.nanoTime();
+            return stage.doOnTerminate(() -> timer.record(System.nanoTime() - stageStart, TimeUnit.NANOSECONDS));
+        });
+    }
+}
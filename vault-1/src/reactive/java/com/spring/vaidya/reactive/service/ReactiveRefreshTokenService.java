@@ -0,0 +1,158 @@
+package com.spring.vaidya.reactive.service;
+
+import java.security.SecureRandom;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.UUID;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.spring.vaidya.entity.RefreshToken;
+import com.spring.vaidya.entity.User;
+import com.spring.vaidya.exception.AuthenticationFailedException;
+import com.spring.vaidya.reactive.repo.ReactiveRefreshTokenRepository;
+import com.spring.vaidya.util.TokenDigest;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * Reactive counterpart of {@link com.spring.vaidya.service.RefreshTokenService}. Each refresh token
+ * can be exchanged exactly once; presenting an already-used token is treated as theft and revokes
+ * its whole rotation family.
+ */
+@Service
+public class ReactiveRefreshTokenService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReactiveRefreshTokenService.class);
+
+    private final SecureRandom secureRandom = new SecureRandom();
+
+    private final ReactiveRefreshTokenRepository refreshTokenRepository;
+    private final long refreshExpirationMs;
+
+    public ReactiveRefreshTokenService(ReactiveRefreshTokenRepository refreshTokenRepository,
+                                       @Value("${jwt.refresh-token.expiration-ms:1209600000}") long refreshExpirationMs) {
+        this.refreshTokenRepository = refreshTokenRepository;
+        this.refreshExpirationMs = refreshExpirationMs;
+    }
+
+    /**
+     * Starts a new rotation family for a user who has just logged in with their password.
+     *
+     * @param userId The authenticated user's ID.
+     * @return The raw refresh token to hand to the client.
+     */
+    public Mono<String> issue(Long userId) {
+        return issue(userId, UUID.randomUUID().toString());
+    }
+
+    /**
+     * Exchanges a refresh token for a new one in the same family. Errors with
+     * {@link AuthenticationFailedException} if the token is unknown, expired, reused or the account is disabled.
+     *
+     * @param rawToken The refresh token presented by the client.
+     * @return The user the token belongs to and the replacement refresh token.
+     */
+    public Mono<Rotation> rotate(String rawToken) {
+        if (rawToken == null || rawToken.isBlank()) {
+            return Mono.error(new AuthenticationFailedException("Refresh token is required"));
+        }
+        return refreshTokenRepository.findByTokenHash(TokenDigest.sha256(rawToken))
+                .switchIfEmpty(Mono.error(() -> new AuthenticationFailedException("Invalid refresh token")))
+                .flatMap(current -> consume(current).flatMap(consumed -> {
+                    // Only one request may consume a token; a second presentation means it was replayed
+                    if (!consumed) {
+                        return refreshTokenRepository.deleteByFamilyId(current.getFamilyId())
+                                .flatMap(revoked -> {
+                                    logger.warn("Refresh token reuse detected; revoked {} tokens in family {}",
+                                            revoked, current.getFamilyId());
+                                    return Mono.error(new AuthenticationFailedException("Refresh token has already been used"));
+                                });
+                    }
+                    if (current.isExpired()) {
+                        return Mono.error(new AuthenticationFailedException("Refresh token has expired"));
+                    }
+                    User user = current.getUser();
+                    if (!user.isEnabled()) {
+                        return refreshTokenRepository.deleteByFamilyId(current.getFamilyId())
+                                .then(Mono.error(new AuthenticationFailedException("Account is disabled")));
+                    }
+                    return issue(user.getUserId(), current.getFamilyId()).map(next -> new Rotation(user, next));
+                }));
+    }
+
+    /**
+     * Revokes the rotation family of a refresh token, e.g. on logout. Unknown tokens are ignored.
+     *
+     * @param rawToken The refresh token presented by the client.
+     */
+    public Mono<Void> revoke(String rawToken) {
+        if (rawToken == null || rawToken.isBlank()) {
+            return Mono.empty();
+        }
+        return refreshTokenRepository.findByTokenHash(TokenDigest.sha256(rawToken))
+                .flatMap(token -> refreshTokenRepository.deleteByFamilyId(token.getFamilyId()))
+                .then();
+    }
+
+    /**
+     * Revokes every refresh token issued to a user, e.g. after a password reset.
+     *
+     * @param userId The user ID.
+     */
+    public Mono<Void> revokeAll(Long userId) {
+        return refreshTokenRepository.deleteByUserId(userId).then();
+    }
+
+    /**
+     * Periodically removes expired tokens, oldest first via the expiry index.
+     */
+    @Scheduled(fixedDelayString = "${jwt.refresh-token.cleanup-interval-ms:3600000}")
+    public Mono<Void> deleteExpiredTokens() {
+        return refreshTokenRepository.deleteExpiredBefore(LocalDateTime.now())
+                .doOnNext(deleted -> {
+                    if (deleted > 0) {
+                        logger.info("Deleted {} expired refresh tokens", deleted);
+                    }
+                })
+                .then();
+    }
+
+    private Mono<Boolean> consume(RefreshToken token) {
+        return token.isUsed() ? Mono.just(false) : refreshTokenRepository.markUsed(token.getId()).map(updated -> updated > 0);
+    }
+
+    private Mono<String> issue(Long userId, String familyId) {
+        byte[] bytes = new byte[32];
+        secureRandom.nextBytes(bytes);
+        String rawToken = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+        LocalDateTime expiryDate = LocalDateTime.now().plusNanos(refreshExpirationMs * 1_000_000L);
+        return refreshTokenRepository.insert(TokenDigest.sha256(rawToken), familyId, userId, expiryDate)
+                .thenReturn(rawToken);
+    }
+
+    /**
+     * Outcome of a successful rotation.
+     */
+    public static final class Rotation {
+        private final User user;
+        private final String refreshToken;
+
+        private Rotation(User user, String refreshToken) {
+            this.user = user;
+            this.refreshToken = refreshToken;
+        }
+
+        public User getUser() {
+            return user;
+        }
+
+        public String getRefreshToken() {
+            return refreshToken;
+        }
+    }
+}
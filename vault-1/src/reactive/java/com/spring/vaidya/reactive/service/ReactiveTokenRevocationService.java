@@ -0,0 +1,107 @@
+package com.spring.vaidya.reactive.service;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.spring.vaidya.jwt.RevocationIndex;
+import com.spring.vaidya.jwt.TokenRevocationCheck;
+import com.spring.vaidya.reactive.repo.ReactiveRevokedTokenRepository;
+
+import io.jsonwebtoken.Claims;
+import reactor.core.publisher.Mono;
+
+/**
+ * Reactive counterpart of {@link com.spring.vaidya.service.TokenRevocationService}. Requests are
+ * answered from the in-memory {@link RevocationIndex}; only revoking and polling touch the shared
+ * {@code revoked_token} table, so servlet and reactive nodes see each other's revocations.
+ */
+@Service
+public class ReactiveTokenRevocationService implements TokenRevocationCheck {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReactiveTokenRevocationService.class);
+
+    private static final int SYNC_PAGE = 1000;
+
+    private final ReactiveRevokedTokenRepository revokedTokenRepository;
+    private final RevocationIndex index;
+
+    private final AtomicLong lastSeenId = new AtomicLong();
+
+    public ReactiveTokenRevocationService(ReactiveRevokedTokenRepository revokedTokenRepository,
+                                          @Value("${jwt.access-token.expiration-ms:900000}") long accessTokenExpirationMs,
+                                          @Value("${jwt.revocation.expected-entries:100000}") long expectedEntries,
+                                          @Value("${jwt.revocation.false-positive-rate:0.001}") double falsePositiveRate) {
+        this.revokedTokenRepository = revokedTokenRepository;
+        this.index = new RevocationIndex(accessTokenExpirationMs, expectedEntries, falsePositiveRate);
+    }
+
+    @Override
+    public boolean isRevoked(Claims claims) {
+        return index.isRevoked(claims);
+    }
+
+    /**
+     * Revokes a single token, e.g. on logout.
+     *
+     * @param claims Claims of the token to revoke.
+     */
+    public Mono<Void> revokeToken(Claims claims) {
+        return Mono.justOrEmpty(index.tokenRevocation(claims))
+                .flatMap(revokedTokenRepository::save)
+                .doOnNext(index::apply)
+                .then();
+    }
+
+    /**
+     * Revokes every token issued to a user up to now, e.g. on password reset.
+     *
+     * @param userId The user whose tokens are revoked.
+     */
+    public Mono<Void> revokeAllForUser(Long userId) {
+        return Mono.fromSupplier(() -> index.userRevocation(userId))
+                .flatMap(revokedTokenRepository::save)
+                .doOnNext(index::apply)
+                .then();
+    }
+
+    /**
+     * Applies revocations recorded by any node since the last poll.
+     */
+    @Scheduled(fixedDelayString = "${jwt.revocation.sync-interval-ms:5000}")
+    public Mono<Void> syncFromDatabase() {
+        return revokedTokenRepository.findTop1000ByIdGreaterThanOrderByIdAsc(lastSeenId.get())
+                .doOnNext(row -> {
+                    index.apply(row);
+                    lastSeenId.accumulateAndGet(row.getId(), Math::max);
+                })
+                .count()
+                .flatMap(count -> count == SYNC_PAGE ? syncFromDatabase() : Mono.empty());
+    }
+
+    /**
+     * Forgets revocations whose tokens have all expired and rebuilds the Bloom filters.
+     * The full reload also picks up rows a concurrent writer committed below the poll cursor.
+     */
+    @Scheduled(fixedDelayString = "${jwt.revocation.prune-interval-ms:600000}")
+    public Mono<Void> pruneExpired() {
+        LocalDateTime now = LocalDateTime.now();
+        return revokedTokenRepository.deleteExpiredBefore(now)
+                .flatMap(deleted -> {
+                    index.removeExpired();
+                    return revokedTokenRepository.findByExpiresAtAfter(now)
+                            .doOnNext(index::apply)
+                            .then(Mono.fromRunnable(index::rebuildFilters))
+                            .then(Mono.fromRunnable(() -> {
+                                if (deleted > 0) {
+                                    logger.info("Pruned {} expired token revocations", deleted);
+                                }
+                            }));
+                });
+    }
+}
@@ -0,0 +1,146 @@
+package com.spring.vaidya.reactive.service;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.i18n.LocaleContextHolder;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+
+import com.spring.vaidya.entity.ErrorResponse;
+import com.spring.vaidya.entity.User;
+import com.spring.vaidya.exception.HashingCapacityExceededException;
+import com.spring.vaidya.reactive.repo.ReactivePasswordResetTokenRepository;
+import com.spring.vaidya.reactive.repo.ReactiveUserRepository;
+import com.spring.vaidya.reactive.security.PasswordHashingScheduler;
+import com.spring.vaidya.service.EmailService;
+
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * Reactive counterpart of {@link com.spring.vaidya.service.UserService}: registration and password
+ * reset. Results and error codes are the same as the servlet service's.
+ */
+@Service
+public class ReactiveUserService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReactiveUserService.class);
+
+    private final ReactiveUserRepository userRepository;
+    private final ReactivePasswordResetTokenRepository tokenRepository;
+    private final EmailService emailService;
+    private final PasswordHashingScheduler passwordHashing;
+    private final ReactiveRefreshTokenService refreshTokenService;
+    private final ReactiveTokenRevocationService tokenRevocationService;
+
+    public ReactiveUserService(ReactiveUserRepository userRepository, ReactivePasswordResetTokenRepository tokenRepository,
+                               EmailService emailService, PasswordHashingScheduler passwordHashing,
+                               ReactiveRefreshTokenService refreshTokenService,
+                               ReactiveTokenRevocationService tokenRevocationService) {
+        this.userRepository = userRepository;
+        this.tokenRepository = tokenRepository;
+        this.emailService = emailService;
+        this.passwordHashing = passwordHashing;
+        this.refreshTokenService = refreshTokenService;
+        this.tokenRevocationService = tokenRevocationService;
+    }
+
+    /**
+     * Registers a new user.
+     *
+     * @param user User object containing registration details.
+     * @return Registered user object or error response if registration fails.
+     */
+    public Mono<Object> registerUser(User user) {
+        // Validate phone number (should be exactly 10 digits). A registered email is still reported
+        // first; the lookup runs only on this error path, as valid requests rely on the unique index
+        if (user.getPhoneNumber() == null || !user.getPhoneNumber().matches("\\d{10}")) {
+            Mono<User> registered = user.getUserEmail() != null ? userRepository.findByEmail(user.getUserEmail()) : Mono.empty();
+            return registered
+                    .<Object>map(existing -> new ErrorResponse(LocalDateTime.now(), 400, "USER_EXISTS", "Email is already registered"))
+                    .defaultIfEmpty(new ErrorResponse(LocalDateTime.now(), 400, "INVALID_PHONE", "Phone number must be exactly 10 digits"))
+                    .onErrorResume(e -> {
+                        logger.error("Error registering user: {}", e.getMessage());
+                        return Mono.just(new ErrorResponse(LocalDateTime.now(), 500, "REGISTER_ERROR", "Failed to register user"));
+                    });
+        }
+
+        logger.info("Registering user: {}", user.getUserEmail());
+        return passwordHashing.encode(user.getPassword())
+                .flatMap(hash -> {
+                    user.setPassword(hash);
+                    return userRepository.insert(user); // The unique index rejects an email already registered
+                })
+                .<Object>map(savedUser -> {
+                    logger.info("User registered successfully with ID: {}", savedUser.getUserId());
+                    return savedUser;
+                })
+                .onErrorResume(e -> e instanceof DataIntegrityViolationException duplicate && User.isDuplicateEmail(duplicate),
+                        e -> Mono.just(new ErrorResponse(LocalDateTime.now(), 400, "USER_EXISTS", "Email is already registered")))
+                .onErrorResume(e -> !(e instanceof HashingCapacityExceededException), e -> {
+                    logger.error("Error registering user: {}", e.getMessage());
+                    return Mono.just(new ErrorResponse(LocalDateTime.now(), 500, "REGISTER_ERROR", "Failed to register user"));
+                });
+    }
+
+    /**
+     * Initiates the password reset process by generating a reset token and sending an email.
+     *
+     * @param email The email address of the user requesting a password reset.
+     * @return Success or error response.
+     */
+    public Mono<ErrorResponse> initiateForgotPassword(String email) {
+        String token = UUID.randomUUID().toString();
+        LocalDateTime expiryDate = LocalDateTime.now().plusMinutes(30);
+        return userRepository.findByEmail(email)
+                .flatMap(user -> tokenRepository.saveForUser(user.getUserId(), token, expiryDate)
+                        .then(Mono.fromCallable(() -> {
+                            logger.info("Sending password reset email to: {}", email);
+                            return emailService.sendPasswordResetEmail(email, token, LocaleContextHolder.getLocale());
+                        }).subscribeOn(Schedulers.boundedElastic())) // JavaMail blocks on the SMTP conversation
+                        .thenReturn(new ErrorResponse(LocalDateTime.now(), 200, "EMAIL_SENT", "Password reset email sent successfully!")))
+                .switchIfEmpty(Mono.fromSupplier(() -> {
+                    logger.warn("Forgot password request failed: No user found for email {}", email);
+                    return new ErrorResponse(LocalDateTime.now(), 404, "USER_NOT_FOUND", "No user found with this email");
+                }))
+                .onErrorResume(e -> {
+                    logger.error("Error initiating password reset: {}", e.getMessage());
+                    return Mono.just(new ErrorResponse(LocalDateTime.now(), 500, "PASSWORD_RESET_ERROR", "Failed to send password reset email"));
+                });
+    }
+
+    /**
+     * Resets the user's password using a valid reset token, ending every session opened with the old password.
+     *
+     * @param token       The password reset token provided by the user.
+     * @param newPassword The new password to be set.
+     * @return Success message or error response if token is invalid or expired.
+     */
+    public Mono<Object> resetPassword(String token, String newPassword) {
+        return tokenRepository.findByToken(token)
+                .flatMap(resetToken -> {
+                    if (resetToken.isExpired()) {
+                        return Mono.just(new ErrorResponse(LocalDateTime.now(), 400, "TOKEN_EXPIRED", "Reset token has expired"));
+                    }
+                    User user = resetToken.getUser();
+                    return passwordHashing.encode(newPassword)
+                            .flatMap(hash -> userRepository.updatePassword(user.getUserId(), hash))
+                            .then(refreshTokenService.revokeAll(user.getUserId()))
+                            .then(tokenRevocationService.revokeAllForUser(user.getUserId()))
+                            .then(tokenRepository.deleteById(resetToken.getId()))
+                            .then(Mono.fromSupplier(() -> {
+                                logger.info("Password successfully reset for user: {}", user.getUserEmail());
+                                return "Password reset successfully!";
+                            }));
+                })
+                .switchIfEmpty(Mono.fromSupplier(() ->
+                        new ErrorResponse(LocalDateTime.now(), 400, "INVALID_TOKEN", "Invalid or expired token")))
+                .onErrorResume(e -> !(e instanceof HashingCapacityExceededException), e -> {
+                    logger.error("Error resetting password: {}", e.getMessage());
+                    return Mono.just(new ErrorResponse(LocalDateTime.now(), 500, "RESET_PASSWORD_ERROR", "Failed to reset password"));
+                });
+    }
+}
@@ -0,0 +1,295 @@
+package com.spring.vaidya.contract;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.spring.vaidya.jwt.JwtCodec;
+
+/**
+ * Functional contract of the {@code /user}, {@code /auth} and {@code /doctor} APIs, run against both
+ * the servlet application ({@link ServletAuthApiTest}) and the reactive one built with
+ * {@code -Preactive}. Subclasses start the application on a fixed port (the HCP stub is reached
+ * through it) and give the tests plain SQL access to the database.
+ */
+@ActiveProfiles({ "hcp-stub", "contract" })
+public abstract class AuthApiContract {
+
+    private static final String PASSWORD = "Secret#123";
+    private static final ParameterizedTypeReference<Map<String, Object>> JSON_OBJECT =
+            new ParameterizedTypeReference<>() {
+            };
+    private static final ParameterizedTypeReference<List<Map<String, Object>>> JSON_ARRAY =
+            new ParameterizedTypeReference<>() {
+            };
+
+    @Autowired
+    protected TestRestTemplate rest;
+
+    @Autowired
+    private JwtCodec jwtCodec;
+
+    /**
+     * @return The first column of the first row, or null if there is none.
+     */
+    protected abstract String queryForString(String sql, Object... args);
+
+    protected abstract void update(String sql, Object... args);
+
+    @BeforeEach
+    void awaitSigningKey() throws InterruptedException {
+        for (int i = 0; i < 100 && !jwtCodec.isReady(); i++) {
+            Thread.sleep(100);
+        }
+        assertTrue(jwtCodec.isReady(), "No JWT signing key was loaded from the HCP stub");
+    }
+
+    @Test
+    void publicRoutesAreOpenAndProtectedRoutesNeedAToken() {
+        ResponseEntity<String> welcome = rest.getForEntity("/user/welcome", String.class);
+        assertEquals(HttpStatus.OK, welcome.getStatusCode());
+        assertEquals("Welcome to the JWT-secured API!", welcome.getBody());
+
+        assertEquals(HttpStatus.FORBIDDEN, get("/user/protected", null, String.class).getStatusCode());
+        assertEquals(HttpStatus.FORBIDDEN, get("/user/protected", "not-a-jwt", String.class).getStatusCode());
+        assertEquals(HttpStatus.FORBIDDEN, get("/doctor/all", null, String.class).getStatusCode());
+        assertEquals(HttpStatus.OK, post("/doctor/register", null, user(uniqueEmail())).getStatusCode());
+    }
+
+    @Test
+    void registeredUserCanLogInOnceVerified() {
+        String email = uniqueEmail();
+        ResponseEntity<String> created = rest.postForEntity("/user/new", user(email), String.class);
+        assertEquals(HttpStatus.CREATED, created.getStatusCode());
+        assertEquals("User registered successfully!", created.getBody());
+        // A duplicate is not reported to the caller
+        assertEquals(HttpStatus.CREATED, rest.postForEntity("/user/new", user(email), String.class).getStatusCode());
+
+        enable(email);
+        assertEquals(HttpStatus.UNAUTHORIZED, login(email, "wrong-password").getStatusCode());
+        assertEquals(HttpStatus.UNAUTHORIZED, login(uniqueEmail(), PASSWORD).getStatusCode());
+
+        ResponseEntity<Map<String, Object>> loggedIn = login(email.toUpperCase(), PASSWORD);
+        assertEquals(HttpStatus.OK, loggedIn.getStatusCode());
+        Map<String, Object> body = loggedIn.getBody();
+        assertEquals("Dr. Contract", body.get("fullName"));
+        assertEquals(900, ((Number) body.get("expiresIn")).intValue());
+        assertNotNull(body.get("refreshToken"));
+
+        ResponseEntity<String> protectedRoute = get("/user/protected", (String) body.get("token"), String.class);
+        assertEquals(HttpStatus.OK, protectedRoute.getStatusCode());
+        assertEquals("This is a protected route, only accessible with a valid JWT.", protectedRoute.getBody());
+
+        Map<String, Object> credentials = Map.of("username", email, "password", PASSWORD);
+        ResponseEntity<Map<String, Object>> authenticated = rest.exchange("/user/authenticate", HttpMethod.POST,
+                new HttpEntity<>(credentials), JSON_OBJECT);
+        assertEquals(HttpStatus.OK, authenticated.getStatusCode());
+        assertEquals(body.get("userId"), authenticated.getBody().get("userId"));
+    }
+
+    @Test
+    void doctorRegistrationConfirmationAndLookup() {
+        String token = registerVerifiedUser(uniqueEmail());
+
+        Map<String, Object> invalid = user(uniqueEmail());
+        invalid.put("aadharNo", "12345");
+        ResponseEntity<Map<String, Object>> rejected = post("/doctor/register", token, invalid);
+        assertEquals(HttpStatus.BAD_REQUEST, rejected.getStatusCode());
+        assertEquals("INVALID_AADHAAR", rejected.getBody().get("errorCode"));
+
+        String doctorEmail = uniqueEmail();
+        ResponseEntity<Map<String, Object>> registered = post("/doctor/register", token, user(doctorEmail));
+        assertEquals(HttpStatus.OK, registered.getStatusCode());
+        assertEquals("VERIFICATION_EMAIL_SENT", registered.getBody().get("errorCode"));
+
+        ResponseEntity<Map<String, Object>> duplicate = post("/doctor/register", token, user(doctorEmail.toUpperCase()));
+        assertEquals(HttpStatus.BAD_REQUEST, duplicate.getStatusCode());
+        assertEquals("EMAIL_EXISTS", duplicate.getBody().get("errorCode"));
+
+        ResponseEntity<Map<String, Object>> unverified = login(doctorEmail, PASSWORD);
+        assertEquals(HttpStatus.UNAUTHORIZED, unverified.getStatusCode());
+        assertEquals("AUTHENTICATION_FAILED", unverified.getBody().get("errorCode"));
+        ResponseEntity<Map<String, Object>> badConfirmation = rest.exchange("/doctor/confirm-account?token=unknown",
+                HttpMethod.GET, null, JSON_OBJECT);
+        assertEquals(HttpStatus.BAD_REQUEST, badConfirmation.getStatusCode());
+        assertEquals("INVALID_TOKEN", badConfirmation.getBody().get("errorCode"));
+
+        String confirmation = queryForString("select t.confirm_token_doctor from confirm_token_doctor t "
+                + "join user u on u.user_id = t.doctor_id where u.user_email = ?", doctorEmail);
+        ResponseEntity<Map<String, Object>> confirmed = rest.exchange("/doctor/confirm-account?token=" + confirmation,
+                HttpMethod.GET, null, JSON_OBJECT);
+        assertEquals(HttpStatus.OK, confirmed.getStatusCode());
+        assertEquals("EMAIL_VERIFIED", confirmed.getBody().get("errorCode"));
+        assertEquals(HttpStatus.OK, login(doctorEmail, PASSWORD).getStatusCode());
+
+        ResponseEntity<List<Map<String, Object>>> all = rest.exchange("/doctor/all", HttpMethod.GET,
+                new HttpEntity<>(bearer(token)), JSON_ARRAY);
+        assertEquals(HttpStatus.OK, all.getStatusCode());
+        Map<String, Object> doctor = all.getBody().stream()
+                .filter(entry -> doctorEmail.equals(entry.get("userEmail")))
+                .findFirst().orElseThrow();
+        assertEquals(Boolean.TRUE, doctor.get("enabled"));
+        assertEquals("08:00:00", doctor.get("openTime"));
+
+        Object doctorId = doctor.get("userId");
+        ResponseEntity<Map<String, Object>> byId = get("/doctor/" + doctorId, token, JSON_OBJECT);
+        assertEquals(HttpStatus.OK, byId.getStatusCode());
+        assertEquals(doctorEmail, byId.getBody().get("userEmail"));
+        ResponseEntity<Map<String, Object>> missing = get("/doctor/987654321", token, JSON_OBJECT);
+        assertEquals(HttpStatus.NOT_FOUND, missing.getStatusCode());
+        assertEquals("NOT_FOUND", missing.getBody().get("errorCode"));
+
+        ResponseEntity<Map<String, Object>> byEmail = get("/doctor/email?email=" + doctorEmail, token, JSON_OBJECT);
+        assertEquals(HttpStatus.OK, byEmail.getStatusCode());
+        assertEquals(doctorId, byEmail.getBody().get("userId"));
+        assertEquals(HttpStatus.NOT_FOUND, get("/doctor/email?email=" + uniqueEmail(), token, JSON_OBJECT).getStatusCode());
+    }
+
+    @Test
+    void refreshTokensRotateAndReuseRevokesTheFamily() {
+        String email = uniqueEmail();
+        registerVerifiedUser(email);
+        String first = (String) login(email, PASSWORD).getBody().get("refreshToken");
+
+        ResponseEntity<Map<String, Object>> rotated = refresh(first);
+        assertEquals(HttpStatus.OK, rotated.getStatusCode());
+        assertEquals("Bearer", rotated.getBody().get("tokenType"));
+        String second = (String) rotated.getBody().get("refreshToken");
+        assertEquals(HttpStatus.OK, get("/user/protected", (String) rotated.getBody().get("accessToken"),
+                String.class).getStatusCode());
+
+        assertEquals(HttpStatus.UNAUTHORIZED, refresh(first).getStatusCode());
+        assertEquals(HttpStatus.UNAUTHORIZED, refresh(second).getStatusCode());
+        assertEquals(HttpStatus.UNAUTHORIZED, refresh("unknown").getStatusCode());
+    }
+
+    @Test
+    void logoutRevokesTheAccessAndRefreshTokens() {
+        String email = uniqueEmail();
+        registerVerifiedUser(email);
+        Map<String, Object> session = login(email, PASSWORD).getBody();
+        String accessToken = (String) session.get("token");
+
+        ResponseEntity<String> loggedOut = rest.exchange("/auth/logout", HttpMethod.POST,
+                new HttpEntity<>(Map.of("refreshToken", session.get("refreshToken")), bearer(accessToken)),
+                String.class);
+        assertEquals(HttpStatus.OK, loggedOut.getStatusCode());
+        assertEquals("Logged out successfully.", loggedOut.getBody());
+
+        assertEquals(HttpStatus.FORBIDDEN, get("/user/protected", accessToken, String.class).getStatusCode());
+        assertEquals(HttpStatus.UNAUTHORIZED, refresh((String) session.get("refreshToken")).getStatusCode());
+    }
+
+    @Test
+    void passwordResetReplacesThePasswordAndEndsSessions() {
+        String email = uniqueEmail();
+        registerVerifiedUser(email);
+        String refreshToken = (String) login(email, PASSWORD).getBody().get("refreshToken");
+
+        ResponseEntity<Map<String, Object>> unknown = rest.exchange("/auth/forgot-password?email=" + uniqueEmail(),
+                HttpMethod.POST, null, JSON_OBJECT);
+        assertEquals(HttpStatus.NOT_FOUND, unknown.getStatusCode());
+        assertEquals("USER_NOT_FOUND", unknown.getBody().get("errorCode"));
+
+        ResponseEntity<Map<String, Object>> sent = rest.exchange("/auth/forgot-password?email=" + email,
+                HttpMethod.POST, null, JSON_OBJECT);
+        assertEquals(HttpStatus.OK, sent.getStatusCode());
+        assertEquals("EMAIL_SENT", sent.getBody().get("errorCode"));
+
+        ResponseEntity<String> badToken = rest.postForEntity("/auth/reset-password?token=unknown&newPassword=x",
+                null, String.class);
+        assertEquals(HttpStatus.BAD_REQUEST, badToken.getStatusCode());
+
+        String resetToken = queryForString("select t.token from password_reset_token t "
+                + "join user u on u.user_id = t.user_id where u.user_email = ?", email);
+        ResponseEntity<String> reset = rest.postForEntity("/auth/reset-password?token=" + resetToken
+                + "&newPassword=Changed-456", null, String.class);
+        assertEquals(HttpStatus.OK, reset.getStatusCode());
+        assertEquals("Password reset successful.", reset.getBody());
+
+        assertEquals(HttpStatus.UNAUTHORIZED, login(email, PASSWORD).getStatusCode());
+        assertEquals(HttpStatus.OK, login(email, "Changed-456").getStatusCode());
+        assertEquals(HttpStatus.UNAUTHORIZED, refresh(refreshToken).getStatusCode());
+    }
+
+    /**
+     * Registers a user, marks it verified (before any login, so no account state is cached) and logs in.
+     *
+     * @return The access token.
+     */
+    private String registerVerifiedUser(String email) {
+        assertEquals(HttpStatus.CREATED, rest.postForEntity("/user/new", user(email), String.class).getStatusCode());
+        enable(email);
+        ResponseEntity<Map<String, Object>> response = login(email, PASSWORD);
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        return (String) response.getBody().get("token");
+    }
+
+    private void enable(String email) {
+        update("update user set is_enabled = true where user_email = ?", email);
+    }
+
+    private ResponseEntity<Map<String, Object>> login(String email, String password) {
+        return rest.exchange("/user/login", HttpMethod.POST,
+                new HttpEntity<>(Map.of("userEmail", email, "password", password)), JSON_OBJECT);
+    }
+
+    private ResponseEntity<Map<String, Object>> refresh(String refreshToken) {
+        return rest.exchange("/auth/refresh", HttpMethod.POST,
+                new HttpEntity<>(Map.of("refreshToken", refreshToken)), JSON_OBJECT);
+    }
+
+    private ResponseEntity<Map<String, Object>> post(String path, String token, Object body) {
+        return rest.exchange(path, HttpMethod.POST, new HttpEntity<>(body, bearer(token)), JSON_OBJECT);
+    }
+
+    private <T> ResponseEntity<T> get(String path, String token, Class<T> type) {
+        return rest.exchange(path, HttpMethod.GET, new HttpEntity<>(bearer(token)), type);
+    }
+
+    private <T> ResponseEntity<T> get(String path, String token, ParameterizedTypeReference<T> type) {
+        return rest.exchange(path, HttpMethod.GET, new HttpEntity<>(bearer(token)), type);
+    }
+
+    private static HttpHeaders bearer(String token) {
+        HttpHeaders headers = new HttpHeaders();
+        if (token != null) {
+            headers.setBearerAuth(token);
+        }
+        return headers;
+    }
+
+    protected static Map<String, Object> user(String email) {
+        Map<String, Object> user = new java.util.HashMap<>();
+        user.put("fullName", "Dr. Contract");
+        user.put("userEmail", email);
+        user.put("phoneNumber", "9876543210");
+        user.put("aadharNo", "123456789012");
+        user.put("password", PASSWORD);
+        user.put("specialization", "Cardiology");
+        user.put("experience", 10);
+        user.put("openTime", "08:00:00");
+        user.put("closeTime", "17:00:00");
+        return user;
+    }
+
+    protected static String uniqueEmail() {
+        return "contract-" + UUID.randomUUID().toString().substring(0, 8) + "@example.com";
+    }
+}
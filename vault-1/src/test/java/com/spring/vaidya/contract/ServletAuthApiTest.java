@@ -0,0 +1,112 @@
+package com.spring.vaidya.contract;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.spring.vaidya.service.NormalizedEmailBackfill;
+
+/**
+ * Runs the API contract against the servlet application on an in-memory H2 database, with the
+ * Prometheus registry enabled (tests otherwise get only an in-memory one).
+ */
+@AutoConfigureObservability(tracing = false)
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.DEFINED_PORT, properties = {
+        "server.port=18091",
+        "spring.datasource.url=jdbc:h2:mem:servlet-contract;MODE=MySQL;NON_KEYWORDS=USER",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.show-sql=false"
+})
+class ServletAuthApiTest extends AuthApiContract {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private NormalizedEmailBackfill normalizedEmailBackfill;
+
+    @Test
+    void authPipelineMetricsAreScrapedWithHistograms() {
+        HttpHeaders malformed = new HttpHeaders();
+        malformed.setBearerAuth("not-a-jwt");
+        rest.exchange("/user/protected", HttpMethod.GET, new HttpEntity<>(malformed), String.class);
+        rest.getForEntity("/user/welcome", String.class);
+
+        ResponseEntity<String> scrape = rest.getForEntity("/actuator/prometheus", String.class);
+        assertEquals(HttpStatus.OK, scrape.getStatusCode());
+        String body = scrape.getBody();
+        assertTrue(body.contains("jwt_auth_requests_total{outcome=\"malformed\"}"), "No malformed-token outcome");
+        assertTrue(body.contains("jwt_auth_requests_total{outcome=\"no_token\"}"), "No missing-token outcome");
+        assertTrue(body.contains("jwt_verify_seconds_bucket{"), "JWT verification has no histogram");
+        assertTrue(body.contains("password_hashing_duration_seconds_bucket{"), "Password hashing has no histogram");
+    }
+
+    @Test
+    void registrationQueuesTheVerificationEmailInTheOutbox() {
+        String email = uniqueEmail();
+        assertEquals(HttpStatus.OK, rest.postForEntity("/doctor/register", user(email), String.class).getStatusCode());
+        assertEquals("Complete Registration!", queryForString("select subject from email_outbox where recipient = ?", email));
+
+        ResponseEntity<String> status = rest.getForEntity("/actuator/emailoutbox", String.class);
+        assertEquals(HttpStatus.OK, status.getStatusCode());
+        assertTrue(status.getBody().contains("\"PENDING\""), status.getBody());
+    }
+
+    @Test
+    void repeatedTokenEmailRequestsAreCoalesced() {
+        String email = uniqueEmail();
+        assertEquals(HttpStatus.CREATED, rest.postForEntity("/user/new", user(email), String.class).getStatusCode());
+        for (String variant : new String[] { email, email.toUpperCase(), email }) {
+            assertEquals(HttpStatus.OK, rest.postForEntity("/auth/forgot-password?email=" + variant, null, String.class)
+                    .getStatusCode());
+        }
+        assertEquals("1", queryForString("select count(*) from email_outbox where recipient = ?", email));
+
+        String doctor = uniqueEmail();
+        assertEquals(HttpStatus.OK, rest.postForEntity("/doctor/register", user(doctor), String.class).getStatusCode());
+        assertEquals(HttpStatus.OK, rest.postForEntity("/doctor/resend-verification?email=" + doctor, null, String.class)
+                .getStatusCode());
+        assertEquals("1", queryForString("select count(*) from email_outbox where recipient = ?", doctor));
+        assertEquals(HttpStatus.BAD_REQUEST, rest.postForEntity("/doctor/resend-verification?email=" + uniqueEmail(),
+                null, String.class).getStatusCode());
+    }
+
+    @Test
+    void backfillNormalizesEmailsWrittenBeforeTheColumnExisted() {
+        String email = uniqueEmail();
+        String duplicate = " " + email.toUpperCase();
+        for (String legacy : new String[] { email.toUpperCase(), duplicate }) {
+            update("insert into user (full_name, user_email, experience, is_enabled, role_id) values ('Legacy', ?, 0, true, 1)",
+                    legacy);
+        }
+
+        normalizedEmailBackfill.backfill();
+
+        assertEquals(email, queryForString("select normalized_email from user where user_email = ?", email.toUpperCase()));
+        assertNull(queryForString("select normalized_email from user where user_email = ?", duplicate));
+    }
+
+    @Override
+    protected String queryForString(String sql, Object... args) {
+        return jdbcTemplate.query(sql, rs -> rs.next() ? rs.getString(1) : null, args);
+    }
+
+    @Override
+    protected void update(String sql, Object... args) {
+        jdbcTemplate.update(sql, args);
+    }
+}
@@ -0,0 +1,81 @@
+package com.spring.vaidya.jwt;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Date;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.security.Keys;
+
+class JwtCodecTest {
+
+    private static final long MINUTE = 60_000;
+
+    private final String previousSecret = secret((byte) 1);
+    private final String latestSecret = secret((byte) 2);
+
+    @Test
+    void restoredRecentRotationKeepsSigningWithThePreviousKey() {
+        JwtCodec codec = new JwtCodec(15 * MINUTE, 5 * MINUTE, 5 * MINUTE);
+
+        codec.restoreKeys("v1", previousSecret, "v2", latestSecret, System.currentTimeMillis() - MINUTE);
+
+        assertEquals("v1", kid(sign(codec)));
+        assertTrue(codec.verifyAndParse(signedElsewhere("v1", previousSecret)).isValid());
+        assertTrue(codec.verifyAndParse(signedElsewhere("v2", latestSecret)).isValid());
+    }
+
+    @Test
+    void restoredOldRotationSignsWithTheLatestKeyAndStillVerifiesThePrevious() {
+        JwtCodec codec = new JwtCodec(15 * MINUTE, 5 * MINUTE, 5 * MINUTE);
+
+        codec.restoreKeys("v1", previousSecret, "v2", latestSecret, System.currentTimeMillis() - 10 * MINUTE);
+
+        assertEquals("v2", kid(sign(codec)));
+        assertTrue(codec.verifyAndParse(signedElsewhere("v1", previousSecret)).isValid());
+    }
+
+    @Test
+    void withoutPreviousKeyTheLatestSignsImmediately() {
+        JwtCodec codec = new JwtCodec(15 * MINUTE, 5 * MINUTE, 5 * MINUTE);
+
+        codec.restoreKeys(null, null, "v2", latestSecret, System.currentTimeMillis());
+
+        assertEquals("v2", kid(sign(codec)));
+    }
+
+    private static String sign(JwtCodec codec) {
+        Date now = new Date();
+        return codec.sign("a@example.com", Map.of(), now, new Date(now.getTime() + MINUTE));
+    }
+
+    private static String signedElsewhere(String kid, String secret) {
+        Date now = new Date();
+        return Jwts.builder()
+                .setHeaderParam(JwsHeader.KEY_ID, kid)
+                .setSubject("a@example.com")
+                .setIssuedAt(now)
+                .setExpiration(new Date(now.getTime() + MINUTE))
+                .signWith(Keys.hmacShaKeyFor(Base64.getDecoder().decode(secret)), SignatureAlgorithm.HS512)
+                .compact();
+    }
+
+    private static String kid(String token) {
+        String header = new String(Base64.getUrlDecoder().decode(token.substring(0, token.indexOf('.'))));
+        return header.replaceAll(".*\"kid\":\"([^\"]+)\".*", "$1");
+    }
+
+    private static String secret(byte fill) {
+        byte[] bytes = new byte[64];
+        Arrays.fill(bytes, fill);
+        return Base64.getEncoder().encodeToString(bytes);
+    }
+}
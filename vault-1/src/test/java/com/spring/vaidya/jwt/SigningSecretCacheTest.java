@@ -0,0 +1,84 @@
+package com.spring.vaidya.jwt;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Optional;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.spring.vaidya.service.HashiCorpApiService;
+
+class SigningSecretCacheTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void storedSecretIsEncryptedAndReadBack() throws Exception {
+        Path file = dir.resolve("jwt-secret.cache");
+        SigningSecretCache cache = new SigningSecretCache(file.toString(), "test-password");
+
+        cache.store(new HashiCorpApiService.SecretVersion(7, "c2VjcmV0LXZhbHVl"));
+
+        assertFalse(Files.readString(file, StandardCharsets.UTF_8).contains("c2VjcmV0LXZhbHVl"));
+        Optional<SigningSecretCache.Contents> loaded = cache.load();
+        assertTrue(loaded.isPresent());
+        assertEquals(7, loaded.get().latest().getVersion());
+        assertEquals("c2VjcmV0LXZhbHVl", loaded.get().latest().getValue());
+        assertEquals("v7", loaded.get().latest().getKeyId());
+        assertNull(loaded.get().previous());
+    }
+
+    @Test
+    void rotatedSecretKeepsThePreviousOneAndWhenItWasStored() throws Exception {
+        Path file = dir.resolve("jwt-secret.cache");
+        SigningSecretCache cache = new SigningSecretCache(file.toString(), "test-password");
+        cache.store(new HashiCorpApiService.SecretVersion(7, "c2VjcmV0LXZhbHVl"));
+
+        long before = System.currentTimeMillis();
+        cache.store(new HashiCorpApiService.SecretVersion(8, "bmV4dC1zZWNyZXQ="));
+        long storedAt = cache.load().get().latestStoredAt();
+        cache.store(new HashiCorpApiService.SecretVersion(8, "bmV4dC1zZWNyZXQ=")); // Same version fetched again
+
+        SigningSecretCache.Contents loaded = cache.load().get();
+        assertEquals("v8", loaded.latest().getKeyId());
+        assertEquals("v7", loaded.previous().getKeyId());
+        assertEquals("c2VjcmV0LXZhbHVl", loaded.previous().getValue());
+        assertEquals(storedAt, loaded.latestStoredAt());
+        assertTrue(storedAt >= before);
+        assertFalse(Files.readString(file, StandardCharsets.UTF_8).contains("c2VjcmV0LXZhbHVl"));
+    }
+
+    @Test
+    void wrongPasswordOrTamperedFileIsIgnored() throws Exception {
+        Path file = dir.resolve("jwt-secret.cache");
+        new SigningSecretCache(file.toString(), "test-password")
+                .store(new HashiCorpApiService.SecretVersion(7, "c2VjcmV0LXZhbHVl"));
+
+        assertFalse(new SigningSecretCache(file.toString(), "other-password").load().isPresent());
+
+        String content = Files.readString(file, StandardCharsets.UTF_8);
+        int at = content.indexOf("secret=") + "secret=".length() + 40;
+        char flipped = content.charAt(at) == '0' ? '1' : '0';
+        Files.writeString(file, content.substring(0, at) + flipped + content.substring(at + 1), StandardCharsets.UTF_8);
+        assertFalse(new SigningSecretCache(file.toString(), "test-password").load().isPresent());
+    }
+
+    @Test
+    void cacheIsDisabledWithoutPassword() {
+        Path file = dir.resolve("jwt-secret.cache");
+        SigningSecretCache cache = new SigningSecretCache(file.toString(), "");
+
+        cache.store(new HashiCorpApiService.SecretVersion(1, "c2VjcmV0"));
+
+        assertFalse(Files.exists(file));
+        assertFalse(cache.load().isPresent());
+    }
+}
@@ -0,0 +1,446 @@
+package com.spring.vaidya.perf;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Pattern;
+
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.spring.vaidya.Vault1Application;
+import com.spring.vaidya.jwt.JwtCodec;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.HistogramSnapshot;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * End-to-end load test of the auth API that runs without network access. It starts the servlet
+ * application under the {@code hcp-stub} and {@code loadtest} profiles (H2 in MySQL mode, HCP
+ * token and secret endpoints served by the application itself) with mail going to an in-process
+ * {@link SmtpSink}, seeds verified doctor accounts through the API, and then drives a fixed mix of
+ * traffic at constant rates:
+ * <ul>
+ *   <li>{@code POST /doctor/register} with new emails, and {@code GET /doctor/confirm-account} with
+ *       the link each registration mailed;</li>
+ *   <li>{@code POST /user/login} for the seeded accounts;</li>
+ *   <li>{@code GET /doctor/{id}} and {@code GET /doctor/email} with the seeded accounts' bearer tokens;</li>
+ *   <li>{@code POST /auth/forgot-password}, and {@code POST /auth/reset-password} with the mailed token,
+ *       on a separate set of accounts (a reset ends the account's sessions).</li>
+ * </ul>
+ * Requests are issued on a schedule rather than one after another (an open model), and latency is
+ * measured from each request's scheduled start, so a slow server is charged for the queueing it
+ * causes. Confirm and reset requests are timed from when their mailed token is available. After a
+ * warm-up, throughput and p50/p99/p99.9 latency are printed per endpoint. Login throttling is off,
+ * as all traffic comes from one address.
+ * <p>
+ * Build with {@code mvn test-compile}, then run:
+ * <pre>
+ * java -cp "target/classes:target/test-classes:$(mvn -q dependency:build-classpath -Dmdep.outputFile=/dev/stdout)" \
+ *      com.spring.vaidya.perf.AuthLoadTest [durationSeconds] [warmupSeconds] [rateScale] [platform|virtual]
+ * </pre>
+ * Defaults: 60 s measured after 15 s of warm-up, at the base rates in {@link #main}, on platform
+ * threads. A rate scale of 2 doubles every rate; on hosts with one or two cores, scale down (e.g.
+ * 0.25), as every register, login and reset hashes a password and the base mix then saturates the
+ * hashing pool. {@code virtual} adds the {@code virtual-threads} profile and needs a Java 21 build;
+ * {@link ThreadModelBenchmark} runs both and prints the results side by side.
+ */
+public final class AuthLoadTest {
+
+    private static final String PASSWORD = "Secret#123";
+    private static final int LOGIN_ACCOUNTS = 20;
+    private static final int RESET_ACCOUNTS = 10;
+    private static final long MAIL_WAIT_MS = 5000;
+
+    private static final Pattern CONFIRM_LINK = Pattern.compile("confirm-account\\?token=([\\w-]+)");
+    private static final Pattern RESET_LINK = Pattern.compile("reset-password\\?token=([\\w-]+)");
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final HttpClient http = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final SmtpSink sink;
+    private final String baseUrl;
+
+    private final List<Account> readers = new ArrayList<>();
+    private final ConcurrentLinkedQueue<String> unconfirmed = new ConcurrentLinkedQueue<>();
+    private final ConcurrentLinkedQueue<String> idleResetAccounts = new ConcurrentLinkedQueue<>();
+    private final ConcurrentLinkedQueue<String> awaitingReset = new ConcurrentLinkedQueue<>();
+    private final AtomicLong sequence = new AtomicLong();
+
+    private volatile boolean recording;
+
+    private AuthLoadTest(SmtpSink sink, int port) {
+        this.sink = sink;
+        this.baseUrl = "http://localhost:" + port;
+    }
+
+    public static void main(String[] args) throws Exception {
+        int durationSeconds = args.length > 0 ? Integer.parseInt(args[0]) : 60;
+        int warmupSeconds = args.length > 1 ? Integer.parseInt(args[1]) : 15;
+        double rateScale = args.length > 2 ? Double.parseDouble(args[2]) : 1.0;
+        boolean virtualThreads = args.length > 3 && args[3].equals("virtual");
+
+        try (SmtpSink sink = new SmtpSink()) {
+            int port = freePort();
+            System.setProperty("spring.devtools.restart.enabled", "false");
+            // Passed as arguments so they take precedence over application.properties
+            ConfigurableApplicationContext app = new SpringApplicationBuilder(Vault1Application.class)
+                    .profiles(virtualThreads
+                            ? new String[] {"hcp-stub", "loadtest", "virtual-threads"}
+                            : new String[] {"hcp-stub", "loadtest"})
+                    .run("--server.port=" + port, "--spring.mail.port=" + sink.port());
+            try {
+                awaitSigningKey(app.getBean(JwtCodec.class));
+                AuthLoadTest test = new AuthLoadTest(sink, port);
+                test.seed();
+
+                // Base rates in requests per second
+                List<Scenario> scenarios = List.of(
+                        test.scenario("POST /doctor/register", 2 * rateScale, false, test::register),
+                        test.scenario("GET /doctor/confirm-account", 2 * rateScale, true, test::confirm),
+                        test.scenario("POST /user/login", 10 * rateScale, false, test::login),
+                        test.scenario("GET /doctor/{id}", 50 * rateScale, false, test::doctorById),
+                        test.scenario("GET /doctor/email", 20 * rateScale, false, test::doctorByEmail),
+                        test.scenario("POST /auth/forgot-password", 2 * rateScale, false, test::forgotPassword),
+                        test.scenario("POST /auth/reset-password", 2 * rateScale, true, test::resetPassword));
+                test.run(scenarios, warmupSeconds, durationSeconds);
+            } finally {
+                app.close();
+            }
+        }
+        System.exit(0);
+    }
+
+    /**
+     * Registers and verifies the accounts used for logins, reads and password resets.
+     */
+    private void seed() throws Exception {
+        for (int i = 0; i < LOGIN_ACCOUNTS + RESET_ACCOUNTS; i++) {
+            String email = uniqueEmail("seed");
+            expectOk(send(registerRequest(email)), "register " + email);
+            String token = sink.awaitMatch(email, CONFIRM_LINK, MAIL_WAIT_MS);
+            if (token == null) {
+                throw new IllegalStateException("No confirmation mail for " + email);
+            }
+            expectOk(send(get("/doctor/confirm-account?token=" + token, null)), "confirm " + email);
+            if (i < LOGIN_ACCOUNTS) {
+                HttpResponse<String> login = send(loginRequest(email));
+                expectOk(login, "login " + email);
+                JsonNode body = objectMapper.readTree(login.body());
+                readers.add(new Account(email, body.get("userId").asLong(), body.get("token").asText()));
+            } else {
+                idleResetAccounts.add(email);
+            }
+        }
+        System.out.printf("Seeded %d accounts%n", LOGIN_ACCOUNTS + RESET_ACCOUNTS);
+    }
+
+    private void run(List<Scenario> scenarios, int warmupSeconds, int durationSeconds) throws InterruptedException {
+        ExecutorService workers = Executors.newCachedThreadPool();
+        ScheduledExecutorService ticker = Executors.newScheduledThreadPool(scenarios.size());
+        long start = System.nanoTime();
+        for (Scenario scenario : scenarios) {
+            long intervalNanos = (long) (TimeUnit.SECONDS.toNanos(1) / scenario.rate);
+            AtomicLong tick = new AtomicLong();
+            ticker.scheduleAtFixedRate(() -> {
+                long intendedStart = start + tick.getAndIncrement() * intervalNanos;
+                workers.execute(() -> scenario.execute(intendedStart));
+            }, 0, intervalNanos, TimeUnit.NANOSECONDS);
+        }
+
+        System.out.printf("Warming up for %d s%n", warmupSeconds);
+        Thread.sleep(TimeUnit.SECONDS.toMillis(warmupSeconds));
+        recording = true;
+        long measuredFrom = System.nanoTime();
+        System.out.printf("Measuring for %d s%n", durationSeconds);
+        Thread.sleep(TimeUnit.SECONDS.toMillis(durationSeconds));
+        recording = false;
+        double measuredSeconds = (System.nanoTime() - measuredFrom) / 1e9;
+
+        ticker.shutdownNow();
+        workers.shutdown();
+        workers.awaitTermination(30, TimeUnit.SECONDS);
+        report(scenarios, measuredSeconds);
+    }
+
+    private void report(List<Scenario> scenarios, double seconds) {
+        System.out.printf("%n%-30s %8s %8s %8s %9s %9s %9s %9s %9s%n",
+                "endpoint", "target/s", "req/s", "errors", "skipped", "p50 ms", "p99 ms", "p99.9 ms", "max ms");
+        for (Scenario scenario : scenarios) {
+            HistogramSnapshot snapshot = scenario.latency.takeSnapshot();
+            Map<Double, Double> percentiles = new HashMap<>();
+            for (ValueAtPercentile value : snapshot.percentileValues()) {
+                percentiles.put(value.percentile(), value.value(TimeUnit.MILLISECONDS));
+            }
+            System.out.printf("%-30s %8.1f %8.1f %8d %9d %9.1f %9.1f %9.1f %9.1f%n",
+                    scenario.name, scenario.rate, snapshot.count() / seconds,
+                    (long) scenario.errors.count(), (long) scenario.skipped.count(),
+                    percentiles.getOrDefault(0.5, 0.0), percentiles.getOrDefault(0.99, 0.0),
+                    percentiles.getOrDefault(0.999, 0.0), snapshot.max(TimeUnit.MILLISECONDS));
+        }
+        System.out.printf("%nMails received by the SMTP sink: %d%n", sink.received());
+    }
+
+    // Scenario operations: build the request for one tick, or return null when there is nothing to do
+
+    private Call register() {
+        String email = uniqueEmail("load");
+        return new Call(registerRequest(email), () -> unconfirmed.add(email));
+    }
+
+    private Call confirm() throws InterruptedException {
+        String email = unconfirmed.poll();
+        if (email == null) {
+            return null;
+        }
+        String token = sink.awaitMatch(email, CONFIRM_LINK, MAIL_WAIT_MS);
+        return token == null ? null : new Call(get("/doctor/confirm-account?token=" + token, null), null);
+    }
+
+    private Call login() {
+        return new Call(loginRequest(nextReader().email), null);
+    }
+
+    private Call doctorById() {
+        Account reader = nextReader();
+        return new Call(get("/doctor/" + reader.userId, reader.token), null);
+    }
+
+    private Call doctorByEmail() {
+        Account reader = nextReader();
+        return new Call(get("/doctor/email?email=" + encode(reader.email), reader.token), null);
+    }
+
+    private Call forgotPassword() {
+        String email = idleResetAccounts.poll();
+        if (email == null) {
+            return null;
+        }
+        return new Call(post("/auth/forgot-password?email=" + encode(email), null), () -> awaitingReset.add(email),
+                () -> idleResetAccounts.add(email));
+    }
+
+    private Call resetPassword() throws InterruptedException {
+        String email = awaitingReset.poll();
+        if (email == null) {
+            return null;
+        }
+        String token = sink.awaitMatch(email, RESET_LINK, MAIL_WAIT_MS);
+        if (token == null) {
+            idleResetAccounts.add(email);
+            return null;
+        }
+        // Reset to the same password so the account can go round again
+        Runnable release = () -> idleResetAccounts.add(email);
+        return new Call(post("/auth/reset-password?token=" + token + "&newPassword=" + encode(PASSWORD), null),
+                release, release);
+    }
+
+    // Requests
+
+    private HttpRequest registerRequest(String email) {
+        Map<String, Object> doctor = new HashMap<>();
+        doctor.put("fullName", "Dr. Load");
+        doctor.put("userEmail", email);
+        doctor.put("phoneNumber", "9876543210");
+        doctor.put("aadharNo", "123456789012");
+        doctor.put("password", PASSWORD);
+        doctor.put("specialization", "Cardiology");
+        doctor.put("experience", 10);
+        doctor.put("openTime", "08:00:00");
+        doctor.put("closeTime", "17:00:00");
+        return post("/doctor/register", doctor);
+    }
+
+    private HttpRequest loginRequest(String email) {
+        return post("/user/login", Map.of("userEmail", email, "password", PASSWORD));
+    }
+
+    private HttpRequest get(String path, String bearerToken) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(baseUrl + path)).timeout(Duration.ofSeconds(30)).GET();
+        if (bearerToken != null) {
+            builder.header("Authorization", "Bearer " + bearerToken);
+        }
+        return builder.build();
+    }
+
+    private HttpRequest post(String path, Object jsonBody) {
+        HttpRequest.BodyPublisher body;
+        try {
+            body = jsonBody == null ? HttpRequest.BodyPublishers.noBody()
+                    : HttpRequest.BodyPublishers.ofString(objectMapper.writeValueAsString(jsonBody));
+        } catch (IOException e) {
+            throw new IllegalArgumentException(e);
+        }
+        return HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(Duration.ofSeconds(30))
+                .header("Content-Type", "application/json")
+                .POST(body)
+                .build();
+    }
+
+    private HttpResponse<String> send(HttpRequest request) throws IOException, InterruptedException {
+        return http.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+
+    private Account nextReader() {
+        return readers.get((int) (sequence.getAndIncrement() % readers.size()));
+    }
+
+    private Scenario scenario(String name, double rate, boolean timedFromToken, Operation operation) {
+        return new Scenario(name, rate, timedFromToken, operation);
+    }
+
+    private static void expectOk(HttpResponse<String> response, String what) {
+        if (response.statusCode() / 100 != 2) {
+            throw new IllegalStateException(what + " failed with " + response.statusCode() + ": " + response.body());
+        }
+    }
+
+    private static void awaitSigningKey(JwtCodec jwtCodec) throws InterruptedException {
+        for (int i = 0; i < 300 && !jwtCodec.isReady(); i++) {
+            Thread.sleep(100);
+        }
+        if (!jwtCodec.isReady()) {
+            throw new IllegalStateException("No JWT signing key was loaded from the HCP stub");
+        }
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0, 1, InetAddress.getLoopbackAddress())) {
+            return socket.getLocalPort();
+        }
+    }
+
+    private static String uniqueEmail(String prefix) {
+        return prefix + "-" + UUID.randomUUID().toString().substring(0, 12) + "@example.com";
+    }
+
+    private static String encode(String value) {
+        return URLEncoder.encode(value, StandardCharsets.UTF_8);
+    }
+
+    @FunctionalInterface
+    private interface Operation {
+        Call next() throws Exception;
+    }
+
+    /**
+     * One request of a scenario, with what to do once it has been answered.
+     */
+    private static final class Call {
+        final HttpRequest request;
+        final Runnable onSuccess;
+        final Runnable onFailure;
+
+        Call(HttpRequest request, Runnable onSuccess) {
+            this(request, onSuccess, null);
+        }
+
+        Call(HttpRequest request, Runnable onSuccess, Runnable onFailure) {
+            this.request = request;
+            this.onSuccess = onSuccess;
+            this.onFailure = onFailure;
+        }
+    }
+
+    private static final class Account {
+        final String email;
+        final long userId;
+        final String token;
+
+        Account(String email, long userId, String token) {
+            this.email = email;
+            this.userId = userId;
+            this.token = token;
+        }
+    }
+
+    /**
+     * One endpoint driven at a constant rate, with its latency histogram and error counts.
+     */
+    private final class Scenario {
+        final String name;
+        final double rate;
+        final boolean timedFromToken;
+        final Operation operation;
+        final Timer latency;
+        final Counter errors;
+        final Counter skipped;
+
+        Scenario(String name, double rate, boolean timedFromToken, Operation operation) {
+            this.name = name;
+            this.rate = rate;
+            this.timedFromToken = timedFromToken;
+            this.operation = operation;
+            this.latency = Timer.builder("loadtest.request")
+                    .tag("endpoint", name)
+                    .publishPercentiles(0.5, 0.99, 0.999)
+                    .percentilePrecision(2)
+                    // One histogram for the whole run instead of Micrometer's rolling window
+                    .distributionStatisticExpiry(Duration.ofDays(1))
+                    .distributionStatisticBufferLength(1)
+                    .register(registry);
+            this.errors = registry.counter("loadtest.errors", "endpoint", name);
+            this.skipped = registry.counter("loadtest.skipped", "endpoint", name);
+        }
+
+        void execute(long intendedStart) {
+            Call call;
+            try {
+                call = operation.next();
+            } catch (Exception e) {
+                call = null;
+            }
+            if (call == null) {
+                if (recording) {
+                    skipped.increment();
+                }
+                return;
+            }
+            long start = timedFromToken ? System.nanoTime() : intendedStart;
+            boolean success;
+            try {
+                success = send(call.request).statusCode() / 100 == 2;
+            } catch (IOException | InterruptedException e) {
+                success = false;
+            }
+            if (recording) {
+                latency.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                if (!success) {
+                    errors.increment();
+                }
+            }
+            Runnable next = success ? call.onSuccess : call.onFailure;
+            if (next != null) {
+                next.run();
+            }
+        }
+    }
+}
@@ -0,0 +1,188 @@
+package com.spring.vaidya.perf;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Minimal SMTP server on localhost that accepts every message and keeps its body per recipient, so
+ * load tests can send real mail and read confirmation and reset links back out of it. It speaks just
+ * enough SMTP for JavaMail: no AUTH or STARTTLS is advertised, so the client skips both, unless
+ * {@link #requireLogin(int)} turns on AUTH PLAIN. Also used by the mail sender tests as a local SMTP stand-in.
+ */
+public final class SmtpSink implements Closeable {
+
+    private final ServerSocket serverSocket;
+    private final ExecutorService sessions = Executors.newCachedThreadPool(runnable -> {
+        Thread thread = new Thread(runnable, "smtp-sink");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final Map<String, BlockingQueue<String>> inboxes = new ConcurrentHashMap<>();
+    private final AtomicLong received = new AtomicLong();
+    private final AtomicLong connections = new AtomicLong();
+    private final AtomicLong logins = new AtomicLong();
+
+    private volatile long loginsAllowed = -1; // -1: AUTH not advertised
+
+    public SmtpSink() throws IOException {
+        serverSocket = new ServerSocket(0, 200, InetAddress.getLoopbackAddress());
+        sessions.execute(this::acceptLoop);
+    }
+
+    public int port() {
+        return serverSocket.getLocalPort();
+    }
+
+    public long received() {
+        return received.get();
+    }
+
+    /**
+     * @return SMTP connections accepted so far.
+     */
+    public long connections() {
+        return connections.get();
+    }
+
+    /**
+     * Advertises AUTH PLAIN and accepts any credentials for the first {@code allowed} logins; later
+     * logins are rejected with 535, as when a password is rotated while connections are open.
+     */
+    public void requireLogin(int allowed) {
+        loginsAllowed = allowed;
+    }
+
+    /**
+     * Waits for the next message to a recipient and extracts the first group of a pattern from its body.
+     *
+     * @return The matched text, or null if no matching message arrived in time.
+     */
+    public String awaitMatch(String recipient, Pattern pattern, long timeoutMs) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMs);
+        BlockingQueue<String> inbox = inbox(recipient);
+        long remaining;
+        while ((remaining = deadline - System.nanoTime()) > 0) {
+            String body = inbox.poll(remaining, TimeUnit.NANOSECONDS);
+            if (body == null) {
+                return null;
+            }
+            Matcher matcher = pattern.matcher(body);
+            if (matcher.find()) {
+                return matcher.group(1);
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public void close() throws IOException {
+        serverSocket.close();
+        sessions.shutdownNow();
+    }
+
+    private BlockingQueue<String> inbox(String recipient) {
+        return inboxes.computeIfAbsent(recipient.toLowerCase(Locale.ROOT), key -> new LinkedBlockingQueue<>());
+    }
+
+    private void acceptLoop() {
+        while (!serverSocket.isClosed()) {
+            try {
+                Socket socket = serverSocket.accept();
+                connections.incrementAndGet();
+                sessions.execute(() -> session(socket));
+            } catch (IOException e) {
+                return; // Closed
+            }
+        }
+    }
+
+    private void session(Socket socket) {
+        try (socket;
+             BufferedReader in = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.US_ASCII));
+             Writer out = new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.US_ASCII)) {
+            reply(out, "220 localhost SMTP sink");
+            List<String> recipients = new ArrayList<>();
+            String line;
+            while ((line = in.readLine()) != null) {
+                String command = line.length() >= 4 ? line.substring(0, 4).toUpperCase(Locale.ROOT) : line.toUpperCase(Locale.ROOT);
+                switch (command) {
+                    case "EHLO", "HELO" -> reply(out, loginsAllowed >= 0 ? "250-localhost\r\n250 AUTH PLAIN" : "250 localhost");
+                    case "AUTH" -> {
+                        if (line.trim().equalsIgnoreCase("AUTH PLAIN")) {
+                            reply(out, "334 "); // Credentials follow on their own line
+                            in.readLine();
+                        }
+                        reply(out, logins.incrementAndGet() <= loginsAllowed
+                                ? "235 Authentication successful" : "535 Authentication failed");
+                    }
+                    case "MAIL" -> {
+                        recipients.clear();
+                        reply(out, "250 OK");
+                    }
+                    case "RCPT" -> {
+                        recipients.add(address(line));
+                        reply(out, "250 OK");
+                    }
+                    case "DATA" -> {
+                        reply(out, "354 End data with <CR><LF>.<CR><LF>");
+                        String body = readData(in);
+                        for (String recipient : recipients) {
+                            inbox(recipient).add(body);
+                        }
+                        received.incrementAndGet();
+                        reply(out, "250 OK");
+                    }
+                    case "QUIT" -> {
+                        reply(out, "221 Bye");
+                        return;
+                    }
+                    default -> reply(out, "250 OK"); // RSET, NOOP and anything else
+                }
+            }
+        } catch (IOException e) {
+            // Client went away; nothing to clean up
+        }
+    }
+
+    private static String readData(BufferedReader in) throws IOException {
+        StringBuilder body = new StringBuilder();
+        String line;
+        while ((line = in.readLine()) != null && !line.equals(".")) {
+            body.append(line.startsWith("..") ? line.substring(1) : line).append('\n');
+        }
+        return body.toString();
+    }
+
+    private static String address(String rcptLine) {
+        int start = rcptLine.indexOf('<');
+        int end = rcptLine.indexOf('>');
+        return start >= 0 && end > start ? rcptLine.substring(start + 1, end) : rcptLine.substring(rcptLine.indexOf(':') + 1).trim();
+    }
+
+    private static void reply(Writer out, String line) throws IOException {
+        out.write(line);
+        out.write("\r\n");
+        out.flush();
+    }
+}
@@ -0,0 +1,77 @@
+package com.spring.vaidya.perf;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Compares the application's throughput and latency on platform threads and on virtual threads by
+ * running {@link AuthLoadTest} twice, each time in a fresh JVM with its own in-memory database: once
+ * as built, and once under the {@code virtual-threads} profile ({@code spring.threads.virtual.enabled}).
+ * Both runs offer the same traffic at the same rates, so differences in req/s and p99 come from the
+ * thread model alone. The load test's log output is dropped and its result tables are printed one
+ * after the other.
+ * <p>
+ * Requires Java 21. Build with {@code mvn -Pjava21 test-compile}, then run:
+ * <pre>
+ * java -cp "target/classes:target/test-classes:$(mvn -q -Pjava21 dependency:build-classpath -Dmdep.outputFile=/dev/stdout)" \
+ *      com.spring.vaidya.perf.ThreadModelBenchmark [durationSeconds] [warmupSeconds] [rateScale]
+ * </pre>
+ * The arguments and their defaults are those of {@link AuthLoadTest}. To see where virtual threads
+ * pay off, raise the rate scale until the platform run's p99 climbs.
+ */
+public final class ThreadModelBenchmark {
+
+    private ThreadModelBenchmark() {
+    }
+
+    public static void main(String[] args) throws IOException, InterruptedException {
+        if (Runtime.version().feature() < 21) {
+            System.err.println("Virtual threads need Java 21; running on " + Runtime.version());
+            System.exit(1);
+        }
+        for (String model : List.of("platform", "virtual")) {
+            List<String> loadTestArgs = new ArrayList<>(List.of(
+                    args.length > 0 ? args[0] : "60",
+                    args.length > 1 ? args[1] : "15",
+                    args.length > 2 ? args[2] : "1.0",
+                    model));
+            System.out.printf("%n== %s threads ==%n", model);
+            int exitCode = runLoadTest(loadTestArgs);
+            if (exitCode != 0) {
+                System.err.printf("Load test on %s threads exited with %d%n", model, exitCode);
+                System.exit(exitCode);
+            }
+        }
+    }
+
+    /**
+     * Runs the load test in a child JVM with this JVM's classpath, printing only its result table.
+     */
+    private static int runLoadTest(List<String> loadTestArgs) throws IOException, InterruptedException {
+        List<String> command = new ArrayList<>(List.of(
+                Path.of(System.getProperty("java.home"), "bin", "java").toString(),
+                "-cp", System.getProperty("java.class.path"),
+                AuthLoadTest.class.getName()));
+        command.addAll(loadTestArgs);
+
+        Process process = new ProcessBuilder(command).redirectErrorStream(true).start();
+        boolean inReport = false;
+        try (BufferedReader output = new BufferedReader(
+                new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = output.readLine()) != null) {
+                inReport |= line.startsWith("endpoint ");
+                if (inReport) {
+                    System.out.println(line);
+                    inReport = !line.startsWith("Mails received"); // Last line of the table
+                }
+            }
+        }
+        return process.waitFor();
+    }
+}
@@ -0,0 +1,115 @@
+package com.spring.vaidya.security;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import com.spring.vaidya.exception.HashingCapacityExceededException;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class BoundedPasswordEncoderTest {
+
+    private final CountDownLatch release = new CountDownLatch(1);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private BoundedPasswordEncoder encoder;
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        encoder.close();
+    }
+
+    @Test
+    void hashesOnThePoolAndRecordsTimings() {
+        release.countDown();
+        encoder = new BoundedPasswordEncoder(new BlockingEncoder(release), 2, 4, 1000, meterRegistry);
+
+        assertEquals("hash:secret", encoder.encode("secret"));
+        assertTrue(encoder.matches("secret", "hash:secret"));
+        assertFalse(encoder.matches("other", "hash:secret"));
+
+        assertEquals(1, meterRegistry.get("password.hashing.duration").tag("operation", "encode").timer().count());
+        assertEquals(2, meterRegistry.get("password.hashing.duration").tag("operation", "matches").timer().count());
+        assertEquals(3, meterRegistry.get("password.hashing.wait").timer().count());
+    }
+
+    @Test
+    void rejectsImmediatelyWhenTheQueueIsFull() throws Exception {
+        encoder = new BoundedPasswordEncoder(new BlockingEncoder(release), 1, 1, 10_000, meterRegistry);
+
+        CompletableFuture<String> running = CompletableFuture.supplyAsync(() -> encoder.encode("a"));
+        waitUntil(() -> meterRegistry.get("password.hashing.active").gauge().value() == 1);
+        CompletableFuture<String> queued = CompletableFuture.supplyAsync(() -> encoder.encode("b"));
+        waitUntil(() -> meterRegistry.get("password.hashing.queue.depth").gauge().value() == 1);
+
+        long start = System.nanoTime();
+        HashingCapacityExceededException rejected =
+                assertThrows(HashingCapacityExceededException.class, () -> encoder.encode("c"));
+        assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) < 500, "rejection should not wait");
+        assertTrue(rejected.getRetryAfterSeconds() >= 1);
+        assertEquals(1.0, meterRegistry.get("password.hashing.rejected").counter().count());
+
+        release.countDown();
+        assertEquals("hash:a", running.get(5, TimeUnit.SECONDS));
+        assertEquals("hash:b", queued.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void givesUpAfterTheMaximumWait() {
+        encoder = new BoundedPasswordEncoder(new BlockingEncoder(release), 1, 1, 100, meterRegistry);
+
+        assertThrows(HashingCapacityExceededException.class, () -> encoder.encode("slow"));
+    }
+
+    private static void waitUntil(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean()) {
+            if (System.nanoTime() > deadline) {
+                throw new AssertionError("condition not met in time");
+            }
+            Thread.sleep(5);
+        }
+    }
+
+    /**
+     * Encoder that blocks until released, standing in for a slow hash.
+     */
+    private static final class BlockingEncoder implements PasswordEncoder {
+        private final CountDownLatch release;
+
+        private BlockingEncoder(CountDownLatch release) {
+            this.release = release;
+        }
+
+        @Override
+        public String encode(CharSequence rawPassword) {
+            await();
+            return "hash:" + rawPassword;
+        }
+
+        @Override
+        public boolean matches(CharSequence rawPassword, String encodedPassword) {
+            await();
+            return ("hash:" + rawPassword).equals(encodedPassword);
+        }
+
+        private void await() {
+            try {
+                release.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+}
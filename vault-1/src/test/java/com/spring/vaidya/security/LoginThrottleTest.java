@@ -0,0 +1,61 @@
+package com.spring.vaidya.security;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.scheduling.TaskScheduler;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class LoginThrottleTest {
+
+    private final AtomicLong nanos = new AtomicLong();
+    private final LoginThrottle throttle;
+    private final ThrottleProperties.Limit limit = new ThrottleProperties.Limit();
+
+    LoginThrottleTest() {
+        ThrottleProperties properties = new ThrottleProperties();
+        properties.setIdleTtl(Duration.ofSeconds(60));
+        properties.setWheelTick(Duration.ofSeconds(10));
+        throttle = new LoginThrottle(properties, mock(TaskScheduler.class), new SimpleMeterRegistry(), nanos::get);
+        limit.setCapacity(2);
+        limit.setRefillPeriod(Duration.ofSeconds(5));
+    }
+
+    @Test
+    void keysHaveIndependentBuckets() {
+        assertEquals(0, throttle.tryAcquire("login|ip|10.0.0.1", limit));
+        assertEquals(0, throttle.tryAcquire("login|ip|10.0.0.1", limit));
+        assertEquals(5000, throttle.tryAcquire("login|ip|10.0.0.1", limit));
+        assertEquals(0, throttle.tryAcquire("login|ip|10.0.0.2", limit));
+        assertEquals(2, throttle.size());
+    }
+
+    @Test
+    void idleBucketsAreEvictedOnTheWheelAndActiveOnesKept() {
+        throttle.tryAcquire("idle", limit);
+        throttle.tryAcquire("active", limit);
+
+        for (int tick = 1; tick <= 12; tick++) {
+            advanceSeconds(10);
+            throttle.advance();
+            throttle.tryAcquire("active", limit);
+            if (tick == 5) {
+                assertEquals(2, throttle.size(), "nothing is evicted before the idle TTL");
+            }
+        }
+
+        assertEquals(1, throttle.size());
+        assertTrue(throttle.tryAcquire("active", limit) >= 0);
+    }
+
+    private void advanceSeconds(long seconds) {
+        nanos.addAndGet(TimeUnit.SECONDS.toNanos(seconds));
+    }
+}
@@ -0,0 +1,54 @@
+package com.spring.vaidya.security;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+class PasswordEncodersTest {
+
+    private static final PasswordEncoders.Settings CHEAP = new PasswordEncoders.Settings(4, 1024, 1, 1, 1000);
+
+    @Test
+    void writesPrefixedHashesForTheConfiguredAlgorithm() {
+        for (String algorithm : new String[] { PasswordEncoders.BCRYPT, PasswordEncoders.ARGON2, PasswordEncoders.PBKDF2 }) {
+            PasswordEncoder encoder = PasswordEncoders.create(algorithm, CHEAP);
+            String hash = encoder.encode("secret");
+
+            assertTrue(hash.startsWith("{" + algorithm + "}"), hash);
+            assertTrue(encoder.matches("secret", hash));
+            assertFalse(encoder.matches("other", hash));
+            assertFalse(encoder.upgradeEncoding(hash));
+        }
+    }
+
+    @Test
+    void matchesLegacyUnprefixedBcryptAndFlagsItForUpgrade() {
+        String legacy = new BCryptPasswordEncoder(4).encode("secret");
+        PasswordEncoder encoder = PasswordEncoders.create(PasswordEncoders.BCRYPT, CHEAP);
+
+        assertTrue(encoder.matches("secret", legacy));
+        assertFalse(encoder.matches("other", legacy));
+        assertTrue(encoder.upgradeEncoding(legacy));
+    }
+
+    @Test
+    void flagsOtherAlgorithmsAndWeakerCostForUpgrade() {
+        String bcrypt = PasswordEncoders.create(PasswordEncoders.BCRYPT, CHEAP).encode("secret");
+        PasswordEncoder argon2 = PasswordEncoders.create(PasswordEncoders.ARGON2, CHEAP);
+        PasswordEncoder strongerBcrypt = PasswordEncoders.create(PasswordEncoders.BCRYPT,
+                new PasswordEncoders.Settings(5, 1024, 1, 1, 1000));
+
+        assertTrue(argon2.matches("secret", bcrypt));
+        assertTrue(argon2.upgradeEncoding(bcrypt));
+        assertTrue(strongerBcrypt.upgradeEncoding(bcrypt));
+    }
+
+    @Test
+    void rejectsUnknownAlgorithms() {
+        assertThrows(IllegalArgumentException.class, () -> PasswordEncoders.create("md5", CHEAP));
+    }
+}
@@ -0,0 +1,91 @@
+package com.spring.vaidya.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class EmailCoalescerTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final EmailCoalescer coalescer = new EmailCoalescer(60_000, 1000, 8, meterRegistry);
+    private final AtomicInteger issued = new AtomicInteger();
+
+    @Test
+    void reusesTheOutstandingTokenForTheSameNormalizedEmail() {
+        String first = coalescer.issue(EmailCoalescer.PASSWORD_RESET, "a@example.com", this::newToken);
+        String second = coalescer.issue(EmailCoalescer.PASSWORD_RESET, " A@Example.com", this::newToken);
+
+        assertEquals(first, second);
+        assertEquals(1, issued.get());
+        assertEquals(1, meterRegistry.get("email.coalesce").tag("outcome", "coalesced").counter().count());
+    }
+
+    @Test
+    void keepsKindsAndAccountsApart() {
+        coalescer.issue(EmailCoalescer.PASSWORD_RESET, "a@example.com", this::newToken);
+        coalescer.issue(EmailCoalescer.VERIFICATION, "a@example.com", this::newToken);
+        coalescer.issue(EmailCoalescer.PASSWORD_RESET, "b@example.com", this::newToken);
+
+        assertEquals(3, issued.get());
+    }
+
+    @Test
+    void issuesAgainAfterForgetOrWhenNothingWasIssued() {
+        assertNull(coalescer.issue(EmailCoalescer.PASSWORD_RESET, "a@example.com", () -> null));
+        String first = coalescer.issue(EmailCoalescer.PASSWORD_RESET, "a@example.com", this::newToken);
+        coalescer.forget(EmailCoalescer.PASSWORD_RESET, "A@example.com");
+        String second = coalescer.issue(EmailCoalescer.PASSWORD_RESET, "a@example.com", this::newToken);
+
+        assertEquals("token-1", first);
+        assertEquals("token-2", second);
+    }
+
+    @Test
+    void concurrentRequestsForOneAccountIssueOnce() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<String>> results = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                results.add(executor.submit(() -> {
+                    start.await();
+                    return coalescer.issue(EmailCoalescer.PASSWORD_RESET, "a@example.com", () -> {
+                        sleep(20); // Widen the window for a racing find-then-save
+                        return newToken();
+                    });
+                }));
+            }
+            start.countDown();
+            for (Future<String> result : results) {
+                assertEquals("token-1", result.get(5, TimeUnit.SECONDS));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        assertEquals(1, issued.get());
+    }
+
+    private String newToken() {
+        return "token-" + issued.incrementAndGet();
+    }
+
+    private static void sleep(long ms) {
+        try {
+            Thread.sleep(ms);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package com.spring.vaidya.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Pageable;
+
+import com.spring.vaidya.repo.UserRepository;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class EmailExistenceFilterTest {
+
+    private UserRepository userRepository;
+    private SimpleMeterRegistry meterRegistry;
+    private EmailExistenceFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        userRepository = mock(UserRepository.class);
+        meterRegistry = new SimpleMeterRegistry();
+        filter = new EmailExistenceFilter(userRepository, meterRegistry, 1000, 0.01);
+    }
+
+    @Test
+    void reportsEverythingAsPossiblyPresentUntilLoaded() {
+        assertTrue(filter.mightExist("nobody@example.com"));
+    }
+
+    @Test
+    void loadsFromTheTableAndRulesOutUnknownEmails() {
+        when(userRepository.count()).thenReturn(2L);
+        when(userRepository.findEmailsAfter(eq(0L), any(Pageable.class)))
+                .thenReturn(List.of(entry(1L, "Doc@Example.com"), entry(5L, "nurse@example.com")));
+
+        filter.syncFromDatabase();
+
+        assertTrue(filter.mightExist("doc@example.com"));
+        assertTrue(filter.mightExist(" NURSE@example.com"));
+        assertFalse(filter.mightExist("nobody@example.com"));
+        assertEquals(1.0, meterRegistry.get("email.filter.lookups").tag("result", "absent").counter().count());
+    }
+
+    @Test
+    void picksUpLocalInsertsAndRowsFromOtherNodes() {
+        when(userRepository.findEmailsAfter(eq(0L), any(Pageable.class))).thenReturn(List.of(entry(3L, "a@example.com")));
+        filter.syncFromDatabase();
+
+        filter.recordInsert("Local@Example.com");
+        when(userRepository.findEmailsAfter(eq(3L), any(Pageable.class))).thenReturn(List.of(entry(4L, "remote@example.com")));
+        filter.syncFromDatabase();
+
+        assertTrue(filter.mightExist("local@example.com"));
+        assertTrue(filter.mightExist("remote@example.com"));
+    }
+
+    private static UserRepository.EmailEntry entry(Long id, String email) {
+        return new UserRepository.EmailEntry() {
+            @Override
+            public Long getUserId() {
+                return id;
+            }
+
+            @Override
+            public String getUserEmail() {
+                return email;
+            }
+        };
+    }
+}
@@ -0,0 +1,88 @@
+package com.spring.vaidya.service;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mail.MailPreparationException;
+import org.springframework.mail.MailSendException;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.spring.vaidya.entity.EmailContent;
+import com.spring.vaidya.entity.EmailOutbox;
+
+import jakarta.mail.internet.MimeMessage;
+
+class EmailOutboxDispatcherTest {
+
+    private EmailOutboxService outboxService;
+    private EmailService emailService;
+    private EmailOutboxDispatcher dispatcher;
+
+    @BeforeEach
+    void setUp() {
+        outboxService = mock(EmailOutboxService.class);
+        emailService = mock(EmailService.class);
+        dispatcher = new EmailOutboxDispatcher(outboxService, emailService, 10);
+    }
+
+    @Test
+    void unbuildableRowFailsAloneAndTheRestAreSent() {
+        List<EmailOutbox> batch = List.of(row(1, "a@example.com"), row(2, "not an address"), row(3, "c@example.com"));
+        when(outboxService.claimDue(anyInt())).thenReturn(batch);
+        MimeMessage first = mock(MimeMessage.class);
+        MimeMessage third = mock(MimeMessage.class);
+        when(emailService.createMessage(eq("a@example.com"), any())).thenReturn(first);
+        when(emailService.createMessage(eq("not an address"), any()))
+                .thenThrow(new MailPreparationException("Illegal address"));
+        when(emailService.createMessage(eq("c@example.com"), any())).thenReturn(third);
+        when(emailService.sendBatch(first, third)).thenReturn(Map.of());
+
+        dispatcher.dispatch();
+
+        verify(emailService).sendBatch(first, third);
+        verify(outboxService).recordResults(batch, Map.of(2L, "Illegal address"));
+    }
+
+    @Test
+    void resultsAreRecordedWhenSendingThrows() {
+        List<EmailOutbox> batch = List.of(row(1, "a@example.com"), row(2, "b@example.com"));
+        when(outboxService.claimDue(anyInt())).thenReturn(batch);
+        when(emailService.createMessage(any(), any())).thenAnswer(invocation -> mock(MimeMessage.class));
+        when(emailService.sendBatch(any(MimeMessage[].class))).thenThrow(new IllegalStateException("Transport closed"));
+
+        dispatcher.dispatch();
+
+        verify(outboxService).recordResults(batch, Map.of(1L, "Transport closed", 2L, "Transport closed"));
+    }
+
+    @Test
+    void partialBatchFailureIsRecordedPerRow() {
+        List<EmailOutbox> batch = List.of(row(1, "a@example.com"), row(2, "b@example.com"));
+        when(outboxService.claimDue(anyInt())).thenReturn(batch);
+        MimeMessage first = mock(MimeMessage.class);
+        MimeMessage second = mock(MimeMessage.class);
+        when(emailService.createMessage(eq("a@example.com"), any())).thenReturn(first);
+        when(emailService.createMessage(eq("b@example.com"), any())).thenReturn(second);
+        when(emailService.sendBatch(first, second)).thenReturn(Map.of(second, new MailSendException("550 rejected")));
+
+        dispatcher.dispatch();
+
+        verify(outboxService).recordResults(batch, Map.of(2L, "550 rejected"));
+    }
+
+    private static EmailOutbox row(long id, String recipient) {
+        EmailOutbox row = EmailOutbox.pending(recipient, new EmailContent("Subject", "Body", null), LocalDateTime.now());
+        ReflectionTestUtils.setField(row, "id", id);
+        return row;
+    }
+}
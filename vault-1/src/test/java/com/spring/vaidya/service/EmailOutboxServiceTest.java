@@ -0,0 +1,109 @@
+package com.spring.vaidya.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.spring.vaidya.entity.EmailContent;
+import com.spring.vaidya.entity.EmailOutbox;
+import com.spring.vaidya.repo.EmailOutboxRepository;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class EmailOutboxServiceTest {
+
+    private static final long LEASE_MS = 300_000;
+    private static final int MAX_ATTEMPTS = 3;
+    private static final long INITIAL_BACKOFF_MS = 30_000;
+    private static final long MAX_BACKOFF_MS = 60_000;
+
+    private EmailOutboxRepository outboxRepository;
+    private SimpleMeterRegistry meterRegistry;
+    private EmailOutboxService outboxService;
+
+    @BeforeEach
+    void setUp() {
+        outboxRepository = mock(EmailOutboxRepository.class);
+        meterRegistry = new SimpleMeterRegistry();
+        outboxService = new EmailOutboxService(outboxRepository, meterRegistry, LEASE_MS, MAX_ATTEMPTS,
+                INITIAL_BACKOFF_MS, MAX_BACKOFF_MS, 604_800_000);
+    }
+
+    @Test
+    void claimCountsAnAttemptAndLeasesTheMessage() {
+        EmailOutbox message = row(1);
+        when(outboxRepository.findDue(eq(EmailOutbox.Status.PENDING), any(), any())).thenReturn(List.of(message));
+
+        LocalDateTime before = LocalDateTime.now();
+        outboxService.claimDue(10);
+
+        assertEquals(1, message.getAttempts());
+        assertTrue(!message.getNextAttemptAt().isBefore(before.plus(Duration.ofMillis(LEASE_MS))));
+    }
+
+    @Test
+    void resultsMarkSentRetryWithBackoffAndGiveUp() {
+        EmailOutbox sent = claimed(row(1), 1);
+        EmailOutbox firstRetry = claimed(row(2), 1);
+        EmailOutbox cappedRetry = claimed(row(3), 2);
+        EmailOutbox exhausted = claimed(row(4), MAX_ATTEMPTS);
+        List<EmailOutbox> batch = List.of(sent, firstRetry, cappedRetry, exhausted);
+        when(outboxRepository.findAllById(anyList())).thenReturn(batch);
+
+        LocalDateTime before = LocalDateTime.now();
+        outboxService.recordResults(batch, Map.of(2L, "421 try later", 3L, "421 try later", 4L, "550 rejected"));
+        LocalDateTime after = LocalDateTime.now();
+
+        assertEquals(EmailOutbox.Status.SENT, sent.getStatus());
+        assertNotNull(sent.getSentAt());
+        assertNull(sent.getLastError());
+
+        assertEquals(EmailOutbox.Status.PENDING, firstRetry.getStatus());
+        assertEquals("421 try later", firstRetry.getLastError());
+        assertBetween(firstRetry.getNextAttemptAt(), before, after, INITIAL_BACKOFF_MS);
+
+        assertEquals(EmailOutbox.Status.PENDING, cappedRetry.getStatus());
+        assertBetween(cappedRetry.getNextAttemptAt(), before, after, MAX_BACKOFF_MS); // 2 x initial, capped
+
+        assertEquals(EmailOutbox.Status.FAILED, exhausted.getStatus());
+        assertEquals("550 rejected", exhausted.getLastError());
+
+        assertEquals(1.0, meterRegistry.get("email.outbox.messages").tag("outcome", "sent").counter().count());
+        assertEquals(2.0, meterRegistry.get("email.outbox.messages").tag("outcome", "retry").counter().count());
+        assertEquals(1.0, meterRegistry.get("email.outbox.messages").tag("outcome", "failed").counter().count());
+    }
+
+    private static void assertBetween(LocalDateTime actual, LocalDateTime before, LocalDateTime after, long delayMs) {
+        assertTrue(!actual.isBefore(before.plus(Duration.ofMillis(delayMs))), "retry scheduled too early: " + actual);
+        assertTrue(!actual.isAfter(after.plus(Duration.ofMillis(delayMs))), "retry scheduled too late: " + actual);
+    }
+
+    private static EmailOutbox claimed(EmailOutbox message, int attempts) {
+        for (int i = 0; i < attempts; i++) {
+            message.claim(LocalDateTime.now().plusMinutes(5));
+        }
+        return message;
+    }
+
+    private static EmailOutbox row(long id) {
+        EmailOutbox row = EmailOutbox.pending("user" + id + "@example.com", new EmailContent("Subject", "Body", null),
+                LocalDateTime.now());
+        ReflectionTestUtils.setField(row, "id", id);
+        return row;
+    }
+}
@@ -0,0 +1,77 @@
+package com.spring.vaidya.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.util.Locale;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import com.spring.vaidya.entity.EmailContent;
+
+class EmailTemplatesTest {
+
+    private final EmailTemplates templates = templates("classpath*:mail-templates-test/");
+
+    @Test
+    void rendersSubjectTextAndHtmlWithConfiguredBaseUrl() {
+        EmailContent content = templates.render("greeting", Locale.ENGLISH, Map.of("name", "Asha"));
+
+        assertEquals("Hello Asha", content.subject());
+        assertEquals("Hi Asha, visit https://api.example.com/welcome\n", content.text());
+        assertEquals("<p>Hi Asha, visit <a href=\"https://api.example.com/welcome\">here</a></p>\n", content.html());
+    }
+
+    @Test
+    void escapesValuesInHtmlOnly() {
+        EmailContent content = templates.render("greeting", Locale.ENGLISH, Map.of("name", "<b>&"));
+
+        assertEquals("Hi <b>&, visit https://api.example.com/welcome\n", content.text());
+        assertTrue(content.html().startsWith("<p>Hi &lt;b&gt;&amp;, visit"));
+    }
+
+    @Test
+    void fallsBackFromCountryToLanguageToDefault() {
+        assertEquals("Namaste Asha", templates.render("greeting", new Locale("hi", "IN"), Map.of("name", "Asha")).subject());
+        assertEquals("Bye", templates.render("farewell", new Locale("hi"), Map.of("name", "Asha")).subject());
+        assertEquals("Hello Asha", templates.render("greeting", Locale.FRENCH, Map.of("name", "Asha")).subject());
+    }
+
+    @Test
+    void textOnlyTemplateHasNoHtml() {
+        assertNull(templates.render("greeting", new Locale("hi"), Map.of("name", "Asha")).html());
+    }
+
+    @Test
+    void rejectsMissingValuesAndUnknownTemplates() {
+        assertThrows(IllegalArgumentException.class, () -> templates.render("greeting", Locale.ENGLISH, Map.of()));
+        assertThrows(IllegalArgumentException.class, () -> templates.render("missing", Locale.ENGLISH, Map.of()));
+    }
+
+    @Test
+    void shippedTemplatesContainTheTokenLinks() {
+        EmailTemplates shipped = templates("classpath*:mail-templates/");
+
+        EmailContent confirmation = shipped.render(EmailTemplates.ACCOUNT_CONFIRMATION, Locale.ENGLISH, Map.of("token", "abc-123"));
+        EmailContent reset = shipped.render(EmailTemplates.PASSWORD_RESET, Locale.ENGLISH, Map.of("token", "abc-123"));
+
+        assertEquals("Complete Registration!", confirmation.subject());
+        assertTrue(confirmation.text().contains("https://api.example.com/doctor/confirm-account?token=abc-123"));
+        assertTrue(confirmation.html().contains("https://api.example.com/doctor/confirm-account?token=abc-123"));
+        assertEquals("Password Reset Request", reset.subject());
+        assertTrue(reset.text().contains("https://app.example.com/reset-password?token=abc-123"));
+        assertTrue(reset.html().contains("https://app.example.com/reset-password?token=abc-123"));
+    }
+
+    private static EmailTemplates templates(String location) {
+        try {
+            return new EmailTemplates(location, "https://api.example.com/", "https://app.example.com");
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,214 @@
+package com.spring.vaidya.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Deque;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpMethod;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.RestClientException;
+import org.springframework.web.client.RestTemplate;
+
+import com.spring.vaidya.config.HcpHttpClientConfig;
+import com.spring.vaidya.exception.HcpUnavailableException;
+import com.spring.vaidya.util.CircuitBreaker;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Runs {@link HcpClient} against a local HTTP stand-in that answers with scripted statuses and delays.
+ */
+class HcpClientTest {
+
+    private static final long READ_TIMEOUT_MS = 300;
+
+    private HttpServer server;
+    private ExecutorService serverExecutor;
+    private CloseableHttpClient httpClient;
+    private RestTemplate restTemplate;
+    private SimpleMeterRegistry meterRegistry;
+    private String url;
+
+    // Scripted responses, consumed one per request; "200" is served once the script runs out
+    private final Deque<Step> script = new ConcurrentLinkedDeque<>();
+    private final AtomicInteger hits = new AtomicInteger();
+    private final Set<Integer> clientPorts = ConcurrentHashMap.newKeySet();
+
+    @BeforeEach
+    void startServer() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        serverExecutor = Executors.newCachedThreadPool();
+        server.setExecutor(serverExecutor);
+        server.createContext("/secrets", this::handle);
+        server.start();
+        url = "http://127.0.0.1:" + server.getAddress().getPort() + "/secrets";
+
+        meterRegistry = new SimpleMeterRegistry();
+        httpClient = new HcpHttpClientConfig().hcpHttpClient(200, READ_TIMEOUT_MS, 4, 30000, meterRegistry);
+        restTemplate = new HcpHttpClientConfig().hcpRestTemplate(httpClient);
+    }
+
+    @AfterEach
+    void stopServer() throws IOException {
+        httpClient.close();
+        server.stop(0);
+        serverExecutor.shutdownNow();
+    }
+
+    @Test
+    void retriesServerErrorsThenSucceeds() {
+        script.add(new Step(503, 0));
+        script.add(new Step(502, 0));
+        HcpClient client = client(3, 5, 1000);
+
+        String body = client.exchange("secrets", url, HttpMethod.GET, HttpEntity.EMPTY, String.class).getBody();
+
+        assertEquals("ok", body);
+        assertEquals(3, hits.get());
+        assertEquals(2, meterRegistry.get("hcp.client.requests").tag("outcome", "server_error").timer().count());
+        assertEquals(2.0, meterRegistry.get("hcp.client.retries").counter().count());
+    }
+
+    @Test
+    void slowResponseTimesOutAndIsRetried() {
+        script.add(new Step(200, READ_TIMEOUT_MS * 3));
+        HcpClient client = client(2, 5, 1000);
+
+        long start = System.nanoTime();
+        String body = client.exchange("secrets", url, HttpMethod.GET, HttpEntity.EMPTY, String.class).getBody();
+        long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+
+        assertEquals("ok", body);
+        assertEquals(1, meterRegistry.get("hcp.client.requests").tag("outcome", "io_error").timer().count());
+        assertTrue(elapsedMs < READ_TIMEOUT_MS * 3, "read timeout should cut the slow call short");
+    }
+
+    @Test
+    void clientErrorsAreNotRetried() {
+        script.add(new Step(404, 0));
+        HcpClient client = client(3, 5, 1000);
+
+        assertThrows(HttpClientErrorException.NotFound.class,
+                () -> client.exchange("secrets", url, HttpMethod.GET, HttpEntity.EMPTY, String.class));
+        assertEquals(1, hits.get());
+        assertEquals(CircuitBreaker.State.CLOSED, client.getCircuitState());
+    }
+
+    @Test
+    void openCircuitRejectsCallsWithoutReachingTheServer() {
+        for (int i = 0; i < 10; i++) {
+            script.add(new Step(500, 0));
+        }
+        HcpClient client = client(3, 2, 60000);
+
+        assertThrows(HcpUnavailableException.class,
+                () -> client.exchange("secrets", url, HttpMethod.GET, HttpEntity.EMPTY, String.class));
+        assertEquals(2, hits.get()); // The circuit opened after the second failure
+        assertEquals(CircuitBreaker.State.OPEN, client.getCircuitState());
+
+        assertThrows(HcpUnavailableException.class,
+                () -> client.exchange("secrets", url, HttpMethod.GET, HttpEntity.EMPTY, String.class));
+        assertEquals(2, hits.get());
+    }
+
+    @Test
+    void halfOpenProbeClosesTheCircuit() throws InterruptedException {
+        script.add(new Step(500, 0));
+        HcpClient client = client(1, 1, 50);
+
+        assertThrows(HcpUnavailableException.class,
+                () -> client.exchange("secrets", url, HttpMethod.GET, HttpEntity.EMPTY, String.class));
+        assertEquals(CircuitBreaker.State.OPEN, client.getCircuitState());
+
+        Thread.sleep(80);
+        assertEquals("ok", client.exchange("secrets", url, HttpMethod.GET, HttpEntity.EMPTY, String.class).getBody());
+        assertEquals(CircuitBreaker.State.CLOSED, client.getCircuitState());
+    }
+
+    @Test
+    void failedProbeOutsideHttpErrorsReopensTheCircuit() throws InterruptedException {
+        script.add(new Step(500, 0));
+        HcpClient client = client(1, 1, 50);
+        assertThrows(HcpUnavailableException.class,
+                () -> client.exchange("secrets", url, HttpMethod.GET, HttpEntity.EMPTY, String.class));
+
+        Thread.sleep(80);
+        // A 200 whose body cannot be converted fails after the exchange, not with an HTTP error
+        assertThrows(RestClientException.class,
+                () -> client.exchange("secrets", url, HttpMethod.GET, HttpEntity.EMPTY, Integer.class));
+        assertEquals(CircuitBreaker.State.OPEN, client.getCircuitState());
+
+        Thread.sleep(80);
+        assertEquals("ok", client.exchange("secrets", url, HttpMethod.GET, HttpEntity.EMPTY, String.class).getBody());
+        assertEquals(CircuitBreaker.State.CLOSED, client.getCircuitState());
+    }
+
+    @Test
+    void connectionsAreReused() {
+        HcpClient client = client(1, 5, 1000);
+
+        for (int i = 0; i < 5; i++) {
+            client.exchange("secrets", url, HttpMethod.GET, HttpEntity.EMPTY, String.class);
+        }
+
+        assertEquals(1, clientPorts.size());
+    }
+
+    private HcpClient client(int maxAttempts, int failureThreshold, long openMs) {
+        return new HcpClient(restTemplate, meterRegistry, maxAttempts, 10, 50, failureThreshold, openMs);
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        hits.incrementAndGet();
+        clientPorts.add(exchange.getRemoteAddress().getPort());
+        Step step = script.poll();
+        if (step == null) {
+            step = new Step(200, 0);
+        }
+        try {
+            if (step.delayMs > 0) {
+                Thread.sleep(step.delayMs);
+            }
+            byte[] body = (step.status == 200 ? "ok" : "error").getBytes(StandardCharsets.UTF_8);
+            exchange.sendResponseHeaders(step.status, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (IOException e) {
+            // The client gave up on a delayed response
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private static final class Step {
+        private final int status;
+        private final long delayMs;
+
+        private Step(int status, long delayMs) {
+            this.status = status;
+            this.delayMs = delayMs;
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package com.spring.vaidya.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import com.spring.vaidya.entity.AuthAccount;
+import com.spring.vaidya.entity.LoginResponse;
+import com.spring.vaidya.exception.AuthenticationFailedException;
+import com.spring.vaidya.jwt.JwtUtils;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class LoginServiceTest {
+
+    private static final AuthAccount ACCOUNT = new AuthAccount(7L, "doc@example.com", "{bcrypt}hash", "Dr. Doe", 2, true);
+
+    private UserAccountCache userAccountCache;
+    private PasswordEncoder passwordEncoder;
+    private PasswordRehashService passwordRehashService;
+    private JwtUtils jwtUtils;
+    private RefreshTokenService refreshTokenService;
+    private SimpleMeterRegistry meterRegistry;
+    private LoginService loginService;
+
+    @BeforeEach
+    void setUp() {
+        userAccountCache = mock(UserAccountCache.class);
+        passwordEncoder = mock(PasswordEncoder.class);
+        passwordRehashService = mock(PasswordRehashService.class);
+        jwtUtils = mock(JwtUtils.class);
+        refreshTokenService = mock(RefreshTokenService.class);
+        meterRegistry = new SimpleMeterRegistry();
+        loginService = new LoginService(userAccountCache, passwordEncoder, passwordRehashService, jwtUtils,
+                refreshTokenService, meterRegistry);
+    }
+
+    @Test
+    void successfulLoginLooksUpVerifiesAndSignsOnce() {
+        when(userAccountCache.findAccount("Doc@Example.com")).thenReturn(ACCOUNT);
+        when(passwordEncoder.matches("pw", "{bcrypt}hash")).thenReturn(true);
+        when(jwtUtils.generateJwtToken(ACCOUNT)).thenReturn("jwt");
+        when(jwtUtils.getAccessTokenExpirationSeconds()).thenReturn(900L);
+        when(refreshTokenService.issue(7L)).thenReturn("refresh");
+
+        LoginResponse response = loginService.login("Doc@Example.com", "pw");
+
+        assertEquals("jwt", response.getToken());
+        assertEquals("refresh", response.getRefreshToken());
+        assertEquals("Dr. Doe", response.getFullName());
+        assertEquals(7L, response.getUserId());
+        assertEquals(2, response.getRoleId());
+        assertEquals(900L, response.getExpiresIn());
+        verify(userAccountCache, times(1)).findAccount(anyString());
+        verify(passwordEncoder, times(1)).matches(any(), any());
+        verify(jwtUtils, times(1)).generateJwtToken(ACCOUNT);
+        verify(passwordRehashService).rehashIfNeeded(7L, "doc@example.com", "pw", "{bcrypt}hash");
+        for (String stage : new String[] { "lookup", "verify", "sign", "refresh" }) {
+            assertEquals(1, meterRegistry.get("login.stage").tag("stage", stage).timer().count(), stage);
+        }
+        assertEquals(1, meterRegistry.get("login.requests").tag("outcome", "success").timer().count());
+    }
+
+    @Test
+    void unknownEmailIsCheckedAgainstADummyHashAndFailsLikeAWrongPassword() {
+        when(passwordEncoder.encode(anyString())).thenReturn("{bcrypt}dummy");
+
+        AuthenticationFailedException unknown =
+                assertThrows(AuthenticationFailedException.class, () -> loginService.login("nobody@example.com", "pw"));
+
+        when(userAccountCache.findAccount("doc@example.com")).thenReturn(ACCOUNT);
+        AuthenticationFailedException wrong =
+                assertThrows(AuthenticationFailedException.class, () -> loginService.login("doc@example.com", "bad"));
+
+        assertEquals(wrong.getMessage(), unknown.getMessage());
+        verify(passwordEncoder).matches("pw", "{bcrypt}dummy");
+        verify(jwtUtils, never()).generateJwtToken(any(AuthAccount.class));
+        assertEquals(2, meterRegistry.get("login.requests").tag("outcome", "bad_credentials").timer().count());
+    }
+
+    @Test
+    void unverifiedAccountIsRejectedAfterThePasswordCheck() {
+        AuthAccount unverified = new AuthAccount(8L, "new@example.com", "{bcrypt}hash", "Dr. New", 2, false);
+        when(userAccountCache.findAccount("new@example.com")).thenReturn(unverified);
+        when(passwordEncoder.matches("pw", "{bcrypt}hash")).thenReturn(true);
+
+        assertThrows(AuthenticationFailedException.class, () -> loginService.login("new@example.com", "pw"));
+
+        verify(refreshTokenService, never()).issue(eq(8L));
+        assertEquals(1, meterRegistry.get("login.requests").tag("outcome", "disabled").timer().count());
+    }
+}
@@ -0,0 +1,149 @@
+package com.spring.vaidya.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.SimpleMailMessage;
+
+import com.spring.vaidya.perf.SmtpSink;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class PooledJavaMailSenderTest {
+
+    private static final Pattern BODY = Pattern.compile("(message-\\d+)");
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private SmtpSink sink;
+    private PooledJavaMailSender sender;
+
+    @AfterEach
+    void tearDown() throws IOException {
+        if (sender != null) {
+            sender.close();
+        }
+        if (sink != null) {
+            sink.close();
+        }
+    }
+
+    @Test
+    void reusesOneConnectionAcrossSends() throws Exception {
+        sink = new SmtpSink();
+        sender = sender(sink.port(), 100, 60_000);
+
+        for (int i = 0; i < 5; i++) {
+            sender.send(message("a@example.com", i));
+        }
+
+        for (int i = 0; i < 5; i++) {
+            assertEquals("message-" + i, sink.awaitMatch("a@example.com", BODY, 2000));
+        }
+        assertEquals(1, sink.connections());
+        assertEquals(1, meterRegistry.get("email.smtp.connect").tag("outcome", "success").timer().count());
+        assertEquals(5, meterRegistry.get("email.smtp.send").tag("outcome", "success").timer().count());
+    }
+
+    @Test
+    void sendsABatchOverOneConnection() throws Exception {
+        sink = new SmtpSink();
+        sender = sender(sink.port(), 100, 60_000);
+
+        sender.send(message("a@example.com", 1), message("b@example.com", 2), message("c@example.com", 3));
+
+        assertEquals("message-1", sink.awaitMatch("a@example.com", BODY, 2000));
+        assertEquals("message-2", sink.awaitMatch("b@example.com", BODY, 2000));
+        assertEquals("message-3", sink.awaitMatch("c@example.com", BODY, 2000));
+        assertEquals(1, sink.connections());
+    }
+
+    @Test
+    void recyclesConnectionsAfterMaxMessages() throws Exception {
+        sink = new SmtpSink();
+        sender = sender(sink.port(), 2, 60_000);
+
+        sender.send(message("a@example.com", 1), message("a@example.com", 2), message("a@example.com", 3),
+                message("a@example.com", 4), message("a@example.com", 5));
+
+        for (int i = 1; i <= 5; i++) {
+            assertNotNull(sink.awaitMatch("a@example.com", BODY, 2000));
+        }
+        assertEquals(3, sink.connections());
+        assertEquals(2, meterRegistry.get("email.smtp.connections.closed").tag("reason", "max_messages").counter().count());
+    }
+
+    @Test
+    void replacesConnectionsLeftIdleTooLong() throws Exception {
+        sink = new SmtpSink();
+        sender = sender(sink.port(), 100, 50);
+
+        sender.send(message("a@example.com", 1));
+        Thread.sleep(150);
+        sender.send(message("a@example.com", 2));
+
+        assertEquals("message-1", sink.awaitMatch("a@example.com", BODY, 2000));
+        assertEquals("message-2", sink.awaitMatch("a@example.com", BODY, 2000));
+        assertEquals(2, sink.connections());
+        assertEquals(1, meterRegistry.get("email.smtp.connections.closed").tag("reason", "idle").counter().count());
+    }
+
+    @Test
+    void reportsEveryMessageAsFailedWhenTheServerIsUnreachable() throws Exception {
+        int port;
+        try (ServerSocket socket = new ServerSocket(0)) {
+            port = socket.getLocalPort(); // Closed again, so connections are refused
+        }
+        sender = sender(port, 100, 60_000);
+        SimpleMailMessage first = message("a@example.com", 1);
+        SimpleMailMessage second = message("b@example.com", 2);
+
+        MailSendException e = assertThrows(MailSendException.class, () -> sender.send(first, second));
+
+        assertEquals(2, e.getFailedMessages().size());
+        assertEquals(1, meterRegistry.get("email.smtp.connect").tag("outcome", "failure").timer().count());
+    }
+
+    @Test
+    void failedLoginWhenReconnectingMidBatchFailsOnlyTheUnsentMessages() throws Exception {
+        sink = new SmtpSink();
+        sink.requireLogin(1); // The second connection's login is rejected
+        sender = sender(sink.port(), 2, 60_000);
+        sender.setUsername("mailer");
+        sender.setPassword("secret");
+        sender.getJavaMailProperties().setProperty("mail.smtp.auth", "true");
+        SimpleMailMessage third = message("c@example.com", 3);
+
+        MailSendException e = assertThrows(MailSendException.class,
+                () -> sender.send(message("a@example.com", 1), message("b@example.com", 2), third));
+
+        assertEquals(Set.of(third), e.getFailedMessages().keySet()); // The two delivered messages are not resent
+        assertEquals("message-1", sink.awaitMatch("a@example.com", BODY, 2000));
+        assertEquals("message-2", sink.awaitMatch("b@example.com", BODY, 2000));
+        assertEquals(2, sink.received());
+    }
+
+    private PooledJavaMailSender sender(int port, int maxMessagesPerConnection, long maxIdleMs) {
+        PooledJavaMailSender pooled = new PooledJavaMailSender(2, maxMessagesPerConnection, maxIdleMs, 1000, meterRegistry);
+        pooled.setHost("localhost");
+        pooled.setPort(port);
+        return pooled;
+    }
+
+    private static SimpleMailMessage message(String to, int number) {
+        SimpleMailMessage message = new SimpleMailMessage();
+        message.setFrom("noreply@example.com");
+        message.setTo(to);
+        message.setSubject("Test");
+        message.setText("message-" + number);
+        return message;
+    }
+}
@@ -0,0 +1,107 @@
+package com.spring.vaidya.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
+import org.springframework.scheduling.TaskScheduler;
+
+import com.spring.vaidya.exception.HcpUnavailableException;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class TokenServiceTest {
+
+    private static final long MARGIN_MS = 60_000;
+
+    private HcpClient hcpClient;
+    private TaskScheduler taskScheduler;
+    private SimpleMeterRegistry meterRegistry;
+    private TokenService tokenService;
+
+    @BeforeEach
+    void setUp() {
+        hcpClient = mock(HcpClient.class);
+        taskScheduler = mock(TaskScheduler.class);
+        meterRegistry = new SimpleMeterRegistry();
+        tokenService = new TokenService(hcpClient, taskScheduler, meterRegistry, "id", "secret",
+                "http://idp/token", MARGIN_MS, 15_000, 3_600_000);
+    }
+
+    @Test
+    void concurrentCallersShareOneRefresh() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        when(hcpClient.exchange(eq("token"), any(), eq(HttpMethod.POST), any(HttpEntity.class), eq(Map.class)))
+                .thenAnswer(invocation -> {
+                    release.await(5, TimeUnit.SECONDS);
+                    return ResponseEntity.ok(Map.of("access_token", "abc", "expires_in", 3600));
+                });
+
+        ExecutorService callers = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<String>> results = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                results.add(callers.submit(tokenService::getAccessToken));
+            }
+            Thread.sleep(200); // Let every caller reach the in-flight refresh
+            release.countDown();
+            for (Future<String> result : results) {
+                assertEquals("abc", result.get(5, TimeUnit.SECONDS));
+            }
+        } finally {
+            callers.shutdownNow();
+        }
+
+        verify(hcpClient, times(1)).exchange(eq("token"), any(), eq(HttpMethod.POST), any(HttpEntity.class), eq(Map.class));
+        assertEquals(7.0, meterRegistry.get("hcp.token.refresh.coalesced").counter().count());
+    }
+
+    @Test
+    void nextRefreshIsScheduledFromExpiresIn() {
+        when(hcpClient.exchange(eq("token"), any(), eq(HttpMethod.POST), any(HttpEntity.class), eq(Map.class)))
+                .thenReturn(ResponseEntity.ok(Map.of("access_token", "abc", "expires_in", 600)));
+
+        long before = System.currentTimeMillis();
+        tokenService.refreshAccessToken();
+        long after = System.currentTimeMillis();
+
+        ArgumentCaptor<Instant> at = ArgumentCaptor.forClass(Instant.class);
+        verify(taskScheduler).schedule(any(Runnable.class), at.capture());
+        long scheduled = at.getValue().toEpochMilli();
+        assertTrue(scheduled >= before + 600_000 - MARGIN_MS && scheduled <= after + 600_000 - MARGIN_MS);
+        assertEquals(1, meterRegistry.get("hcp.token.refresh").tag("outcome", "success").timer().count());
+    }
+
+    @Test
+    void failedRefreshIsRetriedAndReported() {
+        when(hcpClient.exchange(eq("token"), any(), eq(HttpMethod.POST), any(HttpEntity.class), eq(Map.class)))
+                .thenThrow(new HcpUnavailableException("down"));
+
+        assertThrows(HcpUnavailableException.class, tokenService::getAccessToken);
+
+        verify(taskScheduler).schedule(any(Runnable.class), any(Instant.class));
+        assertEquals(1, meterRegistry.get("hcp.token.refresh").tag("outcome", "failure").timer().count());
+    }
+}
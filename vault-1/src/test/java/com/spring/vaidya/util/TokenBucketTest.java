@@ -0,0 +1,68 @@
+package com.spring.vaidya.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+class TokenBucketTest {
+
+    @Test
+    void allowsABurstThenRefillsOneTokenPerPeriod() {
+        TokenBucket bucket = new TokenBucket(3, 1000, 0);
+
+        assertEquals(0, bucket.tryAcquire(0));
+        assertEquals(0, bucket.tryAcquire(0));
+        assertEquals(0, bucket.tryAcquire(0));
+        assertEquals(1000, bucket.tryAcquire(0));
+        assertEquals(400, bucket.tryAcquire(600));
+        assertEquals(0, bucket.tryAcquire(1000));
+        assertFalse(bucket.isFull(3000));
+        assertTrue(bucket.isFull(4000));
+    }
+
+    @Test
+    void slowRefillsAccrueDespiteFrequentPolling() {
+        TokenBucket bucket = new TokenBucket(1, 60_000, 0);
+        assertEquals(0, bucket.tryAcquire(0));
+
+        for (long now = 10; now < 60_000; now += 10) {
+            assertTrue(bucket.tryAcquire(now) > 0);
+        }
+        assertEquals(0, bucket.tryAcquire(60_000));
+    }
+
+    @Test
+    void concurrentCallersNeverExceedTheCapacity() throws Exception {
+        TokenBucket bucket = new TokenBucket(1000, 1_000_000, 0);
+        AtomicInteger granted = new AtomicInteger();
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < 8; t++) {
+                futures.add(pool.submit(() -> {
+                    for (int i = 0; i < 500; i++) {
+                        if (bucket.tryAcquire(1) == 0) {
+                            granted.incrementAndGet();
+                        }
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get(10, TimeUnit.SECONDS);
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+        assertEquals(1000, granted.get());
+    }
+}